@@ -0,0 +1,110 @@
+package com.linkedin.datahub.graphql;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * A {@link PreparsedDocumentProvider} which caches parsed and validated query documents by the SHA-256 hash of their
+ * query string, so that queries which are sent over and over are parsed and validated only once.
+ *
+ * <p>It also serves Apollo style persisted queries: a request may send only the hash of a query under
+ * extensions.persistedQuery.sha256Hash instead of the query string. If the hash is unknown, the request fails with a
+ * PersistedQueryNotFound error, and the client is expected to send the query string together with its hash, which
+ * registers the query.
+ */
+public class CachingPreparsedDocumentProvider implements PreparsedDocumentProvider {
+
+    public static final String PERSISTED_QUERY_NOT_FOUND = "PersistedQueryNotFound";
+
+    private final Cache<String, PreparsedDocumentEntry> _documents;
+
+    public CachingPreparsedDocumentProvider(long maxSize) {
+        _documents = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(@Nonnull final ExecutionInput executionInput,
+            @Nonnull final Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        final String persistedQueryHash = getPersistedQueryHash(executionInput.getExtensions());
+        final String query = executionInput.getQuery();
+
+        if (query == null || query.isEmpty()) {
+            final PreparsedDocumentEntry persisted =
+                    persistedQueryHash == null ? null : _documents.getIfPresent(persistedQueryHash);
+            return persisted != null ? persisted : new PreparsedDocumentEntry(GraphqlErrorBuilder.newError()
+                    .message(PERSISTED_QUERY_NOT_FOUND)
+                    .extensions(ImmutableMap.of("code", "PERSISTED_QUERY_NOT_FOUND"))
+                    .build());
+        }
+
+        final String queryHash = hash(query);
+        if (persistedQueryHash != null && !persistedQueryHash.equalsIgnoreCase(queryHash)) {
+            return new PreparsedDocumentEntry(
+                    GraphqlErrorBuilder.newError().message("Provided sha256Hash does not match query").build());
+        }
+        try {
+            return _documents.get(queryHash, () -> parseAndValidateFunction.apply(executionInput));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw new RuntimeException(String.format("Failed to parse query %s", query), e.getCause());
+        }
+    }
+
+    /**
+     * Returns the operation of a query which was parsed before, matching the name of the operation if the query
+     * defines multiple ones.
+     */
+    @Nonnull
+    public Optional<OperationDefinition> getOperation(@Nonnull final String queryHash,
+            @Nullable final String operationName) {
+        final PreparsedDocumentEntry entry = _documents.getIfPresent(queryHash);
+        if (entry == null || entry.hasErrors()) {
+            return Optional.empty();
+        }
+        final Document document = entry.getDocument();
+        return document.getDefinitionsOfType(OperationDefinition.class)
+                .stream()
+                .filter(operation -> operationName == null || operationName.equals(operation.getName()))
+                .findFirst();
+    }
+
+    /**
+     * Returns the key of the query in the cache, i.e. its persisted query hash if it was only sent by hash
+     */
+    @Nullable
+    public static String getQueryHash(@Nullable final String query, @Nullable final Map<String, Object> extensions) {
+        if (query == null || query.isEmpty()) {
+            return getPersistedQueryHash(extensions);
+        }
+        return hash(query);
+    }
+
+    @Nullable
+    private static String getPersistedQueryHash(@Nullable final Map<String, Object> extensions) {
+        if (extensions == null || !(extensions.get("persistedQuery") instanceof Map)) {
+            return null;
+        }
+        final Object hash = ((Map<?, ?>) extensions.get("persistedQuery")).get("sha256Hash");
+        return hash == null ? null : hash.toString().toLowerCase();
+    }
+
+    private static String hash(@Nonnull final String query) {
+        return Hashing.sha256().hashString(query, StandardCharsets.UTF_8).toString();
+    }
+}
@@ -1,22 +1,32 @@
 package com.linkedin.datahub.graphql;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.linkedin.datahub.graphql.exception.DataHubDataFetcherExceptionHandler;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
 import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.GraphQL;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.execution.instrumentation.Instrumentation;
+import graphql.language.OperationDefinition;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.idl.RuntimeWiring;
 import graphql.schema.idl.SchemaGenerator;
 import graphql.schema.idl.SchemaParser;
 import graphql.schema.idl.TypeDefinitionRegistry;
+import lombok.Value;
 import org.dataloader.DataLoader;
 import org.dataloader.DataLoaderRegistry;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -34,14 +44,35 @@ import static graphql.schema.idl.RuntimeWiring.newRuntimeWiring;
  */
 public class GraphQLEngine {
 
+    private static final long DEFAULT_DOCUMENT_CACHE_SIZE = 1000;
+
     private final GraphQL _graphQL;
     private final Map<String, Function<QueryContext, DataLoader<?, ?>>> _dataLoaderSuppliers;
+    // Null if parsed queries are not cached
+    private final CachingPreparsedDocumentProvider _documentProvider;
+    // Null if no responses are cached
+    private final Cache<ResponseCacheKey, ExecutionResult> _responseCache;
+    private final Set<String> _responseCacheOperations;
 
     private GraphQLEngine(@Nonnull final List<String> schemas,
                           @Nonnull final RuntimeWiring runtimeWiring,
-                          @Nonnull final Map<String, Function<QueryContext, DataLoader<?, ?>>> dataLoaderSuppliers) {
+                          @Nonnull final Map<String, Function<QueryContext, DataLoader<?, ?>>> dataLoaderSuppliers,
+                          final long documentCacheSize,
+                          @Nonnull final Set<String> responseCacheOperations,
+                          final long responseCacheTtlSeconds,
+                          final long responseCacheMaxSize,
+                          @Nonnull final List<Instrumentation> instrumentations) {
 
         _dataLoaderSuppliers = dataLoaderSuppliers;
+        _documentProvider = documentCacheSize > 0 ? new CachingPreparsedDocumentProvider(documentCacheSize) : null;
+        // Responses can only be cached for queries whose parsed document is cached, as it tells the operation
+        _responseCacheOperations = responseCacheOperations;
+        _responseCache = _documentProvider != null && !responseCacheOperations.isEmpty()
+            ? CacheBuilder.newBuilder()
+                .maximumSize(responseCacheMaxSize)
+                .expireAfterWrite(responseCacheTtlSeconds, TimeUnit.SECONDS)
+                .build()
+            : null;
 
         /*
          * Parse schema
@@ -59,14 +90,62 @@ public class GraphQLEngine {
         /*
          * Instantiate engine
          */
-        _graphQL = new GraphQL.Builder(graphQLSchema)
-            .defaultDataFetcherExceptionHandler(new DataHubDataFetcherExceptionHandler())
-            .build();
+        GraphQL.Builder graphQLBuilder = new GraphQL.Builder(graphQLSchema)
+            .defaultDataFetcherExceptionHandler(new DataHubDataFetcherExceptionHandler());
+        if (_documentProvider != null) {
+            graphQLBuilder.preparsedDocumentProvider(_documentProvider);
+        }
+        if (!instrumentations.isEmpty()) {
+            // graphql-java adds the data loader dispatcher to the chain on its own
+            graphQLBuilder.instrumentation(new ChainedInstrumentation(instrumentations));
+        }
+        _graphQL = graphQLBuilder.build();
+    }
+
+    public ExecutionResult execute(@Nonnull final String query,
+                                   @Nullable final Map<String, Object> variables,
+                                   @Nonnull final QueryContext context) {
+        return execute(query, variables, null, context);
+    }
+
+    /**
+     * Executes a query. The query string may be empty if the extensions carry the hash of a persisted query.
+     *
+     * <p>Responses of the read-only operations configured for the response cache are cached per query, operation name,
+     * variables and actor for a short time, as long as they have no errors. Cached responses are not invalidated by
+     * mutations.
+     */
+    public ExecutionResult execute(@Nonnull final String query,
+                                   @Nullable final Map<String, Object> variables,
+                                   @Nullable final Map<String, Object> extensions,
+                                   @Nonnull final QueryContext context) {
+        return execute(query, null, variables, extensions, context);
     }
 
+    /**
+     * Executes the operation of a query with the given name, which may be null if the query defines a single
+     * operation.
+     */
     public ExecutionResult execute(@Nonnull final String query,
+                                   @Nullable final String operationName,
                                    @Nullable final Map<String, Object> variables,
+                                   @Nullable final Map<String, Object> extensions,
                                    @Nonnull final QueryContext context) {
+        final String queryHash = _responseCache != null
+            ? CachingPreparsedDocumentProvider.getQueryHash(query, extensions)
+            : null;
+        final ResponseCacheKey responseCacheKey = queryHash != null
+            ? new ResponseCacheKey(queryHash, operationName,
+                variables != null ? new HashMap<>(variables) : Collections.emptyMap(), context.getActorUrn())
+            : null;
+        if (responseCacheKey != null) {
+            final ExecutionResult cachedResult = _responseCache.getIfPresent(responseCacheKey);
+            if (cachedResult != null) {
+                MetricUtils.counter(this.getClass(), "responseCacheHit").inc();
+                return cachedResult;
+            }
+        }
+
         /*
          * Init DataLoaderRegistry - should be created for each request.
          */
@@ -77,7 +156,9 @@ public class GraphQLEngine {
          */
         ExecutionInput executionInput = ExecutionInput.newExecutionInput()
             .query(query)
+            .operationName(operationName)
             .variables(variables)
+            .extensions(extensions != null ? extensions : Collections.emptyMap())
             .dataLoaderRegistry(register)
             .context(context)
             .build();
@@ -85,7 +166,13 @@ public class GraphQLEngine {
         /*
          * Execute GraphQL Query
          */
-        return _graphQL.execute(executionInput);
+        final ExecutionResult executionResult = _graphQL.execute(executionInput);
+
+        if (responseCacheKey != null && executionResult.getErrors().isEmpty()
+            && isResponseCacheable(queryHash, operationName)) {
+            _responseCache.put(responseCacheKey, executionResult);
+        }
+        return executionResult;
     }
 
     public GraphQL getGraphQL() {
@@ -104,6 +191,11 @@ public class GraphQLEngine {
         private final List<String> _schemas = new ArrayList<>();
         private final Map<String, Function<QueryContext, DataLoader<?, ?>>> _loaderSuppliers = new HashMap<>();
         private final RuntimeWiring.Builder _runtimeWiringBuilder = newRuntimeWiring();
+        private long _documentCacheSize = DEFAULT_DOCUMENT_CACHE_SIZE;
+        private Set<String> _responseCacheOperations = Collections.emptySet();
+        private long _responseCacheTtlSeconds;
+        private long _responseCacheMaxSize;
+        private final List<Instrumentation> _instrumentations = new ArrayList<>();
 
         /**
          * Used to add a schema file containing the GQL types resolved by the engine.
@@ -151,14 +243,55 @@ public class GraphQLEngine {
             return this;
         }
 
+        /**
+         * Used to configure the number of parsed and validated queries which are cached, including persisted queries.
+         *
+         * A size of 0 disables the cache, and with it persisted queries and the response cache.
+         */
+        public Builder setDocumentCacheSize(final long documentCacheSize) {
+            _documentCacheSize = documentCacheSize;
+            return this;
+        }
+
+        /**
+         * Used to opt read-only operations into the response cache, by their operation name.
+         *
+         * Responses are cached per query, variables and actor, and expire after the given TTL. As mutations do not
+         * invalidate them, the TTL should be kept short.
+         */
+        public Builder setResponseCache(final Set<String> operationNames, final long ttlSeconds, final long maxSize) {
+            _responseCacheOperations = operationNames;
+            _responseCacheTtlSeconds = ttlSeconds;
+            _responseCacheMaxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Used to add an {@link Instrumentation} to the engine, e.g. to analyze queries before they are executed.
+         *
+         * Instrumentations are chained in the order in which they are added.
+         */
+        public Builder addInstrumentation(final Instrumentation instrumentation) {
+            _instrumentations.add(instrumentation);
+            return this;
+        }
+
         /**
          * Builds a {@link GraphQLEngine}.
          */
         public GraphQLEngine build() {
-            return new GraphQLEngine(_schemas, _runtimeWiringBuilder.build(), _loaderSuppliers);
+            return new GraphQLEngine(_schemas, _runtimeWiringBuilder.build(), _loaderSuppliers, _documentCacheSize,
+                _responseCacheOperations, _responseCacheTtlSeconds, _responseCacheMaxSize, _instrumentations);
         }
     }
 
+    private boolean isResponseCacheable(@Nonnull final String queryHash, @Nullable final String operationName) {
+        return _documentProvider.getOperation(queryHash, operationName)
+            .filter(operation -> operation.getOperation() == OperationDefinition.Operation.QUERY)
+            .filter(operation -> _responseCacheOperations.contains(operation.getName()))
+            .isPresent();
+    }
+
     private DataLoaderRegistry createDataLoaderRegistry(final Map<String, Function<QueryContext, DataLoader<?, ?>>> dataLoaderSuppliers,
                                                         final QueryContext context) {
         final DataLoaderRegistry registry = new DataLoaderRegistry();
@@ -168,4 +301,12 @@ public class GraphQLEngine {
         return registry;
     }
 
+    @Value
+    private static class ResponseCacheKey {
+        String queryHash;
+        // Null unless the client named the operation to run
+        String operationName;
+        Map<String, Object> variables;
+        String actorUrn;
+    }
 }
@@ -0,0 +1,62 @@
+package com.linkedin.datahub.graphql.concurrency;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Runs the asynchronous work of the GraphQL resolvers and data loaders on a dedicated executor instead of the common
+ * fork join pool. The common pool is sized by the number of cores and shared with the rest of the process, while the
+ * resolvers mostly block on calls to GMS.
+ */
+public class GraphQLConcurrencyUtils {
+
+  private static final int DEFAULT_THREADS = 50;
+
+  private static volatile ExecutorService graphQLExecutorService = newExecutorService(DEFAULT_THREADS);
+
+  private GraphQLConcurrencyUtils() {
+  }
+
+  /**
+   * Replaces the executor used by the resolvers, e.g. with one sized by configuration. The previous executor is not
+   * shut down, as work may still be running on it.
+   */
+  public static void setExecutorService(@Nonnull final ExecutorService executorService) {
+    graphQLExecutorService = executorService;
+  }
+
+  @Nonnull
+  public static ExecutorService getExecutorService() {
+    return graphQLExecutorService;
+  }
+
+  @Nonnull
+  public static <T> CompletableFuture<T> supplyAsync(@Nonnull final Supplier<T> supplier) {
+    return CompletableFuture.supplyAsync(supplier, graphQLExecutorService);
+  }
+
+  @Nonnull
+  public static CompletableFuture<Void> runAsync(@Nonnull final Runnable runnable) {
+    return CompletableFuture.runAsync(runnable, graphQLExecutorService);
+  }
+
+  /**
+   * Creates an executor with a fixed number of daemon threads and an unbounded queue
+   */
+  @Nonnull
+  public static ExecutorService newExecutorService(final int threads) {
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(),
+        new ThreadFactoryBuilder().setNameFormat("graphql-resolver-%d").setDaemon(true).build());
+    // Let idle threads go when there is no traffic
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+}
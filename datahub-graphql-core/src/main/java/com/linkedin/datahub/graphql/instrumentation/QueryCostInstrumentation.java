@@ -0,0 +1,171 @@
+package com.linkedin.datahub.graphql.instrumentation;
+
+import com.codahale.metrics.MetricRegistry;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import graphql.ExecutionResult;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLDirective;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLTypeUtil;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Estimates the cost of an operation before it is executed, and rejects operations which are more expensive or more
+ * deeply nested than allowed.
+ *
+ * <p>The cost of a field is its weight plus the cost of its selections, multiplied by the number of results the field
+ * may return. Fields can declare both with the @cost(weight, defaultCount) schema directive. Otherwise, object fields
+ * weigh 1 and leaf fields 0. The number of results is taken from the count argument of the field, at the top level or
+ * in its input, falling back to the defaultCount of the directive, or 1.
+ *
+ * <p>The cost and depth of every operation are recorded as histograms. When not enforcing, operations over budget are
+ * only logged with their operation name and counted, which allows tuning the limits against real traffic before
+ * turning them on.
+ */
+@Slf4j
+public class QueryCostInstrumentation extends SimpleInstrumentation {
+
+  public static final String COST_DIRECTIVE = "cost";
+  private static final String WEIGHT_ARGUMENT = "weight";
+  private static final String DEFAULT_COUNT_ARGUMENT = "defaultCount";
+  private static final String COUNT_ARGUMENT = "count";
+  private static final String INPUT_ARGUMENT = "input";
+  private static final String ANONYMOUS_OPERATION = "anonymous";
+
+  private final long _maxCost;
+  private final int _maxDepth;
+  private final boolean _enforce;
+
+  /**
+   * @param maxCost the maximum estimated cost of an operation, or 0 for no limit
+   * @param maxDepth the maximum depth of an operation, or 0 for no limit
+   * @param enforce whether operations over budget are rejected, rather than only logged
+   */
+  public QueryCostInstrumentation(final long maxCost, final int maxDepth, final boolean enforce) {
+    _maxCost = maxCost;
+    _maxDepth = maxDepth;
+    _enforce = enforce;
+  }
+
+  @Override
+  public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+      final InstrumentationExecuteOperationParameters parameters) {
+    final ExecutionContext executionContext = parameters.getExecutionContext();
+    final String operationName = executionContext.getOperationDefinition().getName() != null
+        ? executionContext.getOperationDefinition().getName()
+        : ANONYMOUS_OPERATION;
+
+    final QueryCost queryCost = estimate(executionContext);
+    // Not per operation name: the name is chosen by the client, so it would register a histogram per distinct name
+    MetricUtils.get().histogram(MetricRegistry.name(this.getClass(), "cost")).update(queryCost.cost);
+    MetricUtils.get().histogram(MetricRegistry.name(this.getClass(), "depth")).update(queryCost.depth);
+
+    final boolean overCost = _maxCost > 0 && queryCost.cost > _maxCost;
+    final boolean overDepth = _maxDepth > 0 && queryCost.depth > _maxDepth;
+    if (overCost || overDepth) {
+      MetricUtils.counter(this.getClass(), "overBudget").inc();
+      final String message = String.format(
+          "Operation %s has an estimated cost of %d and depth of %d, exceeding the maximum cost of %d or depth of %d",
+          operationName, queryCost.cost, queryCost.depth, _maxCost, _maxDepth);
+      if (_enforce) {
+        log.warn("Rejecting over budget query. {}", message);
+        throw new AbortExecutionException(message);
+      }
+      log.warn(message);
+    }
+    return super.beginExecuteOperation(parameters);
+  }
+
+  @Nonnull
+  QueryCost estimate(@Nonnull final ExecutionContext executionContext) {
+    final QueryTraverser queryTraverser = QueryTraverser.newQueryTraverser()
+        .schema(executionContext.getGraphQLSchema())
+        .document(executionContext.getDocument())
+        .operationName(executionContext.getOperationDefinition().getName())
+        .variables(executionContext.getVariables())
+        .build();
+
+    // Fields are visited after their selections, so the cost of the selections is summed up by parent first
+    final Map<QueryVisitorFieldEnvironment, Long> selectionCosts = new HashMap<>();
+    final QueryCost queryCost = new QueryCost();
+    queryTraverser.visitPostOrder(new QueryVisitorStub() {
+      @Override
+      public void visitField(final QueryVisitorFieldEnvironment environment) {
+        final long selectionCost = selectionCosts.getOrDefault(environment, 0L);
+        final long cost = saturatedAdd(getWeight(environment), saturatedMultiply(getCount(environment), selectionCost));
+        selectionCosts.merge(environment.getParentEnvironment(), cost, QueryCostInstrumentation::saturatedAdd);
+        queryCost.depth = Math.max(queryCost.depth, getDepth(environment));
+      }
+    });
+    queryCost.cost = selectionCosts.getOrDefault(null, 0L);
+    return queryCost;
+  }
+
+  private static long getWeight(@Nonnull final QueryVisitorFieldEnvironment environment) {
+    final Integer weight = getCostArgument(environment.getFieldDefinition(), WEIGHT_ARGUMENT);
+    if (weight != null) {
+      return weight;
+    }
+    return GraphQLTypeUtil.isLeaf(GraphQLTypeUtil.unwrapAll(environment.getFieldDefinition().getType())) ? 0 : 1;
+  }
+
+  private static long getCount(@Nonnull final QueryVisitorFieldEnvironment environment) {
+    final Map<String, Object> arguments = environment.getArguments();
+    Object count = arguments.get(COUNT_ARGUMENT);
+    if (count == null && arguments.get(INPUT_ARGUMENT) instanceof Map) {
+      count = ((Map<?, ?>) arguments.get(INPUT_ARGUMENT)).get(COUNT_ARGUMENT);
+    }
+    if (count instanceof Number) {
+      return Math.max(((Number) count).longValue(), 0);
+    }
+    final Integer defaultCount = getCostArgument(environment.getFieldDefinition(), DEFAULT_COUNT_ARGUMENT);
+    return defaultCount != null ? defaultCount : 1;
+  }
+
+  @Nullable
+  private static Integer getCostArgument(@Nonnull final GraphQLFieldDefinition fieldDefinition,
+      @Nonnull final String name) {
+    final GraphQLDirective directive = fieldDefinition.getDirective(COST_DIRECTIVE);
+    if (directive == null) {
+      return null;
+    }
+    final GraphQLArgument argument = directive.getArgument(name);
+    return argument != null && argument.getValue() instanceof Number ? ((Number) argument.getValue()).intValue() : null;
+  }
+
+  private static int getDepth(@Nonnull final QueryVisitorFieldEnvironment environment) {
+    int depth = 0;
+    for (QueryVisitorFieldEnvironment current = environment; current != null;
+        current = current.getParentEnvironment()) {
+      depth++;
+    }
+    return depth;
+  }
+
+  private static long saturatedAdd(final long a, final long b) {
+    final long result = a + b;
+    return result < 0 ? Long.MAX_VALUE : result;
+  }
+
+  private static long saturatedMultiply(final long a, final long b) {
+    return b != 0 && a > Long.MAX_VALUE / b ? Long.MAX_VALUE : a * b;
+  }
+
+  static class QueryCost {
+    long cost;
+    int depth;
+  }
+}
@@ -7,6 +7,7 @@ import com.linkedin.datahub.graphql.QueryContext;
 import com.linkedin.datahub.graphql.authorization.AuthorizationUtils;
 import com.linkedin.datahub.graphql.authorization.ConjunctivePrivilegeGroup;
 import com.linkedin.datahub.graphql.authorization.DisjunctivePrivilegeGroup;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.resolvers.AuthUtils;
 import com.linkedin.datahub.graphql.resolvers.mutate.MutationUtils;
@@ -36,7 +37,7 @@ public class DeleteAssertionResolver implements DataFetcher<CompletableFuture<Bo
   public CompletableFuture<Boolean> get(final DataFetchingEnvironment environment) throws Exception {
     final QueryContext context = environment.getContext();
     final Urn assertionUrn = Urn.createFromString(environment.getArgument("urn"));
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
 
       // 1. check the entity exists. If not, return false.
       if (!_entityService.exists(assertionUrn)) {
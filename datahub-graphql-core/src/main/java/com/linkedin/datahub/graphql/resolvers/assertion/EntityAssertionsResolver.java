@@ -5,6 +5,7 @@ import com.linkedin.common.EntityRelationship;
 import com.linkedin.common.EntityRelationships;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.generated.Assertion;
 import com.linkedin.datahub.graphql.generated.Entity;
 import com.linkedin.datahub.graphql.generated.EntityAssertionsResult;
@@ -44,7 +45,7 @@ public class EntityAssertionsResolver implements DataFetcher<CompletableFuture<E
 
   @Override
   public CompletableFuture<EntityAssertionsResult> get(DataFetchingEnvironment environment) {
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
 
       final QueryContext context = environment.getContext();
 
@@ -7,6 +7,7 @@ import com.linkedin.common.EntityRelationships;
 import com.linkedin.data.template.StringArray;
 import com.linkedin.data.template.StringArrayArray;
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.generated.Dataset;
 import com.linkedin.datahub.graphql.generated.Health;
 import com.linkedin.datahub.graphql.generated.HealthStatus;
@@ -68,7 +69,7 @@ public class DatasetHealthResolver implements DataFetcher<CompletableFuture<Heal
   @Override
   public CompletableFuture<Health> get(final DataFetchingEnvironment environment) throws Exception {
     final Dataset parent = environment.getSource();
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
         try {
           final CachedHealth cachedStatus = _statusCache.get(parent.getUrn(), () -> (
               computeHealthStatusForDataset(parent.getUrn(), environment.getContext())));
@@ -3,6 +3,7 @@ package com.linkedin.datahub.graphql.resolvers.domain;
 import com.linkedin.common.UrnArray;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.resolvers.mutate.util.DomainUtils;
 import com.linkedin.domain.Domains;
@@ -38,7 +39,7 @@ public class SetDomainResolver implements DataFetcher<CompletableFuture<Boolean>
     final Urn entityUrn = Urn.createFromString(environment.getArgument("entityUrn"));
     final Urn domainUrn = Urn.createFromString(environment.getArgument("domainUrn"));
 
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
 
       if (!DomainUtils.isAuthorizedToUpdateDomainsForEntity(environment.getContext(), entityUrn)) {
         throw new AuthorizationException("Unauthorized to perform this action. Please contact your DataHub administrator.");
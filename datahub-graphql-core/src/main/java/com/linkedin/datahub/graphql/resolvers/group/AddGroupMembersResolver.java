@@ -7,6 +7,7 @@ import com.linkedin.datahub.graphql.QueryContext;
 import com.linkedin.datahub.graphql.authorization.AuthorizationUtils;
 import com.linkedin.datahub.graphql.authorization.ConjunctivePrivilegeGroup;
 import com.linkedin.datahub.graphql.authorization.DisjunctivePrivilegeGroup;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.exception.DataHubGraphQLErrorCode;
 import com.linkedin.datahub.graphql.exception.DataHubGraphQLException;
@@ -50,14 +51,14 @@ public class AddGroupMembersResolver implements DataFetcher<CompletableFuture<Bo
       final String groupUrnStr = input.getGroupUrn();
       final List<String> userUrnStrs = input.getUserUrns();
 
-      return CompletableFuture.runAsync(() -> {
+      return GraphQLConcurrencyUtils.runAsync(() -> {
         if (!groupExists(groupUrnStr, context)) {
           // The group doesn't exist.
           throw new DataHubGraphQLException("Failed to add member to group. Group does not exist.", DataHubGraphQLErrorCode.NOT_FOUND);
         }
       })
       .thenApply(ignored -> CompletableFuture.allOf(
-          userUrnStrs.stream().map(userUrnStr -> CompletableFuture.runAsync(() ->
+          userUrnStrs.stream().map(userUrnStr -> GraphQLConcurrencyUtils.runAsync(() ->
               addUserToGroup(userUrnStr, groupUrnStr, context)
           )).toArray(CompletableFuture[]::new)))
       .thenApply((ignored) -> Boolean.TRUE);
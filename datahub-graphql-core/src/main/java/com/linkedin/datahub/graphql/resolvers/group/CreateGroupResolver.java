@@ -4,6 +4,7 @@ import com.linkedin.common.CorpGroupUrnArray;
 import com.linkedin.common.CorpuserUrnArray;
 import com.linkedin.datahub.graphql.QueryContext;
 import com.linkedin.datahub.graphql.authorization.AuthorizationUtils;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.generated.CreateGroupInput;
 import com.linkedin.entity.client.EntityClient;
@@ -38,7 +39,7 @@ public class CreateGroupResolver implements DataFetcher<CompletableFuture<String
     if (AuthorizationUtils.canManageUsersAndGroups(context)) {
       final CreateGroupInput input = bindArgument(environment.getArgument("input"), CreateGroupInput.class);
 
-      return CompletableFuture.supplyAsync(() -> {
+      return GraphQLConcurrencyUtils.supplyAsync(() -> {
         try {
           // First, check if the group already exists.
           // Create the Group key.
@@ -3,6 +3,7 @@ package com.linkedin.datahub.graphql.resolvers.group;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.datahub.graphql.QueryContext;
 import com.linkedin.datahub.graphql.authorization.AuthorizationUtils;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.generated.CorpGroup;
 import com.linkedin.datahub.graphql.generated.ListGroupsInput;
@@ -49,7 +50,7 @@ public class ListGroupsResolver implements DataFetcher<CompletableFuture<ListGro
       final Integer count = input.getCount() == null ? DEFAULT_COUNT : input.getCount();
       final String query = input.getQuery() == null ? DEFAULT_QUERY : input.getQuery();
 
-      return CompletableFuture.supplyAsync(() -> {
+      return GraphQLConcurrencyUtils.supplyAsync(() -> {
         try {
           // First, get all group Urns.
           final SearchResult gmsResult =
@@ -7,6 +7,7 @@ import com.linkedin.datahub.graphql.QueryContext;
 import com.linkedin.datahub.graphql.authorization.AuthorizationUtils;
 import com.linkedin.datahub.graphql.authorization.ConjunctivePrivilegeGroup;
 import com.linkedin.datahub.graphql.authorization.DisjunctivePrivilegeGroup;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.generated.RemoveGroupMembersInput;
 import com.linkedin.entity.EntityResponse;
@@ -48,7 +49,7 @@ public class RemoveGroupMembersResolver implements DataFetcher<CompletableFuture
       final Set<Urn> userUrns = input.getUserUrns().stream().map(UrnUtils::getUrn).collect(Collectors.toSet());
       final Map<Urn, EntityResponse> entityResponseMap = _entityClient.batchGetV2(CORP_USER_ENTITY_NAME,
           userUrns, Collections.singleton(GROUP_MEMBERSHIP_ASPECT_NAME), context.getAuthentication());
-      return CompletableFuture.allOf(userUrns.stream().map(userUrn -> CompletableFuture.supplyAsync(() -> {
+      return CompletableFuture.allOf(userUrns.stream().map(userUrn -> GraphQLConcurrencyUtils.supplyAsync(() -> {
         try {
           EntityResponse entityResponse = entityResponseMap.get(userUrn);
           if (entityResponse == null) {
@@ -3,6 +3,7 @@ package com.linkedin.datahub.graphql.resolvers.group;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.datahub.graphql.QueryContext;
 import com.linkedin.datahub.graphql.authorization.AuthorizationUtils;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.entity.client.EntityClient;
 import graphql.schema.DataFetcher;
@@ -26,7 +27,7 @@ public class RemoveGroupResolver implements DataFetcher<CompletableFuture<Boolea
     if (AuthorizationUtils.canManageUsersAndGroups(context)) {
       final String groupUrn = environment.getArgument("urn");
       final Urn urn = Urn.createFromString(groupUrn);
-      return CompletableFuture.supplyAsync(() -> {
+      return GraphQLConcurrencyUtils.supplyAsync(() -> {
         try {
           // TODO: Remove all dangling references to this group.
           _entityClient.deleteEntity(urn, context.getAuthentication());
@@ -3,6 +3,7 @@ package com.linkedin.datahub.graphql.resolvers.ingest.source;
 import com.google.common.collect.ImmutableSet;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.generated.ListIngestionSourcesInput;
 import com.linkedin.datahub.graphql.generated.ListIngestionSourcesResult;
@@ -49,7 +50,7 @@ public class ListIngestionSourcesResolver implements DataFetcher<CompletableFutu
       final Integer count = input.getCount() == null ? DEFAULT_COUNT : input.getCount();
       final String query = input.getQuery() == null ? DEFAULT_QUERY : input.getQuery();
 
-      return CompletableFuture.supplyAsync(() -> {
+      return GraphQLConcurrencyUtils.supplyAsync(() -> {
         try {
           // First, get all ingestion sources Urns.
           final SearchResult gmsResult = _entityClient.search(
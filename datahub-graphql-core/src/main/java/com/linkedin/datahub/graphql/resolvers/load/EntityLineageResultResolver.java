@@ -1,6 +1,7 @@
 package com.linkedin.datahub.graphql.resolvers.load;
 
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.generated.Entity;
 import com.linkedin.datahub.graphql.generated.EntityLineageResult;
 import com.linkedin.datahub.graphql.generated.LineageDirection;
@@ -43,7 +44,7 @@ public class EntityLineageResultResolver implements DataFetcher<CompletableFutur
 
     com.linkedin.metadata.graph.LineageDirection resolvedDirection =
         com.linkedin.metadata.graph.LineageDirection.valueOf(lineageDirection.toString());
-    return CompletableFuture.supplyAsync(() -> mapEntityRelationships(lineageDirection,
+    return GraphQLConcurrencyUtils.supplyAsync(() -> mapEntityRelationships(lineageDirection,
         _graphClient.getLineageEntities(urn, resolvedDirection, start, count, 1, context.getActorUrn())));
   }
 
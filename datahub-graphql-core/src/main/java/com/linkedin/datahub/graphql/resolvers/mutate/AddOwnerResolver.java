@@ -4,6 +4,7 @@ import com.linkedin.common.urn.CorpuserUrn;
 
 import com.linkedin.common.urn.Urn;
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.generated.AddOwnerInput;
 import com.linkedin.datahub.graphql.generated.OwnerEntityType;
@@ -38,7 +39,7 @@ public class AddOwnerResolver implements DataFetcher<CompletableFuture<Boolean>>
       throw new AuthorizationException("Unauthorized to perform this action. Please contact your DataHub administrator.");
     }
 
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
       OwnerUtils.validateAddInput(
           ownerUrn,
           ownerEntityType,
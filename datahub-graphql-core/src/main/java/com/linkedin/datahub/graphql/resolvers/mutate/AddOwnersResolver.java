@@ -4,6 +4,7 @@ import com.linkedin.common.urn.CorpuserUrn;
 
 import com.linkedin.common.urn.Urn;
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.generated.AddOwnersInput;
 import com.linkedin.datahub.graphql.generated.OwnerInput;
@@ -31,7 +32,7 @@ public class AddOwnersResolver implements DataFetcher<CompletableFuture<Boolean>
     List<OwnerInput> owners = input.getOwners();
     Urn targetUrn = Urn.createFromString(input.getResourceUrn());
 
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
 
       if (!OwnerUtils.isAuthorizedToUpdateOwners(environment.getContext(), targetUrn)) {
         throw new AuthorizationException("Unauthorized to perform this action. Please contact your DataHub administrator.");
@@ -3,6 +3,7 @@ package com.linkedin.datahub.graphql.resolvers.mutate;
 import com.linkedin.common.urn.CorpuserUrn;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.generated.DescriptionUpdateInput;
 import com.linkedin.metadata.Constants;
@@ -57,7 +58,7 @@ public class UpdateDescriptionResolver implements DataFetcher<CompletableFuture<
   }
 
   private CompletableFuture<Boolean> updateContainerDescription(Urn targetUrn, DescriptionUpdateInput input, QueryContext context) {
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
 
       if (!DescriptionUtils.isAuthorizedToUpdateContainerDescription(context, targetUrn)) {
         throw new AuthorizationException(
@@ -82,7 +83,7 @@ public class UpdateDescriptionResolver implements DataFetcher<CompletableFuture<
   }
 
   private CompletableFuture<Boolean> updateDomainDescription(Urn targetUrn, DescriptionUpdateInput input, QueryContext context) {
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
 
       if (!DescriptionUtils.isAuthorizedToUpdateDomainDescription(context, targetUrn)) {
         throw new AuthorizationException(
@@ -107,7 +108,7 @@ public class UpdateDescriptionResolver implements DataFetcher<CompletableFuture<
 
   private CompletableFuture<Boolean> updateDatasetDescription(Urn targetUrn, DescriptionUpdateInput input, QueryContext context) {
 
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
 
       if (!DescriptionUtils.isAuthorizedToUpdateFieldDescription(context, targetUrn)) {
         throw new AuthorizationException(
@@ -134,7 +135,7 @@ public class UpdateDescriptionResolver implements DataFetcher<CompletableFuture<
   }
 
   private CompletableFuture<Boolean> updateTagDescription(Urn targetUrn, DescriptionUpdateInput input, QueryContext context) {
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
 
       if (!DescriptionUtils.isAuthorizedToUpdateDescription(context, targetUrn)) {
         throw new AuthorizationException(
@@ -158,7 +159,7 @@ public class UpdateDescriptionResolver implements DataFetcher<CompletableFuture<
   }
 
   private CompletableFuture<Boolean> updateGlossaryTermDescription(Urn targetUrn, DescriptionUpdateInput input, QueryContext context) {
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
 
       if (!DescriptionUtils.isAuthorizedToUpdateDescription(context, targetUrn)) {
         throw new AuthorizationException(
@@ -182,7 +183,7 @@ public class UpdateDescriptionResolver implements DataFetcher<CompletableFuture<
   }
 
   private CompletableFuture<Boolean> updateCorpGroupDescription(Urn targetUrn, DescriptionUpdateInput input, QueryContext context) {
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
 
       if (!DescriptionUtils.isAuthorizedToUpdateDescription(context, targetUrn)) {
         throw new AuthorizationException(
@@ -207,7 +208,7 @@ public class UpdateDescriptionResolver implements DataFetcher<CompletableFuture<
   
   private CompletableFuture<Boolean> updateNotebookDescription(Urn targetUrn, DescriptionUpdateInput input,
       QueryContext context) {
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
 
       if (!DescriptionUtils.isAuthorizedToUpdateDescription(context, targetUrn)) {
         throw new AuthorizationException(
@@ -232,7 +233,7 @@ public class UpdateDescriptionResolver implements DataFetcher<CompletableFuture<
 
   private CompletableFuture<Boolean> updateMlModelDescription(Urn targetUrn, DescriptionUpdateInput input,
       QueryContext context) {
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
 
       if (!DescriptionUtils.isAuthorizedToUpdateDescription(context, targetUrn)) {
         throw new AuthorizationException(
@@ -257,7 +258,7 @@ public class UpdateDescriptionResolver implements DataFetcher<CompletableFuture<
 
   private CompletableFuture<Boolean> updateMlModelGroupDescription(Urn targetUrn, DescriptionUpdateInput input,
       QueryContext context) {
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
 
       if (!DescriptionUtils.isAuthorizedToUpdateDescription(context, targetUrn)) {
         throw new AuthorizationException(
@@ -282,7 +283,7 @@ public class UpdateDescriptionResolver implements DataFetcher<CompletableFuture<
 
   private CompletableFuture<Boolean> updateMlFeatureDescription(Urn targetUrn, DescriptionUpdateInput input,
       QueryContext context) {
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
 
       if (!DescriptionUtils.isAuthorizedToUpdateDescription(context, targetUrn)) {
         throw new AuthorizationException(
@@ -307,7 +308,7 @@ public class UpdateDescriptionResolver implements DataFetcher<CompletableFuture<
 
   private CompletableFuture<Boolean> updateMlPrimaryKeyDescription(Urn targetUrn, DescriptionUpdateInput input,
       QueryContext context) {
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
 
       if (!DescriptionUtils.isAuthorizedToUpdateDescription(context, targetUrn)) {
         throw new AuthorizationException(
@@ -332,7 +333,7 @@ public class UpdateDescriptionResolver implements DataFetcher<CompletableFuture<
 
   private CompletableFuture<Boolean> updateMlFeatureTableDescription(Urn targetUrn, DescriptionUpdateInput input,
       QueryContext context) {
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
 
       if (!DescriptionUtils.isAuthorizedToUpdateDescription(context, targetUrn)) {
         throw new AuthorizationException(
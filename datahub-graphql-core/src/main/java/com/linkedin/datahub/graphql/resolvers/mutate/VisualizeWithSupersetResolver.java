@@ -3,6 +3,7 @@ package com.linkedin.datahub.graphql.resolvers.mutate;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.linkedin.common.urn.TupleKey;
 import com.linkedin.common.urn.Urn;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.generated.VisualizeWithSupersetInput;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
@@ -62,7 +63,7 @@ public class VisualizeWithSupersetResolver implements DataFetcher<CompletableFut
 
         _logger.info("[DATA FABRIC] Visualizing with Superset `" + input.getName() + "`.");
 //        return CompletableFuture.supplyAsync(() -> {return null;});
-        return CompletableFuture.supplyAsync(() -> {
+        return GraphQLConcurrencyUtils.supplyAsync(() -> {
             String supersetUrl = System.getenv(SUPERSET_ENDPOINT);
             if (supersetUrl == null) {
                 log.error("Environment variable `" + SUPERSET_ENDPOINT + "` was not found.");
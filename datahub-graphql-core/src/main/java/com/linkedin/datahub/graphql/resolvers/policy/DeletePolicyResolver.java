@@ -3,6 +3,7 @@ package com.linkedin.datahub.graphql.resolvers.policy;
 import com.datahub.authorization.AuthorizerChain;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.entity.client.EntityClient;
 import graphql.schema.DataFetcher;
@@ -27,11 +28,11 @@ public class DeletePolicyResolver implements DataFetcher<CompletableFuture<Strin
     if (PolicyAuthUtils.canManagePolicies(context)) {
       final String policyUrn = environment.getArgument("urn");
       final Urn urn = Urn.createFromString(policyUrn);
-      return CompletableFuture.supplyAsync(() -> {
+      return GraphQLConcurrencyUtils.supplyAsync(() -> {
         try {
           _entityClient.deleteEntity(urn, context.getAuthentication());
           if (context.getAuthorizer() instanceof AuthorizerChain) {
-            ((AuthorizerChain) context.getAuthorizer()).getDefaultAuthorizer().invalidateCache();
+            ((AuthorizerChain) context.getAuthorizer()).getDefaultAuthorizer().removePolicy(urn);
           }
           return policyUrn;
         } catch (Exception e) {
@@ -2,7 +2,9 @@ package com.linkedin.datahub.graphql.resolvers.policy;
 
 import com.datahub.authorization.AuthorizerChain;
 import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.generated.PolicyUpdateInput;
 import com.linkedin.datahub.graphql.resolvers.policy.mappers.PolicyUpdateInputInfoMapper;
@@ -67,12 +69,12 @@ public class UpsertPolicyResolver implements DataFetcher<CompletableFuture<Strin
       proposal.setAspect(GenericRecordUtils.serializeAspect(info));
       proposal.setChangeType(ChangeType.UPSERT);
 
-      return CompletableFuture.supplyAsync(() -> {
+      return GraphQLConcurrencyUtils.supplyAsync(() -> {
         try {
           // TODO: We should also provide SystemMetadata.
           String urn = _entityClient.ingestProposal(proposal, context.getAuthentication());
           if (context.getAuthorizer() instanceof AuthorizerChain) {
-            ((AuthorizerChain) context.getAuthorizer()).getDefaultAuthorizer().invalidateCache();
+            ((AuthorizerChain) context.getAuthorizer()).getDefaultAuthorizer().updatePolicy(UrnUtils.getUrn(urn), info);
           }
           return urn;
         } catch (Exception e) {
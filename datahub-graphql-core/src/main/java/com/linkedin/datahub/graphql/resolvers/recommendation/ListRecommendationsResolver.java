@@ -1,6 +1,7 @@
 package com.linkedin.datahub.graphql.resolvers.recommendation;
 
 import com.linkedin.common.urn.Urn;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.generated.ContentParams;
 import com.linkedin.datahub.graphql.generated.EntityProfileParams;
 import com.linkedin.datahub.graphql.generated.Filter;
@@ -49,7 +50,7 @@ public class ListRecommendationsResolver implements DataFetcher<CompletableFutur
     final ListRecommendationsInput input =
         bindArgument(environment.getArgument("input"), ListRecommendationsInput.class);
 
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
       try {
         log.debug("Listing recommendations for input {}", input);
         List<com.linkedin.metadata.recommendation.RecommendationModule> modules =
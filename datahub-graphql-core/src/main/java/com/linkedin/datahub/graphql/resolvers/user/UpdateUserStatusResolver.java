@@ -4,6 +4,7 @@ import com.linkedin.common.AuditStamp;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.datahub.graphql.QueryContext;
 import com.linkedin.datahub.graphql.authorization.AuthorizationUtils;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.generated.CorpUserStatus;
 import com.linkedin.entity.client.EntityClient;
@@ -37,7 +38,7 @@ public class UpdateUserStatusResolver implements DataFetcher<CompletableFuture<S
       statusAspect.setStatus(newStatus.toString());
       statusAspect.setLastModified(new AuditStamp().setTime(System.currentTimeMillis()).setActor(Urn.createFromString(context.getActorUrn())));
 
-      return CompletableFuture.supplyAsync(() -> {
+      return GraphQLConcurrencyUtils.supplyAsync(() -> {
         try {
           final MetadataChangeProposal proposal = new MetadataChangeProposal();
           proposal.setEntityUrn(Urn.createFromString(userUrn));
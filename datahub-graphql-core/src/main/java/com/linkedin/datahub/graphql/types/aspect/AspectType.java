@@ -1,7 +1,7 @@
 package com.linkedin.datahub.graphql.types.aspect;
 
-import com.google.common.collect.ImmutableSet;
 import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.datahub.graphql.VersionedAspectKey;
 import com.linkedin.datahub.graphql.QueryContext;
 import com.linkedin.datahub.graphql.generated.Aspect;
@@ -11,8 +11,11 @@ import com.linkedin.entity.EnvelopedAspect;
 import com.linkedin.entity.client.EntityClient;
 import com.linkedin.restli.client.RestLiResponseException;
 import graphql.execution.DataFetcherResult;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 
@@ -38,41 +41,50 @@ public class AspectType implements LoadableType<Aspect, VersionedAspectKey> {
    * Retrieves an list of aspects given a list of {@link VersionedAspectKey} structs. The list returned is expected to
    * be of same length of the list of keys, where nulls are provided in place of an aspect object if an entity cannot be found.
    *
+   * <p>The aspects requested for all urns of an entity type are fetched in a single call, so that all aspects resolved
+   * within one level of a query are loaded with one call per entity type.
+   *
    * @param keys to retrieve
    * @param context the {@link QueryContext} corresponding to the request.
    */
   public List<DataFetcherResult<Aspect>> batchLoad(@Nonnull List<VersionedAspectKey> keys, @Nonnull QueryContext context) throws Exception {
 
     try {
-      return keys.stream().map(key -> {
-        try {
-          Urn entityUrn = Urn.createFromString(key.getUrn());
+      final Map<String, Set<Urn>> urnsByEntityType = new HashMap<>();
+      final Map<String, Set<String>> aspectNamesByEntityType = new HashMap<>();
+      for (VersionedAspectKey key : keys) {
+        final Urn entityUrn = Urn.createFromString(key.getUrn());
+        urnsByEntityType.computeIfAbsent(entityUrn.getEntityType(), entityType -> new HashSet<>()).add(entityUrn);
+        aspectNamesByEntityType.computeIfAbsent(entityUrn.getEntityType(), entityType -> new HashSet<>())
+            .add(key.getAspectName());
+      }
 
-          Map<Urn, EntityResponse> response = _entityClient.batchGetV2(
-              entityUrn.getEntityType(),
-              ImmutableSet.of(entityUrn),
-              ImmutableSet.of(key.getAspectName()),
+      final Map<Urn, EntityResponse> responses = new HashMap<>();
+      for (Map.Entry<String, Set<Urn>> entry : urnsByEntityType.entrySet()) {
+        try {
+          responses.putAll(_entityClient.batchGetV2(
+              entry.getKey(),
+              entry.getValue(),
+              aspectNamesByEntityType.get(entry.getKey()),
               context.getAuthentication()
-          );
-
-          EntityResponse entityResponse = response.get(entityUrn);
-
-          if (entityResponse == null || entityResponse.getAspects().get(key.getAspectName()) == null) {
-            // The aspect was not found. Return null.
-            return DataFetcherResult.<Aspect>newResult().data(null).build();
-          }
-          final EnvelopedAspect aspect = entityResponse.getAspects().get(key.getAspectName());
-          return DataFetcherResult.<Aspect>newResult().data(AspectMapper.map(aspect)).build();
-        } catch (Exception e) {
-          if (e instanceof RestLiResponseException) {
-            // if no aspect is found, restli will return a 404 rather than null
-            // https://linkedin.github.io/rest.li/user_guide/restli_server#returning-nulls
-            if (((RestLiResponseException) e).getStatus() == 404) {
-              return DataFetcherResult.<Aspect>newResult().data(null).build();
-            }
+          ));
+        } catch (RestLiResponseException e) {
+          // if no aspect is found, restli will return a 404 rather than null
+          // https://linkedin.github.io/rest.li/user_guide/restli_server#returning-nulls
+          if (e.getStatus() != 404) {
+            throw e;
           }
-          throw new RuntimeException(String.format("Failed to load Aspect for entity %s", key.getUrn()), e);
         }
+      }
+
+      return keys.stream().map(key -> {
+        final EntityResponse entityResponse = responses.get(UrnUtils.getUrn(key.getUrn()));
+        if (entityResponse == null || entityResponse.getAspects().get(key.getAspectName()) == null) {
+          // The aspect was not found. Return null.
+          return DataFetcherResult.<Aspect>newResult().data(null).build();
+        }
+        final EnvelopedAspect aspect = entityResponse.getAspects().get(key.getAspectName());
+        return DataFetcherResult.<Aspect>newResult().data(AspectMapper.map(aspect)).build();
       }).collect(Collectors.toList());
     } catch (Exception e) {
       throw new RuntimeException("Failed to batch load Aspects", e);
@@ -0,0 +1,92 @@
+package com.linkedin.datahub.graphql;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hashing;
+import graphql.ExecutionResult;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.mockito.Mockito;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+
+public class GraphQLEngineTest {
+  private static final String SCHEMA = "type Query { hello: String }\ntype Mutation { bump: Int }";
+  private static final String QUERY = "query getHello { hello }";
+
+  @Test
+  public void testPersistedQuery() {
+    GraphQLEngine engine = getEngine(new AtomicInteger()).build();
+    Map<String, Object> extensions = ImmutableMap.of("persistedQuery", ImmutableMap.of("version", 1, "sha256Hash",
+        Hashing.sha256().hashString(QUERY, StandardCharsets.UTF_8).toString()));
+
+    // Unknown hashes are rejected until the query is sent along with its hash
+    ExecutionResult result = engine.execute("", null, extensions, TestUtils.getMockAllowContext());
+    assertEquals(result.getErrors().size(), 1);
+    assertEquals(result.getErrors().get(0).getMessage(), CachingPreparsedDocumentProvider.PERSISTED_QUERY_NOT_FOUND);
+
+    result = engine.execute(QUERY, null, extensions, TestUtils.getMockAllowContext());
+    assertTrue(result.getErrors().isEmpty());
+
+    result = engine.execute("", null, extensions, TestUtils.getMockAllowContext());
+    assertTrue(result.getErrors().isEmpty());
+    assertEquals(result.<Map<String, Object>>getData().get("hello"), "world");
+
+    // The hash has to match the query
+    result = engine.execute("query other { hello }", null, extensions, TestUtils.getMockAllowContext());
+    assertEquals(result.getErrors().size(), 1);
+  }
+
+  @Test
+  public void testResponseCache() {
+    AtomicInteger calls = new AtomicInteger();
+    GraphQLEngine engine = getEngine(calls).setResponseCache(ImmutableSet.of("getHello"), 60, 100).build();
+
+    engine.execute(QUERY, Collections.emptyMap(), TestUtils.getMockAllowContext());
+    engine.execute(QUERY, Collections.emptyMap(), TestUtils.getMockAllowContext());
+    assertEquals(calls.get(), 1);
+
+    // Responses are cached per actor
+    QueryContext otherContext = TestUtils.getMockAllowContext();
+    Mockito.when(otherContext.getActorUrn()).thenReturn("urn:li:corpuser:other");
+    engine.execute(QUERY, Collections.emptyMap(), otherContext);
+    assertEquals(calls.get(), 2);
+
+    // Operations which did not opt in are not cached
+    engine.execute("query otherHello { hello }", Collections.emptyMap(), TestUtils.getMockAllowContext());
+    engine.execute("query otherHello { hello }", Collections.emptyMap(), TestUtils.getMockAllowContext());
+    assertEquals(calls.get(), 4);
+  }
+
+  @Test
+  public void testResponseCacheOperationName() {
+    AtomicInteger calls = new AtomicInteger();
+    GraphQLEngine engine = getEngine(calls).setResponseCache(ImmutableSet.of("getHello"), 60, 100).build();
+    String query = "query getHello { hello }\nquery otherHello { hello }";
+
+    engine.execute(query, "getHello", Collections.emptyMap(), null, TestUtils.getMockAllowContext());
+    engine.execute(query, "getHello", Collections.emptyMap(), null, TestUtils.getMockAllowContext());
+    assertEquals(calls.get(), 1);
+
+    // Other operations of the same query neither share the cached response nor are cached unless they opted in
+    engine.execute(query, "otherHello", Collections.emptyMap(), null, TestUtils.getMockAllowContext());
+    engine.execute(query, "otherHello", Collections.emptyMap(), null, TestUtils.getMockAllowContext());
+    assertEquals(calls.get(), 3);
+  }
+
+  private GraphQLEngine.Builder getEngine(AtomicInteger calls) {
+    return GraphQLEngine.builder()
+        .addSchema(SCHEMA)
+        .configureRuntimeWiring(builder -> builder
+            .type("Query", typeWiring -> typeWiring.dataFetcher("hello", environment -> {
+              calls.incrementAndGet();
+              return "world";
+            }))
+            .type("Mutation", typeWiring -> typeWiring.dataFetcher("bump", environment -> calls.incrementAndGet())));
+  }
+}
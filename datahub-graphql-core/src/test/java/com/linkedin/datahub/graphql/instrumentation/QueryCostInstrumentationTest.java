@@ -0,0 +1,76 @@
+package com.linkedin.datahub.graphql.instrumentation;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.linkedin.datahub.graphql.GraphQLEngine;
+import com.linkedin.datahub.graphql.TestUtils;
+import graphql.ExecutionResult;
+import java.util.Collections;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+
+public class QueryCostInstrumentationTest {
+  private static final String SCHEMA = "directive @cost(weight: Int!, defaultCount: Int) on FIELD_DEFINITION\n"
+      + "type Query { items(count: Int): [Item] @cost(weight: 10, defaultCount: 100) }\n"
+      + "type Item { name: String related: [Item] }";
+
+  @Test
+  public void testCostWithinBudget() {
+    // 10 for items, plus 5 times 1 for related
+    GraphQLEngine engine = getEngine(new QueryCostInstrumentation(15, 3, true));
+    ExecutionResult result = engine.execute("query getItems { items(count: 5) { name related { name } } }",
+        Collections.emptyMap(), TestUtils.getMockAllowContext());
+    assertTrue(result.getErrors().isEmpty());
+  }
+
+  @Test
+  public void testDefaultCountOverBudget() {
+    // Without a count, related is expected to be resolved for 100 items
+    GraphQLEngine engine = getEngine(new QueryCostInstrumentation(100, 0, true));
+    ExecutionResult result = engine.execute("query getItems { items { name related { name } } }",
+        Collections.emptyMap(), TestUtils.getMockAllowContext());
+    assertEquals(result.getErrors().size(), 1);
+    assertTrue(result.getErrors().get(0).getMessage().contains("estimated cost of 110"));
+  }
+
+  @Test
+  public void testCountFromVariables() {
+    GraphQLEngine engine = getEngine(new QueryCostInstrumentation(100, 0, true));
+    String query = "query getItems($count: Int) { items(count: $count) { name related { name } } }";
+    assertTrue(engine.execute(query, ImmutableMap.of("count", 90), TestUtils.getMockAllowContext())
+        .getErrors()
+        .isEmpty());
+    assertEquals(engine.execute(query, ImmutableMap.of("count", 91), TestUtils.getMockAllowContext())
+        .getErrors()
+        .size(), 1);
+  }
+
+  @Test
+  public void testDepthOverBudget() {
+    GraphQLEngine engine = getEngine(new QueryCostInstrumentation(0, 2, true));
+    ExecutionResult result = engine.execute("query getItems { items(count: 1) { related { name } } }",
+        Collections.emptyMap(), TestUtils.getMockAllowContext());
+    assertEquals(result.getErrors().size(), 1);
+  }
+
+  @Test
+  public void testNotEnforced() {
+    GraphQLEngine engine = getEngine(new QueryCostInstrumentation(1, 1, false));
+    ExecutionResult result = engine.execute("query getItems { items { name related { name } } }",
+        Collections.emptyMap(), TestUtils.getMockAllowContext());
+    assertTrue(result.getErrors().isEmpty());
+  }
+
+  private GraphQLEngine getEngine(QueryCostInstrumentation instrumentation) {
+    return GraphQLEngine.builder()
+        .addSchema(SCHEMA)
+        .configureRuntimeWiring(builder -> builder
+            .type("Query", typeWiring -> typeWiring.dataFetcher("items",
+                environment -> ImmutableList.of(ImmutableMap.of("name", "item", "related", Collections.emptyList())))))
+        .addInstrumentation(instrumentation)
+        .build();
+  }
+}
@@ -0,0 +1,56 @@
+package com.linkedin.datahub.graphql.types.aspect;
+
+import com.datahub.authentication.Authentication;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.VersionedAspectKey;
+import com.linkedin.datahub.graphql.generated.Aspect;
+import com.linkedin.entity.client.EntityClient;
+import com.linkedin.metadata.Constants;
+import graphql.execution.DataFetcherResult;
+import java.util.Collections;
+import java.util.List;
+import org.mockito.Mockito;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class AspectTypeTest {
+
+  private static final String TEST_DATASET_URN = "urn:li:dataset:(urn:li:dataPlatform:hive,test1,PROD)";
+  private static final String TEST_DATASET_URN_2 = "urn:li:dataset:(urn:li:dataPlatform:hive,test2,PROD)";
+  private static final String TEST_CHART_URN = "urn:li:chart:(looker,test)";
+
+  @Test
+  public void testBatchLoadGroupsByEntityType() throws Exception {
+    EntityClient client = Mockito.mock(EntityClient.class);
+    Mockito.when(client.batchGetV2(Mockito.anyString(), Mockito.anySet(), Mockito.anySet(),
+        Mockito.any(Authentication.class))).thenReturn(Collections.emptyMap());
+
+    QueryContext mockContext = Mockito.mock(QueryContext.class);
+    Mockito.when(mockContext.getAuthentication()).thenReturn(Mockito.mock(Authentication.class));
+    List<DataFetcherResult<Aspect>> result = new AspectType(client).batchLoad(ImmutableList.of(
+        new VersionedAspectKey(TEST_DATASET_URN, Constants.SCHEMA_METADATA_ASPECT_NAME, 0L),
+        new VersionedAspectKey(TEST_DATASET_URN_2, Constants.SCHEMA_METADATA_ASPECT_NAME, 0L),
+        new VersionedAspectKey(TEST_CHART_URN, Constants.SCHEMA_METADATA_ASPECT_NAME, 0L)), mockContext);
+
+    // One call per entity type
+    Mockito.verify(client, Mockito.times(1)).batchGetV2(
+        Mockito.eq(Constants.DATASET_ENTITY_NAME),
+        Mockito.eq(ImmutableSet.of(Urn.createFromString(TEST_DATASET_URN), Urn.createFromString(TEST_DATASET_URN_2))),
+        Mockito.eq(ImmutableSet.of(Constants.SCHEMA_METADATA_ASPECT_NAME)),
+        Mockito.any(Authentication.class));
+    Mockito.verify(client, Mockito.times(1)).batchGetV2(
+        Mockito.eq(Constants.CHART_ENTITY_NAME),
+        Mockito.eq(ImmutableSet.of(Urn.createFromString(TEST_CHART_URN))),
+        Mockito.eq(ImmutableSet.of(Constants.SCHEMA_METADATA_ASPECT_NAME)),
+        Mockito.any(Authentication.class));
+
+    // Missing aspects resolve to null
+    assertEquals(result.size(), 3);
+    result.forEach(aspect -> assertNull(aspect.getData()));
+  }
+}
@@ -1,12 +1,23 @@
 package com.linkedin.datahub.upgrade.config;
 
+import com.google.common.base.Suppliers;
+import com.linkedin.datahub.upgrade.restoreindices.MetadataChangeLogSender;
 import com.linkedin.datahub.upgrade.restoreindices.RestoreIndices;
-import com.linkedin.metadata.entity.EntityService;
+import com.linkedin.gms.factory.common.TopicConventionFactory;
 import com.linkedin.metadata.graph.GraphService;
+import com.linkedin.metadata.kafka.hook.UpdateIndicesHook;
 import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.metadata.search.EntitySearchService;
+import com.linkedin.metadata.search.elasticsearch.update.ESBulkProcessor;
+import com.linkedin.metadata.search.transformer.SearchDocumentTransformer;
+import com.linkedin.metadata.systemmetadata.SystemMetadataService;
+import com.linkedin.metadata.timeseries.TimeseriesAspectService;
+import com.linkedin.mxe.TopicConvention;
 import io.ebean.EbeanServer;
+import java.util.Optional;
 import javax.annotation.Nonnull;
+import org.apache.kafka.clients.producer.Producer;
+import org.elasticsearch.action.bulk.BulkProcessor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -20,16 +31,25 @@ public class RestoreIndicesConfig {
   ApplicationContext applicationContext;
 
   @Bean(name = "restoreIndices")
-  @DependsOn({"ebeanServer", "entityService", "searchService", "graphService", "entityRegistry"})
+  @DependsOn({"ebeanServer", "kafkaProducer", "searchService", "graphService", "entityRegistry"})
   @Nonnull
   public RestoreIndices createInstance() {
     final EbeanServer ebeanServer = applicationContext.getBean(EbeanServer.class);
-    final EntityService entityService = applicationContext.getBean(EntityService.class);
+    final MetadataChangeLogSender changeLogSender =
+        new MetadataChangeLogSender(applicationContext.getBean("kafkaProducer", Producer.class),
+            applicationContext.getBean(TopicConventionFactory.TOPIC_CONVENTION_BEAN, TopicConvention.class));
     final EntitySearchService entitySearchService = applicationContext.getBean(EntitySearchService.class);
     final GraphService graphService = applicationContext.getBean(GraphService.class);
     final EntityRegistry entityRegistry = applicationContext.getBean(EntityRegistry.class);
 
-    return new RestoreIndices(ebeanServer, entityService, entityRegistry, entitySearchService,
-        graphService);
+    return new RestoreIndices(ebeanServer, changeLogSender, entityRegistry, entitySearchService,
+        graphService, Suppliers.memoize(() -> new UpdateIndicesHook(graphService, entitySearchService,
+            applicationContext.getBean(TimeseriesAspectService.class),
+            applicationContext.getBean(SystemMetadataService.class), entityRegistry,
+            applicationContext.getBean(SearchDocumentTransformer.class), Optional.empty(), Optional.empty())),
+        () -> {
+          applicationContext.getBean("elasticSearchIndexedBulkProcessor", ESBulkProcessor.class).flush();
+          applicationContext.getBean("elasticSearchBulkProcessor", BulkProcessor.class).flush();
+        });
   }
 }
@@ -2,12 +2,14 @@ package com.linkedin.datahub.upgrade.impl;
 
 import com.linkedin.datahub.upgrade.UpgradeReport;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 
 public class DefaultUpgradeReport implements UpgradeReport {
 
-  private final List<String> reportLines = new ArrayList<>();
+  // Steps may report from several threads
+  private final List<String> reportLines = Collections.synchronizedList(new ArrayList<>());
 
   @Override
   public void addLine(String line) {
@@ -0,0 +1,47 @@
+package com.linkedin.datahub.upgrade.restoreindices;
+
+import com.linkedin.metadata.dao.producer.KafkaEventProducer;
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.mxe.MetadataChangeLog;
+import com.linkedin.mxe.TopicConvention;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.kafka.clients.producer.Producer;
+
+
+/**
+ * Sends MCLs to Kafka and confirms they were delivered. Sends are asynchronous, so an MCL counts as delivered only once
+ * {@link #flush()} returned without reporting any failed send.
+ */
+@Slf4j
+public class MetadataChangeLogSender {
+
+  private final Producer<String, ? extends IndexedRecord> _producer;
+  private final KafkaEventProducer _eventProducer;
+  private final AtomicLong _failedSends = new AtomicLong();
+
+  public MetadataChangeLogSender(@Nonnull final Producer<String, ? extends IndexedRecord> producer,
+      @Nonnull final TopicConvention topicConvention) {
+    _producer = producer;
+    _eventProducer = new KafkaEventProducer(producer, topicConvention, (metadata, e) -> {
+      if (e != null) {
+        log.error("Failed to send MCL", e);
+        _failedSends.incrementAndGet();
+      }
+    });
+  }
+
+  public void send(@Nonnull final MetadataChangeLog changeLog, @Nonnull final AspectSpec aspectSpec) {
+    _eventProducer.produceMetadataChangeLog(changeLog.getEntityUrn(), aspectSpec, changeLog);
+  }
+
+  /**
+   * Blocks until every MCL sent so far completed, and returns how many sends failed since this sender was created.
+   */
+  public long flush() {
+    _producer.flush();
+    return _failedSends.get();
+  }
+}
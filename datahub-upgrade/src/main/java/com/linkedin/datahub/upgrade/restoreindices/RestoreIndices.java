@@ -3,28 +3,40 @@ package com.linkedin.datahub.upgrade.restoreindices;
 import com.google.common.collect.ImmutableList;
 import com.linkedin.datahub.upgrade.Upgrade;
 import com.linkedin.datahub.upgrade.UpgradeCleanupStep;
+import com.linkedin.datahub.upgrade.UpgradeContext;
 import com.linkedin.datahub.upgrade.UpgradeStep;
+import com.linkedin.datahub.upgrade.UpgradeStepResult;
 import com.linkedin.datahub.upgrade.common.steps.ClearGraphServiceStep;
 import com.linkedin.datahub.upgrade.common.steps.ClearSearchServiceStep;
-import com.linkedin.metadata.entity.EntityService;
 import com.linkedin.metadata.graph.GraphService;
+import com.linkedin.metadata.kafka.hook.MetadataChangeLogHook;
 import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.metadata.search.EntitySearchService;
 import io.ebean.EbeanServer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 
 public class RestoreIndices implements Upgrade {
   public static final String BATCH_SIZE_ARG_NAME = "batchSize";
   public static final String BATCH_DELAY_MS_ARG_NAME = "batchDelayMs";
+  public static final String NUM_THREADS_ARG_NAME = "numThreads";
+  public static final String CHECKPOINT_FILE_ARG_NAME = "checkpointFile";
+  public static final String DIRECT_ARG_NAME = "direct";
 
   private final List<UpgradeStep> _steps;
 
-  public RestoreIndices(final EbeanServer server, final EntityService entityService,
+  public RestoreIndices(final EbeanServer server, final MetadataChangeLogSender changeLogSender,
       final EntityRegistry entityRegistry, final EntitySearchService entitySearchService,
-      final GraphService graphService) {
-    _steps = buildSteps(server, entityService, entityRegistry, entitySearchService, graphService);
+      final GraphService graphService, final Supplier<MetadataChangeLogHook> updateIndicesHookSupplier,
+      final Runnable flushIndices) {
+    _steps = buildSteps(server, changeLogSender, entityRegistry, entitySearchService, graphService,
+        updateIndicesHookSupplier, flushIndices);
   }
 
   @Override
@@ -37,13 +49,14 @@ public class RestoreIndices implements Upgrade {
     return _steps;
   }
 
-  private List<UpgradeStep> buildSteps(final EbeanServer server, final EntityService entityService,
+  private List<UpgradeStep> buildSteps(final EbeanServer server, final MetadataChangeLogSender changeLogSender,
       final EntityRegistry entityRegistry, final EntitySearchService entitySearchService,
-      final GraphService graphService) {
+      final GraphService graphService, final Supplier<MetadataChangeLogHook> updateIndicesHookSupplier,
+      final Runnable flushIndices) {
     final List<UpgradeStep> steps = new ArrayList<>();
-    steps.add(new ClearSearchServiceStep(entitySearchService, false));
-    steps.add(new ClearGraphServiceStep(graphService, false));
-    steps.add(new SendMAEStep(server, entityService, entityRegistry));
+    steps.add(new SkipWhenResumingStep(new ClearSearchServiceStep(entitySearchService, false)));
+    steps.add(new SkipWhenResumingStep(new ClearGraphServiceStep(graphService, false)));
+    steps.add(new SendMAEStep(server, changeLogSender, entityRegistry, updateIndicesHookSupplier, flushIndices));
     return steps;
   }
 
@@ -51,4 +64,56 @@ public class RestoreIndices implements Upgrade {
   public List<UpgradeCleanupStep> cleanupSteps() {
     return ImmutableList.of();
   }
+
+  /**
+   * Returns whether the restore resumes from an existing checkpoint file.
+   */
+  static boolean isResuming(final UpgradeContext context) {
+    return context.parsedArgs()
+        .getOrDefault(CHECKPOINT_FILE_ARG_NAME, Optional.empty())
+        .map(file -> Files.exists(Paths.get(file)))
+        .orElse(false);
+  }
+
+  /**
+   * Skips a step which clears the indices when resuming, which would otherwise drop the documents restored before the
+   * checkpoint.
+   */
+  private static class SkipWhenResumingStep implements UpgradeStep {
+
+    private final UpgradeStep _step;
+
+    SkipWhenResumingStep(final UpgradeStep step) {
+      _step = step;
+    }
+
+    @Override
+    public String id() {
+      return _step.id();
+    }
+
+    @Override
+    public Function<UpgradeContext, UpgradeStepResult> executable() {
+      return _step.executable();
+    }
+
+    @Override
+    public int retryCount() {
+      return _step.retryCount();
+    }
+
+    @Override
+    public boolean isOptional() {
+      return _step.isOptional();
+    }
+
+    @Override
+    public boolean skip(UpgradeContext context) {
+      if (isResuming(context)) {
+        context.report().addLine("Resuming from a checkpoint, the indices are not cleared.");
+        return true;
+      }
+      return _step.skip(context);
+    }
+  }
 }
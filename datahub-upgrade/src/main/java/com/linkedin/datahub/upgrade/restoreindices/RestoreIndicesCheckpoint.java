@@ -0,0 +1,176 @@
+package com.linkedin.datahub.upgrade.restoreindices;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * The progress of restoring indices: the ranges of urns the latest aspects were split into, and for each range the key
+ * of the last aspect which was restored. When stored in a file, an interrupted restore can resume where it left off.
+ */
+class RestoreIndicesCheckpoint {
+
+  private static final String RANGES_KEY = "ranges";
+  private static final String START_URN_KEY = "range.%d.startUrn";
+  private static final String END_URN_KEY = "range.%d.endUrn";
+  private static final String LAST_URN_KEY = "range.%d.lastUrn";
+  private static final String LAST_ASPECT_KEY = "range.%d.lastAspect";
+  private static final String DONE_KEY = "range.%d.done";
+
+  // Null if the checkpoint is not stored
+  private final Path _path;
+  private final List<Range> _ranges;
+
+  RestoreIndicesCheckpoint(@Nullable final Path path, @Nonnull final List<Range> ranges) {
+    _path = path;
+    _ranges = Collections.unmodifiableList(new ArrayList<>(ranges));
+  }
+
+  /**
+   * Loads the checkpoint stored in a file, if it exists.
+   */
+  @Nonnull
+  static Optional<RestoreIndicesCheckpoint> load(@Nonnull final Path path) {
+    if (!Files.exists(path)) {
+      return Optional.empty();
+    }
+    final Properties properties = new Properties();
+    try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      properties.load(reader);
+    } catch (IOException e) {
+      throw new UncheckedIOException(String.format("Failed to read checkpoint from %s", path), e);
+    }
+    final int rangeCount = Integer.parseInt(properties.getProperty(RANGES_KEY, "0"));
+    final List<Range> ranges = new ArrayList<>(rangeCount);
+    for (int i = 0; i < rangeCount; i++) {
+      ranges.add(new Range(properties.getProperty(String.format(START_URN_KEY, i)),
+          properties.getProperty(String.format(END_URN_KEY, i)),
+          properties.getProperty(String.format(LAST_URN_KEY, i)),
+          properties.getProperty(String.format(LAST_ASPECT_KEY, i)),
+          Boolean.parseBoolean(properties.getProperty(String.format(DONE_KEY, i)))));
+    }
+    return Optional.of(new RestoreIndicesCheckpoint(path, ranges));
+  }
+
+  @Nonnull
+  List<Range> getRanges() {
+    return _ranges;
+  }
+
+  /**
+   * Records that the aspects of a range were restored up to and including the given key, and stores the checkpoint.
+   */
+  synchronized void update(@Nonnull final Range range, @Nonnull final String lastUrn,
+      @Nonnull final String lastAspect) {
+    range._lastUrn = lastUrn;
+    range._lastAspect = lastAspect;
+    save();
+  }
+
+  /**
+   * Records that all aspects of a range were restored, and stores the checkpoint.
+   */
+  synchronized void complete(@Nonnull final Range range) {
+    range._done = true;
+    save();
+  }
+
+  /**
+   * Stores the checkpoint, replacing the previous one atomically so that a crash never leaves a partial file behind.
+   */
+  synchronized void save() {
+    if (_path == null) {
+      return;
+    }
+    final Properties properties = new Properties();
+    properties.setProperty(RANGES_KEY, String.valueOf(_ranges.size()));
+    for (int i = 0; i < _ranges.size(); i++) {
+      final Range range = _ranges.get(i);
+      setIfPresent(properties, String.format(START_URN_KEY, i), range._startUrn);
+      setIfPresent(properties, String.format(END_URN_KEY, i), range._endUrn);
+      setIfPresent(properties, String.format(LAST_URN_KEY, i), range._lastUrn);
+      setIfPresent(properties, String.format(LAST_ASPECT_KEY, i), range._lastAspect);
+      properties.setProperty(String.format(DONE_KEY, i), String.valueOf(range._done));
+    }
+    final Path temporaryPath = _path.resolveSibling(_path.getFileName() + ".tmp");
+    try (Writer writer = Files.newBufferedWriter(temporaryPath, StandardCharsets.UTF_8)) {
+      properties.store(writer, "RestoreIndices checkpoint");
+    } catch (IOException e) {
+      throw new UncheckedIOException(String.format("Failed to write checkpoint to %s", temporaryPath), e);
+    }
+    try {
+      Files.move(temporaryPath, _path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(String.format("Failed to write checkpoint to %s", _path), e);
+    }
+  }
+
+  private static void setIfPresent(@Nonnull final Properties properties, @Nonnull final String key,
+      @Nullable final String value) {
+    if (value != null) {
+      properties.setProperty(key, value);
+    }
+  }
+
+  /**
+   * A range of urns, from the start urn inclusive to the end urn exclusive. Either is null if the range is unbounded on
+   * that side. Progress is tracked by the key of the last restored aspect, which aspects are read after.
+   */
+  static class Range {
+    private final String _startUrn;
+    private final String _endUrn;
+    private volatile String _lastUrn;
+    private volatile String _lastAspect;
+    private volatile boolean _done;
+
+    Range(@Nullable final String startUrn, @Nullable final String endUrn) {
+      this(startUrn, endUrn, null, null, false);
+    }
+
+    private Range(@Nullable final String startUrn, @Nullable final String endUrn, @Nullable final String lastUrn,
+        @Nullable final String lastAspect, final boolean done) {
+      _startUrn = startUrn;
+      _endUrn = endUrn;
+      _lastUrn = lastUrn;
+      _lastAspect = lastAspect;
+      _done = done;
+    }
+
+    @Nullable
+    String getStartUrn() {
+      return _startUrn;
+    }
+
+    @Nullable
+    String getEndUrn() {
+      return _endUrn;
+    }
+
+    @Nullable
+    String getLastUrn() {
+      return _lastUrn;
+    }
+
+    @Nullable
+    String getLastAspect() {
+      return _lastAspect;
+    }
+
+    boolean isDone() {
+      return _done;
+    }
+  }
+}
@@ -8,38 +8,73 @@ import com.linkedin.datahub.upgrade.UpgradeContext;
 import com.linkedin.datahub.upgrade.UpgradeStep;
 import com.linkedin.datahub.upgrade.UpgradeStepResult;
 import com.linkedin.datahub.upgrade.impl.DefaultUpgradeStepResult;
-import com.linkedin.datahub.upgrade.nocode.NoCodeUpgrade;
 import com.linkedin.events.metadata.ChangeType;
-import com.linkedin.metadata.entity.EntityService;
 import com.linkedin.metadata.entity.ebean.EbeanAspectV2;
 import com.linkedin.metadata.entity.EntityUtils;
+import com.linkedin.metadata.kafka.hook.MetadataChangeLogHook;
 import com.linkedin.metadata.models.AspectSpec;
 import com.linkedin.metadata.models.EntitySpec;
 import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.search.elasticsearch.update.BulkListener;
+import com.linkedin.metadata.utils.GenericRecordUtils;
+import com.linkedin.mxe.MetadataChangeLog;
 import com.linkedin.mxe.SystemMetadata;
 import io.ebean.EbeanServer;
-import io.ebean.PagedList;
+import io.ebean.ExpressionList;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import static com.linkedin.metadata.Constants.*;
 
 
+/**
+ * Restores the search and graph indices from the latest version of every aspect in the local DB, by producing an MAE
+ * for each of them, or by indexing them directly.
+ *
+ * Aspects are read in pages ordered by urn and aspect, each page starting after the key of the last aspect of the
+ * previous one, so that reading a page does not get slower the further into the table it is. The urns can be split
+ * into ranges which are restored in parallel. Progress can be stored in a checkpoint file, which a failed restore
+ * resumes from when run again with the same file.
+ */
 public class SendMAEStep implements UpgradeStep {
 
   private static final int DEFAULT_BATCH_SIZE = 1000;
   private static final long DEFAULT_BATCH_DELAY_MS = 250;
+  private static final int DEFAULT_THREADS = 1;
+  private static final long FLUSH_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(5);
 
   private final EbeanServer _server;
-  private final EntityService _entityService;
+  private final MetadataChangeLogSender _changeLogSender;
   private final EntityRegistry _entityRegistry;
+  private final Supplier<MetadataChangeLogHook> _updateIndicesHookSupplier;
+  private final Runnable _flushIndices;
 
-  public SendMAEStep(final EbeanServer server, final EntityService entityService, final EntityRegistry entityRegistry) {
+  /**
+   * @param changeLogSender sends the MAEs, and confirms they were delivered
+   * @param updateIndicesHookSupplier supplies the hook which indexes aspects directly, instead of producing MAEs
+   * @param flushIndices sends the documents the hook queued in the bulk processors
+   */
+  public SendMAEStep(final EbeanServer server, final MetadataChangeLogSender changeLogSender,
+      final EntityRegistry entityRegistry, final Supplier<MetadataChangeLogHook> updateIndicesHookSupplier,
+      final Runnable flushIndices) {
     _server = server;
-    _entityService = entityService;
+    _changeLogSender = changeLogSender;
     _entityRegistry = entityRegistry;
+    _updateIndicesHookSupplier = updateIndicesHookSupplier;
+    _flushIndices = flushIndices;
   }
 
   @Override
@@ -56,77 +91,58 @@ public class SendMAEStep implements UpgradeStep {
   public Function<UpgradeContext, UpgradeStepResult> executable() {
     return (context) -> {
 
-      context.report().addLine("Sending MAE from local DB...");
+      final Map<String, Optional<String>> parsedArgs = context.parsedArgs();
+      final boolean direct = parsedArgs.containsKey(RestoreIndices.DIRECT_ARG_NAME);
+      context.report()
+          .addLine(direct ? "Indexing aspects from local DB directly..." : "Sending MAE from local DB...");
       final int rowCount = _server.find(EbeanAspectV2.class).where().eq(EbeanAspectV2.VERSION_COLUMN, 0).findCount();
       context.report().addLine(String.format("Found %s latest aspects in aspects table", rowCount));
 
-      int totalRowsMigrated = 0;
-      int start = 0;
-      int count = getBatchSize(context.parsedArgs());
-      while (start < rowCount) {
-
+      final Optional<String> checkpointFile = getArg(parsedArgs, RestoreIndices.CHECKPOINT_FILE_ARG_NAME);
+      final Optional<RestoreIndicesCheckpoint> storedCheckpoint =
+          checkpointFile.flatMap(file -> RestoreIndicesCheckpoint.load(Paths.get(file)));
+      final RestoreIndicesCheckpoint checkpoint;
+      if (storedCheckpoint.isPresent()) {
+        checkpoint = storedCheckpoint.get();
         context.report()
-            .addLine(String.format("Reading rows %s through %s from the aspects table.", start, start + count));
-        PagedList<EbeanAspectV2> rows = getPagedAspects(start, count);
-
-        for (EbeanAspectV2 aspect : rows.getList()) {
-          // 1. Extract an Entity type from the entity Urn
-          Urn urn;
-          try {
-            urn = Urn.createFromString(aspect.getKey().getUrn());
-          } catch (Exception e) {
-            context.report()
-                .addLine(
-                    String.format("Failed to bind Urn with value %s into Urn object: %s", aspect.getKey().getUrn(), e));
-            return new DefaultUpgradeStepResult(id(), UpgradeStepResult.Result.FAILED);
-          }
-
-          // 2. Verify that the entity associated with the aspect is found in the registry.
-          final String entityName = urn.getEntityType();
-          final EntitySpec entitySpec;
-          try {
-            entitySpec = _entityRegistry.getEntitySpec(entityName);
-          } catch (Exception e) {
-            context.report()
-                .addLine(String.format("Failed to find Entity with name %s in Entity Registry: %s", entityName, e));
-            return new DefaultUpgradeStepResult(id(), UpgradeStepResult.Result.FAILED);
-          }
-          final String aspectName = aspect.getKey().getAspect();
-
-          // 3. Create record from json aspect
-          final RecordTemplate aspectRecord =
-              EntityUtils.toAspectRecord(entityName, aspectName, aspect.getMetadata(), _entityRegistry);
-
-          // 4. Verify that the aspect is a valid aspect associated with the entity
-          AspectSpec aspectSpec;
-          try {
-            aspectSpec = entitySpec.getAspectSpec(aspectName);
-          } catch (Exception e) {
-            context.report()
-                .addLine(String.format("Failed to find aspect spec with name %s associated with entity named %s: %s",
-                    aspectName, entityName, e));
-            return new DefaultUpgradeStepResult(id(), UpgradeStepResult.Result.FAILED);
-          }
-
-          SystemMetadata latestSystemMetadata = EntityUtils.parseSystemMetadata(aspect.getSystemMetadata());
-
-          // 5. Produce MAE events for the aspect record
-          _entityService.produceMetadataChangeLog(urn, entityName, aspectName, aspectSpec, null, aspectRecord, null,
-              latestSystemMetadata,
-              new AuditStamp().setActor(UrnUtils.getUrn(SYSTEM_ACTOR)).setTime(System.currentTimeMillis()),
-              ChangeType.UPSERT);
-
-          totalRowsMigrated++;
+            .addLine(String.format("Resuming from checkpoint %s with %s ranges", checkpointFile.get(),
+                checkpoint.getRanges().size()));
+      } else {
+        checkpoint = new RestoreIndicesCheckpoint(checkpointFile.map(Paths::get).orElse(null),
+            getRanges(rowCount, getThreads(parsedArgs)));
+        checkpoint.save();
+      }
+
+      final MetadataChangeLogHook updateIndicesHook = direct ? _updateIndicesHookSupplier.get() : null;
+      final int batchSize = getBatchSize(parsedArgs);
+      final long batchDelayMs = getBatchDelayMs(parsedArgs);
+      final long failedActionsAtStart = BulkListener.getInstance().getFailedActions();
+      final long failedSendsAtStart = direct ? 0 : _changeLogSender.flush();
+      final AtomicBoolean failed = new AtomicBoolean(false);
+      final ExecutorService executorService = Executors.newFixedThreadPool(checkpoint.getRanges().size());
+      int totalRowsMigrated = 0;
+      try {
+        final List<Future<Integer>> futures = new ArrayList<>();
+        for (RestoreIndicesCheckpoint.Range range : checkpoint.getRanges()) {
+          futures.add(executorService.submit(
+              () -> restoreRange(context, checkpoint, range, updateIndicesHook, batchSize, batchDelayMs,
+                  failedActionsAtStart, failedSendsAtStart, failed)));
         }
-        context.report().addLine(String.format("Successfully sent MAEs for %s rows", totalRowsMigrated));
-        start = start + count;
-        try {
-          TimeUnit.MILLISECONDS.sleep(getBatchDelayMs(context.parsedArgs()));
-        } catch (InterruptedException e) {
-          throw new RuntimeException("Thread interrupted while sleeping after successful batch migration.");
+        for (Future<Integer> future : futures) {
+          totalRowsMigrated += future.get();
         }
+      } catch (InterruptedException | ExecutionException e) {
+        context.report().addLine(String.format("Failed to restore indices: %s", e));
+        failed.set(true);
+      } finally {
+        executorService.shutdownNow();
+      }
+      if (failed.get()) {
+        context.report().addLine(String.format("Restored %s rows before failing", totalRowsMigrated));
+        return new DefaultUpgradeStepResult(id(), UpgradeStepResult.Result.FAILED);
       }
-      if (totalRowsMigrated != rowCount) {
+      // Rows restored before resuming were not counted
+      if (!storedCheckpoint.isPresent() && totalRowsMigrated != rowCount) {
         context.report()
             .addLine(
                 String.format("Number of MAEs sent %s does not equal the number of input rows %s...", totalRowsMigrated,
@@ -137,35 +153,230 @@ public class SendMAEStep implements UpgradeStep {
     };
   }
 
-  private PagedList<EbeanAspectV2> getPagedAspects(final int start, final int pageSize) {
-    return _server.find(EbeanAspectV2.class)
+  /**
+   * Restores the aspects of a range page by page, and returns the number of restored rows. Stops as soon as any range
+   * fails, which is flagged in failed.
+   */
+  private int restoreRange(@Nonnull final UpgradeContext context, @Nonnull final RestoreIndicesCheckpoint checkpoint,
+      @Nonnull final RestoreIndicesCheckpoint.Range range, @Nullable final MetadataChangeLogHook updateIndicesHook,
+      final int batchSize, final long batchDelayMs, final long failedActionsAtStart, final long failedSendsAtStart,
+      @Nonnull final AtomicBoolean failed) throws Exception {
+    int rowsMigrated = 0;
+    while (!range.isDone() && !failed.get()) {
+      final List<EbeanAspectV2> rows = getPagedAspects(range, batchSize);
+      final List<MetadataChangeLog> changeLogs = new ArrayList<>(rows.size());
+      for (EbeanAspectV2 aspect : rows) {
+        final MetadataChangeLog changeLog = toMetadataChangeLog(context, aspect);
+        if (changeLog == null) {
+          failed.set(true);
+          return rowsMigrated;
+        }
+        changeLogs.add(changeLog);
+      }
+
+      if (updateIndicesHook != null) {
+        updateIndicesHook.invokeBatch(changeLogs);
+        if (!flushIndices(context, failedActionsAtStart)) {
+          failed.set(true);
+          return rowsMigrated;
+        }
+      } else {
+        for (MetadataChangeLog changeLog : changeLogs) {
+          final AspectSpec aspectSpec =
+              _entityRegistry.getEntitySpec(changeLog.getEntityType()).getAspectSpec(changeLog.getAspectName());
+          _changeLogSender.send(changeLog, aspectSpec);
+        }
+        // Sends are asynchronous, so wait for the whole page to be delivered before moving the checkpoint past it
+        final long failedSends = _changeLogSender.flush() - failedSendsAtStart;
+        if (failedSends > 0) {
+          context.report().addLine(String.format("Failed to send %s MAEs", failedSends));
+          failed.set(true);
+          return rowsMigrated;
+        }
+      }
+      rowsMigrated += rows.size();
+
+      if (rows.size() < batchSize) {
+        checkpoint.complete(range);
+      } else {
+        final EbeanAspectV2 last = rows.get(rows.size() - 1);
+        checkpoint.update(range, last.getKey().getUrn(), last.getKey().getAspect());
+      }
+      context.report()
+          .addLine(String.format("Successfully restored %s rows of the range starting at %s", rowsMigrated,
+              range.getStartUrn() != null ? range.getStartUrn() : "the first urn"));
+      try {
+        TimeUnit.MILLISECONDS.sleep(batchDelayMs);
+      } catch (InterruptedException e) {
+        throw new RuntimeException("Thread interrupted while sleeping after successful batch migration.");
+      }
+    }
+    return rowsMigrated;
+  }
+
+  /**
+   * Sends the documents queued in the bulk processors and waits for them to be written, so that the checkpoint never
+   * moves past aspects which are not indexed yet. Returns false after reporting why if any write failed.
+   */
+  private boolean flushIndices(@Nonnull final UpgradeContext context, final long failedActionsAtStart)
+      throws InterruptedException {
+    _flushIndices.run();
+    if (!BulkListener.getInstance().awaitSentRequests(FLUSH_TIMEOUT_MS)) {
+      context.report()
+          .addLine(String.format("Timed out after %s ms waiting for the bulk requests to complete", FLUSH_TIMEOUT_MS));
+      return false;
+    }
+    final long failedActions = BulkListener.getInstance().getFailedActions() - failedActionsAtStart;
+    if (failedActions > 0) {
+      context.report().addLine(String.format("Failed to write %s documents to the indices", failedActions));
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Creates the MCL for a row, or returns null after reporting why the row is invalid.
+   */
+  @Nullable
+  private MetadataChangeLog toMetadataChangeLog(@Nonnull final UpgradeContext context,
+      @Nonnull final EbeanAspectV2 aspect) {
+    // 1. Extract an Entity type from the entity Urn
+    Urn urn;
+    try {
+      urn = Urn.createFromString(aspect.getKey().getUrn());
+    } catch (Exception e) {
+      context.report()
+          .addLine(
+              String.format("Failed to bind Urn with value %s into Urn object: %s", aspect.getKey().getUrn(), e));
+      return null;
+    }
+
+    // 2. Verify that the entity associated with the aspect is found in the registry.
+    final String entityName = urn.getEntityType();
+    final EntitySpec entitySpec;
+    try {
+      entitySpec = _entityRegistry.getEntitySpec(entityName);
+    } catch (Exception e) {
+      context.report()
+          .addLine(String.format("Failed to find Entity with name %s in Entity Registry: %s", entityName, e));
+      return null;
+    }
+    final String aspectName = aspect.getKey().getAspect();
+
+    // 3. Create record from json aspect
+    final RecordTemplate aspectRecord =
+        EntityUtils.toAspectRecord(entityName, aspectName, aspect.getMetadata(), _entityRegistry);
+
+    // 4. Verify that the aspect is a valid aspect associated with the entity
+    try {
+      entitySpec.getAspectSpec(aspectName);
+    } catch (Exception e) {
+      context.report()
+          .addLine(String.format("Failed to find aspect spec with name %s associated with entity named %s: %s",
+              aspectName, entityName, e));
+      return null;
+    }
+
+    SystemMetadata latestSystemMetadata = EntityUtils.parseSystemMetadata(aspect.getSystemMetadata());
+
+    // 5. Create the MCL for the aspect record
+    final MetadataChangeLog changeLog = new MetadataChangeLog();
+    changeLog.setEntityType(entityName);
+    changeLog.setEntityUrn(urn);
+    changeLog.setChangeType(ChangeType.UPSERT);
+    changeLog.setAspectName(aspectName);
+    changeLog.setCreated(
+        new AuditStamp().setActor(UrnUtils.getUrn(SYSTEM_ACTOR)).setTime(System.currentTimeMillis()));
+    changeLog.setAspect(GenericRecordUtils.serializeAspect(aspectRecord));
+    if (latestSystemMetadata != null) {
+      changeLog.setSystemMetadata(latestSystemMetadata);
+    }
+    return changeLog;
+  }
+
+  /**
+   * Returns the next page of latest aspects of a range, ordered by urn and aspect.
+   */
+  @Nonnull
+  List<EbeanAspectV2> getPagedAspects(@Nonnull final RestoreIndicesCheckpoint.Range range,
+      final int pageSize) {
+    ExpressionList<EbeanAspectV2> query = _server.find(EbeanAspectV2.class)
         .select(EbeanAspectV2.ALL_COLUMNS)
         .where()
-        .eq(EbeanAspectV2.VERSION_COLUMN, 0)
-        .orderBy()
+        .eq(EbeanAspectV2.VERSION_COLUMN, 0);
+    if (range.getLastUrn() != null) {
+      query = query.or()
+          .gt(EbeanAspectV2.URN_COLUMN, range.getLastUrn())
+          .and()
+          .eq(EbeanAspectV2.URN_COLUMN, range.getLastUrn())
+          .gt(EbeanAspectV2.ASPECT_COLUMN, range.getLastAspect())
+          .endAnd()
+          .endOr();
+    } else if (range.getStartUrn() != null) {
+      query = query.ge(EbeanAspectV2.URN_COLUMN, range.getStartUrn());
+    }
+    if (range.getEndUrn() != null) {
+      query = query.lt(EbeanAspectV2.URN_COLUMN, range.getEndUrn());
+    }
+    return query.orderBy()
         .asc(EbeanAspectV2.URN_COLUMN)
         .orderBy()
         .asc(EbeanAspectV2.ASPECT_COLUMN)
-        .setFirstRow(start)
         .setMaxRows(pageSize)
-        .findPagedList();
+        .findList();
   }
 
-  private int getBatchSize(final Map<String, Optional<String>> parsedArgs) {
-    int resolvedBatchSize = DEFAULT_BATCH_SIZE;
-    if (parsedArgs.containsKey(RestoreIndices.BATCH_SIZE_ARG_NAME) && parsedArgs.get(NoCodeUpgrade.BATCH_SIZE_ARG_NAME)
-        .isPresent()) {
-      resolvedBatchSize = Integer.parseInt(parsedArgs.get(RestoreIndices.BATCH_SIZE_ARG_NAME).get());
+  /**
+   * Splits the urns into ranges of about the same number of latest aspects. Looking up each boundary scans the primary
+   * key up to it once.
+   */
+  @Nonnull
+  private List<RestoreIndicesCheckpoint.Range> getRanges(final int rowCount, final int threads) {
+    final List<String> boundaries = new ArrayList<>();
+    for (int i = 1; i < threads; i++) {
+      final List<EbeanAspectV2.PrimaryKey> keys = _server.find(EbeanAspectV2.class)
+          .where()
+          .eq(EbeanAspectV2.VERSION_COLUMN, 0)
+          .orderBy()
+          .asc(EbeanAspectV2.URN_COLUMN)
+          .orderBy()
+          .asc(EbeanAspectV2.ASPECT_COLUMN)
+          .setFirstRow((int) ((long) rowCount * i / threads))
+          .setMaxRows(1)
+          .findIds();
+      // Entities with many aspects may span a boundary, which then splits nothing
+      if (!keys.isEmpty() && (boundaries.isEmpty() || !boundaries.get(boundaries.size() - 1)
+          .equals(keys.get(0).getUrn()))) {
+        boundaries.add(keys.get(0).getUrn());
+      }
     }
-    return resolvedBatchSize;
+    final List<RestoreIndicesCheckpoint.Range> ranges = new ArrayList<>();
+    String startUrn = null;
+    for (String boundary : boundaries) {
+      ranges.add(new RestoreIndicesCheckpoint.Range(startUrn, boundary));
+      startUrn = boundary;
+    }
+    ranges.add(new RestoreIndicesCheckpoint.Range(startUrn, null));
+    return ranges;
+  }
+
+  @Nonnull
+  private static Optional<String> getArg(@Nonnull final Map<String, Optional<String>> parsedArgs,
+      @Nonnull final String name) {
+    return parsedArgs.getOrDefault(name, Optional.empty());
+  }
+
+  private int getBatchSize(final Map<String, Optional<String>> parsedArgs) {
+    return getArg(parsedArgs, RestoreIndices.BATCH_SIZE_ARG_NAME).map(Integer::parseInt).orElse(DEFAULT_BATCH_SIZE);
   }
 
   private long getBatchDelayMs(final Map<String, Optional<String>> parsedArgs) {
-    long resolvedBatchDelayMs = DEFAULT_BATCH_DELAY_MS;
-    if (parsedArgs.containsKey(RestoreIndices.BATCH_DELAY_MS_ARG_NAME) && parsedArgs.get(
-        NoCodeUpgrade.BATCH_DELAY_MS_ARG_NAME).isPresent()) {
-      resolvedBatchDelayMs = Long.parseLong(parsedArgs.get(RestoreIndices.BATCH_DELAY_MS_ARG_NAME).get());
-    }
-    return resolvedBatchDelayMs;
+    return getArg(parsedArgs, RestoreIndices.BATCH_DELAY_MS_ARG_NAME).map(Long::parseLong)
+        .orElse(DEFAULT_BATCH_DELAY_MS);
+  }
+
+  private int getThreads(final Map<String, Optional<String>> parsedArgs) {
+    return Math.max(getArg(parsedArgs, RestoreIndices.NUM_THREADS_ARG_NAME).map(Integer::parseInt)
+        .orElse(DEFAULT_THREADS), 1);
   }
 }
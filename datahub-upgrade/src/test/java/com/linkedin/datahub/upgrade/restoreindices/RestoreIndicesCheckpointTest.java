@@ -0,0 +1,92 @@
+package com.linkedin.datahub.upgrade.restoreindices;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+
+public class RestoreIndicesCheckpointTest {
+
+  private Path _directory;
+  private Path _path;
+
+  @BeforeMethod
+  public void setup() throws IOException {
+    _directory = Files.createTempDirectory("restore-indices");
+    _path = _directory.resolve("checkpoint.properties");
+  }
+
+  @AfterMethod
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(_path);
+    Files.deleteIfExists(_directory);
+  }
+
+  @Test
+  public void testLoadMissing() {
+    assertFalse(RestoreIndicesCheckpoint.load(_path).isPresent());
+  }
+
+  @Test
+  public void testSaveAndLoad() {
+    RestoreIndicesCheckpoint checkpoint = new RestoreIndicesCheckpoint(_path, Arrays.asList(
+        new RestoreIndicesCheckpoint.Range(null, "urn:li:corpuser:b"),
+        new RestoreIndicesCheckpoint.Range("urn:li:corpuser:b", "urn:li:dataset:c"),
+        new RestoreIndicesCheckpoint.Range("urn:li:dataset:c", null)));
+    checkpoint.save();
+
+    List<RestoreIndicesCheckpoint.Range> ranges = RestoreIndicesCheckpoint.load(_path).get().getRanges();
+    assertEquals(ranges.size(), 3);
+    assertNull(ranges.get(0).getStartUrn());
+    assertEquals(ranges.get(0).getEndUrn(), "urn:li:corpuser:b");
+    assertEquals(ranges.get(1).getStartUrn(), "urn:li:corpuser:b");
+    assertEquals(ranges.get(2).getStartUrn(), "urn:li:dataset:c");
+    assertNull(ranges.get(2).getEndUrn());
+    for (RestoreIndicesCheckpoint.Range range : ranges) {
+      assertNull(range.getLastUrn());
+      assertNull(range.getLastAspect());
+      assertFalse(range.isDone());
+    }
+  }
+
+  @Test
+  public void testResume() {
+    RestoreIndicesCheckpoint checkpoint = new RestoreIndicesCheckpoint(_path, Arrays.asList(
+        new RestoreIndicesCheckpoint.Range(null, "urn:li:corpuser:b"),
+        new RestoreIndicesCheckpoint.Range("urn:li:corpuser:b", null)));
+    checkpoint.update(checkpoint.getRanges().get(0), "urn:li:corpuser:a", "corpUserInfo");
+    checkpoint.complete(checkpoint.getRanges().get(1));
+
+    // Progress is stored on every update, as a crash may follow any of them
+    RestoreIndicesCheckpoint resumed = RestoreIndicesCheckpoint.load(_path).get();
+    RestoreIndicesCheckpoint.Range first = resumed.getRanges().get(0);
+    assertEquals(first.getLastUrn(), "urn:li:corpuser:a");
+    assertEquals(first.getLastAspect(), "corpUserInfo");
+    assertFalse(first.isDone());
+    assertTrue(resumed.getRanges().get(1).isDone());
+
+    // Further progress goes to the same file
+    resumed.update(first, "urn:li:corpuser:a", "status");
+    assertEquals(RestoreIndicesCheckpoint.load(_path).get().getRanges().get(0).getLastAspect(), "status");
+    assertFalse(Files.exists(_path.resolveSibling(_path.getFileName() + ".tmp")));
+  }
+
+  @Test
+  public void testNotStored() {
+    RestoreIndicesCheckpoint checkpoint =
+        new RestoreIndicesCheckpoint(null, Collections.singletonList(new RestoreIndicesCheckpoint.Range(null, null)));
+    checkpoint.complete(checkpoint.getRanges().get(0));
+    assertTrue(checkpoint.getRanges().get(0).isDone());
+  }
+}
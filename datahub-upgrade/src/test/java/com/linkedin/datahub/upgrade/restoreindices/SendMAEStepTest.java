@@ -0,0 +1,196 @@
+package com.linkedin.datahub.upgrade.restoreindices;
+
+import com.google.common.collect.ImmutableMap;
+import com.linkedin.datahub.upgrade.UpgradeContext;
+import com.linkedin.datahub.upgrade.UpgradeReport;
+import com.linkedin.datahub.upgrade.UpgradeStepResult;
+import com.linkedin.metadata.entity.ebean.EbeanAspectV2;
+import com.linkedin.metadata.kafka.hook.MetadataChangeLogHook;
+import com.linkedin.metadata.models.registry.SnapshotEntityRegistry;
+import com.linkedin.metadata.search.elasticsearch.update.BulkListener;
+import com.linkedin.mxe.TopicConventionImpl;
+import io.ebean.EbeanServer;
+import io.ebean.EbeanServerFactory;
+import io.ebean.config.ServerConfig;
+import io.ebean.datasource.DataSourceConfig;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+public class SendMAEStepTest {
+
+  private static final String URN_A = "urn:li:dataset:(urn:li:dataPlatform:hive,a,PROD)";
+  private static final String URN_B = "urn:li:dataset:(urn:li:dataPlatform:hive,b,PROD)";
+  private static final String URN_C = "urn:li:dataset:(urn:li:dataPlatform:hive,c,PROD)";
+  private static final String STATUS = "{\"removed\":false}";
+
+  private EbeanServer _server;
+
+  @Nonnull
+  private static ServerConfig createTestingH2ServerConfig() {
+    DataSourceConfig dataSourceConfig = new DataSourceConfig();
+    dataSourceConfig.setUsername("tester");
+    dataSourceConfig.setPassword("");
+    dataSourceConfig.setUrl("jdbc:h2:mem:;IGNORECASE=TRUE;");
+    dataSourceConfig.setDriver("org.h2.Driver");
+
+    ServerConfig serverConfig = new ServerConfig();
+    serverConfig.setName("gma");
+    serverConfig.setDataSourceConfig(dataSourceConfig);
+    serverConfig.setDdlGenerate(true);
+    serverConfig.setDdlRun(true);
+
+    return serverConfig;
+  }
+
+  @BeforeMethod
+  public void setup() {
+    _server = EbeanServerFactory.create(createTestingH2ServerConfig());
+  }
+
+  @Test
+  public void testGetPagedAspects() {
+    insertAspect(URN_A, "status", 0);
+    insertAspect(URN_A, "upstreamLineage", 0);
+    insertAspect(URN_A, "status", 1);
+    insertAspect(URN_B, "status", 0);
+    insertAspect(URN_C, "status", 0);
+    SendMAEStep step = new SendMAEStep(_server, mock(MetadataChangeLogSender.class),
+        SnapshotEntityRegistry.getInstance(), () -> mock(MetadataChangeLogHook.class), () -> { });
+    RestoreIndicesCheckpoint.Range range = new RestoreIndicesCheckpoint.Range(null, null);
+    RestoreIndicesCheckpoint checkpoint = new RestoreIndicesCheckpoint(null, Collections.singletonList(range));
+
+    // Only latest versions, in key order
+    assertEquals(getKeys(step.getPagedAspects(range, 2)), Arrays.asList(URN_A + "/status",
+        URN_A + "/upstreamLineage"));
+
+    // The next page starts after the last key, at a later urn or at a later aspect of the same urn
+    checkpoint.update(range, URN_A, "upstreamLineage");
+    assertEquals(getKeys(step.getPagedAspects(range, 2)), Arrays.asList(URN_B + "/status",
+        URN_C + "/status"));
+    checkpoint.update(range, URN_A, "status");
+    assertEquals(getKeys(step.getPagedAspects(range, 2)), Arrays.asList(URN_A + "/upstreamLineage",
+        URN_B + "/status"));
+    checkpoint.update(range, URN_C, "status");
+    assertEquals(step.getPagedAspects(range, 2).size(), 0);
+
+    // Ranges include their start urn and exclude their end urn
+    assertEquals(getKeys(step.getPagedAspects(new RestoreIndicesCheckpoint.Range(URN_B, URN_C), 10)),
+        Collections.singletonList(URN_B + "/status"));
+    assertEquals(getKeys(step.getPagedAspects(new RestoreIndicesCheckpoint.Range(URN_B, null), 10)),
+        Arrays.asList(URN_B + "/status", URN_C + "/status"));
+  }
+
+  @Test
+  public void testCheckpointOnlyAfterIndexed() throws IOException {
+    insertAspect(URN_A, "status", 0);
+    insertAspect(URN_B, "status", 0);
+    insertAspect(URN_C, "status", 0);
+    // The documents of the second batch fail to be written
+    AtomicInteger flushes = new AtomicInteger();
+    Runnable flushIndices = () -> {
+      if (flushes.incrementAndGet() == 2) {
+        BulkRequest request = new BulkRequest().add(new DeleteRequest("index", "id"));
+        BulkListener.getInstance().beforeBulk(0, request);
+        BulkListener.getInstance().afterBulk(0, request, new RuntimeException("Rejected"));
+      }
+    };
+    SendMAEStep step = new SendMAEStep(_server, mock(MetadataChangeLogSender.class),
+        SnapshotEntityRegistry.getInstance(), () -> mock(MetadataChangeLogHook.class), flushIndices);
+
+    Path directory = Files.createTempDirectory("restore-indices");
+    Path checkpointFile = directory.resolve("checkpoint.properties");
+    UpgradeContext context = mock(UpgradeContext.class);
+    when(context.report()).thenReturn(mock(UpgradeReport.class));
+    when(context.parsedArgs()).thenReturn(ImmutableMap.of(
+        RestoreIndices.DIRECT_ARG_NAME, Optional.empty(),
+        RestoreIndices.BATCH_SIZE_ARG_NAME, Optional.of("1"),
+        RestoreIndices.BATCH_DELAY_MS_ARG_NAME, Optional.of("0"),
+        RestoreIndices.CHECKPOINT_FILE_ARG_NAME, Optional.of(checkpointFile.toString())));
+    try {
+      assertEquals(step.executable().apply(context).result(), UpgradeStepResult.Result.FAILED);
+
+      RestoreIndicesCheckpoint.Range range = RestoreIndicesCheckpoint.load(checkpointFile).get().getRanges().get(0);
+      assertEquals(range.getLastUrn(), URN_A);
+      assertFalse(range.isDone());
+    } finally {
+      Files.deleteIfExists(checkpointFile);
+      Files.deleteIfExists(directory);
+    }
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testCheckpointOnlyAfterSent() throws IOException {
+    insertAspect(URN_A, "status", 0);
+    insertAspect(URN_B, "status", 0);
+    insertAspect(URN_C, "status", 0);
+    // The MAE of the second batch fails to be delivered
+    AtomicInteger sends = new AtomicInteger();
+    Producer<String, IndexedRecord> producer = mock(Producer.class);
+    when(producer.send(any(ProducerRecord.class), any(Callback.class))).thenAnswer(invocation -> {
+      Callback callback = invocation.getArgument(1);
+      callback.onCompletion(null, sends.incrementAndGet() == 2 ? new RuntimeException("Not delivered") : null);
+      return null;
+    });
+    SendMAEStep step = new SendMAEStep(_server, new MetadataChangeLogSender(producer, new TopicConventionImpl()),
+        SnapshotEntityRegistry.getInstance(), () -> mock(MetadataChangeLogHook.class), () -> { });
+
+    Path directory = Files.createTempDirectory("restore-indices");
+    Path checkpointFile = directory.resolve("checkpoint.properties");
+    UpgradeContext context = mock(UpgradeContext.class);
+    when(context.report()).thenReturn(mock(UpgradeReport.class));
+    when(context.parsedArgs()).thenReturn(ImmutableMap.of(
+        RestoreIndices.BATCH_SIZE_ARG_NAME, Optional.of("1"),
+        RestoreIndices.BATCH_DELAY_MS_ARG_NAME, Optional.of("0"),
+        RestoreIndices.CHECKPOINT_FILE_ARG_NAME, Optional.of(checkpointFile.toString())));
+    try {
+      assertFalse(RestoreIndices.isResuming(context));
+      assertEquals(step.executable().apply(context).result(), UpgradeStepResult.Result.FAILED);
+
+      RestoreIndicesCheckpoint.Range range = RestoreIndicesCheckpoint.load(checkpointFile).get().getRanges().get(0);
+      assertEquals(range.getLastUrn(), URN_A);
+      assertFalse(range.isDone());
+      // Running again resumes from the checkpoint, without clearing the indices first
+      assertTrue(RestoreIndices.isResuming(context));
+    } finally {
+      Files.deleteIfExists(checkpointFile);
+      Files.deleteIfExists(directory);
+    }
+  }
+
+  private void insertAspect(String urn, String aspect, long version) {
+    _server.insert(new EbeanAspectV2(urn, aspect, version, STATUS, new Timestamp(0), "urn:li:corpuser:tester", null,
+        null));
+  }
+
+  private static List<String> getKeys(List<EbeanAspectV2> aspects) {
+    return aspects.stream()
+        .map(aspect -> aspect.getKey().getUrn() + "/" + aspect.getKey().getAspect())
+        .collect(Collectors.toList());
+  }
+}
@@ -22,7 +22,8 @@ import java.util.stream.Collectors;
 public class FieldExtractor {
 
   private static final String ARRAY_WILDCARD = "*";
-  private static final int MAX_VALUE_LENGTH = 200;
+  // Map entries with longer values are not extracted
+  public static final int MAX_VALUE_LENGTH = 200;
 
   private FieldExtractor() {
   }
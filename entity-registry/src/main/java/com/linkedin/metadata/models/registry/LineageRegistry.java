@@ -86,6 +86,13 @@ public class LineageRegistry {
     return _lineageSpecMap.get(entityName.toLowerCase());
   }
 
+  /**
+   * Returns the lineage specs of all entities, keyed by lower case entity name
+   */
+  public Map<String, LineageSpec> getLineageSpecs() {
+    return Collections.unmodifiableMap(_lineageSpecMap);
+  }
+
   public List<EdgeInfo> getLineageRelationships(String entityName, LineageDirection direction) {
     LineageSpec spec = getLineageSpec(entityName);
     if (spec == null) {
@@ -0,0 +1,127 @@
+package com.linkedin.metadata;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Resources;
+import com.linkedin.common.AuditStamp;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.ByteString;
+import com.linkedin.data.avro.DataTranslator;
+import com.linkedin.events.metadata.ChangeType;
+import com.linkedin.mxe.GenericAspect;
+import com.linkedin.mxe.MetadataChangeLog;
+import com.linkedin.mxe.SystemMetadata;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.concurrent.TimeUnit;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Compares converting a consumed MetadataChangeLog to Pegasus, and a produced one to Avro, with {@link EventUtils}
+ * against serializing and reading back the record twice, as it used to. Run with
+ * ./gradlew :metadata-events:mxe-utils-avro-1.7:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventUtilsBenchmark {
+
+  private static final Schema RENAMED_MCL_AVRO_SCHEMA = com.linkedin.pegasus2avro.mxe.MetadataChangeLog.SCHEMA$;
+
+  @Param({"100", "10000"})
+  public int aspectSize;
+
+  private Schema originalSchema;
+  private MetadataChangeLog metadataChangeLog;
+  private GenericRecord record;
+
+  @Setup
+  public void setup() throws IOException, URISyntaxException {
+    originalSchema = Schema.parse(Resources.toString(
+        Resources.getResource("avro/com/linkedin/mxe/MetadataChangeLog.avsc"), Charsets.UTF_8));
+    metadataChangeLog = getMetadataChangeLog(aspectSize);
+    record = EventUtils.pegasusToAvroMCL(metadataChangeLog);
+  }
+
+  @Benchmark
+  public MetadataChangeLog avroToPegasus() throws IOException {
+    return EventUtils.avroToPegasusMCL(record);
+  }
+
+  @Benchmark
+  public MetadataChangeLog avroToPegasusLegacy() throws IOException {
+    final GenericRecord latest = changeSchema(record, record.getSchema(), RENAMED_MCL_AVRO_SCHEMA);
+    final GenericRecord original = changeSchema(latest, originalSchema, originalSchema);
+    return new MetadataChangeLog(
+        DataTranslator.genericRecordToDataMap(original, metadataChangeLog.schema(), originalSchema));
+  }
+
+  @Benchmark
+  public GenericRecord pegasusToAvro() throws IOException {
+    return EventUtils.pegasusToAvroMCL(metadataChangeLog);
+  }
+
+  @Benchmark
+  public GenericRecord pegasusToAvroLegacy() throws IOException {
+    final GenericRecord original =
+        DataTranslator.dataMapToGenericRecord(metadataChangeLog.data(), metadataChangeLog.schema(), originalSchema);
+    final GenericRecord latest = changeSchema(original, original.getSchema(), originalSchema);
+    return changeSchema(latest, RENAMED_MCL_AVRO_SCHEMA, RENAMED_MCL_AVRO_SCHEMA);
+  }
+
+  private static GenericRecord changeSchema(GenericRecord record, Schema writerSchema, Schema readerSchema)
+      throws IOException {
+    try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+      BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(os, null);
+      DatumWriter<GenericRecord> writer = new GenericDatumWriter<>(record.getSchema());
+      writer.write(record, encoder);
+      encoder.flush();
+      try (ByteArrayInputStream is = new ByteArrayInputStream(os.toByteArray())) {
+        DatumReader<GenericRecord> reader = new GenericDatumReader<>(writerSchema, readerSchema);
+        return reader.read(null, DecoderFactory.get().binaryDecoder(is, null));
+      }
+    }
+  }
+
+  private static MetadataChangeLog getMetadataChangeLog(int aspectSize) throws URISyntaxException {
+    final StringBuilder description = new StringBuilder();
+    while (description.length() < aspectSize) {
+      description.append("benchmark ");
+    }
+    final GenericAspect aspect = new GenericAspect().setContentType("application/json")
+        .setValue(ByteString.copyString("{\"description\":\"" + description + "\"}", Charsets.UTF_8));
+    final Urn actor = Urn.createFromString("urn:li:corpuser:benchmark");
+    return new MetadataChangeLog().setEntityType("dataset")
+        .setEntityUrn(Urn.createFromString("urn:li:dataset:(urn:li:dataPlatform:hive,benchmarkDataset,PROD)"))
+        .setChangeType(ChangeType.UPSERT)
+        .setAspectName("datasetProperties")
+        .setAspect(aspect)
+        .setPreviousAspectValue(aspect)
+        .setSystemMetadata(new SystemMetadata().setLastObserved(0L).setRunId("benchmark"))
+        .setCreated(new AuditStamp().setActor(actor).setTime(0L));
+  }
+}
@@ -1,6 +1,8 @@
 package com.linkedin.metadata;
 
 import com.google.common.base.Charsets;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.io.Resources;
 import com.linkedin.data.avro.DataTranslator;
 import com.linkedin.data.schema.RecordDataSchema;
@@ -12,19 +14,28 @@ import com.linkedin.mxe.MetadataChangeProposal;
 import com.linkedin.mxe.MetadataAuditEvent;
 import com.linkedin.mxe.MetadataChangeEvent;
 import com.linkedin.mxe.PlatformEvent;
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.URL;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericDatumReader;
 import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericFixed;
 import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.IndexedRecord;
 import org.apache.avro.io.BinaryEncoder;
 import org.apache.avro.io.DatumReader;
 import org.apache.avro.io.DatumWriter;
-import org.apache.avro.io.Decoder;
 import org.apache.avro.io.DecoderFactory;
 import org.apache.avro.io.EncoderFactory;
 import org.apache.avro.specific.SpecificRecord;
@@ -81,6 +92,24 @@ public class EventUtils {
   private static final Schema RENAMED_FMCP_AVRO_SCHEMA =
       com.linkedin.pegasus2avro.mxe.FailedMetadataChangeProposal.SCHEMA$;
 
+  private static final SchemaResolver MCE_SCHEMA_RESOLVER =
+      new SchemaResolver(RENAMED_MCE_AVRO_SCHEMA, ORIGINAL_MCE_AVRO_SCHEMA);
+
+  private static final SchemaResolver MAE_SCHEMA_RESOLVER =
+      new SchemaResolver(RENAMED_MAE_AVRO_SCHEMA, ORIGINAL_MAE_AVRO_SCHEMA);
+
+  private static final SchemaResolver MCP_SCHEMA_RESOLVER =
+      new SchemaResolver(RENAMED_MCP_AVRO_SCHEMA, ORIGINAL_MCP_AVRO_SCHEMA);
+
+  private static final SchemaResolver MCL_SCHEMA_RESOLVER =
+      new SchemaResolver(RENAMED_MCL_AVRO_SCHEMA, ORIGINAL_MCL_AVRO_SCHEMA);
+
+  private static final SchemaResolver PE_SCHEMA_RESOLVER =
+      new SchemaResolver(RENAMED_PE_AVRO_SCHEMA, ORIGINAL_PE_AVRO_SCHEMA);
+
+  // Original schemas of the aspect specific MXEs, parsed once per class
+  private static final Map<Class<?>, Schema> ORIGINAL_ASPECT_SPECIFIC_AVRO_SCHEMAS = new ConcurrentHashMap<>();
+
   private EventUtils() {
     // Util class
   }
@@ -104,7 +133,7 @@ public class EventUtils {
   @Nonnull
   public static MetadataAuditEvent avroToPegasusMAE(@Nonnull GenericRecord record) throws IOException {
     return new MetadataAuditEvent(DataTranslator.genericRecordToDataMap(
-        renameSchemaNamespace(record, RENAMED_MAE_AVRO_SCHEMA, ORIGINAL_MAE_AVRO_SCHEMA), MAE_PEGASUS_SCHEMA,
+        MAE_SCHEMA_RESOLVER.resolve(record), MAE_PEGASUS_SCHEMA,
         ORIGINAL_MAE_AVRO_SCHEMA));
   }
 
@@ -117,7 +146,7 @@ public class EventUtils {
   @Nonnull
   public static MetadataChangeEvent avroToPegasusMCE(@Nonnull GenericRecord record) throws IOException {
     return new MetadataChangeEvent(DataTranslator.genericRecordToDataMap(
-        renameSchemaNamespace(record, RENAMED_MCE_AVRO_SCHEMA, ORIGINAL_MCE_AVRO_SCHEMA), MCE_PEGASUS_SCHEMA,
+        MCE_SCHEMA_RESOLVER.resolve(record), MCE_PEGASUS_SCHEMA,
         ORIGINAL_MCE_AVRO_SCHEMA));
   }
 
@@ -130,7 +159,7 @@ public class EventUtils {
   @Nonnull
   public static MetadataChangeLog avroToPegasusMCL(@Nonnull GenericRecord record) throws IOException {
     return new MetadataChangeLog(DataTranslator.genericRecordToDataMap(
-        renameSchemaNamespace(record, RENAMED_MCL_AVRO_SCHEMA, ORIGINAL_MCL_AVRO_SCHEMA),
+        MCL_SCHEMA_RESOLVER.resolve(record),
         MCL_PEGASUS_SCHEMA, ORIGINAL_MCL_AVRO_SCHEMA));
   }
 
@@ -143,7 +172,7 @@ public class EventUtils {
   @Nonnull
   public static MetadataChangeProposal avroToPegasusMCP(@Nonnull GenericRecord record) throws IOException {
     return new MetadataChangeProposal(DataTranslator.genericRecordToDataMap(
-        renameSchemaNamespace(record, RENAMED_MCP_AVRO_SCHEMA, ORIGINAL_MCP_AVRO_SCHEMA),
+        MCP_SCHEMA_RESOLVER.resolve(record),
         MCP_PEGASUS_SCHEMA, ORIGINAL_MCP_AVRO_SCHEMA));
   }
 
@@ -156,7 +185,7 @@ public class EventUtils {
   @Nonnull
   public static PlatformEvent avroToPegasusPE(@Nonnull GenericRecord record) throws IOException {
     return new PlatformEvent(DataTranslator.genericRecordToDataMap(
-        renameSchemaNamespace(record, RENAMED_PE_AVRO_SCHEMA, ORIGINAL_PE_AVRO_SCHEMA),
+        PE_SCHEMA_RESOLVER.resolve(record),
         PE_PEGASUS_SCHEMA, ORIGINAL_PE_AVRO_SCHEMA));
   }
 
@@ -171,7 +200,7 @@ public class EventUtils {
   public static GenericRecord pegasusToAvroMAE(@Nonnull MetadataAuditEvent event) throws IOException {
     GenericRecord original =
         DataTranslator.dataMapToGenericRecord(event.data(), event.schema(), ORIGINAL_MAE_AVRO_SCHEMA);
-    return renameSchemaNamespace(original, ORIGINAL_MAE_AVRO_SCHEMA, RENAMED_MAE_AVRO_SCHEMA);
+    return renameSchemaNamespace(original, RENAMED_MAE_AVRO_SCHEMA);
   }
 
   /**
@@ -185,7 +214,7 @@ public class EventUtils {
   public static GenericRecord pegasusToAvroMCL(@Nonnull MetadataChangeLog event) throws IOException {
     GenericRecord original =
         DataTranslator.dataMapToGenericRecord(event.data(), event.schema(), ORIGINAL_MCL_AVRO_SCHEMA);
-    return renameSchemaNamespace(original, ORIGINAL_MCL_AVRO_SCHEMA, RENAMED_MCL_AVRO_SCHEMA);
+    return renameSchemaNamespace(original, RENAMED_MCL_AVRO_SCHEMA);
   }
 
   /**
@@ -199,7 +228,7 @@ public class EventUtils {
   public static GenericRecord pegasusToAvroMCE(@Nonnull MetadataChangeEvent event) throws IOException {
     GenericRecord original =
         DataTranslator.dataMapToGenericRecord(event.data(), event.schema(), ORIGINAL_MCE_AVRO_SCHEMA);
-    return renameSchemaNamespace(original, ORIGINAL_MCE_AVRO_SCHEMA, RENAMED_MCE_AVRO_SCHEMA);
+    return renameSchemaNamespace(original, RENAMED_MCE_AVRO_SCHEMA);
   }
 
   /**
@@ -214,9 +243,10 @@ public class EventUtils {
       @Nonnull Class<T> clazz, @Nonnull RecordTemplate event)
       throws NoSuchFieldException, IOException, IllegalAccessException {
     final Schema newSchema = (Schema) clazz.getField("SCHEMA$").get(null);
-    final Schema originalSchema = getAvroSchemaFromResource(getAvroResourcePath(clazz));
+    final Schema originalSchema = ORIGINAL_ASPECT_SPECIFIC_AVRO_SCHEMAS.computeIfAbsent(clazz,
+        key -> getAvroSchemaFromResource(getAvroResourcePath(key)));
     final GenericRecord original = DataTranslator.dataMapToGenericRecord(event.data(), event.schema(), originalSchema);
-    return (MXE) renameSchemaNamespace(original, originalSchema, newSchema);
+    return (MXE) renameSchemaNamespace(original, newSchema);
   }
 
   /**
@@ -232,7 +262,7 @@ public class EventUtils {
     GenericRecord original =
         DataTranslator.dataMapToGenericRecord(failedMetadataChangeEvent.data(), failedMetadataChangeEvent.schema(),
             ORIGINAL_FAILED_MCE_AVRO_SCHEMA);
-    return renameSchemaNamespace(original, ORIGINAL_FAILED_MCE_AVRO_SCHEMA, RENAMED_FAILED_MCE_AVRO_SCHEMA);
+    return renameSchemaNamespace(original, RENAMED_FAILED_MCE_AVRO_SCHEMA);
   }
 
   /**
@@ -248,7 +278,7 @@ public class EventUtils {
     GenericRecord original =
         DataTranslator.dataMapToGenericRecord(failedMetadataChangeProposal.data(), failedMetadataChangeProposal.schema(),
             ORIGINAL_FMCL_AVRO_SCHEMA);
-    return renameSchemaNamespace(original, ORIGINAL_FMCL_AVRO_SCHEMA, RENAMED_FMCP_AVRO_SCHEMA);
+    return renameSchemaNamespace(original, RENAMED_FMCP_AVRO_SCHEMA);
   }
 
   /**
@@ -262,50 +292,154 @@ public class EventUtils {
   public static GenericRecord pegasusToAvroPE(@Nonnull PlatformEvent event) throws IOException {
     GenericRecord original =
         DataTranslator.dataMapToGenericRecord(event.data(), event.schema(), ORIGINAL_PE_AVRO_SCHEMA);
-    return renameSchemaNamespace(original, ORIGINAL_PE_AVRO_SCHEMA, RENAMED_PE_AVRO_SCHEMA);
+    return renameSchemaNamespace(original, RENAMED_PE_AVRO_SCHEMA);
   }
 
   /**
    * Converts original MXE into a renamed namespace
    */
   @Nonnull
-  private static GenericRecord renameSchemaNamespace(@Nonnull GenericRecord original, @Nonnull Schema originalSchema,
-      @Nonnull Schema newSchema) throws IOException {
-
-    // Step 1: Updates to the latest original schema
-    final GenericRecord record = changeSchema(original, original.getSchema(), originalSchema);
-
-    // Step 2: Updates to the new renamed schema
-    return changeSchema(record, newSchema, newSchema);
+  private static GenericRecord renameSchemaNamespace(@Nonnull GenericRecord original, @Nonnull Schema newSchema) {
+    return (GenericRecord) renameSchemaNamespace(original, original.getSchema(), newSchema);
   }
 
   /**
-   * Changes the schema of a {@link GenericRecord} to a compatible schema
+   * Copies a value of a schema into the equivalent value of another schema, which only differs by namespace.
    *
-   * Achieved by serializing the record using its embedded schema and deserializing it using the new compatible schema.
-   *
-   * @param record the record to update schema for
-   * @param writerSchema the writer schema to use when deserializing
-   * @param readerSchema the reader schema to use when deserializing
-   * @return a {@link GenericRecord} using the new {@code readerSchema}
-   * @throws IOException
+   * Avro resolves union branches by the full name of the schema of a value, so records, enums and fixed values are
+   * recreated with the new schema, field by field. All other values are shared as is. This avoids serializing the
+   * value and reading it back with the new schema.
+   */
+  @Nullable
+  private static Object renameSchemaNamespace(@Nullable Object value, @Nonnull Schema schema,
+      @Nonnull Schema newSchema) {
+    if (value == null) {
+      return null;
+    }
+    switch (schema.getType()) {
+      case RECORD:
+        final IndexedRecord record = (IndexedRecord) value;
+        final List<Schema.Field> fields = schema.getFields();
+        final List<Schema.Field> newFields = newSchema.getFields();
+        final GenericData.Record renamed = new GenericData.Record(newSchema);
+        for (int i = 0; i < fields.size(); i++) {
+          renamed.put(i, renameSchemaNamespace(record.get(i), fields.get(i).schema(), newFields.get(i).schema()));
+        }
+        return renamed;
+      case UNION:
+        final int branch = GenericData.get().resolveUnion(schema, value);
+        return renameSchemaNamespace(value, schema.getTypes().get(branch), newSchema.getTypes().get(branch));
+      case ARRAY:
+        if (!hasNamedType(schema.getElementType())) {
+          return value;
+        }
+        final Collection<?> elements = (Collection<?>) value;
+        final GenericData.Array<Object> newElements = new GenericData.Array<>(elements.size(), newSchema);
+        for (Object element : elements) {
+          newElements.add(renameSchemaNamespace(element, schema.getElementType(), newSchema.getElementType()));
+        }
+        return newElements;
+      case MAP:
+        if (!hasNamedType(schema.getValueType())) {
+          return value;
+        }
+        final Map<?, ?> entries = (Map<?, ?>) value;
+        final Map<Object, Object> newEntries = new HashMap<>(entries.size() * 2);
+        for (Map.Entry<?, ?> entry : entries.entrySet()) {
+          newEntries.put(entry.getKey(),
+              renameSchemaNamespace(entry.getValue(), schema.getValueType(), newSchema.getValueType()));
+        }
+        return newEntries;
+      case ENUM:
+        return new GenericData.EnumSymbol(newSchema, value.toString());
+      case FIXED:
+        return new GenericData.Fixed(newSchema, ((GenericFixed) value).bytes());
+      default:
+        return value;
+    }
+  }
+
+  /**
+   * Returns whether values of a schema may contain records, enums or fixed values, which carry their schema.
    */
+  private static boolean hasNamedType(@Nonnull Schema schema) {
+    switch (schema.getType()) {
+      case RECORD:
+      case ENUM:
+      case FIXED:
+        return true;
+      case UNION:
+        return schema.getTypes().stream().anyMatch(EventUtils::hasNamedType);
+      case ARRAY:
+        return hasNamedType(schema.getElementType());
+      case MAP:
+        return hasNamedType(schema.getValueType());
+      default:
+        return false;
+    }
+  }
+
   @Nonnull
-  private static GenericRecord changeSchema(@Nonnull GenericRecord record, @Nonnull Schema writerSchema,
-      @Nonnull Schema readerSchema) throws IOException {
+  private static byte[] serialize(@Nonnull GenericRecord record) throws IOException {
     try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
       BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(os, null);
       DatumWriter<GenericRecord> writer = new GenericDatumWriter<>(record.getSchema());
       writer.write(record, encoder);
       encoder.flush();
-      os.close();
+      return os.toByteArray();
+    }
+  }
+
+  /**
+   * Resolves MXE records in the renamed namespace, as consumed from Kafka, to the latest version of their original
+   * schema, which is what {@link DataTranslator} expects.
+   *
+   * Generic records which were written with the latest schema already, which is the common case, are copied into the
+   * original namespace directly. Only records written with an older version of the schema, and specific records, whose
+   * values {@link DataTranslator} does not expect, are serialized and read back with the latest schema first. Whether
+   * a writer schema needs resolution, and the reader resolving it, are computed once per writer schema instance, which
+   * deserializers reuse for all records of a schema version.
+   */
+  private static class SchemaResolver {
+
+    private final Schema _latestSchema;
+    private final Schema _originalSchema;
+    private final DatumReader<GenericRecord> _latestSchemaReader;
+    // Absent if the writer schema equals the latest schema. Weak keys compare by identity, avoiding deep equality
+    // checks of the schemas on every record.
+    private final Cache<Schema, Optional<DatumReader<GenericRecord>>> _readers =
+        CacheBuilder.newBuilder().weakKeys().build();
+
+    private SchemaResolver(@Nonnull Schema latestSchema, @Nonnull Schema originalSchema) {
+      _latestSchema = latestSchema;
+      _originalSchema = originalSchema;
+      _latestSchemaReader = new GenericDatumReader<>(latestSchema);
+    }
 
-      try (ByteArrayInputStream is = new ByteArrayInputStream(os.toByteArray())) {
-        Decoder decoder = DecoderFactory.get().binaryDecoder(is, null);
-        // Must specify both writer & reader schemas for a backward compatible read
-        DatumReader<GenericRecord> reader = new GenericDatumReader<>(writerSchema, readerSchema);
-        return reader.read(null, decoder);
+    @Nonnull
+    private GenericRecord resolve(@Nonnull GenericRecord record) throws IOException {
+      return (GenericRecord) renameSchemaNamespace(toLatestSchema(record), _latestSchema, _originalSchema);
+    }
+
+    @Nonnull
+    private GenericRecord toLatestSchema(@Nonnull GenericRecord record) throws IOException {
+      final Schema writerSchema = record.getSchema();
+      final boolean isGeneric = !(record instanceof SpecificRecord);
+      if (writerSchema == _latestSchema && isGeneric) {
+        return record;
+      }
+      final Optional<DatumReader<GenericRecord>> reader;
+      try {
+        reader = _readers.get(writerSchema, () -> writerSchema.equals(_latestSchema) ? Optional.empty()
+            // Must specify both writer & reader schemas for a backward compatible read
+            : Optional.of(new GenericDatumReader<>(writerSchema, _latestSchema)));
+      } catch (ExecutionException e) {
+        throw new IOException(e.getCause());
+      }
+      if (!reader.isPresent() && isGeneric) {
+        return record;
       }
+      return reader.orElse(_latestSchemaReader).read(null, DecoderFactory.get().binaryDecoder(serialize(record), null));
     }
   }
 
@@ -1,18 +1,29 @@
 package com.linkedin.metadata;
 
 import com.datahub.util.RecordUtils;
+import com.google.common.base.Charsets;
 import com.linkedin.common.urn.CorpuserUrn;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.ByteString;
 import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.events.metadata.ChangeType;
 import com.linkedin.mxe.FailedMetadataChangeEvent;
+import com.linkedin.mxe.GenericAspect;
 import com.linkedin.mxe.MetadataAuditEvent;
 import com.linkedin.mxe.MetadataChangeEvent;
+import com.linkedin.mxe.MetadataChangeLog;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
 import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
 import org.apache.avro.io.DatumReader;
 import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
 import org.apache.avro.io.JsonDecoder;
 import org.testng.annotations.Test;
 
@@ -77,6 +88,42 @@ public class EventUtilsTests {
     assertNotNull(record.get("metadataChangeEvent"));
   }
 
+  @Test
+  public void testMCLRoundTrip() throws IOException, URISyntaxException {
+    MetadataChangeLog event = getMetadataChangeLog();
+
+    GenericRecord record = EventUtils.pegasusToAvroMCL(event);
+
+    assertEquals(record.getSchema(), com.linkedin.pegasus2avro.mxe.MetadataChangeLog.SCHEMA$);
+    assertEquals(EventUtils.avroToPegasusMCL(record), event);
+  }
+
+  @Test
+  public void testAvroToPegasusMCLWithDeserializedSchema() throws IOException, URISyntaxException {
+    MetadataChangeLog event = getMetadataChangeLog();
+    // Records consumed from Kafka carry a schema parsed by the deserializer, rather than the generated one
+    Schema schema = Schema.parse(com.linkedin.pegasus2avro.mxe.MetadataChangeLog.SCHEMA$.toString());
+    GenericRecord record = EventUtils.pegasusToAvroMCL(event);
+
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(os, null);
+    new GenericDatumWriter<GenericRecord>(record.getSchema()).write(record, encoder);
+    encoder.flush();
+    GenericRecord deserialized = new GenericDatumReader<GenericRecord>(schema, schema)
+        .read(null, DecoderFactory.get().binaryDecoder(os.toByteArray(), null));
+
+    assertEquals(EventUtils.avroToPegasusMCL(deserialized), event);
+  }
+
+  private MetadataChangeLog getMetadataChangeLog() throws URISyntaxException {
+    return new MetadataChangeLog().setEntityType("dataset")
+        .setEntityUrn(Urn.createFromString("urn:li:dataset:(urn:li:dataPlatform:hive,foo,PROD)"))
+        .setChangeType(ChangeType.UPSERT)
+        .setAspectName("status")
+        .setAspect(new GenericAspect().setContentType("application/json")
+            .setValue(ByteString.copyString("{\"removed\":false}", Charsets.UTF_8)));
+  }
+
   private GenericRecord genericRecordFromResource(String resourcePath, Schema schema) throws IOException {
     InputStream is = getClass().getClassLoader().getResourceAsStream(resourcePath);
     JsonDecoder decoder = DecoderFactory.get().jsonDecoder(schema, is);
@@ -0,0 +1,101 @@
+package com.linkedin.metadata.search.transformer;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+import com.linkedin.common.AuditStamp;
+import com.linkedin.common.FabricType;
+import com.linkedin.common.GlobalTags;
+import com.linkedin.common.GlossaryTermAssociation;
+import com.linkedin.common.GlossaryTermAssociationArray;
+import com.linkedin.common.GlossaryTerms;
+import com.linkedin.common.TagAssociation;
+import com.linkedin.common.TagAssociationArray;
+import com.linkedin.common.urn.DataPlatformUrn;
+import com.linkedin.common.urn.DatasetUrn;
+import com.linkedin.common.urn.GlossaryTermUrn;
+import com.linkedin.common.urn.TagUrn;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.models.registry.SnapshotEntityRegistry;
+import com.linkedin.schema.MySqlDDL;
+import com.linkedin.schema.SchemaField;
+import com.linkedin.schema.SchemaFieldArray;
+import com.linkedin.schema.SchemaFieldDataType;
+import com.linkedin.schema.SchemaMetadata;
+import com.linkedin.schema.StringType;
+import java.net.URISyntaxException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Compares transforming a schemaMetadata aspect through the compiled {@link SearchDocumentPlan} with transforming it
+ * through the JSON tree. Run with ./gradlew :metadata-io:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchDocumentTransformerBenchmark {
+
+  @Param({"10", "500", "5000"})
+  public int numFields;
+
+  private SearchDocumentTransformer transformer;
+  private AspectSpec aspectSpec;
+  private Urn urn;
+  private SchemaMetadata schemaMetadata;
+
+  @Setup
+  public void setup() throws URISyntaxException {
+    transformer = new SearchDocumentTransformer(10000);
+    aspectSpec = SnapshotEntityRegistry.getInstance().getEntitySpec("dataset").getAspectSpec("schemaMetadata");
+    urn = new DatasetUrn(new DataPlatformUrn("hive"), "benchmarkDataset", FabricType.PROD);
+    schemaMetadata = getSchemaMetadata(numFields);
+  }
+
+  @Benchmark
+  public String tree() {
+    return transformer.transformAspectToNode(urn, schemaMetadata, aspectSpec, false).map(ObjectNode::toString).get();
+  }
+
+  @Benchmark
+  public String plan() {
+    return transformer.transformAspect(urn, schemaMetadata, aspectSpec, false).get();
+  }
+
+  private static SchemaMetadata getSchemaMetadata(int numFields) throws URISyntaxException {
+    final AuditStamp auditStamp = new AuditStamp().setActor(Urn.createFromString("urn:li:corpuser:benchmark"))
+        .setTime(0L);
+    final SchemaFieldArray fields = new SchemaFieldArray();
+    for (int i = 0; i < numFields; i++) {
+      fields.add(new SchemaField().setFieldPath("struct.nested.column" + i)
+          .setDescription("Description of column " + i + " in the benchmark dataset")
+          .setType(new SchemaFieldDataType().setType(SchemaFieldDataType.Type.create(new StringType())))
+          .setNativeDataType("string")
+          .setGlobalTags(new GlobalTags().setTags(
+              new TagAssociationArray(ImmutableList.of(new TagAssociation().setTag(new TagUrn("tag" + i % 10))))))
+          .setGlossaryTerms(new GlossaryTerms().setTerms(new GlossaryTermAssociationArray(
+              ImmutableList.of(new GlossaryTermAssociation().setUrn(new GlossaryTermUrn("term" + i % 10)))))
+              .setAuditStamp(auditStamp)));
+    }
+    return new SchemaMetadata().setSchemaName("benchmarkSchema")
+        .setPlatformSchema(SchemaMetadata.PlatformSchema.create(new MySqlDDL().setTableSchema("foo")))
+        .setPlatform(new DataPlatformUrn("hive"))
+        .setHash("")
+        .setVersion(0L)
+        .setFields(fields);
+  }
+}
@@ -1,5 +1,7 @@
 package com.linkedin.metadata.entity;
 
 public interface EntityAspect {
+    String getMetadata();
+
     String getSystemMetadata();
 }
@@ -44,6 +44,7 @@ import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -284,11 +285,11 @@ public abstract class EntityService {
 
   @Nonnull
   private UpdateAspectResult wrappedIngestAspectToLocalDB(@Nonnull final Urn urn, @Nonnull final String aspectName,
-      @Nonnull final Function<Optional<RecordTemplate>, RecordTemplate> updateLambda,
-      @Nonnull final AuditStamp auditStamp, @Nonnull final SystemMetadata systemMetadata) {
+      @Nonnull final RecordTemplate newValue, @Nonnull final AuditStamp auditStamp,
+      @Nonnull final SystemMetadata systemMetadata) {
     validateUrn(urn);
-    validateAspect(urn, updateLambda.apply(null));
-    return ingestAspectToLocalDB(urn, aspectName, updateLambda, auditStamp, systemMetadata);
+    validateAspect(urn, newValue);
+    return ingestAspectToLocalDB(urn, aspectName, newValue, auditStamp, systemMetadata);
   }
 
   @Nonnull
@@ -326,6 +327,20 @@ public abstract class EntityService {
       @Nonnull final Function<Optional<RecordTemplate>, RecordTemplate> updateLambda,
       @Nonnull final AuditStamp auditStamp, @Nonnull final SystemMetadata systemMetadata);
 
+  /**
+   * Same as ingestAspectToLocalDB but for a new value that does not depend on the latest version of the aspect.
+   *
+   * The default implementation delegates to the lambda based variant. Subclasses may override this to detect unchanged
+   * writes without deserializing the stored aspect.
+   * DO NOT CALL DIRECTLY, USE WRAPPED METHODS TO VALIDATE URN
+   */
+  @Nonnull
+  protected UpdateAspectResult ingestAspectToLocalDB(@Nonnull final Urn urn, @Nonnull final String aspectName,
+      @Nonnull final RecordTemplate newValue, @Nonnull final AuditStamp auditStamp,
+      @Nonnull final SystemMetadata systemMetadata) {
+    return ingestAspectToLocalDB(urn, aspectName, ignored -> newValue, auditStamp, systemMetadata);
+  }
+
   /**
    * Same as ingestAspectToLocalDB but for multiple aspects
    * DO NOT CALL DIRECTLY, USE WRAPPED METHODS TO VALIDATE URN
@@ -387,7 +402,7 @@ public abstract class EntityService {
     systemMetadata = generateSystemMetadataIfEmpty(systemMetadata);
 
     Timer.Context ingestToLocalDBTimer = MetricUtils.timer(this.getClass(), "ingestAspectToLocalDB").time();
-    UpdateAspectResult result = wrappedIngestAspectToLocalDB(urn, aspectName, ignored -> newValue, auditStamp, systemMetadata);
+    UpdateAspectResult result = wrappedIngestAspectToLocalDB(urn, aspectName, newValue, auditStamp, systemMetadata);
     ingestToLocalDBTimer.stop();
 
     return sendEventForUpdateAspectResult(urn, aspectName, result);
@@ -437,6 +452,77 @@ public abstract class EntityService {
   public IngestProposalResult ingestProposal(@Nonnull MetadataChangeProposal metadataChangeProposal,
       AuditStamp auditStamp) {
 
+    final AspectUpsert upsert = toAspectUpsert(metadataChangeProposal);
+
+    UpdateAspectResult result = null;
+    if (!upsert.getAspectSpec().isTimeseries()) {
+      Timer.Context ingestToLocalDBTimer = MetricUtils.timer(this.getClass(), "ingestProposalToLocalDB").time();
+      result = wrappedIngestAspectToLocalDB(upsert.getUrn(), upsert.getAspectName(), upsert.getAspect(), auditStamp,
+          upsert.getSystemMetadata());
+      ingestToLocalDBTimer.stop();
+    }
+
+    return emitProposalResult(upsert, result, auditStamp);
+  }
+
+  /**
+   * Ingests a batch of {@link MetadataChangeProposal}s. Unlike calling {@link #ingestProposal} per proposal, the
+   * versioned aspects of the whole batch are written to the local DB together via
+   * {@link #ingestAspectBatchToLocalDB(List, AuditStamp)}, after which a {@link MetadataChangeLog} is produced for
+   * each proposal that resulted in a change.
+   *
+   * @param metadataChangeProposals the proposals to ingest, applied in order
+   * @param auditStamp an {@link AuditStamp} containing metadata about the writer & current time
+   * @return one {@link IngestProposalResult} per proposal, in the order the proposals were provided
+   */
+  public List<IngestProposalResult> ingestProposalBatch(@Nonnull List<MetadataChangeProposal> metadataChangeProposals,
+      AuditStamp auditStamp) {
+
+    final List<AspectUpsert> upserts = metadataChangeProposals.stream()
+        .map(this::toAspectUpsert)
+        .collect(Collectors.toList());
+
+    final List<AspectUpsert> versionedUpserts = upserts.stream()
+        .filter(upsert -> !upsert.getAspectSpec().isTimeseries())
+        .collect(Collectors.toList());
+    versionedUpserts.forEach(upsert -> {
+      validateUrn(upsert.getUrn());
+      validateAspect(upsert.getUrn(), upsert.getAspect());
+    });
+
+    final Map<AspectUpsert, UpdateAspectResult> localDBResults = new IdentityHashMap<>();
+    if (!versionedUpserts.isEmpty()) {
+      Timer.Context ingestToLocalDBTimer = MetricUtils.timer(this.getClass(), "ingestProposalBatchToLocalDB").time();
+      final List<UpdateAspectResult> results = ingestAspectBatchToLocalDB(versionedUpserts, auditStamp);
+      ingestToLocalDBTimer.stop();
+      for (int i = 0; i < versionedUpserts.size(); i++) {
+        localDBResults.put(versionedUpserts.get(i), results.get(i));
+      }
+    }
+
+    return upserts.stream()
+        .map(upsert -> emitProposalResult(upsert, localDBResults.get(upsert), auditStamp))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Writes a batch of aspects to the local DB. Results are returned in the same order as the provided upserts.
+   *
+   * The default implementation writes each aspect in its own transaction. Subclasses should override this if the
+   * underlying store can resolve and write the batch more efficiently.
+   * DO NOT CALL DIRECTLY, USE {@link #ingestProposalBatch(List, AuditStamp)} TO VALIDATE URNS AND ASPECTS
+   */
+  @Nonnull
+  protected List<UpdateAspectResult> ingestAspectBatchToLocalDB(@Nonnull final List<AspectUpsert> upserts,
+      @Nonnull final AuditStamp auditStamp) {
+    return upserts.stream()
+        .map(upsert -> ingestAspectToLocalDB(upsert.getUrn(), upsert.getAspectName(), upsert.getAspect(), auditStamp,
+            upsert.getSystemMetadata()))
+        .collect(Collectors.toList());
+  }
+
+  @Nonnull
+  private AspectUpsert toAspectUpsert(@Nonnull MetadataChangeProposal metadataChangeProposal) {
     log.debug("entity type = {}", metadataChangeProposal.getEntityType());
     EntitySpec entitySpec = getEntityRegistry().getEntitySpec(metadataChangeProposal.getEntityType());
     log.debug("entity spec = {}", entitySpec);
@@ -477,17 +563,28 @@ public abstract class EntityService {
     systemMetadata.setRegistryName(aspectSpec.getRegistryName());
     systemMetadata.setRegistryVersion(aspectSpec.getRegistryVersion().toString());
 
+    return new AspectUpsert(metadataChangeProposal, entityUrn, aspectSpec, aspect, systemMetadata);
+  }
+
+  /**
+   * Applies retention and produces the {@link MetadataChangeLog} for an ingested proposal.
+   *
+   * @param upsert the validated proposal
+   * @param result the result of writing the aspect to the local DB, or null if the aspect is timeseries
+   * @param auditStamp an {@link AuditStamp} containing metadata about the writer & current time
+   */
+  private IngestProposalResult emitProposalResult(@Nonnull AspectUpsert upsert, @Nullable UpdateAspectResult result,
+      AuditStamp auditStamp) {
+    final MetadataChangeProposal metadataChangeProposal = upsert.getProposal();
+    final Urn entityUrn = upsert.getUrn();
+    final AspectSpec aspectSpec = upsert.getAspectSpec();
+
     RecordTemplate oldAspect = null;
     SystemMetadata oldSystemMetadata = null;
-    RecordTemplate newAspect = aspect;
-    SystemMetadata newSystemMetadata = systemMetadata;
+    RecordTemplate newAspect = upsert.getAspect();
+    SystemMetadata newSystemMetadata = upsert.getSystemMetadata();
 
-    if (!aspectSpec.isTimeseries()) {
-      Timer.Context ingestToLocalDBTimer = MetricUtils.timer(this.getClass(), "ingestProposalToLocalDB").time();
-      UpdateAspectResult result =
-          wrappedIngestAspectToLocalDB(entityUrn, metadataChangeProposal.getAspectName(), ignored -> aspect, auditStamp,
-              systemMetadata);
-      ingestToLocalDBTimer.stop();
+    if (result != null) {
       oldAspect = result.getOldValue();
       oldSystemMetadata = result.getOldSystemMetadata();
       newAspect = result.getNewValue();
@@ -938,6 +1035,22 @@ public abstract class EntityService {
     boolean didUpdate;
   }
 
+  /**
+   * A validated {@link MetadataChangeProposal} together with the deserialized aspect it carries.
+   */
+  @Value
+  public static class AspectUpsert {
+    MetadataChangeProposal proposal;
+    Urn urn;
+    AspectSpec aspectSpec;
+    RecordTemplate aspect;
+    SystemMetadata systemMetadata;
+
+    public String getAspectName() {
+      return aspectSpec.getName();
+    }
+  }
+
   protected boolean filterMatch(SystemMetadata systemMetadata, Map<String, String> conditions) {
     String runIdCondition = conditions.getOrDefault("runId", null);
     if (runIdCondition != null) {
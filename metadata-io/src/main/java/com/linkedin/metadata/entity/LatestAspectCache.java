@@ -0,0 +1,130 @@
+package com.linkedin.metadata.entity;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.util.Pair;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * A bounded cache of the latest (version 0) row of each (urn, aspect) pair, shared by the aspect DAOs to serve hot
+ * reads without a round trip to the underlying store.
+ *
+ * The cache is weighted by the serialized size of each row, so the bound is expressed in (approximate) bytes rather
+ * than entries. Writes made through this instance invalidate the affected keys directly; writes made by other
+ * instances are picked up either through {@link #invalidate(String, String)} when the corresponding
+ * MetadataChangeLog is consumed, or at the latest once the entry expires.
+ *
+ * Hits, misses, evictions and the current weight are published through {@link MetricUtils}.
+ */
+public class LatestAspectCache {
+
+  // Invalidations are counted per stripe of urns, so that a put is only dropped by invalidations of urns that may be
+  // its own rather than by any invalidation
+  private static final int INVALIDATION_STRIPES = 1024;
+
+  private final Cache<Pair<String, String>, EntityAspect> _cache;
+  private final AtomicLong _weightBytes = new AtomicLong(0);
+  private final AtomicLongArray _urnInvalidations = new AtomicLongArray(INVALIDATION_STRIPES);
+  private final AtomicLong _allInvalidations = new AtomicLong(0);
+
+  public LatestAspectCache(final long maxWeightBytes, final long ttlSeconds) {
+    _cache = CacheBuilder.newBuilder()
+        .maximumWeight(maxWeightBytes)
+        .weigher((Pair<String, String> key, EntityAspect value) -> weigh(key, value))
+        .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+        .removalListener(this::onRemoval)
+        .build();
+    MetricUtils.gauge(this.getClass(), "weight_bytes", _weightBytes::get);
+    MetricUtils.gauge(this.getClass(), "entries", _cache::size);
+  }
+
+  /**
+   * Returns the cached latest rows for the provided (urn, aspect) pairs. Pairs that are not cached are absent from the
+   * result.
+   */
+  @Nonnull
+  public Map<Pair<String, String>, EntityAspect> getAll(@Nonnull final Collection<Pair<String, String>> keys) {
+    final Map<Pair<String, String>, EntityAspect> result = new HashMap<>(_cache.getAllPresent(keys));
+    MetricUtils.counter(this.getClass(), "hit").inc(result.size());
+    MetricUtils.counter(this.getClass(), "miss").inc(keys.size() - result.size());
+    return result;
+  }
+
+  /**
+   * Returns a stamp of the urn to take before reading its rows from the underlying store that will be passed to
+   * {@link #put(String, String, EntityAspect, long)}.
+   */
+  public long stamp(@Nonnull final String urn) {
+    // Both counters only ever grow, so their sum changes whenever one of them does
+    return _allInvalidations.get() + _urnInvalidations.get(stripe(urn));
+  }
+
+  /**
+   * Caches a row read from the underlying store. If the urn may have been invalidated since the stamp was taken, the
+   * row may predate a concurrent write, so it is dropped again rather than served.
+   */
+  public void put(@Nonnull final String urn, @Nonnull final String aspectName, @Nonnull final EntityAspect aspect,
+      final long stamp) {
+    final Pair<String, String> key = Pair.of(urn, aspectName);
+    _weightBytes.addAndGet(weigh(key, aspect));
+    _cache.put(key, aspect);
+    if (stamp(urn) != stamp) {
+      _cache.invalidate(key);
+    }
+  }
+
+  public void invalidate(@Nonnull final String urn, @Nonnull final String aspectName) {
+    _urnInvalidations.incrementAndGet(stripe(urn));
+    _cache.invalidate(Pair.of(urn, aspectName));
+  }
+
+  /**
+   * Invalidates every cached aspect of the provided urn, e.g. when the entity is hard deleted.
+   */
+  public void invalidateUrn(@Nonnull final String urn) {
+    _urnInvalidations.incrementAndGet(stripe(urn));
+    _cache.asMap().keySet().removeIf(key -> urn.equals(key.getFirst()));
+  }
+
+  public void invalidateAll() {
+    _allInvalidations.incrementAndGet();
+    _cache.invalidateAll();
+  }
+
+  private void onRemoval(@Nonnull final RemovalNotification<Pair<String, String>, EntityAspect> notification) {
+    _weightBytes.addAndGet(-weigh(notification.getKey(), notification.getValue()));
+    if (notification.wasEvicted()) {
+      MetricUtils.counter(this.getClass(), "eviction").inc();
+    }
+  }
+
+  private static int stripe(@Nonnull final String urn) {
+    return Math.floorMod(urn.hashCode(), INVALIDATION_STRIPES);
+  }
+
+  private static int weigh(@Nullable final Pair<String, String> key, @Nullable final EntityAspect aspect) {
+    // Strings are weighed by their length, which approximates their serialized size in bytes.
+    int weight = 0;
+    if (key != null) {
+      weight += key.getFirst().length() + key.getSecond().length();
+    }
+    if (aspect != null) {
+      weight += length(aspect.getMetadata()) + length(aspect.getSystemMetadata());
+    }
+    return weight;
+  }
+
+  private static int length(@Nullable final String value) {
+    return value == null ? 0 : value.length();
+  }
+}
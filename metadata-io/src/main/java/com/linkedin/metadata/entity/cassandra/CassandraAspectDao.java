@@ -20,10 +20,12 @@ import com.google.common.collect.ImmutableSet;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.metadata.entity.AspectDao;
+import com.linkedin.metadata.entity.LatestAspectCache;
 import com.linkedin.metadata.entity.ListResult;
 import com.linkedin.metadata.query.ExtraInfo;
 import com.linkedin.metadata.query.ExtraInfoArray;
 import com.linkedin.metadata.query.ListResultMetadata;
+import com.linkedin.util.Pair;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.Nonnull;
@@ -50,10 +52,18 @@ public class CassandraAspectDao implements AspectDao {
   protected final CqlSession _cqlSession;
   private boolean _canWrite = true;
 
+  // Optional cache of latest (version 0) rows, consulted by batchGet outside of runInTransactionWithRetry blocks
+  private LatestAspectCache _latestAspectCache = null;
+  private final ThreadLocal<Integer> _transactionDepth = ThreadLocal.withInitial(() -> 0);
+
     public CassandraAspectDao(@Nonnull final CqlSession cqlSession) {
     _cqlSession = cqlSession;
   }
 
+  public void setLatestAspectCache(@Nullable final LatestAspectCache latestAspectCache) {
+    _latestAspectCache = latestAspectCache;
+  }
+
   public CassandraAspect getLatestAspect(String urn, String aspectName) {
     return getAspect(urn, aspectName, ASPECT_LATEST_VERSION);
   }
@@ -163,18 +173,64 @@ public class CassandraAspectDao implements AspectDao {
 
       _cqlSession.execute(u.build());
     }
+    invalidateLatestAspect(cassandraAspect);
   }
 
   // TODO: can further improve by running the sub queries in parallel
   // TODO: look into supporting pagination
   @Nonnull
   public Map<CassandraAspect.PrimaryKey, CassandraAspect> batchGet(@Nonnull final Set<CassandraAspect.PrimaryKey> keys) {
+    // Reads made as part of a write must observe the database, so only plain reads use the cache
+    if (_latestAspectCache == null || _transactionDepth.get() > 0) {
+      return batchGetFromDb(keys);
+    }
+
+    final Map<CassandraAspect.PrimaryKey, CassandraAspect> result = new HashMap<>();
+    final List<Pair<String, String>> latestKeys = keys.stream()
+        .filter(key -> key.getVersion() == ASPECT_LATEST_VERSION)
+        .map(key -> Pair.of(key.getUrn(), key.getAspect()))
+        .collect(Collectors.toList());
+    _latestAspectCache.getAll(latestKeys).values().forEach(cached -> {
+      final CassandraAspect aspect = copyOf((CassandraAspect) cached);
+      result.put(aspect.toPrimaryKey(), aspect);
+    });
+
+    final Set<CassandraAspect.PrimaryKey> missingKeys = keys.stream()
+        .filter(key -> !result.containsKey(key))
+        .collect(Collectors.toSet());
+    if (!missingKeys.isEmpty()) {
+      final Map<String, Long> stamps = new HashMap<>();
+      missingKeys.forEach(key -> stamps.computeIfAbsent(key.getUrn(), _latestAspectCache::stamp));
+      batchGetFromDb(missingKeys).forEach((key, aspect) -> {
+        if (key.getVersion() == ASPECT_LATEST_VERSION) {
+          _latestAspectCache.put(key.getUrn(), key.getAspect(), copyOf(aspect), stamps.get(key.getUrn()));
+        }
+        result.put(key, aspect);
+      });
+    }
+    return result;
+  }
+
+  @Nonnull
+  private Map<CassandraAspect.PrimaryKey, CassandraAspect> batchGetFromDb(@Nonnull final Set<CassandraAspect.PrimaryKey> keys) {
     return keys.stream()
             .map(k -> getAspect(k))
             .filter(Objects::nonNull)
             .collect(Collectors.toMap(CassandraAspect::toPrimaryKey, record -> record));
   }
 
+  private void invalidateLatestAspect(@Nonnull final CassandraAspect aspect) {
+    if (_latestAspectCache != null && aspect.getVersion() == ASPECT_LATEST_VERSION) {
+      _latestAspectCache.invalidate(aspect.getUrn(), aspect.getAspect());
+    }
+  }
+
+  @Nonnull
+  private static CassandraAspect copyOf(@Nonnull final CassandraAspect aspect) {
+    return new CassandraAspect(aspect.getUrn(), aspect.getAspect(), aspect.getVersion(), aspect.getMetadata(),
+        aspect.getSystemMetadata(), aspect.getCreatedOn(), aspect.getCreatedBy(), aspect.getCreatedFor());
+  }
+
   public CassandraAspect getAspect(CassandraAspect.PrimaryKey pk) {
     return getAspect(pk.getUrn(), pk.getAspect(), pk.getVersion());
   }
@@ -248,11 +304,14 @@ public class CassandraAspectDao implements AspectDao {
     Exception lastException;
 
     do {
+      _transactionDepth.set(_transactionDepth.get() + 1);
       try {
         // TODO: Try to bend this code to make use of Cassandra batches. This method is called from single-urn operations, so perf should not suffer much
         return block.get();
       } catch (DriverException exception) {
         lastException = exception;
+      } finally {
+        _transactionDepth.set(_transactionDepth.get() - 1);
       }
     } while (++retryCount <= maxTransactionRetry);
 
@@ -326,6 +385,7 @@ public class CassandraAspectDao implements AspectDao {
       .whereColumn(CassandraAspect.VERSION_COLUMN).isEqualTo(literal(aspect.getVersion()))
         .build();
     ResultSet rs = _cqlSession.execute(ss);
+    invalidateLatestAspect(aspect);
 
     return rs.getExecutionInfo().getErrors().size() == 0;
   }
@@ -335,6 +395,9 @@ public class CassandraAspectDao implements AspectDao {
       .whereColumn(CassandraAspect.URN_COLUMN).isEqualTo(literal(urn))
         .build();
     ResultSet rs = _cqlSession.execute(ss);
+    if (_latestAspectCache != null) {
+      _latestAspectCache.invalidateUrn(urn);
+    }
     // TODO: look into how to get around this for counts in Cassandra
     // https://stackoverflow.com/questions/28611459/how-to-know-affected-rows-in-cassandracql
     return rs.getExecutionInfo().getErrors().size() == 0 ? -1 : 0;
@@ -6,11 +6,13 @@ import com.linkedin.common.AuditStamp;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.metadata.entity.AspectDao;
 import com.linkedin.metadata.entity.AspectStorageValidationUtil;
+import com.linkedin.metadata.entity.LatestAspectCache;
 import com.linkedin.metadata.entity.ListResult;
 import com.linkedin.metadata.query.ExtraInfo;
 import com.linkedin.metadata.query.ExtraInfoArray;
 import com.linkedin.metadata.query.ListResultMetadata;
 import com.linkedin.metadata.search.utils.QueryUtils;
+import com.linkedin.util.Pair;
 import io.ebean.DuplicateKeyException;
 import io.ebean.EbeanServer;
 import io.ebean.ExpressionList;
@@ -19,7 +21,10 @@ import io.ebean.PagedList;
 import io.ebean.Query;
 import io.ebean.RawSql;
 import io.ebean.RawSqlBuilder;
+import io.ebean.SqlQuery;
+import io.ebean.SqlRow;
 import io.ebean.Transaction;
+import io.ebean.TransactionCallbackAdapter;
 import io.ebean.TxScope;
 import io.ebean.annotation.TxIsolation;
 import java.net.URISyntaxException;
@@ -54,10 +59,17 @@ public class EbeanAspectDao implements AspectDao {
   // more testing.
   private int _queryKeysCount = 375; // 0 means no pagination on keys
 
+  // Optional cache of latest (version 0) rows, consulted by batchGet outside of write transactions
+  private LatestAspectCache _latestAspectCache = null;
+
   public EbeanAspectDao(@Nonnull final EbeanServer server) {
     _server = server;
   }
 
+  public void setLatestAspectCache(@Nullable final LatestAspectCache latestAspectCache) {
+    _latestAspectCache = latestAspectCache;
+  }
+
   public void setWritable(boolean canWrite) {
     _canWrite = canWrite;
   }
@@ -152,6 +164,9 @@ public class EbeanAspectDao implements AspectDao {
 
   protected void saveAspect(@Nonnull final EbeanAspectV2 ebeanAspect, final boolean insert) {
     validateConnection();
+    if (ebeanAspect.getKey().getVersion() == ASPECT_LATEST_VERSION) {
+      invalidateLatestAspect(ebeanAspect.getKey().getUrn(), ebeanAspect.getKey().getAspect());
+    }
     if (insert) {
       _server.insert(ebeanAspect);
     } else {
@@ -159,6 +174,28 @@ public class EbeanAspectDao implements AspectDao {
     }
   }
 
+  /**
+   * Updates only the system metadata column of an existing aspect row, leaving the (unchanged) aspect itself untouched.
+   */
+  public void updateSystemMetadata(@Nonnull final EbeanAspectV2.PrimaryKey key, @Nullable final String systemMetadata) {
+    validateConnection();
+    if (!_canWrite) {
+      return;
+    }
+    if (key.getVersion() == ASPECT_LATEST_VERSION) {
+      invalidateLatestAspect(key.getUrn(), key.getAspect());
+    }
+    final String sql = String.format("UPDATE %s SET %s = ? WHERE %s = ? AND %s = ? AND %s = ?",
+        EbeanAspectV2.class.getAnnotation(Table.class).name(), EbeanAspectV2.SYSTEM_METADATA_COLUMN,
+        EbeanAspectV2.URN_COLUMN, EbeanAspectV2.ASPECT_COLUMN, EbeanAspectV2.VERSION_COLUMN);
+    _server.createSqlUpdate(sql)
+        .setParameter(1, systemMetadata)
+        .setParameter(2, key.getUrn())
+        .setParameter(3, key.getAspect())
+        .setParameter(4, key.getVersion())
+        .execute();
+  }
+
   @Nullable
   protected EbeanAspectV2 getLatestAspect(@Nonnull final String urn, @Nonnull final String aspectName) {
     validateConnection();
@@ -195,11 +232,15 @@ public class EbeanAspectDao implements AspectDao {
   @Nullable
   public boolean deleteAspect(@Nonnull final EbeanAspectV2 aspect) {
     validateConnection();
+    if (aspect.getKey().getVersion() == ASPECT_LATEST_VERSION) {
+      invalidateLatestAspect(aspect.getKey().getUrn(), aspect.getKey().getAspect());
+    }
     return _server.delete(aspect);
   }
 
   @Nullable
   public int deleteUrn(@Nonnull final String urn) {
+    invalidateLatestAspect(urn, null);
     return _server.createQuery(EbeanAspectV2.class).where().eq("urn", urn).delete();
   }
 
@@ -219,6 +260,39 @@ public class EbeanAspectDao implements AspectDao {
       return Collections.emptyMap();
     }
 
+    // Reads made as part of a write transaction must observe the database, so only plain reads use the cache
+    if (_latestAspectCache == null || _server.currentTransaction() != null) {
+      return batchGetFromDb(keys);
+    }
+
+    final Map<EbeanAspectV2.PrimaryKey, EbeanAspectV2> result = new HashMap<>();
+    final List<Pair<String, String>> latestKeys = keys.stream()
+        .filter(key -> key.getVersion() == ASPECT_LATEST_VERSION)
+        .map(key -> Pair.of(key.getUrn(), key.getAspect()))
+        .collect(Collectors.toList());
+    _latestAspectCache.getAll(latestKeys).values().forEach(cached -> {
+      final EbeanAspectV2 aspect = copyOf((EbeanAspectV2) cached);
+      result.put(aspect.getKey(), aspect);
+    });
+
+    final Set<EbeanAspectV2.PrimaryKey> missingKeys = keys.stream()
+        .filter(key -> !result.containsKey(key))
+        .collect(Collectors.toSet());
+    if (!missingKeys.isEmpty()) {
+      final Map<String, Long> stamps = new HashMap<>();
+      missingKeys.forEach(key -> stamps.computeIfAbsent(key.getUrn(), _latestAspectCache::stamp));
+      batchGetFromDb(missingKeys).forEach((key, aspect) -> {
+        if (key.getVersion() == ASPECT_LATEST_VERSION) {
+          _latestAspectCache.put(key.getUrn(), key.getAspect(), copyOf(aspect), stamps.get(key.getUrn()));
+        }
+        result.put(key, aspect);
+      });
+    }
+    return result;
+  }
+
+  @Nonnull
+  private Map<EbeanAspectV2.PrimaryKey, EbeanAspectV2> batchGetFromDb(@Nonnull final Set<EbeanAspectV2.PrimaryKey> keys) {
     final List<EbeanAspectV2> records;
     if (_queryKeysCount == 0) {
       records = batchGet(keys, keys.size());
@@ -273,7 +347,7 @@ public class EbeanAspectDao implements AspectDao {
     outputParamsToValues.put(aspectArg, aspect);
     outputParamsToValues.put(versionArg, version);
 
-    return String.format("SELECT urn, aspect, version, metadata, createdOn, createdBy, createdFor "
+    return String.format("SELECT urn, aspect, version, metadata, systemmetadata, createdOn, createdBy, createdFor "
             + "FROM %s WHERE urn = :%s AND aspect = :%s AND version = :%s",
         EbeanAspectV2.class.getAnnotation(Table.class).name(), urnArg, aspectArg, versionArg);
   }
@@ -518,6 +592,94 @@ public class EbeanAspectDao implements AspectDao {
     return result;
   }
 
+  /**
+   * Set-based variant of {@link #getNextVersions(String, Set)} resolving the next version of every (urn, aspect) pair
+   * in a batch with one grouped query per page of urns, instead of one query per urn.
+   *
+   * @param urns the urns to resolve next versions for
+   * @param aspectNames the aspects to resolve next versions for
+   * @return a map of urn to a map of aspect name to the next version to use for that aspect
+   */
+  @Nonnull
+  public Map<String, Map<String, Long>> getNextVersions(@Nonnull final Set<String> urns,
+      @Nonnull final Set<String> aspectNames) {
+    validateConnection();
+    final Map<String, Map<String, Long>> result = new HashMap<>();
+    if (urns.isEmpty() || aspectNames.isEmpty()) {
+      return result;
+    }
+
+    final List<String> urnList = new ArrayList<>(urns);
+    final int pageSize = _queryKeysCount == 0 ? urnList.size() : _queryKeysCount;
+    for (int position = 0; position < urnList.size(); position += pageSize) {
+      final List<String> page = urnList.subList(position, Math.min(urnList.size(), position + pageSize));
+      final String sql = String.format("SELECT urn, aspect, max(version) AS version FROM %s "
+              + "WHERE urn IN (%s) AND aspect IN (%s) GROUP BY urn, aspect",
+          EbeanAspectV2.class.getAnnotation(Table.class).name(), placeholders(page.size()),
+          placeholders(aspectNames.size()));
+
+      final SqlQuery query = _server.createSqlQuery(sql);
+      int parameterIndex = 1;
+      for (String urn : page) {
+        query.setParameter(parameterIndex++, urn);
+      }
+      for (String aspectName : aspectNames) {
+        query.setParameter(parameterIndex++, aspectName);
+      }
+
+      for (SqlRow row : query.findList()) {
+        result.computeIfAbsent(row.getString(EbeanAspectV2.URN_COLUMN), urn -> new HashMap<>())
+            .put(row.getString(EbeanAspectV2.ASPECT_COLUMN), row.getLong(EbeanAspectV2.VERSION_COLUMN) + 1L);
+      }
+    }
+
+    for (String urn : urns) {
+      final Map<String, Long> urnVersions = result.computeIfAbsent(urn, ignored -> new HashMap<>());
+      for (String aspectName : aspectNames) {
+        urnVersions.putIfAbsent(aspectName, ASPECT_LATEST_VERSION);
+      }
+    }
+    return result;
+  }
+
+  @Nonnull
+  private static String placeholders(final int count) {
+    return String.join(", ", Collections.nCopies(count, "?"));
+  }
+
+  /**
+   * Invalidates the cached latest row of an aspect, or of every aspect of the urn if no aspect name is provided. When
+   * called within a transaction, the invalidation is repeated after commit so that concurrent readers cannot re-populate
+   * the cache with the pre-commit row.
+   */
+  private void invalidateLatestAspect(@Nonnull final String urn, @Nullable final String aspectName) {
+    if (_latestAspectCache == null) {
+      return;
+    }
+    final LatestAspectCache cache = _latestAspectCache;
+    final Runnable invalidation = aspectName == null
+        ? () -> cache.invalidateUrn(urn)
+        : () -> cache.invalidate(urn, aspectName);
+    invalidation.run();
+
+    final Transaction transaction = _server.currentTransaction();
+    if (transaction != null) {
+      transaction.register(new TransactionCallbackAdapter() {
+        @Override
+        public void postCommit() {
+          invalidation.run();
+        }
+      });
+    }
+  }
+
+  @Nonnull
+  private static EbeanAspectV2 copyOf(@Nonnull final EbeanAspectV2 aspect) {
+    return new EbeanAspectV2(aspect.getKey().getUrn(), aspect.getKey().getAspect(), aspect.getKey().getVersion(),
+        aspect.getMetadata(), aspect.getCreatedOn(), aspect.getCreatedBy(), aspect.getCreatedFor(),
+        aspect.getSystemMetadata());
+  }
+
   @Nonnull
   private <T> ListResult<T> toListResult(
       @Nonnull final List<T> values,
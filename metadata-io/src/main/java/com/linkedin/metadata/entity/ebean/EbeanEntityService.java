@@ -57,6 +57,8 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static com.linkedin.metadata.Constants.ASPECT_LATEST_VERSION;
@@ -71,6 +73,8 @@ import static com.linkedin.metadata.Constants.SYSTEM_ACTOR;
 public class EbeanEntityService extends EntityService {
 
   private static final int DEFAULT_MAX_TRANSACTION_RETRY = 3;
+  // The top level lastObserved of serialized system metadata
+  private static final Pattern LAST_OBSERVED_PATTERN = Pattern.compile("\"lastObserved\":(-?\\d+)");
 
   private final EbeanAspectDao _aspectDao;
   private final JacksonDataTemplateCodec _dataTemplateCodec = new JacksonDataTemplateCodec();
@@ -350,6 +354,21 @@ public class EbeanEntityService extends EntityService {
     }, DEFAULT_MAX_TRANSACTION_RETRY);
   }
 
+  @Override
+  @Nonnull
+  protected UpdateAspectResult ingestAspectToLocalDB(@Nonnull final Urn urn, @Nonnull final String aspectName,
+      @Nonnull final RecordTemplate newValue, @Nonnull final AuditStamp auditStamp,
+      @Nonnull final SystemMetadata providedSystemMetadata) {
+
+    return _aspectDao.runInTransactionWithRetry(() -> {
+      final String urnStr = urn.toString();
+      final EbeanAspectV2 latest = _aspectDao.getLatestAspect(urnStr, aspectName);
+      long nextVersion = _aspectDao.getNextVersion(urnStr, aspectName);
+
+      return ingestAspectToLocalDBNoTransaction(urn, aspectName, newValue, auditStamp, providedSystemMetadata, latest, nextVersion);
+    }, DEFAULT_MAX_TRANSACTION_RETRY);
+  }
+
   @Override
   @Nonnull
   protected List<Pair<String, UpdateAspectResult>> ingestAspectsToLocalDB(
@@ -374,7 +393,7 @@ public class EbeanEntityService extends EntityService {
         RecordTemplate newValue = aspectRecord.getSecond();
         EbeanAspectV2 latest = latestAspects.get(aspectName);
         long nextVersion = nextVersions.get(aspectName);
-        UpdateAspectResult updateResult = ingestAspectToLocalDBNoTransaction(urn, aspectName, ignored -> newValue, auditStamp, systemMetadata,
+        UpdateAspectResult updateResult = ingestAspectToLocalDBNoTransaction(urn, aspectName, newValue, auditStamp, systemMetadata,
           latest, nextVersion);
         result.add(new Pair<>(aspectName, updateResult));
       }
@@ -382,6 +401,85 @@ public class EbeanEntityService extends EntityService {
     }, DEFAULT_MAX_TRANSACTION_RETRY);
   }
 
+  @Override
+  @Nonnull
+  protected List<UpdateAspectResult> ingestAspectBatchToLocalDB(@Nonnull final List<AspectUpsert> upserts,
+      @Nonnull final AuditStamp auditStamp) {
+
+    final UpdateAspectResult[] results = new UpdateAspectResult[upserts.size()];
+
+    // The latest rows and next versions are resolved up front for a whole transaction, so each transaction may only
+    // touch a given (urn, aspect) pair once. Repeated writes to the same pair are deferred to a following round.
+    for (List<Integer> round : partitionIntoRounds(upserts)) {
+      final List<UpdateAspectResult> roundResults = _aspectDao.runInTransactionWithRetry(() -> {
+        final Set<EbeanAspectV2.PrimaryKey> dbKeys = round.stream()
+            .map(index -> toLatestKey(upserts.get(index)))
+            .collect(Collectors.toSet());
+        final Map<EbeanAspectV2.PrimaryKey, EbeanAspectV2> latestAspects = new HashMap<>();
+        Iterators.partition(dbKeys.iterator(), MAX_KEYS_PER_QUERY)
+            .forEachRemaining(batch -> latestAspects.putAll(_aspectDao.batchGet(ImmutableSet.copyOf(batch))));
+
+        final Map<String, Map<String, Long>> nextVersions = _aspectDao.getNextVersions(
+            dbKeys.stream().map(EbeanAspectV2.PrimaryKey::getUrn).collect(Collectors.toSet()),
+            dbKeys.stream().map(EbeanAspectV2.PrimaryKey::getAspect).collect(Collectors.toSet()));
+
+        final List<UpdateAspectResult> transactionResults = new ArrayList<>(round.size());
+        for (Integer index : round) {
+          final AspectUpsert upsert = upserts.get(index);
+          final EbeanAspectV2.PrimaryKey latestKey = toLatestKey(upsert);
+          final long nextVersion = nextVersions.get(latestKey.getUrn()).get(latestKey.getAspect());
+          transactionResults.add(ingestAspectToLocalDBNoTransaction(upsert.getUrn(), upsert.getAspectName(),
+              upsert.getAspect(), auditStamp, upsert.getSystemMetadata(), latestAspects.get(latestKey), nextVersion));
+        }
+        return transactionResults;
+      }, DEFAULT_MAX_TRANSACTION_RETRY);
+
+      for (int i = 0; i < round.size(); i++) {
+        results[round.get(i)] = roundResults.get(i);
+      }
+    }
+    return Arrays.asList(results);
+  }
+
+  /**
+   * Splits a batch into rounds of upsert indices, such that each round contains at most one upsert per (urn, aspect)
+   * pair and repeated upserts of a pair keep their relative order across rounds.
+   */
+  @Nonnull
+  private static List<List<Integer>> partitionIntoRounds(@Nonnull final List<AspectUpsert> upserts) {
+    final List<List<Integer>> rounds = new ArrayList<>();
+    final Map<EbeanAspectV2.PrimaryKey, Integer> occurrences = new HashMap<>();
+    for (int index = 0; index < upserts.size(); index++) {
+      final int round = occurrences.merge(toLatestKey(upserts.get(index)), 1, Integer::sum) - 1;
+      if (round == rounds.size()) {
+        rounds.add(new ArrayList<>());
+      }
+      rounds.get(round).add(index);
+    }
+    return rounds;
+  }
+
+  @Nonnull
+  private static EbeanAspectV2.PrimaryKey toLatestKey(@Nonnull final AspectUpsert upsert) {
+    return new EbeanAspectV2.PrimaryKey(upsert.getUrn().toString(), upsert.getAspectName(), ASPECT_LATEST_VERSION);
+  }
+
+  @Nonnull
+  private UpdateAspectResult ingestAspectToLocalDBNoTransaction(@Nonnull final Urn urn,
+      @Nonnull final String aspectName, @Nonnull final RecordTemplate newValue, @Nonnull final AuditStamp auditStamp,
+      @Nonnull final SystemMetadata providedSystemMetadata, @Nullable final EbeanAspectV2 latest,
+      @Nonnull final Long nextVersion) {
+
+    // Most re-ingested aspects are unchanged. Since the stored aspect was serialized the same way, comparing the
+    // serialized forms detects this without deserializing the stored aspect. Serializations that differ only in field
+    // order fall through to the full comparison below.
+    if (latest != null && EntityUtils.toJsonAspect(newValue).equals(latest.getMetadata())) {
+      return updateLastObserved(urn, newValue, auditStamp, providedSystemMetadata, latest);
+    }
+    return ingestAspectToLocalDBNoTransaction(urn, aspectName, ignored -> newValue, auditStamp, providedSystemMetadata,
+        latest, nextVersion);
+  }
+
   @Nonnull
   private UpdateAspectResult ingestAspectToLocalDBNoTransaction(@Nonnull final Urn urn,
      @Nonnull final String aspectName, @Nonnull final Function<Optional<RecordTemplate>, RecordTemplate> updateLambda,
@@ -396,16 +494,7 @@ public class EbeanEntityService extends EntityService {
     // 3. If there is no difference between existing and new, we just update
     // the lastObserved in system metadata. RunId should stay as the original runId
     if (oldValue != null && DataTemplateUtil.areEqual(oldValue, newValue)) {
-      SystemMetadata latestSystemMetadata = EntityUtils.parseSystemMetadata(latest.getSystemMetadata());
-      latestSystemMetadata.setLastObserved(providedSystemMetadata.getLastObserved());
-
-      latest.setSystemMetadata(RecordUtils.toJsonString(latestSystemMetadata));
-
-      _aspectDao.saveAspect(latest, false);
-
-      return new UpdateAspectResult(urn, oldValue, oldValue,
-              EntityUtils.parseSystemMetadata(latest.getSystemMetadata()), latestSystemMetadata,
-              MetadataAuditOperation.UPDATE, auditStamp, 0);
+      return updateLastObserved(urn, oldValue, auditStamp, providedSystemMetadata, latest);
     }
 
     // 4. Save the newValue as the latest version
@@ -422,6 +511,47 @@ public class EbeanEntityService extends EntityService {
             MetadataAuditOperation.UPDATE, auditStamp, versionOfOld);
   }
 
+  /**
+   * Records that an unchanged aspect was observed again, by writing only the lastObserved of its system metadata. The
+   * stored system metadata is parsed once, and its JSON is patched in place rather than serialized again.
+   */
+  @Nonnull
+  private UpdateAspectResult updateLastObserved(@Nonnull final Urn urn, @Nonnull final RecordTemplate value,
+      @Nonnull final AuditStamp auditStamp, @Nonnull final SystemMetadata providedSystemMetadata,
+      @Nonnull final EbeanAspectV2 latest) {
+    final SystemMetadata oldSystemMetadata = EntityUtils.parseSystemMetadata(latest.getSystemMetadata());
+    final SystemMetadata latestSystemMetadata;
+    try {
+      latestSystemMetadata = oldSystemMetadata.copy();
+    } catch (CloneNotSupportedException e) {
+      throw new IllegalStateException("Failed to copy system metadata", e);
+    }
+    latestSystemMetadata.setLastObserved(providedSystemMetadata.getLastObserved());
+
+    latest.setSystemMetadata(withLastObserved(latest.getSystemMetadata(), latestSystemMetadata));
+    _aspectDao.updateSystemMetadata(latest.getKey(), latest.getSystemMetadata());
+
+    return new UpdateAspectResult(urn, value, value, oldSystemMetadata, latestSystemMetadata,
+        MetadataAuditOperation.UPDATE, auditStamp, 0);
+  }
+
+  /**
+   * Replaces the lastObserved of stored system metadata JSON, or serializes the system metadata if the JSON has none.
+   * Only the top level lastObserved is numeric, the values of the properties map are strings.
+   */
+  @Nonnull
+  private static String withLastObserved(@Nullable final String jsonSystemMetadata,
+      @Nonnull final SystemMetadata systemMetadata) {
+    if (jsonSystemMetadata != null) {
+      final Matcher matcher = LAST_OBSERVED_PATTERN.matcher(jsonSystemMetadata);
+      if (matcher.find()) {
+        return jsonSystemMetadata.substring(0, matcher.start(1)) + systemMetadata.getLastObserved()
+            + jsonSystemMetadata.substring(matcher.end(1));
+      }
+    }
+    return RecordUtils.toJsonString(systemMetadata);
+  }
+
   @Override
   @Nonnull
   public RecordTemplate updateAspect(@Nonnull final Urn urn, @Nonnull final String entityName,
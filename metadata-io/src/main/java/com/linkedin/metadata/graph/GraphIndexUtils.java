@@ -0,0 +1,50 @@
+package com.linkedin.metadata.graph;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.models.RelationshipFieldSpec;
+import com.linkedin.metadata.models.extractor.FieldExtractor;
+import com.linkedin.util.Pair;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+public class GraphIndexUtils {
+
+  private GraphIndexUtils() {
+  }
+
+  /**
+   * Extracts the outgoing edges of an aspect, along with the relationship types of the fields they were extracted from.
+   */
+  @Nonnull
+  public static Pair<List<Edge>, Set<String>> getEdgesAndRelationshipTypesFromAspect(@Nonnull Urn urn,
+      @Nonnull AspectSpec aspectSpec, @Nonnull RecordTemplate aspect) {
+    final Set<String> relationshipTypesBeingAdded = new HashSet<>();
+    final List<Edge> edgesToAdd = new ArrayList<>();
+
+    Map<RelationshipFieldSpec, List<Object>> extractedFields =
+        FieldExtractor.extractFields(aspect, aspectSpec.getRelationshipFieldSpecs());
+
+    for (Map.Entry<RelationshipFieldSpec, List<Object>> entry : extractedFields.entrySet()) {
+      relationshipTypesBeingAdded.add(entry.getKey().getRelationshipName());
+      for (Object fieldValue : entry.getValue()) {
+        try {
+          edgesToAdd.add(
+              new Edge(urn, Urn.createFromString(fieldValue.toString()), entry.getKey().getRelationshipName()));
+        } catch (URISyntaxException e) {
+          log.error("Invalid destination urn: {}", fieldValue.toString(), e);
+        }
+      }
+    }
+    return Pair.of(edgesToAdd, relationshipTypesBeingAdded);
+  }
+}
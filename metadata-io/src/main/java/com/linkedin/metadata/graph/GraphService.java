@@ -11,6 +11,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -31,6 +32,20 @@ public interface GraphService {
    */
   void addEdge(final Edge edge);
 
+  /**
+   * Adds the given edges to the graph, creating source and destination nodes as needed. Implementations should write
+   * the edges in bulk where the underlying store allows it.
+   */
+  default void addEdges(@Nonnull final List<Edge> edges) {
+    edges.forEach(this::addEdge);
+  }
+
+  /**
+   * Removes exactly the given edges, identified by source, destination and relationship type, from the graph. Nodes
+   * are left in place, and edges that do not exist are ignored.
+   */
+  void removeEdges(@Nonnull final List<Edge> edges);
+
   /**
    * Find related entities (nodes) connected to a source entity via edges of given relationship types. Related entities
    * can be filtered by source and destination type (use `null` for any type), by source and destination entity filter
@@ -159,6 +174,17 @@ public interface GraphService {
     return result;
   }
 
+  /**
+   * Passes every edge of the given relationship types to the consumer, in no particular order. This allows building
+   * derived indices of the graph.
+   *
+   * Unless overridden, this is not supported.
+   */
+  default void forEachEdge(@Nonnull List<String> relationshipTypes, @Nonnull Consumer<Edge> consumer) {
+    throw new UnsupportedOperationException(
+        String.format("Iterating over all edges is not supported for %s", this.getClass().getSimpleName()));
+  }
+
   /**
    * Removes the given node (if it exists) as well as all edges (incoming and outgoing) of the node.
    */
@@ -2,11 +2,18 @@ package com.linkedin.metadata.graph.dgraph;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
 import com.google.protobuf.ByteString;
 import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.metadata.graph.Edge;
+import com.linkedin.metadata.graph.EntityLineageResult;
 import com.linkedin.metadata.graph.GraphService;
+import com.linkedin.metadata.graph.LineageDirection;
+import com.linkedin.metadata.graph.LineageRelationship;
+import com.linkedin.metadata.graph.LineageRelationshipArray;
 import com.linkedin.metadata.models.registry.LineageRegistry;
+import com.linkedin.metadata.models.registry.LineageRegistry.EdgeInfo;
 import com.linkedin.metadata.graph.RelatedEntitiesResult;
 import com.linkedin.metadata.graph.RelatedEntity;
 import com.linkedin.metadata.query.filter.Criterion;
@@ -22,12 +29,16 @@ import io.dgraph.DgraphProto.Request;
 import io.dgraph.DgraphProto.Response;
 import io.dgraph.DgraphProto.Value;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.StringJoiner;
 import java.util.stream.Collectors;
@@ -46,6 +57,9 @@ public class DgraphGraphService implements GraphService {
     // with a max number of attempts of 160 a call will finally fail after around 15 minutes
     private static final int MAX_ATTEMPTS = 160;
 
+    // maximum number of edges added by a single upsert
+    private static final int ADD_EDGES_BATCH_SIZE = 1000;
+
     private final @Nonnull DgraphExecutor _dgraph;
     private final @Nonnull LineageRegistry _lineageRegistry;
 
@@ -163,68 +177,110 @@ public class DgraphGraphService implements GraphService {
                 edge.getDestination(),
                 edge.getRelationshipType()));
 
-        // add the relationship type to the schema
+        addEdges(Collections.singletonList(edge));
+    }
+
+    @Override
+    public void addEdges(@Nonnull List<Edge> edges) {
+        if (edges.isEmpty()) {
+            return;
+        }
+        log.debug(String.format("Adding %d Dgraph edges", edges.size()));
+
+        // add the relationship types to the schema
         // TODO: translate edge name to allowed dgraph uris
-        String sourceEntityType = getDgraphType(edge.getSource());
-        String relationshipType = edge.getRelationshipType();
-        get_schema().ensureField(sourceEntityType, relationshipType, URN_RELATIONSHIP_TYPE, TYPE_RELATIONSHIP_TYPE, KEY_RELATIONSHIP_TYPE);
+        edges.stream()
+                .map(edge -> Pair.of(getDgraphType(edge.getSource()), edge.getRelationshipType()))
+                .distinct()
+                .forEach(type -> get_schema().ensureField(type.getLeft(), type.getRight(),
+                        URN_RELATIONSHIP_TYPE, TYPE_RELATIONSHIP_TYPE, KEY_RELATIONSHIP_TYPE));
+
+        // one upsert per batch instead of one transaction per edge
+        Lists.partition(edges, ADD_EDGES_BATCH_SIZE).forEach(batch -> {
+            Request request = getUpsertForEdges(batch);
+            _dgraph.executeFunction(client -> client.newTransaction().doRequest(request));
+        });
+    }
 
-        // lookup the source and destination nodes
-        // TODO: add escape for string values
-        String query = String.format("query {\n"
-                + " src as var(func: eq(urn, \"%s\"))\n"
-                + " dst as var(func: eq(urn, \"%s\"))\n"
-                + "}", edge.getSource(), edge.getDestination());
-        String srcVar = "uid(src)";
-        String dstVar = "uid(dst)";
-
-        // edge case: source and destination are same node
-        if (edge.getSource().equals(edge.getDestination())) {
-            query = String.format("query {\n"
-                    + " node as var(func: eq(urn, \"%s\"))\n"
-                    + "}", edge.getSource());
-            srcVar = "uid(node)";
-            dstVar = "uid(node)";
-        }
-
-        // create source and destination nodes if they do not exist
-        // and create the new edge between them
-        // TODO: add escape for string values
+    // Creates a single upsert that looks up every source and destination node once,
+    // creates the nodes that do not exist and adds all edges between them
+    protected static @Nonnull Request getUpsertForEdges(@Nonnull List<Edge> edges) {
         // TODO: translate edge name to allowed dgraph uris
+        Map<Urn, String> nodeVars = new LinkedHashMap<>();
+        StringJoiner nodes = new StringJoiner("\n");
         StringJoiner mutations = new StringJoiner("\n");
-        mutations.add(String.format("%s <dgraph.type> \"%s\" .", srcVar, getDgraphType(edge.getSource())));
-        mutations.add(String.format("%s <urn> \"%s\" .", srcVar, edge.getSource()));
-        mutations.add(String.format("%s <type> \"%s\" .", srcVar, edge.getSource().getEntityType()));
-        mutations.add(String.format("%s <key> \"%s\" .", srcVar, edge.getSource().getEntityKey()));
-        if (!edge.getSource().equals(edge.getDestination())) {
-            mutations.add(String.format("%s <dgraph.type> \"%s\" .", dstVar, getDgraphType(edge.getDestination())));
-            mutations.add(String.format("%s <urn> \"%s\" .", dstVar, edge.getDestination()));
-            mutations.add(String.format("%s <type> \"%s\" .", dstVar, edge.getDestination().getEntityType()));
-            mutations.add(String.format("%s <key> \"%s\" .", dstVar, edge.getDestination().getEntityKey()));
-        }
-        mutations.add(String.format("%s <%s> %s .", srcVar, edge.getRelationshipType(), dstVar));
+        for (Edge edge : edges) {
+            String srcVar = nodeVars.computeIfAbsent(edge.getSource(), urn -> addNode(nodes, mutations, urn, nodeVars.size()));
+            String dstVar = nodeVars.computeIfAbsent(edge.getDestination(), urn -> addNode(nodes, mutations, urn, nodeVars.size()));
+            mutations.add(String.format("uid(%s) <%s> uid(%s) .", srcVar, predicate(edge.getRelationshipType()), dstVar));
+        }
+        String query = String.format("query {\n"
+                + "%s\n"
+                + "}", nodes);
 
         log.debug("Query: " + query);
         log.debug("Mutations: " + mutations);
 
-        // construct the upsert
         Mutation mutation = Mutation.newBuilder()
                 .setSetNquads(ByteString.copyFromUtf8(mutations.toString()))
                 .build();
-        Request request = Request.newBuilder()
+        return Request.newBuilder()
                 .setQuery(query)
                 .addMutations(mutation)
                 .setCommitNow(true)
                 .build();
+    }
 
-        // run the request
-        _dgraph.executeFunction(client -> client.newTransaction().doRequest(request));
+    // Looks up the node of the urn, and creates it if it does not exist
+    private static String addNode(@Nonnull StringJoiner nodes, @Nonnull StringJoiner mutations, @Nonnull Urn urn, int idx) {
+        String var = addNodeVar(nodes, urn, idx);
+        mutations.add(String.format("uid(%s) <dgraph.type> \"%s\" .", var, escape(getDgraphType(urn))));
+        mutations.add(String.format("uid(%s) <urn> \"%s\" .", var, escape(urn)));
+        mutations.add(String.format("uid(%s) <type> \"%s\" .", var, escape(urn.getEntityType())));
+        mutations.add(String.format("uid(%s) <key> \"%s\" .", var, escape(urn.getEntityKey())));
+        return var;
     }
 
     private static @Nonnull String getDgraphType(@Nonnull Urn urn) {
         return urn.getNamespace() + ":" + urn.getEntityType();
     }
 
+    // Escapes a value for a quoted string of a DQL query or an N-Quad, which share the escape sequences used here
+    protected static @Nonnull String escape(@Nonnull Object value) {
+        String string = value.toString();
+        StringBuilder escaped = new StringBuilder(string.length());
+        for (char c : string.toCharArray()) {
+            switch (c) {
+                case '\\':
+                    escaped.append("\\\\");
+                    break;
+                case '"':
+                    escaped.append("\\\"");
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                case '\r':
+                    escaped.append("\\r");
+                    break;
+                case '\t':
+                    escaped.append("\\t");
+                    break;
+                default:
+                    escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    // Predicates are written as <predicate>, which has no escape sequences, so names that would end it are rejected
+    protected static @Nonnull String predicate(@Nonnull String name) {
+        if (name.isEmpty() || name.chars().anyMatch(c -> c <= ' ' || "<>\"{}|^`\\".indexOf(c) >= 0)) {
+            throw new IllegalArgumentException("Invalid Dgraph predicate: " + name);
+        }
+        return name;
+    }
+
     // Returns reversed and directed relationship types:
     // <rel> returns <~rel> on outgoing and <rel> on incoming and both on undirected
     private static List<String> getDirectedRelationshipTypes(List<String> relationships,
@@ -293,14 +349,13 @@ public class DgraphGraphService implements GraphService {
 
         if (sourceType != null) {
             sourceTypeFilterName = "sourceType";
-            // TODO: escape string value
-            filters.add(String.format("%s as var(func: eq(<type>, \"%s\"))", sourceTypeFilterName, sourceType));
+            filters.add(String.format("%s as var(func: eq(<type>, \"%s\"))", sourceTypeFilterName, escape(sourceType)));
         }
 
         if (destinationType != null) {
             destinationTypeFilterName = "destinationType";
-            // TODO: escape string value
-            filters.add(String.format("%s as var(func: eq(<type>, \"%s\"))", destinationTypeFilterName, destinationType));
+            filters.add(String.format("%s as var(func: eq(<type>, \"%s\"))", destinationTypeFilterName,
+                    escape(destinationType)));
         }
 
         //noinspection ConstantConditions
@@ -311,8 +366,8 @@ public class DgraphGraphService implements GraphService {
                         String sourceFilterName = "sourceFilter" + (idx + 1);
                         sourceFilterNames.add(sourceFilterName);
                         Criterion criterion = sourceCriteria.get(idx);
-                        // TODO: escape field name and string value
-                        filters.add(String.format("%s as var(func: eq(<%s>, \"%s\"))", sourceFilterName, criterion.getField(), criterion.getValue()));
+                        filters.add(String.format("%s as var(func: eq(<%s>, \"%s\"))", sourceFilterName,
+                                predicate(criterion.getField()), escape(criterion.getValue())));
                     });
         }
 
@@ -324,8 +379,8 @@ public class DgraphGraphService implements GraphService {
                         String sourceFilterName = "destinationFilter" + (idx + 1);
                         destinationFilterNames.add(sourceFilterName);
                         Criterion criterion = destinationCriteria.get(idx);
-                        // TODO: escape field name and string value
-                        filters.add(String.format("%s as var(func: eq(<%s>, \"%s\"))", sourceFilterName, criterion.getField(), criterion.getValue()));
+                        filters.add(String.format("%s as var(func: eq(<%s>, \"%s\"))", sourceFilterName,
+                                predicate(criterion.getField()), escape(criterion.getValue())));
                     });
         }
 
@@ -333,8 +388,8 @@ public class DgraphGraphService implements GraphService {
                 .forEach(idx -> {
                     String relationshipTypeFilterName = "relationshipType" + (idx + 1);
                     relationshipTypeFilterNames.add(relationshipTypeFilterName);
-                    // TODO: escape string value
-                    filters.add(String.format("%s as var(func: has(<%s>))", relationshipTypeFilterName, directedRelationshipTypes.get(idx)));
+                    filters.add(String.format("%s as var(func: has(<%s>))", relationshipTypeFilterName,
+                            predicate(directedRelationshipTypes.get(idx))));
                 });
 
         // the destination node filter is the first filter that is being applied on the destination node
@@ -552,11 +607,147 @@ public class DgraphGraphService implements GraphService {
         }).collect(Collectors.toList());
     }
 
+    /**
+     * Traverses lineage edges with a single @recurse query, bounded by maxHops.
+     *
+     * The query follows all predicates that are lineage edges in the given direction for any entity type. Edges that
+     * are no lineage edges for the entity type of the node they are traversed from are skipped when reading the response.
+     * Entities are returned once, with the degree of the shortest path, ordered by degree. As @recurse returns the whole
+     * tree, results are paged here.
+     */
+    @Nonnull
+    @Override
+    public EntityLineageResult getLineage(@Nonnull Urn entityUrn, @Nonnull LineageDirection direction, int offset,
+                                          int count, int maxHops) {
+        Set<String> lineageEdges = getLineageEdges(_lineageRegistry, direction);
+        List<String> predicates = lineageEdges.stream()
+                .map(edge -> edge.substring(edge.indexOf(':') + 1))
+                .distinct()
+                .filter(predicate -> get_schema().hasField(predicate.startsWith("~") ? predicate.substring(1) : predicate))
+                .sorted()
+                .collect(Collectors.toList());
+
+        List<LineageRelationship> relationships = Collections.emptyList();
+        if (!predicates.isEmpty() && maxHops > 0) {
+            String query = getQueryForLineage(entityUrn, predicates, maxHops);
+            Request request = Request.newBuilder()
+                    .setQuery(query)
+                    .build();
+
+            log.debug("Query: " + query);
+            Response response = _dgraph.executeFunction(client -> client.newReadOnlyTransaction().doRequest(request));
+            Map<String, Object> data = getDataFromResponseJson(response.getJson().toStringUtf8());
+            relationships = getLineageRelationshipsFromResponseData(data, lineageEdges, maxHops);
+        }
+
+        List<LineageRelationship> page = offset >= relationships.size() ? Collections.emptyList()
+                : relationships.subList(Math.max(0, offset), Math.min(offset + count, relationships.size()));
+        return new EntityLineageResult()
+                .setRelationships(new LineageRelationshipArray(page))
+                .setStart(offset)
+                .setCount(count)
+                .setTotal(relationships.size());
+    }
+
+    // Returns the lineage edges of all entity types in the given direction as "entitytype:predicate",
+    // with the lower case entity type and <~predicate> for incoming edges
+    protected static @Nonnull Set<String> getLineageEdges(@Nonnull LineageRegistry lineageRegistry,
+                                                          @Nonnull LineageDirection direction) {
+        Set<String> lineageEdges = new HashSet<>();
+        lineageRegistry.getLineageSpecs().forEach((entityType, lineageSpec) -> {
+            List<EdgeInfo> edges = direction == LineageDirection.UPSTREAM
+                    ? lineageSpec.getUpstreamEdges() : lineageSpec.getDownstreamEdges();
+            edges.forEach(edge -> lineageEdges.add(entityType + ":"
+                    + (edge.getDirection() == RelationshipDirection.INCOMING ? "~" : "") + edge.getType()));
+        });
+        return lineageEdges;
+    }
+
+    protected static @Nonnull String getQueryForLineage(@Nonnull Urn urn, @Nonnull List<String> predicates, int maxHops) {
+        StringJoiner predicatesJoiner = new StringJoiner("\n    ");
+        predicates.forEach(name -> predicatesJoiner.add("<" + predicate(name) + ">"));
+
+        // the depth of @recurse counts the root node as well
+        return String.format("query {\n"
+                        + "  result (func: eq(<urn>, \"%s\")) @recurse(depth: %d, loop: false) {\n"
+                        + "    <urn>\n"
+                        + "    <type>\n"
+                        + "    %s\n"
+                        + "  }\n"
+                        + "}",
+                escape(urn), maxHops + 1, predicatesJoiner);
+    }
+
+    // Walks the tree returned by @recurse level by level, so that the first time an entity is reached is via its
+    // shortest path. Entities are ordered by degree and urn.
+    protected static @Nonnull List<LineageRelationship> getLineageRelationshipsFromResponseData(
+            @Nonnull Map<String, Object> data, @Nonnull Set<String> lineageEdges, int maxHops) {
+        Object obj = data.get("result");
+        if (!(obj instanceof List<?>)) {
+            throw new IllegalArgumentException(
+                    "The result from Dgraph did not contain a 'result' field, or that field is not a List"
+            );
+        }
+
+        Map<String, LineageRelationship> relationships = new HashMap<>();
+        Set<String> visited = new HashSet<>();
+        Queue<Pair<Map<?, ?>, Integer>> queue = new ArrayDeque<>();
+        ((List<?>) obj).stream()
+                .filter(node -> node instanceof Map && ((Map<?, ?>) node).get("urn") instanceof String)
+                .forEach(node -> {
+                    visited.add((String) ((Map<?, ?>) node).get("urn"));
+                    queue.add(Pair.of((Map<?, ?>) node, 0));
+                });
+
+        while (!queue.isEmpty()) {
+            Pair<Map<?, ?>, Integer> current = queue.poll();
+            Map<?, ?> node = current.getLeft();
+            int degree = current.getRight() + 1;
+            if (degree > maxHops || !(node.get("type") instanceof String)) {
+                continue;
+            }
+            String entityType = ((String) node.get("type")).toLowerCase();
+
+            for (Map.Entry<?, ?> entry : node.entrySet()) {
+                if (!(entry.getKey() instanceof String && entry.getValue() instanceof List<?>)) {
+                    continue;
+                }
+                String predicate = (String) entry.getKey();
+                // skip edges that are no lineage edges of the entity type in this direction
+                if (!lineageEdges.contains(entityType + ":" + predicate)) {
+                    continue;
+                }
+                String relationshipType = predicate.startsWith("~") ? predicate.substring(1) : predicate;
+
+                for (Object childObj : (List<?>) entry.getValue()) {
+                    if (!(childObj instanceof Map && ((Map<?, ?>) childObj).get("urn") instanceof String)) {
+                        continue;
+                    }
+                    Map<?, ?> child = (Map<?, ?>) childObj;
+                    String urn = (String) child.get("urn");
+                    if (visited.add(urn)) {
+                        relationships.put(urn, new LineageRelationship()
+                                .setEntity(UrnUtils.getUrn(urn))
+                                .setType(relationshipType)
+                                .setDegree(degree));
+                    }
+                    // loop: false does not expand a node twice, so its children may be listed under any occurrence
+                    queue.add(Pair.of(child, degree));
+                }
+            }
+        }
+
+        return relationships.values().stream()
+                .sorted(Comparator.comparing(LineageRelationship::getDegree)
+                        .thenComparing(relationship -> relationship.getEntity().toString()))
+                .collect(Collectors.toList());
+    }
+
     @Override
     public void removeNode(@Nonnull Urn urn) {
         String query = String.format("query {\n"
                 + " node as var(func: eq(urn, \"%s\"))\n"
-                + "}", urn);
+                + "}", escape(urn));
         String deletion = "uid(node) * * .";
 
         log.debug("Query: " + query);
@@ -593,12 +784,51 @@ public class DgraphGraphService implements GraphService {
         }
     }
 
+    @Override
+    public void removeEdges(@Nonnull List<Edge> edges) {
+        if (edges.isEmpty()) {
+            return;
+        }
+
+        // lookup every source and destination node once and delete all edges in a single upsert
+        Map<Urn, String> nodeVars = new HashMap<>();
+        StringJoiner nodes = new StringJoiner("\n");
+        StringJoiner deletions = new StringJoiner("\n");
+        for (Edge edge : edges) {
+            String srcVar = nodeVars.computeIfAbsent(edge.getSource(), urn -> addNodeVar(nodes, urn, nodeVars.size()));
+            String dstVar = nodeVars.computeIfAbsent(edge.getDestination(), urn -> addNodeVar(nodes, urn, nodeVars.size()));
+            deletions.add(String.format("uid(%s) <%s> uid(%s) .", srcVar, predicate(edge.getRelationshipType()), dstVar));
+        }
+        String query = String.format("query {\n"
+                + "%s\n"
+                + "}", nodes);
+
+        log.debug("Query: " + query);
+        log.debug("Deletions: " + deletions);
+
+        Mutation mutation = Mutation.newBuilder()
+                .setDelNquads(ByteString.copyFromUtf8(deletions.toString()))
+                .build();
+        Request request = Request.newBuilder()
+                .setQuery(query)
+                .addMutations(mutation)
+                .setCommitNow(true)
+                .build();
+
+        _dgraph.executeConsumer(client -> client.newTransaction().doRequest(request));
+    }
+
+    private static String addNodeVar(@Nonnull StringJoiner nodes, @Nonnull Urn urn, int idx) {
+        String var = "node" + (idx + 1);
+        nodes.add(String.format(" %s as var(func: eq(<urn>, \"%s\"))", var, escape(urn)));
+        return var;
+    }
+
     private void removeOutgoingEdgesFromNode(@Nonnull Urn urn,
                                              @Nonnull List<String> relationshipTypes) {
-        // TODO: add escape for string values
         String query = String.format("query {\n"
                 + "  node as var(func: eq(<urn>, \"%s\"))\n"
-                + "}", urn);
+                + "}", escape(urn));
 
         Value star = Value.newBuilder().setDefaultVal("_STAR_ALL").build();
         List<NQuad> deletions = relationshipTypes.stream().map(relationshipType ->
@@ -626,10 +856,9 @@ public class DgraphGraphService implements GraphService {
 
     private void removeIncomingEdgesFromNode(@Nonnull Urn urn,
                                              @Nonnull List<String> relationshipTypes) {
-        // TODO: add escape for string values
         StringJoiner reverseEdges = new StringJoiner("\n    ");
         IntStream.range(0, relationshipTypes.size()).forEach(idx ->
-                reverseEdges.add("<~" + relationshipTypes.get(idx) + "> { uids" + (idx + 1) + " as uid }")
+                reverseEdges.add("<~" + predicate(relationshipTypes.get(idx)) + "> { uids" + (idx + 1) + " as uid }")
         );
         String query = String.format("query {\n"
                 + "  node as var(func: eq(<urn>, \"%s\"))\n"
@@ -637,7 +866,7 @@ public class DgraphGraphService implements GraphService {
                 + "  var(func: uid(node)) @normalize {\n"
                 + "    %s\n"
                 + "  }\n"
-                + "}", urn, reverseEdges);
+                + "}", escape(urn), reverseEdges);
 
         StringJoiner deletions = new StringJoiner("\n");
         IntStream.range(0, relationshipTypes.size()).forEach(idx ->
@@ -662,6 +891,11 @@ public class DgraphGraphService implements GraphService {
     @Override
     public void configure() { }
 
+    @Override
+    public boolean supportsMultiHop() {
+        return true;
+    }
+
     @Override
     public void clear() {
         log.debug("dropping Dgraph data");
@@ -6,6 +6,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.metadata.graph.Edge;
 import com.linkedin.metadata.graph.LineageDirection;
 import com.linkedin.metadata.models.registry.LineageRegistry;
 import com.linkedin.metadata.models.registry.LineageRegistry.EdgeInfo;
@@ -29,7 +30,9 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -47,12 +50,16 @@ import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortOrder;
 
 import static com.linkedin.metadata.graph.elastic.ElasticSearchGraphService.INDEX_NAME;
 
 
 /**
  * A search DAO for Elasticsearch backend.
+ *
+ * The batches of a lineage hop are queried concurrently on the given executor, which should be bounded and dedicated
+ * to lineage queries so that slow traversals neither starve nor are starved by other asynchronous work.
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -61,13 +68,19 @@ public class ESGraphQueryDAO {
   private final RestHighLevelClient client;
   private final LineageRegistry lineageRegistry;
   private final IndexConvention indexConvention;
+  private final Executor lineageExecutor;
 
   private static final int MAX_ELASTIC_RESULT = 10000;
   private static final int BATCH_SIZE = 1000;
   private static final int TIMEOUT_SECS = 10;
+  // Upper bound on the number of relationships a single lineage traversal collects
+  private static final int MAX_LINEAGE_RELATIONSHIPS = 1000000;
   private static final String SOURCE = "source";
   private static final String DESTINATION = "destination";
   private static final String RELATIONSHIP_TYPE = "relationshipType";
+  // Sorting on the fields identifying an edge gives a total order to page through with search_after
+  private static final List<String> EDGE_SORT_FIELDS =
+      ImmutableList.of(SOURCE + ".urn", DESTINATION + ".urn", RELATIONSHIP_TYPE);
 
   @Nonnull
   public static void addFilterToQueryBuilder(@Nonnull Filter filter, String node, BoolQueryBuilder rootQuery) {
@@ -86,8 +99,6 @@ public class ESGraphQueryDAO {
   }
 
   private SearchResponse executeSearchQuery(@Nonnull final QueryBuilder query, final int offset, final int count) {
-    SearchRequest searchRequest = new SearchRequest();
-
     SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
 
     searchSourceBuilder.from(offset);
@@ -95,6 +106,27 @@ public class ESGraphQueryDAO {
 
     searchSourceBuilder.query(query);
 
+    return executeSearchQuery(searchSourceBuilder);
+  }
+
+  // Fetches the page of edges following searchAfter (or the first page if null) in the order of EDGE_SORT_FIELDS
+  private SearchResponse executeSearchQuery(@Nonnull final QueryBuilder query, @Nullable final Object[] searchAfter,
+      final int count) {
+    SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+
+    searchSourceBuilder.size(count);
+    searchSourceBuilder.query(query);
+    EDGE_SORT_FIELDS.forEach(field -> searchSourceBuilder.sort(field, SortOrder.ASC));
+    if (searchAfter != null) {
+      searchSourceBuilder.searchAfter(searchAfter);
+    }
+
+    return executeSearchQuery(searchSourceBuilder);
+  }
+
+  private SearchResponse executeSearchQuery(@Nonnull final SearchSourceBuilder searchSourceBuilder) {
+    SearchRequest searchRequest = new SearchRequest();
+
     searchRequest.source(searchSourceBuilder);
 
     searchRequest.indices(indexConvention.getIndexName(INDEX_NAME));
@@ -153,11 +185,9 @@ public class ESGraphQueryDAO {
   public LineageResponse getLineage(@Nonnull Urn entityUrn, @Nonnull LineageDirection direction, int offset, int count,
       int maxHops) {
     List<LineageRelationship> result = new ArrayList<>();
-    long currentTime = System.currentTimeMillis();
-    long remainingTime = TIMEOUT_SECS * 1000;
-    long timeoutTime = currentTime + remainingTime;
+    long timeoutTime = System.currentTimeMillis() + TIMEOUT_SECS * 1000;
 
-    // Do a Level-order BFS
+    // Do a Level-order BFS. The frontier of each hop is expanded in concurrent batches
     Set<Urn> visitedEntities = ConcurrentHashMap.newKeySet();
     visitedEntities.add(entityUrn);
     List<Urn> currentLevel = ImmutableList.of(entityUrn);
@@ -167,7 +197,7 @@ public class ESGraphQueryDAO {
         break;
       }
 
-      if (remainingTime < 0) {
+      if (System.currentTimeMillis() > timeoutTime) {
         log.info("Timed out while fetching lineage for {} with direction {}, maxHops {}. Returning results so far",
             entityUrn, direction, maxHops);
         break;
@@ -175,11 +205,15 @@ public class ESGraphQueryDAO {
 
       // Do one hop on the lineage graph
       List<LineageRelationship> oneHopRelationships =
-          getLineageRelationshipsInBatches(currentLevel, direction, visitedEntities, i + 1, remainingTime);
+          getLineageRelationshipsInBatches(currentLevel, direction, visitedEntities, i + 1, timeoutTime);
       result.addAll(oneHopRelationships);
+      if (result.size() >= MAX_LINEAGE_RELATIONSHIPS) {
+        log.info("Reached {} relationships while fetching lineage for {} with direction {}, maxHops {}. "
+            + "Returning results so far", MAX_LINEAGE_RELATIONSHIPS, entityUrn, direction, maxHops);
+        result = result.subList(0, MAX_LINEAGE_RELATIONSHIPS);
+        break;
+      }
       currentLevel = oneHopRelationships.stream().map(LineageRelationship::getEntity).collect(Collectors.toList());
-      currentTime = System.currentTimeMillis();
-      remainingTime = timeoutTime - currentTime;
     }
     LineageResponse response = new LineageResponse(result.size(), result);
 
@@ -193,15 +227,47 @@ public class ESGraphQueryDAO {
     return new LineageResponse(response.getTotal(), subList);
   }
 
+  /**
+   * Pages through all edges of the given relationship types with search_after, passing each of them to the consumer
+   */
+  @WithSpan
+  public void forEachEdge(@Nonnull List<String> relationshipTypes, @Nonnull Consumer<Edge> consumer) {
+    if (relationshipTypes.isEmpty()) {
+      return;
+    }
+    QueryBuilder query = QueryBuilders.termsQuery(RELATIONSHIP_TYPE, relationshipTypes);
+    Object[] searchAfter = null;
+    while (true) {
+      SearchHit[] hits = executeSearchQuery(query, searchAfter, MAX_ELASTIC_RESULT).getHits().getHits();
+      for (SearchHit hit : hits) {
+        Map<String, Object> document = hit.getSourceAsMap();
+        consumer.accept(new Edge(
+            UrnUtils.getUrn(((Map<String, Object>) document.get(SOURCE)).get("urn").toString()),
+            UrnUtils.getUrn(((Map<String, Object>) document.get(DESTINATION)).get("urn").toString()),
+            document.get(RELATIONSHIP_TYPE).toString()));
+      }
+      if (hits.length < MAX_ELASTIC_RESULT) {
+        break;
+      }
+      searchAfter = hits[hits.length - 1].getSortValues();
+    }
+  }
+
   // Get 1-hop lineage relationships asynchronously in batches with timeout
   @WithSpan
   public List<LineageRelationship> getLineageRelationshipsInBatches(@Nonnull List<Urn> entityUrns,
-      @Nonnull LineageDirection direction, Set<Urn> visitedEntities, int numHops, long remainingTime) {
+      @Nonnull LineageDirection direction, Set<Urn> visitedEntities, int numHops, long timeoutTime) {
+    long remainingMillis = timeoutTime - System.currentTimeMillis();
+    if (remainingMillis <= 0) {
+      log.info("Timed out before fetching hop {} of lineage for {} urns", numHops, entityUrns.size());
+      return Collections.emptyList();
+    }
     List<List<Urn>> batches = Lists.partition(entityUrns, BATCH_SIZE);
     return ConcurrencyUtils.getAllCompleted(batches.stream()
         .map(batchUrns -> CompletableFuture.supplyAsync(
-            () -> getLineageRelationships(batchUrns, direction, visitedEntities, numHops)))
-        .collect(Collectors.toList()), remainingTime, TimeUnit.MILLISECONDS)
+            () -> getLineageRelationships(batchUrns, direction, visitedEntities, numHops, timeoutTime),
+            lineageExecutor))
+        .collect(Collectors.toList()), remainingMillis, TimeUnit.MILLISECONDS)
         .stream()
         .flatMap(List::stream)
         .collect(Collectors.toList());
@@ -210,7 +276,11 @@ public class ESGraphQueryDAO {
   // Get 1-hop lineage relationships
   @WithSpan
   private List<LineageRelationship> getLineageRelationships(@Nonnull List<Urn> entityUrns,
-      @Nonnull LineageDirection direction, Set<Urn> visitedEntities, int numHops) {
+      @Nonnull LineageDirection direction, Set<Urn> visitedEntities, int numHops, long timeoutTime) {
+    // Batches left waiting in the executor's queue past the timeout are not queried at all
+    if (System.currentTimeMillis() > timeoutTime) {
+      return Collections.emptyList();
+    }
     Map<String, List<Urn>> urnsPerEntityType = entityUrns.stream().collect(Collectors.groupingBy(Urn::getEntityType));
     Map<String, List<EdgeInfo>> edgesPerEntityType = urnsPerEntityType.keySet()
         .stream()
@@ -220,23 +290,37 @@ public class ESGraphQueryDAO {
     // Get all relation types relevant to the set of urns to hop from
     urnsPerEntityType.forEach((entityType, urns) -> finalQuery.should(
         getQueryForLineage(urns, edgesPerEntityType.getOrDefault(entityType, Collections.emptyList()))));
-    SearchResponse response = executeSearchQuery(finalQuery, 0, MAX_ELASTIC_RESULT);
     Set<Urn> entityUrnSet = new HashSet<>(entityUrns);
     // Get all valid edges given the set of urns to hop from
     Set<Pair<String, EdgeInfo>> validEdges = edgesPerEntityType.entrySet()
         .stream()
         .flatMap(entry -> entry.getValue().stream().map(edgeInfo -> Pair.of(entry.getKey(), edgeInfo)))
         .collect(Collectors.toSet());
-    return extractRelationships(entityUrnSet, response, validEdges, visitedEntities, numHops);
+
+    // Page through all matching edges, as a single hop may well exceed the maximum result window
+    List<LineageRelationship> result = new ArrayList<>();
+    Object[] searchAfter = null;
+    while (true) {
+      SearchHit[] hits = executeSearchQuery(finalQuery, searchAfter, MAX_ELASTIC_RESULT).getHits().getHits();
+      result.addAll(extractRelationships(entityUrnSet, hits, validEdges, visitedEntities, numHops));
+      if (hits.length < MAX_ELASTIC_RESULT) {
+        break;
+      }
+      if (System.currentTimeMillis() > timeoutTime) {
+        log.info("Timed out while paging through lineage edges of {} urns. Returning edges so far", entityUrns.size());
+        break;
+      }
+      searchAfter = hits[hits.length - 1].getSortValues();
+    }
+    return result;
   }
 
-  // Given set of edges and the search response, extract all valid edges that originate from the input entityUrns
+  // Given set of edges and the search hits, extract all valid edges that originate from the input entityUrns
   @WithSpan
-  private List<LineageRelationship> extractRelationships(@Nonnull Set<Urn> entityUrns,
-      @Nonnull SearchResponse searchResponse, Set<Pair<String, EdgeInfo>> validEdges, Set<Urn> visitedEntities,
-      int numHops) {
+  private List<LineageRelationship> extractRelationships(@Nonnull Set<Urn> entityUrns, @Nonnull SearchHit[] hits,
+      Set<Pair<String, EdgeInfo>> validEdges, Set<Urn> visitedEntities, int numHops) {
     List<LineageRelationship> result = new LinkedList<>();
-    for (SearchHit hit : searchResponse.getHits().getHits()) {
+    for (SearchHit hit : hits) {
       Map<String, Object> document = hit.getSourceAsMap();
       Urn sourceUrn = UrnUtils.getUrn(((Map<String, Object>) document.get(SOURCE)).get("urn").toString());
       Urn destinationUrn =
@@ -245,22 +329,21 @@ public class ESGraphQueryDAO {
 
       // Potential outgoing edge
       if (entityUrns.contains(sourceUrn)) {
-        // Skip if already visited
         // Skip if edge is not a valid outgoing edge
-        if (!visitedEntities.contains(destinationUrn) && validEdges.contains(
-            Pair.of(sourceUrn.getEntityType(), new EdgeInfo(type, RelationshipDirection.OUTGOING)))) {
-          visitedEntities.add(destinationUrn);
+        // Skip if already visited. Batches run concurrently, so check and mark visited in one step
+        if (validEdges.contains(Pair.of(sourceUrn.getEntityType(), new EdgeInfo(type, RelationshipDirection.OUTGOING)))
+            && visitedEntities.add(destinationUrn)) {
           result.add(new LineageRelationship().setType(type).setEntity(destinationUrn).setDegree(numHops));
         }
       }
 
       // Potential incoming edge
       if (entityUrns.contains(destinationUrn)) {
-        // Skip if already visited
-        // Skip if edge is not a valid outgoing edge
-        if (!visitedEntities.contains(sourceUrn) && validEdges.contains(
-            Pair.of(destinationUrn.getEntityType(), new EdgeInfo(type, RelationshipDirection.INCOMING)))) {
-          visitedEntities.add(sourceUrn);
+        // Skip if edge is not a valid incoming edge
+        // Skip if already visited. Batches run concurrently, so check and mark visited in one step
+        if (validEdges.contains(
+            Pair.of(destinationUrn.getEntityType(), new EdgeInfo(type, RelationshipDirection.INCOMING)))
+            && visitedEntities.add(sourceUrn)) {
           result.add(new LineageRelationship().setType(type).setEntity(sourceUrn).setDegree(numHops));
         }
       }
@@ -35,6 +35,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -106,6 +107,12 @@ public class ElasticSearchGraphService implements GraphService {
     _graphWriteDAO.upsertDocument(docId, edgeDocument);
   }
 
+  @Override
+  public void removeEdges(@Nonnull final List<Edge> edges) {
+    // Edge documents are keyed by their content, so they can be deleted by id instead of by query
+    edges.forEach(edge -> _graphWriteDAO.deleteDocument(toDocId(edge)));
+  }
+
   @Nonnull
   public RelatedEntitiesResult findRelatedEntities(
       @Nullable final String sourceType,
@@ -171,6 +178,11 @@ public class ElasticSearchGraphService implements GraphService {
         .setTotal(lineageResponse.getTotal());
   }
 
+  @Override
+  public void forEachEdge(@Nonnull List<String> relationshipTypes, @Nonnull Consumer<Edge> consumer) {
+    _graphReadDAO.forEachEdge(relationshipTypes, consumer);
+  }
+
   private Filter createUrnFilter(@Nonnull final Urn urn) {
     Filter filter = new Filter();
     CriterionArray criterionArray = new CriterionArray();
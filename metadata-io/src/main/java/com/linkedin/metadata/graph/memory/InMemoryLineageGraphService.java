@@ -0,0 +1,350 @@
+package com.linkedin.metadata.graph.memory;
+
+import com.codahale.metrics.Timer;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.graph.Edge;
+import com.linkedin.metadata.graph.EntityLineageResult;
+import com.linkedin.metadata.graph.GraphService;
+import com.linkedin.metadata.graph.LineageDirection;
+import com.linkedin.metadata.graph.LineageRelationship;
+import com.linkedin.metadata.graph.LineageRelationshipArray;
+import com.linkedin.metadata.graph.RelatedEntitiesResult;
+import com.linkedin.metadata.models.registry.LineageRegistry;
+import com.linkedin.metadata.query.filter.Filter;
+import com.linkedin.metadata.query.filter.RelationshipDirection;
+import com.linkedin.metadata.query.filter.RelationshipFilter;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * A {@link GraphService} which answers lineage queries from an in-memory {@link LineageGraph}, and delegates
+ * everything else to another graph service.
+ *
+ * The lineage graph holds the edges of the relationship types in the {@link LineageRegistry}. It is built from the
+ * delegate in the background on {@link #start()}, and kept current with the changes made through this service. Until it
+ * is built, or if the delegate cannot iterate over its edges, lineage queries go to the delegate as well. Changes made
+ * by other processes, such as a standalone MAE consumer or the MAE consumer of another GMS instance, are picked up
+ * when they are passed to {@link #applyOutgoingEdges} or {@link #applyRemovedNode}, and otherwise only when the graph is
+ * rebuilt, which can be scheduled periodically.
+ */
+@Slf4j
+public class InMemoryLineageGraphService implements GraphService {
+
+  // Changes are replayed on a rebuilt graph if they were made after or this long before the rebuild started, as the
+  // delegate may not have made them visible yet
+  private static final long REPLAY_WINDOW_MS = TimeUnit.MINUTES.toMillis(1);
+
+  private final GraphService _graphService;
+  private final Set<String> _lineageRelationshipTypes;
+  private final long _rebuildIntervalSeconds;
+  private final ScheduledExecutorService _executorService;
+  private final Clock _clock;
+
+  private final ReadWriteLock _lock = new ReentrantReadWriteLock();
+  // Null until the graph is first built, guarded by _lock
+  private LineageGraph _graph = null;
+  // The changes made within the replay window, and all changes made since the rebuild in progress started, guarded by
+  // _lock
+  private final Deque<Change> _recentChanges = new ArrayDeque<>();
+  // The time the rebuild in progress started at, null if none is, guarded by _lock
+  private Long _rebuildStartTime = null;
+
+  /**
+   * @param graphService the graph service to delegate to and build the lineage graph from
+   * @param rebuildIntervalSeconds the interval at which the lineage graph is rebuilt, or 0 to only build it once
+   */
+  public InMemoryLineageGraphService(@Nonnull final GraphService graphService, final long rebuildIntervalSeconds) {
+    this(graphService, rebuildIntervalSeconds, Clock.systemUTC());
+  }
+
+  InMemoryLineageGraphService(@Nonnull final GraphService graphService, final long rebuildIntervalSeconds,
+      @Nonnull final Clock clock) {
+    _graphService = graphService;
+    _lineageRelationshipTypes = graphService.getLineageRegistry()
+        .getLineageSpecs()
+        .values()
+        .stream()
+        .flatMap(spec -> Stream.concat(spec.getUpstreamEdges().stream(), spec.getDownstreamEdges().stream()))
+        .map(LineageRegistry.EdgeInfo::getType)
+        .collect(Collectors.toSet());
+    _rebuildIntervalSeconds = rebuildIntervalSeconds;
+    _clock = clock;
+    _executorService = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("in-memory-lineage-graph-%d").setDaemon(true).build());
+
+    MetricUtils.gauge(this.getClass(), "memoryBytes", () -> readGraph(LineageGraph::estimateMemoryBytes, 0L));
+    MetricUtils.gauge(this.getClass(), "nodes", () -> readGraph(graph -> (long) graph.getNodeCount(), 0L));
+    MetricUtils.gauge(this.getClass(), "edges", () -> readGraph(graph -> (long) graph.getEdgeCount(), 0L));
+  }
+
+  /**
+   * Builds the lineage graph in the background, and schedules rebuilding it if configured.
+   */
+  public void start() {
+    if (_rebuildIntervalSeconds > 0) {
+      _executorService.scheduleWithFixedDelay(this::rebuild, 0, _rebuildIntervalSeconds, TimeUnit.SECONDS);
+    } else {
+      _executorService.execute(this::rebuild);
+    }
+  }
+
+  /**
+   * Builds a new lineage graph from the delegate, and replaces the current one with it. Returns whether it succeeded.
+   */
+  public synchronized boolean rebuild() {
+    final long startTime = _clock.millis();
+    _lock.writeLock().lock();
+    try {
+      _rebuildStartTime = startTime;
+    } finally {
+      _lock.writeLock().unlock();
+    }
+
+    final LineageGraph graph = new LineageGraph(_graphService.getLineageRegistry());
+    try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "rebuild").time()) {
+      _graphService.forEachEdge(new ArrayList<>(_lineageRelationshipTypes), graph::addEdge);
+      graph.compact();
+    } catch (UnsupportedOperationException e) {
+      log.warn("Cannot build the in-memory lineage graph, lineage queries go to the graph service", e);
+      _executorService.shutdown();
+      endRebuild(null);
+      return false;
+    } catch (RuntimeException e) {
+      MetricUtils.counter(this.getClass(), "rebuildFailures").inc();
+      log.error("Failed to build the in-memory lineage graph", e);
+      endRebuild(null);
+      return false;
+    }
+
+    endRebuild(graph);
+    log.info("Built in-memory lineage graph with {} nodes and {} edges in {} ms", graph.getNodeCount(),
+        graph.getEdgeCount(), _clock.millis() - startTime);
+    return true;
+  }
+
+  /**
+   * Replaces the current graph with the rebuilt one, if any, after replaying the changes it may be missing. Changes
+   * which were only kept for the rebuild are dropped.
+   */
+  private void endRebuild(@Nullable final LineageGraph graph) {
+    _lock.writeLock().lock();
+    try {
+      if (graph != null) {
+        _recentChanges.stream()
+            .filter(change -> change.getTime() >= _rebuildStartTime - REPLAY_WINDOW_MS)
+            .forEach(change -> change.getChange().accept(graph));
+        _graph = graph;
+      }
+      _rebuildStartTime = null;
+      trimRecentChanges(_clock.millis());
+    } finally {
+      _lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public LineageRegistry getLineageRegistry() {
+    return _graphService.getLineageRegistry();
+  }
+
+  @Override
+  public void addEdge(final Edge edge) {
+    _graphService.addEdge(edge);
+    if (_lineageRelationshipTypes.contains(edge.getRelationshipType())) {
+      applyChange(graph -> graph.addEdge(edge));
+    }
+  }
+
+  @Override
+  public void addEdges(@Nonnull final List<Edge> edges) {
+    _graphService.addEdges(edges);
+    final List<Edge> lineageEdges = getLineageEdges(edges);
+    if (!lineageEdges.isEmpty()) {
+      applyChange(graph -> lineageEdges.forEach(graph::addEdge));
+    }
+  }
+
+  @Override
+  public void removeEdges(@Nonnull final List<Edge> edges) {
+    _graphService.removeEdges(edges);
+    final List<Edge> lineageEdges = getLineageEdges(edges);
+    if (!lineageEdges.isEmpty()) {
+      applyChange(graph -> lineageEdges.forEach(graph::removeEdge));
+    }
+  }
+
+  /**
+   * Replaces the outgoing edges of the given relationship types of an urn in the lineage graph only, for a change the
+   * delegate was given by another process. Applying a change that was already made through this service is harmless.
+   */
+  public void applyOutgoingEdges(@Nonnull final Urn urn, @Nonnull final Set<String> relationshipTypes,
+      @Nonnull final List<Edge> edges) {
+    final Set<String> lineageTypes =
+        relationshipTypes.stream().filter(_lineageRelationshipTypes::contains).collect(Collectors.toSet());
+    if (lineageTypes.isEmpty()) {
+      return;
+    }
+    final List<Edge> lineageEdges = edges.stream()
+        .filter(edge -> lineageTypes.contains(edge.getRelationshipType()))
+        .collect(Collectors.toList());
+    applyChange(graph -> {
+      graph.removeEdgesFromNode(urn, lineageTypes, RelationshipDirection.OUTGOING);
+      lineageEdges.forEach(graph::addEdge);
+    });
+  }
+
+  /**
+   * Removes all edges of an urn from the lineage graph only, for a removal the delegate was given by another process.
+   */
+  public void applyRemovedNode(@Nonnull final Urn urn) {
+    applyChange(graph -> graph.removeNode(urn));
+  }
+
+  @Nonnull
+  @Override
+  public RelatedEntitiesResult findRelatedEntities(@Nullable final String sourceType,
+      @Nonnull final Filter sourceEntityFilter, @Nullable final String destinationType,
+      @Nonnull final Filter destinationEntityFilter, @Nonnull final List<String> relationshipTypes,
+      @Nonnull final RelationshipFilter relationshipFilter, final int offset, final int count) {
+    return _graphService.findRelatedEntities(sourceType, sourceEntityFilter, destinationType, destinationEntityFilter,
+        relationshipTypes, relationshipFilter, offset, count);
+  }
+
+  @Nonnull
+  @Override
+  public EntityLineageResult getLineage(@Nonnull final Urn entityUrn, @Nonnull final LineageDirection direction,
+      final int offset, final int count, final int maxHops) {
+    final List<LineageRelationship> relationships;
+    _lock.readLock().lock();
+    try {
+      relationships = _graph != null ? _graph.getLineage(entityUrn, direction, maxHops) : null;
+    } finally {
+      _lock.readLock().unlock();
+    }
+    if (relationships == null) {
+      MetricUtils.counter(this.getClass(), "delegatedLineage").inc();
+      return _graphService.getLineage(entityUrn, direction, offset, count, maxHops);
+    }
+    final int start = Math.min(Math.max(offset, 0), relationships.size());
+    final int end = Math.min(start + Math.max(count, 0), relationships.size());
+    return new EntityLineageResult().setStart(offset)
+        .setCount(count)
+        .setTotal(relationships.size())
+        .setRelationships(new LineageRelationshipArray(relationships.subList(start, end)));
+  }
+
+  @Override
+  public void forEachEdge(@Nonnull final List<String> relationshipTypes, @Nonnull final Consumer<Edge> consumer) {
+    _graphService.forEachEdge(relationshipTypes, consumer);
+  }
+
+  @Override
+  public void removeNode(@Nonnull final Urn urn) {
+    _graphService.removeNode(urn);
+    applyChange(graph -> graph.removeNode(urn));
+  }
+
+  @Override
+  public void removeEdgesFromNode(@Nonnull final Urn urn, @Nonnull final List<String> relationshipTypes,
+      @Nonnull final RelationshipFilter relationshipFilter) {
+    _graphService.removeEdgesFromNode(urn, relationshipTypes, relationshipFilter);
+    final Set<String> lineageTypes =
+        relationshipTypes.stream().filter(_lineageRelationshipTypes::contains).collect(Collectors.toSet());
+    if (!lineageTypes.isEmpty()) {
+      applyChange(graph -> graph.removeEdgesFromNode(urn, lineageTypes, relationshipFilter.getDirection()));
+    }
+  }
+
+  @Override
+  public void configure() {
+    _graphService.configure();
+  }
+
+  @Override
+  public void clear() {
+    _graphService.clear();
+    _lock.writeLock().lock();
+    try {
+      if (_graph != null) {
+        _graph = new LineageGraph(_graphService.getLineageRegistry());
+      }
+      _recentChanges.clear();
+    } finally {
+      _lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public boolean supportsMultiHop() {
+    return _graphService.supportsMultiHop();
+  }
+
+  @Nonnull
+  private List<Edge> getLineageEdges(@Nonnull final List<Edge> edges) {
+    return edges.stream()
+        .filter(edge -> _lineageRelationshipTypes.contains(edge.getRelationshipType()))
+        .collect(Collectors.toList());
+  }
+
+  private void applyChange(@Nonnull final Consumer<LineageGraph> change) {
+    final long now = _clock.millis();
+    _lock.writeLock().lock();
+    try {
+      if (_graph != null) {
+        change.accept(_graph);
+      }
+      trimRecentChanges(now);
+      _recentChanges.addLast(new Change(now, change));
+    } finally {
+      _lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Drops the changes which are neither within the replay window nor needed by the rebuild in progress. Must be called
+   * with the write lock held.
+   */
+  private void trimRecentChanges(final long now) {
+    final long oldestTime = _rebuildStartTime == null ? now - REPLAY_WINDOW_MS
+        : Math.min(now, _rebuildStartTime) - REPLAY_WINDOW_MS;
+    while (!_recentChanges.isEmpty() && _recentChanges.peekFirst().getTime() < oldestTime) {
+      _recentChanges.removeFirst();
+    }
+  }
+
+  private <T> T readGraph(@Nonnull final Function<LineageGraph, T> reader,
+      @Nonnull final T defaultValue) {
+    _lock.readLock().lock();
+    try {
+      return _graph != null ? reader.apply(_graph) : defaultValue;
+    } finally {
+      _lock.readLock().unlock();
+    }
+  }
+
+  @Value
+  private static class Change {
+    long time;
+    Consumer<LineageGraph> change;
+  }
+}
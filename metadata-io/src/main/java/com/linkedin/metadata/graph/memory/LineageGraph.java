@@ -0,0 +1,477 @@
+package com.linkedin.metadata.graph.memory;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.graph.Edge;
+import com.linkedin.metadata.graph.LineageDirection;
+import com.linkedin.metadata.graph.LineageRelationship;
+import com.linkedin.metadata.models.registry.LineageRegistry;
+import com.linkedin.metadata.query.filter.RelationshipDirection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import javax.annotation.Nonnull;
+
+
+/**
+ * A compact in-memory graph of lineage edges.
+ *
+ * Urns, entity types and relationship types are interned to int ids. Edges are stored per direction in compressed
+ * sparse row (CSR) form: the edges of node i are at positions offsets[i] to offsets[i + 1] of flat arrays of neighbour
+ * and relationship type ids. Changes since those arrays were built are kept in a small overlay of added edges and a
+ * bit set of removed positions, and are folded into new arrays once the overlay grows too big.
+ *
+ * Not thread-safe, callers have to synchronize access.
+ */
+class LineageGraph {
+
+  // Folding the overlay into new arrays is amortized over at least this many changes
+  private static final int MIN_COMPACTION_THRESHOLD = 10000;
+  // Rough per-entry overhead of the hash maps and boxed values, used to estimate memory usage
+  private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+  private final LineageRegistry _lineageRegistry;
+
+  private final Map<String, Integer> _nodeIds = new HashMap<>();
+  private final List<Urn> _nodes = new ArrayList<>();
+  private int[] _nodeEntityTypes = new int[1024];
+  private long _urnBytes = 0;
+
+  private final Map<String, Integer> _entityTypeIds = new HashMap<>();
+  // Per entity type id, the relationship type ids which are lineage edges of each direction
+  private final List<LineageEdgeTypes> _lineageEdgeTypes = new ArrayList<>();
+
+  private final Map<String, Integer> _relationshipTypeIds = new HashMap<>();
+  private final List<String> _relationshipTypes = new ArrayList<>();
+
+  private Adjacency _outgoing = Adjacency.build(0, new int[0], new int[0], new int[0]);
+  private Adjacency _incoming = Adjacency.build(0, new int[0], new int[0], new int[0]);
+
+  LineageGraph(@Nonnull final LineageRegistry lineageRegistry) {
+    _lineageRegistry = lineageRegistry;
+  }
+
+  int getNodeCount() {
+    return _nodes.size();
+  }
+
+  int getEdgeCount() {
+    return _outgoing.getEdgeCount();
+  }
+
+  /**
+   * Returns a rough estimate of the heap used by the graph, in bytes.
+   */
+  long estimateMemoryBytes() {
+    // Urns are held by the node list and keyed by their string form
+    final long nodeBytes =
+        _urnBytes * 2 + (long) _nodes.size() * ENTRY_OVERHEAD_BYTES * 2 + _nodeEntityTypes.length * 4L;
+    return nodeBytes + _outgoing.estimateMemoryBytes() + _incoming.estimateMemoryBytes();
+  }
+
+  void addEdge(@Nonnull final Edge edge) {
+    final int source = internNode(edge.getSource());
+    final int destination = internNode(edge.getDestination());
+    final int type = internRelationshipType(edge.getRelationshipType());
+    if (_outgoing.add(source, destination, type)) {
+      _incoming.add(destination, source, type);
+      maybeCompact();
+    }
+  }
+
+  void removeEdge(@Nonnull final Edge edge) {
+    final Integer source = _nodeIds.get(edge.getSource().toString());
+    final Integer destination = _nodeIds.get(edge.getDestination().toString());
+    final Integer type = _relationshipTypeIds.get(edge.getRelationshipType());
+    if (source == null || destination == null || type == null) {
+      return;
+    }
+    if (_outgoing.remove(source, destination, type)) {
+      _incoming.remove(destination, source, type);
+      maybeCompact();
+    }
+  }
+
+  /**
+   * Removes the edges of the given relationship types from a node, in the given direction.
+   */
+  void removeEdgesFromNode(@Nonnull final Urn urn, @Nonnull final Set<String> relationshipTypes,
+      @Nonnull final RelationshipDirection direction) {
+    final Integer node = _nodeIds.get(urn.toString());
+    if (node == null) {
+      return;
+    }
+    final BitSet types = new BitSet();
+    relationshipTypes.stream().map(_relationshipTypeIds::get).filter(Objects::nonNull).forEach(types::set);
+    if (types.isEmpty()) {
+      return;
+    }
+    if (direction != RelationshipDirection.INCOMING) {
+      removeEdgesFromNode(node, types, _outgoing, _incoming);
+    }
+    if (direction != RelationshipDirection.OUTGOING) {
+      removeEdgesFromNode(node, types, _incoming, _outgoing);
+    }
+    maybeCompact();
+  }
+
+  /**
+   * Removes all edges of a node. The node itself keeps its id until the graph is rebuilt.
+   */
+  void removeNode(@Nonnull final Urn urn) {
+    final Integer node = _nodeIds.get(urn.toString());
+    if (node == null) {
+      return;
+    }
+    final BitSet types = new BitSet();
+    types.set(0, _relationshipTypes.size());
+    removeEdgesFromNode(node, types, _outgoing, _incoming);
+    removeEdgesFromNode(node, types, _incoming, _outgoing);
+    maybeCompact();
+  }
+
+  private void removeEdgesFromNode(final int node, @Nonnull final BitSet types, @Nonnull final Adjacency adjacency,
+      @Nonnull final Adjacency reverse) {
+    // Collect first, removing while iterating would modify the overlay
+    final List<long[]> removed = new ArrayList<>();
+    adjacency.forEach(node, (neighbour, type) -> {
+      if (types.get(type)) {
+        removed.add(new long[]{neighbour, type});
+      }
+    });
+    for (long[] edge : removed) {
+      adjacency.remove(node, (int) edge[0], (int) edge[1]);
+      reverse.remove((int) edge[0], node, (int) edge[1]);
+    }
+  }
+
+  /**
+   * Returns the entities reachable from an urn within maxHops lineage edges of the given direction, following the
+   * edges the {@link LineageRegistry} defines for each entity type along the way. Every entity is returned once, with
+   * the lowest degree it can be reached at, ordered by degree and then urn.
+   */
+  @Nonnull
+  List<LineageRelationship> getLineage(@Nonnull final Urn urn, @Nonnull final LineageDirection direction,
+      final int maxHops) {
+    final Integer start = _nodeIds.get(urn.toString());
+    if (start == null) {
+      return Collections.emptyList();
+    }
+    final List<LineageRelationship> result = new ArrayList<>();
+    final BitSet visited = new BitSet(_nodes.size());
+    visited.set(start);
+    final IntList frontier = new IntList();
+    frontier.add(start);
+    final Comparator<LineageRelationship> byUrn =
+        Comparator.comparing(relationship -> relationship.getEntity().toString());
+
+    for (int degree = 1; degree <= maxHops && frontier.size() > 0; degree++) {
+      final IntList next = new IntList();
+      final List<LineageRelationship> level = new ArrayList<>();
+      for (int i = 0; i < frontier.size(); i++) {
+        final int node = frontier.get(i);
+        final LineageEdgeTypes edgeTypes = _lineageEdgeTypes.get(_nodeEntityTypes[node]);
+        final int currentDegree = degree;
+        final EdgeVisitor visitor = (neighbour, type) -> {
+          if (!visited.get(neighbour)) {
+            visited.set(neighbour);
+            next.add(neighbour);
+            level.add(new LineageRelationship().setEntity(_nodes.get(neighbour))
+                .setType(_relationshipTypes.get(type))
+                .setDegree(currentDegree));
+          }
+        };
+        final BitSet outgoingTypes = edgeTypes.getOutgoing(direction);
+        if (!outgoingTypes.isEmpty()) {
+          _outgoing.forEach(node, (neighbour, type) -> {
+            if (outgoingTypes.get(type)) {
+              visitor.visit(neighbour, type);
+            }
+          });
+        }
+        final BitSet incomingTypes = edgeTypes.getIncoming(direction);
+        if (!incomingTypes.isEmpty()) {
+          _incoming.forEach(node, (neighbour, type) -> {
+            if (incomingTypes.get(type)) {
+              visitor.visit(neighbour, type);
+            }
+          });
+        }
+      }
+      level.sort(byUrn);
+      result.addAll(level);
+      frontier.clear();
+      frontier.addAll(next);
+    }
+    return result;
+  }
+
+  /**
+   * Folds all changes into new CSR arrays.
+   */
+  void compact() {
+    final int nodeCount = _nodes.size();
+    final int edgeCount = _outgoing.getEdgeCount();
+    final int[] sources = new int[edgeCount];
+    final int[] destinations = new int[edgeCount];
+    final int[] types = new int[edgeCount];
+    final int[] position = {0};
+    for (int node = 0; node < nodeCount; node++) {
+      final int source = node;
+      _outgoing.forEach(node, (neighbour, type) -> {
+        sources[position[0]] = source;
+        destinations[position[0]] = neighbour;
+        types[position[0]] = type;
+        position[0]++;
+      });
+    }
+    _outgoing = Adjacency.build(nodeCount, sources, destinations, types);
+    _incoming = Adjacency.build(nodeCount, destinations, sources, types);
+  }
+
+  private void maybeCompact() {
+    final int changes = _outgoing.getChangeCount() + _incoming.getChangeCount();
+    if (changes > Math.max(MIN_COMPACTION_THRESHOLD, _outgoing.getEdgeCount() / 10)) {
+      compact();
+    }
+  }
+
+  private int internNode(@Nonnull final Urn urn) {
+    final String key = urn.toString();
+    final Integer existing = _nodeIds.get(key);
+    if (existing != null) {
+      return existing;
+    }
+    final int id = _nodes.size();
+    _nodeIds.put(key, id);
+    _nodes.add(urn);
+    _urnBytes += key.length();
+    if (id == _nodeEntityTypes.length) {
+      _nodeEntityTypes = Arrays.copyOf(_nodeEntityTypes, id * 2);
+    }
+    _nodeEntityTypes[id] = internEntityType(urn.getEntityType());
+    return id;
+  }
+
+  private int internRelationshipType(@Nonnull final String relationshipType) {
+    return _relationshipTypeIds.computeIfAbsent(relationshipType, key -> {
+      _relationshipTypes.add(key);
+      return _relationshipTypes.size() - 1;
+    });
+  }
+
+  private int internEntityType(@Nonnull final String entityType) {
+    final Integer existing = _entityTypeIds.get(entityType);
+    if (existing != null) {
+      return existing;
+    }
+    final LineageEdgeTypes edgeTypes = new LineageEdgeTypes();
+    for (LineageDirection direction : LineageDirection.values()) {
+      for (LineageRegistry.EdgeInfo edgeInfo : _lineageRegistry.getLineageRelationships(entityType, direction)) {
+        final int type = internRelationshipType(edgeInfo.getType());
+        if (edgeInfo.getDirection() == RelationshipDirection.OUTGOING) {
+          edgeTypes.getOutgoing(direction).set(type);
+        } else {
+          edgeTypes.getIncoming(direction).set(type);
+        }
+      }
+    }
+    final int id = _lineageEdgeTypes.size();
+    _entityTypeIds.put(entityType, id);
+    _lineageEdgeTypes.add(edgeTypes);
+    return id;
+  }
+
+  @FunctionalInterface
+  private interface EdgeVisitor {
+    void visit(int neighbour, int type);
+  }
+
+  /**
+   * The relationship types an entity type has lineage edges of, by lineage and edge direction.
+   */
+  private static class LineageEdgeTypes {
+    private final BitSet _upstreamOutgoing = new BitSet();
+    private final BitSet _upstreamIncoming = new BitSet();
+    private final BitSet _downstreamOutgoing = new BitSet();
+    private final BitSet _downstreamIncoming = new BitSet();
+
+    private BitSet getOutgoing(@Nonnull final LineageDirection direction) {
+      return direction == LineageDirection.UPSTREAM ? _upstreamOutgoing : _downstreamOutgoing;
+    }
+
+    private BitSet getIncoming(@Nonnull final LineageDirection direction) {
+      return direction == LineageDirection.UPSTREAM ? _upstreamIncoming : _downstreamIncoming;
+    }
+  }
+
+  /**
+   * The edges of one direction: CSR arrays, plus the edges added and removed since they were built.
+   */
+  private static class Adjacency {
+    private final int[] _offsets;
+    private final int[] _neighbours;
+    private final int[] _types;
+    private final BitSet _removed = new BitSet();
+    private int _removedCount = 0;
+    // Edges added to a node, encoded as relationship type id in the upper and neighbour id in the lower 32 bits
+    private final Map<Integer, Set<Long>> _added = new HashMap<>();
+    private int _addedCount = 0;
+
+    private Adjacency(@Nonnull final int[] offsets, @Nonnull final int[] neighbours, @Nonnull final int[] types) {
+      _offsets = offsets;
+      _neighbours = neighbours;
+      _types = types;
+    }
+
+    /**
+     * Builds the arrays from parallel arrays of edges with a counting sort by node.
+     */
+    @Nonnull
+    private static Adjacency build(final int nodeCount, @Nonnull final int[] nodes, @Nonnull final int[] neighbours,
+        @Nonnull final int[] types) {
+      final int[] offsets = new int[nodeCount + 1];
+      for (int node : nodes) {
+        offsets[node + 1]++;
+      }
+      for (int i = 0; i < nodeCount; i++) {
+        offsets[i + 1] += offsets[i];
+      }
+      final int[] next = Arrays.copyOf(offsets, nodeCount);
+      final int[] sortedNeighbours = new int[nodes.length];
+      final int[] sortedTypes = new int[nodes.length];
+      for (int i = 0; i < nodes.length; i++) {
+        final int position = next[nodes[i]]++;
+        sortedNeighbours[position] = neighbours[i];
+        sortedTypes[position] = types[i];
+      }
+      return new Adjacency(offsets, sortedNeighbours, sortedTypes);
+    }
+
+    private int getEdgeCount() {
+      return _neighbours.length - _removedCount + _addedCount;
+    }
+
+    private int getChangeCount() {
+      return _removedCount + _addedCount;
+    }
+
+    private long estimateMemoryBytes() {
+      return (_offsets.length + _neighbours.length * 2L) * 4 + _removed.size() / 8
+          + (long) (_added.size() + _addedCount) * ENTRY_OVERHEAD_BYTES;
+    }
+
+    private void forEach(final int node, @Nonnull final EdgeVisitor visitor) {
+      if (node + 1 < _offsets.length) {
+        for (int i = _offsets[node]; i < _offsets[node + 1]; i++) {
+          if (!_removed.get(i)) {
+            visitor.visit(_neighbours[i], _types[i]);
+          }
+        }
+      }
+      final Set<Long> added = _added.get(node);
+      if (added != null) {
+        for (long edge : added) {
+          visitor.visit((int) edge, (int) (edge >>> 32));
+        }
+      }
+    }
+
+    /**
+     * Returns whether the edge was added, false if it already existed.
+     */
+    private boolean add(final int node, final int neighbour, final int type) {
+      final int position = find(node, neighbour, type);
+      if (position >= 0) {
+        if (!_removed.get(position)) {
+          return false;
+        }
+        _removed.clear(position);
+        _removedCount--;
+        return true;
+      }
+      if (_added.computeIfAbsent(node, key -> new HashSet<>()).add(encode(neighbour, type))) {
+        _addedCount++;
+        return true;
+      }
+      return false;
+    }
+
+    /**
+     * Returns whether the edge was removed, false if it did not exist.
+     */
+    private boolean remove(final int node, final int neighbour, final int type) {
+      final int position = find(node, neighbour, type);
+      if (position >= 0 && !_removed.get(position)) {
+        _removed.set(position);
+        _removedCount++;
+        return true;
+      }
+      final Set<Long> added = _added.get(node);
+      if (added != null && added.remove(encode(neighbour, type))) {
+        _addedCount--;
+        if (added.isEmpty()) {
+          _added.remove(node);
+        }
+        return true;
+      }
+      return false;
+    }
+
+    private int find(final int node, final int neighbour, final int type) {
+      if (node + 1 >= _offsets.length) {
+        return -1;
+      }
+      for (int i = _offsets[node]; i < _offsets[node + 1]; i++) {
+        if (_neighbours[i] == neighbour && _types[i] == type) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private static long encode(final int neighbour, final int type) {
+      return ((long) type << 32) | (neighbour & 0xffffffffL);
+    }
+  }
+
+  /**
+   * A growable list of primitive ints.
+   */
+  private static class IntList {
+    private int[] _values = new int[16];
+    private int _size = 0;
+
+    private int size() {
+      return _size;
+    }
+
+    private int get(final int index) {
+      return _values[index];
+    }
+
+    private void add(final int value) {
+      if (_size == _values.length) {
+        _values = Arrays.copyOf(_values, _size * 2);
+      }
+      _values[_size++] = value;
+    }
+
+    private void addAll(@Nonnull final IntList other) {
+      for (int i = 0; i < other._size; i++) {
+        add(other._values[i]);
+      }
+    }
+
+    private void clear() {
+      _size = 0;
+    }
+  }
+}
@@ -4,10 +4,17 @@ import com.codahale.metrics.Timer;
 import com.datahub.util.Statement;
 import com.datahub.util.exception.RetryLimitReached;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.metadata.graph.Edge;
+import com.linkedin.metadata.graph.EntityLineageResult;
 import com.linkedin.metadata.graph.GraphService;
+import com.linkedin.metadata.graph.LineageDirection;
+import com.linkedin.metadata.graph.LineageRelationship;
+import com.linkedin.metadata.graph.LineageRelationshipArray;
 import com.linkedin.metadata.models.registry.LineageRegistry;
+import com.linkedin.metadata.models.registry.LineageRegistry.EdgeInfo;
 import com.linkedin.metadata.graph.RelatedEntitiesResult;
 import com.linkedin.metadata.graph.RelatedEntity;
 import com.linkedin.metadata.query.filter.Condition;
@@ -18,20 +25,30 @@ import com.linkedin.metadata.query.filter.RelationshipDirection;
 import com.linkedin.metadata.query.filter.RelationshipFilter;
 import com.linkedin.metadata.utils.metrics.MetricUtils;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.StringJoiner;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.time.StopWatch;
 import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
 import org.neo4j.driver.Result;
 import org.neo4j.driver.Session;
 import org.neo4j.driver.SessionConfig;
@@ -41,9 +58,31 @@ import org.neo4j.driver.exceptions.Neo4jException;
 public class Neo4jGraphService implements GraphService {
 
   private static final int MAX_TRANSACTION_RETRY = 3;
+  // Maximum number of edges merged by a single statement
+  private static final int ADD_EDGES_BATCH_SIZE = 1000;
+  // Bounds of a single lineage traversal, as in ESGraphQueryDAO
+  private static final int MAX_LINEAGE_RELATIONSHIPS = 1000000;
+  private static final int LINEAGE_TIMEOUT_SECS = 10;
+
+  private static final String ADD_EDGES_TEMPLATE = "UNWIND $edges AS edge "
+      + "MERGE (source:%s {urn: edge.sourceUrn}) "
+      + "MERGE (destination:%s {urn: edge.destinationUrn}) "
+      + "MERGE (source)-[r:%s]->(destination) "
+      + "SET r = edge.properties";
+
+  // Matches the lineage edges of the given entities of one type, in one hop. Each relationship has to be a lineage
+  // edge of the entity type of the node it is traversed from, in the direction it is traversed in.
+  private static final String LINEAGE_HOP_TEMPLATE = "UNWIND $urns AS urn "
+      + "MATCH (src:%s {urn: urn})-[r:%s]-(dest) "
+      + "WHERE (startNode(r) = src AND $entityType + ':' + type(r) IN $outgoingEdges) "
+      + "OR (endNode(r) = src AND $entityType + ':' + type(r) IN $incomingEdges) "
+      + "RETURN DISTINCT dest.urn AS urn, type(r) AS type "
+      + "LIMIT $limit";
+
   private final LineageRegistry _lineageRegistry;
   private final Driver _driver;
   private SessionConfig _sessionConfig;
+  private final Map<LineageDirection, LineageEdges> _lineageEdges;
 
   public Neo4jGraphService(@Nonnull LineageRegistry lineageRegistry, @Nonnull Driver driver) {
     this(lineageRegistry, driver, SessionConfig.defaultConfig());
@@ -53,6 +92,9 @@ public class Neo4jGraphService implements GraphService {
     this._lineageRegistry = lineageRegistry;
     this._driver = driver;
     this._sessionConfig = sessionConfig;
+    this._lineageEdges = ImmutableMap.of(
+        LineageDirection.UPSTREAM, getLineageEdges(lineageRegistry, LineageDirection.UPSTREAM),
+        LineageDirection.DOWNSTREAM, getLineageEdges(lineageRegistry, LineageDirection.DOWNSTREAM));
   }
 
   @Override
@@ -61,34 +103,46 @@ public class Neo4jGraphService implements GraphService {
   }
 
   public void addEdge(@Nonnull final Edge edge) {
-
     log.debug(String.format("Adding Edge source: %s, destination: %s, type: %s",
         edge.getSource(),
         edge.getDestination(),
         edge.getRelationshipType()));
 
-    final String sourceType = edge.getSource().getEntityType();
-    final String destinationType = edge.getDestination().getEntityType();
-
-    final List<Statement> statements = new ArrayList<>();
+    addEdges(Collections.singletonList(edge));
+  }
 
-    // Add/Update source & destination node first
-    statements.add(getOrInsertNode(edge.getSource()));
-    statements.add(getOrInsertNode(edge.getDestination()));
+  @Override
+  public void addEdges(@Nonnull final List<Edge> edges) {
+    if (edges.isEmpty()) {
+      return;
+    }
+    log.debug(String.format("Adding %d Neo4j edges", edges.size()));
 
-    // Add/Update relationship
-    final String mergeRelationshipTemplate =
-        "MATCH (source:%s {urn: $sourceUrn}),(destination:%s {urn: $destinationUrn}) MERGE (source)-[r:%s]->(destination) SET r = $properties";
-    final String statement =
-        String.format(mergeRelationshipTemplate, sourceType, destinationType, edge.getRelationshipType());
+    // Neither labels nor relationship types can be parameters, so edges are merged in bulk per source type,
+    // destination type and relationship type
+    final Map<List<String>, List<Map<String, Object>>> edgesByTypes = new LinkedHashMap<>();
+    for (Edge edge : edges) {
+      final List<String> types = Arrays.asList(edge.getSource().getEntityType(),
+          edge.getDestination().getEntityType(), edge.getRelationshipType());
 
-    final Map<String, Object> paramsMerge = new HashMap<>();
-    paramsMerge.put("sourceUrn", edge.getSource().toString());
-    paramsMerge.put("destinationUrn", edge.getDestination().toString());
-    paramsMerge.put("properties", new HashMap<>());
+      final Map<String, Object> edgeParams = new HashMap<>();
+      edgeParams.put("sourceUrn", edge.getSource().toString());
+      edgeParams.put("destinationUrn", edge.getDestination().toString());
+      edgeParams.put("properties", new HashMap<>());
 
-    statements.add(buildStatement(statement, paramsMerge));
+      edgesByTypes.computeIfAbsent(types, k -> new ArrayList<>()).add(edgeParams);
+    }
 
+    // Write all edges in a single transaction
+    final List<Statement> statements = new ArrayList<>();
+    edgesByTypes.forEach((types, typedEdges) -> {
+      final String statement = String.format(ADD_EDGES_TEMPLATE, types.get(0), types.get(1), types.get(2));
+      for (List<Map<String, Object>> batch : Lists.partition(typedEdges, ADD_EDGES_BATCH_SIZE)) {
+        final Map<String, Object> params = new HashMap<>();
+        params.put("edges", batch);
+        statements.add(buildStatement(statement, params));
+      }
+    });
     executeStatements(statements);
   }
 
@@ -156,6 +210,110 @@ public class Neo4jGraphService implements GraphService {
     return new RelatedEntitiesResult(offset, relatedEntities.size(), totalCount, relatedEntities);
   }
 
+  /**
+   * Traverses lineage edges breadth first, one hop per query for each entity type in the frontier, and pages through
+   * the entities found. Entities which were already reached are not expanded again, so every lineage edge is followed
+   * at most once no matter how many paths there are.
+   *
+   * Paging is applied to the result of the whole traversal rather than by the server: an entity is returned once, at the
+   * lowest degree it is reached at, which is only known once all lower hops were traversed. Every page therefore costs a
+   * full traversal. The traversal stops early, returning the relationships found so far, once it collected
+   * {@link #MAX_LINEAGE_RELATIONSHIPS} relationships or ran for {@link #LINEAGE_TIMEOUT_SECS} seconds.
+   */
+  @Nonnull
+  @Override
+  public EntityLineageResult getLineage(@Nonnull Urn entityUrn, @Nonnull LineageDirection direction, int offset,
+      int count, int maxHops) {
+
+    log.debug(String.format("Getting Neo4j lineage of urn: %s, direction: %s, offset: %s, count: %s, maxHops: %s",
+        entityUrn, direction, offset, count, maxHops));
+
+    final EntityLineageResult result = new EntityLineageResult().setStart(offset)
+        .setCount(count)
+        .setRelationships(new LineageRelationshipArray())
+        .setTotal(0);
+
+    final LineageEdges lineageEdges = _lineageEdges.get(direction);
+    if (lineageEdges == null || lineageEdges.getRelationshipTypes().isEmpty() || maxHops < 1) {
+      return result;
+    }
+    final String relationshipTypes = StringUtils.join(lineageEdges.getRelationshipTypes(), "|");
+
+    final long timeoutTime = System.currentTimeMillis() + LINEAGE_TIMEOUT_SECS * 1000;
+    final Set<String> visited = new HashSet<>();
+    visited.add(entityUrn.toString());
+    final List<LineageRelationship> relationships = new ArrayList<>();
+    List<Urn> frontier = Collections.singletonList(entityUrn);
+    for (int degree = 1; degree <= maxHops && !frontier.isEmpty(); degree++) {
+      final List<LineageRelationship> hop = new ArrayList<>();
+      for (Map.Entry<String, List<String>> urnsOfType : groupByEntityType(frontier).entrySet()) {
+        if (System.currentTimeMillis() > timeoutTime) {
+          break;
+        }
+        final Map<String, Object> params = new HashMap<>();
+        params.put("urns", urnsOfType.getValue());
+        params.put("entityType", urnsOfType.getKey().toLowerCase());
+        params.put("outgoingEdges", lineageEdges.getOutgoingEdges());
+        params.put("incomingEdges", lineageEdges.getIncomingEdges());
+        // Enough rows to reach the cap even if every entity reached before is returned again
+        params.put("limit", MAX_LINEAGE_RELATIONSHIPS - relationships.size() - hop.size() + visited.size());
+        final String statement = String.format(LINEAGE_HOP_TEMPLATE, urnsOfType.getKey(), relationshipTypes);
+
+        final int currentDegree = degree;
+        runQuery(buildStatement(statement, params)).forEachRemaining(record -> {
+          final String urn = record.get("urn").asString();
+          if (visited.add(urn)) {
+            hop.add(new LineageRelationship().setEntity(UrnUtils.getUrn(urn))
+                .setType(record.get("type").asString())
+                .setDegree(currentDegree));
+          }
+        });
+      }
+      hop.sort(Comparator.comparing(relationship -> relationship.getEntity().toString()));
+      relationships.addAll(hop);
+      if (relationships.size() >= MAX_LINEAGE_RELATIONSHIPS) {
+        log.info("Reached {} relationships while fetching lineage for {} with direction {}, maxHops {}. "
+            + "Returning results so far", MAX_LINEAGE_RELATIONSHIPS, entityUrn, direction, maxHops);
+        relationships.subList(MAX_LINEAGE_RELATIONSHIPS, relationships.size()).clear();
+        break;
+      }
+      if (System.currentTimeMillis() > timeoutTime) {
+        log.info("Timed out while fetching lineage for {} with direction {}, maxHops {}. Returning results so far",
+            entityUrn, direction, maxHops);
+        break;
+      }
+      frontier = hop.stream().map(LineageRelationship::getEntity).collect(Collectors.toList());
+    }
+
+    final int start = Math.min(Math.max(0, offset), relationships.size());
+    final int end = Math.min(start + Math.max(0, count), relationships.size());
+    result.setTotal(relationships.size());
+    result.setRelationships(new LineageRelationshipArray(relationships.subList(start, end)));
+    return result;
+  }
+
+  @Nonnull
+  private static Map<String, List<String>> groupByEntityType(@Nonnull List<Urn> urns) {
+    final Map<String, List<String>> urnsByEntityType = new LinkedHashMap<>();
+    urns.forEach(urn -> urnsByEntityType.computeIfAbsent(urn.getEntityType(), k -> new ArrayList<>())
+        .add(urn.toString()));
+    return urnsByEntityType;
+  }
+
+  @Override
+  public void forEachEdge(@Nonnull List<String> relationshipTypes, @Nonnull Consumer<Edge> consumer) {
+    if (relationshipTypes.isEmpty()) {
+      return;
+    }
+    final String statement = String.format(
+        "MATCH (source)-[r:%s]->(destination) RETURN source.urn, destination.urn, type(r)",
+        StringUtils.join(relationshipTypes, "|"));
+    // The result is streamed from the server as it is consumed
+    runQuery(buildStatement(statement, new HashMap<>())).forEachRemaining(record -> consumer.accept(
+        new Edge(UrnUtils.getUrn(record.get(0).asString()), UrnUtils.getUrn(record.get(1).asString()),
+            record.get(2).asString())));
+  }
+
   public void removeNode(@Nonnull final Urn urn) {
 
     log.debug(String.format("Removing Neo4j node with urn: %s", urn));
@@ -202,6 +360,30 @@ public class Neo4jGraphService implements GraphService {
     runQuery(buildStatement(statement, params)).consume();
   }
 
+  @Override
+  public void removeEdges(@Nonnull final List<Edge> edges) {
+    if (edges.isEmpty()) {
+      return;
+    }
+    log.debug(String.format("Removing %d Neo4j edges", edges.size()));
+
+    final String matchTemplate =
+        "MATCH (source:%s {urn: $sourceUrn})-[r:%s]->(destination:%s {urn: $destinationUrn}) DELETE r";
+
+    final List<Statement> statements = new ArrayList<>();
+    for (Edge edge : edges) {
+      final String statement = String.format(matchTemplate, edge.getSource().getEntityType(),
+          edge.getRelationshipType(), edge.getDestination().getEntityType());
+
+      final Map<String, Object> params = new HashMap<>();
+      params.put("sourceUrn", edge.getSource().toString());
+      params.put("destinationUrn", edge.getDestination().toString());
+
+      statements.add(buildStatement(statement, params));
+    }
+    executeStatements(statements);
+  }
+
   public void removeNodesMatchingLabel(@Nonnull String labelPattern) {
     log.debug(String.format("Removing Neo4j nodes matching label %s", labelPattern));
     final String matchTemplate =
@@ -223,6 +405,11 @@ public class Neo4jGraphService implements GraphService {
     removeNodesMatchingLabel(".*");
   }
 
+  @Override
+  public boolean supportsMultiHop() {
+    return true;
+  }
+
   // visible for testing
   @Nonnull
   Statement buildStatement(@Nonnull String queryTemplate, @Nonnull Map<String, Object> params) {
@@ -242,6 +429,38 @@ public class Neo4jGraphService implements GraphService {
     return obj;
   }
 
+  /**
+   * The lineage edges of all entity types for one lineage direction. Edges are given as "entityType:relationshipType",
+   * where the entity type is lower case, by the direction they are traversed in from that entity type.
+   */
+  @Value
+  private static class LineageEdges {
+    List<String> relationshipTypes;
+    List<String> outgoingEdges;
+    List<String> incomingEdges;
+  }
+
+  @Nonnull
+  private static LineageEdges getLineageEdges(@Nonnull LineageRegistry lineageRegistry,
+      @Nonnull LineageDirection direction) {
+    final Set<String> relationshipTypes = new TreeSet<>();
+    final List<String> outgoingEdges = new ArrayList<>();
+    final List<String> incomingEdges = new ArrayList<>();
+    lineageRegistry.getLineageSpecs().forEach((entityType, lineageSpec) -> {
+      final List<EdgeInfo> edges = direction == LineageDirection.UPSTREAM ? lineageSpec.getUpstreamEdges()
+          : lineageSpec.getDownstreamEdges();
+      for (EdgeInfo edge : edges) {
+        relationshipTypes.add(edge.getType());
+        if (edge.getDirection() == RelationshipDirection.OUTGOING) {
+          outgoingEdges.add(entityType + ":" + edge.getType());
+        } else {
+          incomingEdges.add(entityType + ":" + edge.getType());
+        }
+      }
+    });
+    return new LineageEdges(new ArrayList<>(relationshipTypes), outgoingEdges, incomingEdges);
+  }
+
   @AllArgsConstructor
   @Data
   private static final class ExecutionResult {
@@ -358,20 +577,4 @@ public class Neo4jGraphService implements GraphService {
 
     return joiner.length() <= 2 ? "" : joiner.toString();
   }
-
-  /**
-   * Gets Node based on Urn, if not exist, creates placeholder node.
-   */
-  @Nonnull
-  private Statement getOrInsertNode(@Nonnull Urn urn) {
-    final String nodeType = urn.getEntityType();
-
-    final String mergeTemplate = "MERGE (node:%s {urn: $urn}) RETURN node";
-    final String statement = String.format(mergeTemplate, nodeType);
-
-    final Map<String, Object> params = new HashMap<>();
-    params.put("urn", urn.toString());
-
-    return buildStatement(statement, params);
-  }
 }
@@ -37,6 +37,17 @@ public interface EntitySearchService {
    */
   void upsertDocument(@Nonnull String entityName, @Nonnull String document, @Nonnull String docId);
 
+  /**
+   * Updates only the given fields of the search document, or inserts the full document if it does not exist yet.
+   *
+   * @param entityName name of the entity
+   * @param changedFields the fields to update
+   * @param document the full document to insert if the document does not exist
+   * @param docId the ID of the document
+   */
+  void updateDocumentFields(@Nonnull String entityName, @Nonnull String changedFields, @Nonnull String document,
+      @Nonnull String docId);
+
   /**
    * Deletes the document with the given document ID from the index.
    *
@@ -61,6 +72,40 @@ public interface EntitySearchService {
   SearchResult search(@Nonnull String entityName, @Nonnull String input, @Nullable Filter postFilters,
       @Nullable SortCriterion sortCriterion, int from, int size);
 
+  /**
+   * Runs the same search request against several entities at once. Equivalent to calling
+   * {@link #search(String, String, Filter, SortCriterion, int, int)} for every entity, but executed as a single
+   * request where the backend supports it.
+   *
+   * @param entityNames names of the entities
+   * @param input the search input text
+   * @param postFilters the request map with fields and values as filters to be applied to search hits
+   * @param sortCriterion {@link SortCriterion} to be applied to search results
+   * @param from index to start the search from
+   * @param size the number of search hits to return per entity
+   * @return the search result of every entity, keyed by entity name
+   */
+  @Nonnull
+  Map<String, SearchResult> multiSearch(@Nonnull List<String> entityNames, @Nonnull String input,
+      @Nullable Filter postFilters, @Nullable SortCriterion sortCriterion, int from, int size);
+
+  /**
+   * Gets a page of documents that match given search request, starting after the page identified by the scroll id.
+   * Unlike {@link #search(String, String, Filter, SortCriterion, int, int)}, the cost of a page does not grow with its
+   * depth, so this is meant for clients paging through whole result sets.
+   *
+   * @param entityName name of the entity
+   * @param input the search input text
+   * @param postFilters the request map with fields and values as filters to be applied to search hits
+   * @param sortCriterion {@link SortCriterion} to be applied to search results
+   * @param scrollId scroll id of the previous page, null for the first page
+   * @param size the number of search hits to return
+   * @return a {@link ScrollResult} with the page of matched documents and the scroll id of the next page
+   */
+  @Nonnull
+  ScrollResult scroll(@Nonnull String entityName, @Nonnull String input, @Nullable Filter postFilters,
+      @Nullable SortCriterion sortCriterion, @Nullable String scrollId, int size);
+
   /**
    * Gets a list of documents after applying the input filters.
    *
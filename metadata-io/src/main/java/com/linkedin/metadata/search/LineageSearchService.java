@@ -10,15 +10,20 @@ import com.linkedin.metadata.graph.LineageDirection;
 import com.linkedin.metadata.graph.LineageRelationship;
 import com.linkedin.metadata.query.SearchFlags;
 import com.linkedin.metadata.query.filter.ConjunctiveCriterion;
+import com.linkedin.metadata.query.filter.ConjunctiveCriterionArray;
 import com.linkedin.metadata.query.filter.Criterion;
+import com.linkedin.metadata.query.filter.CriterionArray;
 import com.linkedin.metadata.query.filter.Filter;
 import com.linkedin.metadata.query.filter.SortCriterion;
+import com.linkedin.metadata.search.cache.EntityLineageResultCache;
 import com.linkedin.metadata.search.utils.FilterUtils;
 import com.linkedin.metadata.search.utils.QueryUtils;
 import com.linkedin.metadata.search.utils.SearchUtils;
 import io.opentelemetry.extension.annotations.WithSpan;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -28,18 +33,15 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import org.apache.commons.collections.CollectionUtils;
-import org.apache.commons.lang3.tuple.Pair;
-import org.springframework.cache.Cache;
 
 
-@RequiredArgsConstructor
 public class LineageSearchService {
   private final SearchService _searchService;
   private final GraphService _graphService;
-  private final Cache cache;
+  private final EntityLineageResultCache cache;
+  private final int _maxTermsPerQuery;
 
   private static final String DEGREE_FILTER = "degree";
   private static final String DEGREE_FILTER_INPUT = "degree.keyword";
@@ -51,6 +53,18 @@ public class LineageSearchService {
   private static final int MAX_TERMS = 50000;
   private static final SearchFlags SKIP_CACHE = new SearchFlags().setSkipCache(true);
 
+  public LineageSearchService(SearchService searchService, GraphService graphService, EntityLineageResultCache cache) {
+    this(searchService, graphService, cache, MAX_TERMS);
+  }
+
+  LineageSearchService(SearchService searchService, GraphService graphService, EntityLineageResultCache cache,
+      int maxTermsPerQuery) {
+    _searchService = searchService;
+    _graphService = graphService;
+    this.cache = cache;
+    _maxTermsPerQuery = maxTermsPerQuery;
+  }
+
   /**
    * Gets a list of documents that match given search request that is related to the input entity
    *
@@ -70,9 +84,11 @@ public class LineageSearchService {
       @Nonnull List<String> entities, @Nullable String input, @Nullable Filter inputFilters,
       @Nullable SortCriterion sortCriterion, int from, int size) {
     // Cache multihop result for faster performance
-    EntityLineageResult lineageResult = cache.get(Pair.of(sourceUrn, direction), EntityLineageResult.class);
+    EntityLineageResult lineageResult = cache.get(sourceUrn, direction);
     if (lineageResult == null) {
+      long stamp = cache.stamp();
       lineageResult = _graphService.getLineage(sourceUrn, direction, 0, MAX_RELATIONSHIPS, 1000);
+      cache.put(sourceUrn, direction, lineageResult, stamp);
     }
 
     // Filter hopped result based on the set of entities to return and inputFilters before sending to search
@@ -92,22 +108,25 @@ public class LineageSearchService {
             .setFrom(from)
             .setPageSize(size)
             .setNumEntities(0);
-    List<List<LineageRelationship>> batchedRelationships = Lists.partition(lineageRelationships, MAX_TERMS);
+    // Index the relationships once. An entity reachable through several paths keeps its first (closest) relationship
+    Map<Urn, LineageRelationship> urnToRelationship = lineageRelationships.stream()
+        .collect(Collectors.toMap(LineageRelationship::getEntity, Function.identity(), (first, second) -> first,
+            LinkedHashMap::new));
+    Filter reducedFilters = inputFilters == null ? null
+        : SearchUtils.removeCriteria(inputFilters, criterion -> criterion.getField().equals(DEGREE_FILTER_INPUT));
+    List<List<Urn>> batchedUrns = Lists.partition(new ArrayList<>(urnToRelationship.keySet()), _maxTermsPerQuery);
     int queryFrom = from;
     int querySize = size;
-    for (List<LineageRelationship> batch : batchedRelationships) {
-      List<String> entitiesToQuery = batch.stream()
-          .map(relationship -> relationship.getEntity().getEntityType())
-          .distinct()
-          .collect(Collectors.toList());
-      Map<Urn, LineageRelationship> urnToRelationship =
-          lineageRelationships.stream().collect(Collectors.toMap(LineageRelationship::getEntity, Function.identity()));
-      Filter finalFilter = buildFilter(urnToRelationship.keySet(), inputFilters);
+    for (List<Urn> batch : batchedUrns) {
+      List<String> entitiesToQuery = batch.stream().map(Urn::getEntityType).distinct().collect(Collectors.toList());
+      // Only the urns of this batch are sent, which keeps every query within the terms limit. Once the page is
+      // filled, the remaining batches are queried with size 0 for their counts and aggregations only
+      Filter finalFilter = buildFilter(batch, reducedFilters);
       LineageSearchResult resultForBatch = buildLineageSearchResult(
           _searchService.searchAcrossEntities(entitiesToQuery, input, finalFilter, sortCriterion, queryFrom, querySize,
               SKIP_CACHE), urnToRelationship);
-      queryFrom = Math.max(0, from - resultForBatch.getNumEntities());
-      querySize = Math.max(0, size - resultForBatch.getEntities().size());
+      queryFrom = Math.max(0, queryFrom - resultForBatch.getNumEntities());
+      querySize = Math.max(0, querySize - resultForBatch.getEntities().size());
       finalResult = merge(finalResult, resultForBatch);
     }
 
@@ -176,24 +195,23 @@ public class LineageSearchService {
     return relationshipsFilteredByEntities.collect(Collectors.toList());
   }
 
-  private Filter buildFilter(@Nonnull Set<Urn> urns, @Nullable Filter inputFilters) {
+  private Filter buildFilter(@Nonnull List<Urn> urns, @Nullable Filter reducedFilters) {
     Criterion urnMatchCriterion = new Criterion().setField("urn")
         .setValue("")
         .setValues(new StringArray(urns.stream().map(Object::toString).collect(Collectors.toList())));
-    if (inputFilters == null) {
+    if (reducedFilters == null || CollectionUtils.isEmpty(reducedFilters.getOr())) {
       return QueryUtils.newFilter(urnMatchCriterion);
     }
-    Filter reducedFilters =
-        SearchUtils.removeCriteria(inputFilters, criterion -> criterion.getField().equals(DEGREE_FILTER_INPUT));
 
-    // Add urn match criterion to each or clause
-    if (!CollectionUtils.isEmpty(reducedFilters.getOr())) {
-      for (ConjunctiveCriterion conjunctiveCriterion : reducedFilters.getOr()) {
-        conjunctiveCriterion.getAnd().add(urnMatchCriterion);
-      }
-      return reducedFilters;
-    }
-    return QueryUtils.newFilter(urnMatchCriterion);
+    // Add urn match criterion to each or clause, leaving the shared filters untouched
+    return new Filter().setOr(new ConjunctiveCriterionArray(reducedFilters.getOr()
+        .stream()
+        .map(conjunctiveCriterion -> {
+          CriterionArray criteria = new CriterionArray(conjunctiveCriterion.getAnd());
+          criteria.add(urnMatchCriterion);
+          return new ConjunctiveCriterion().setAnd(criteria);
+        })
+        .collect(Collectors.toList())));
   }
 
   private LineageSearchResult buildLineageSearchResult(@Nonnull SearchResult searchResult,
@@ -11,6 +11,7 @@ import com.linkedin.metadata.search.cache.EntitySearchServiceCache;
 import com.linkedin.metadata.search.ranker.SearchRanker;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -30,12 +31,13 @@ public class SearchService {
   private final AllEntitiesSearchAggregatorCache _allEntitiesSearchAggregatorCache;
 
   public SearchService(EntityRegistry entityRegistry, EntitySearchService entitySearchService,
-      SearchRanker searchRanker, CacheManager cacheManager, int batchSize, boolean enableCache) {
+      SearchRanker searchRanker, CacheManager cacheManager, int batchSize, boolean enableCache,
+      Executor searchExecutor, long searchTimeoutMillis) {
     _entitySearchService = entitySearchService;
     _searchRanker = searchRanker;
     _aggregator =
         new AllEntitiesSearchAggregator(entityRegistry, entitySearchService, searchRanker, cacheManager, batchSize,
-            enableCache);
+            enableCache, searchExecutor, searchTimeoutMillis);
     _entityDocCountCache = new EntityDocCountCache(entityRegistry, entitySearchService);
     _entitySearchServiceCache = new EntitySearchServiceCache(cacheManager, entitySearchService, batchSize, enableCache);
     _allEntitiesSearchAggregatorCache =
@@ -75,6 +77,25 @@ public class SearchService {
     }
   }
 
+  /**
+   * Gets a page of documents that match given search request, continuing from the page identified by the scroll id.
+   * Meant for clients paging through whole result sets, e.g. exports: every page costs the same regardless of its
+   * depth, and results are neither cached nor re-ranked so that the order stays stable across pages.
+   *
+   * @param entityName name of the entity
+   * @param input the search input text
+   * @param postFilters the request map with fields and values as filters to be applied to search hits
+   * @param sortCriterion {@link SortCriterion} to be applied to search results
+   * @param scrollId scroll id returned with the previous page, null for the first page
+   * @param size the number of search hits to return
+   * @return a {@link ScrollResult} that contains a page of matched documents and the scroll id of the next page
+   */
+  @Nonnull
+  public ScrollResult scroll(@Nonnull String entityName, @Nonnull String input, @Nullable Filter postFilters,
+      @Nullable SortCriterion sortCriterion, @Nullable String scrollId, int size) {
+    return _entitySearchService.scroll(entityName, input, postFilters, sortCriterion, scrollId, size);
+  }
+
   /**
    * Gets a list of documents that match given search request across multiple entities. The results are aggregated and filters are applied to the
    * search hits and not the aggregation results.
@@ -14,19 +14,25 @@ import com.linkedin.metadata.search.SearchEntity;
 import com.linkedin.metadata.search.SearchEntityArray;
 import com.linkedin.metadata.search.SearchResult;
 import com.linkedin.metadata.search.SearchResultMetadata;
+import com.linkedin.metadata.search.cache.CacheableSearcher;
 import com.linkedin.metadata.search.cache.EntitySearchServiceCache;
 import com.linkedin.metadata.search.cache.EntityDocCountCache;
 import com.linkedin.metadata.search.ranker.SearchRanker;
 import com.linkedin.metadata.search.utils.SearchUtils;
-import com.linkedin.metadata.utils.ConcurrencyUtils;
 import com.linkedin.metadata.utils.SearchUtil;
 import com.linkedin.metadata.utils.metrics.MetricUtils;
 import com.linkedin.util.Pair;
 import io.opentelemetry.extension.annotations.WithSpan;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -43,11 +49,17 @@ public class AllEntitiesSearchAggregator {
   private final EntityDocCountCache _entityDocCountCache;
 
   private final EntitySearchServiceCache _entitySearchServiceCache;
+  // Dedicated to the entity search requests, so that searches neither block nor are blocked by the common pool
+  private final Executor _searchExecutor;
+  private final long _searchTimeoutMillis;
 
   public AllEntitiesSearchAggregator(EntityRegistry entityRegistry, EntitySearchService entitySearchService,
-      SearchRanker searchRanker, CacheManager cacheManager, int batchSize, boolean enableCache) {
+      SearchRanker searchRanker, CacheManager cacheManager, int batchSize, boolean enableCache,
+      Executor searchExecutor, long searchTimeoutMillis) {
     _entitySearchService = entitySearchService;
     _searchRanker = searchRanker;
+    _searchExecutor = searchExecutor;
+    _searchTimeoutMillis = searchTimeoutMillis;
     _entityDocCountCache = new EntityDocCountCache(entityRegistry, entitySearchService);
     _entitySearchServiceCache = new EntitySearchServiceCache(cacheManager, entitySearchService, batchSize, enableCache);
   }
@@ -135,20 +147,70 @@ public class AllEntitiesSearchAggregator {
         .setMetadata(new SearchResultMetadata().setAggregations(new AggregationMetadataArray()));
   }
 
+  /**
+   * Gets the search results of every entity. The batches of results that are not cached yet are fetched for all
+   * entities at once with a multi search request per batch. Entities whose batches are not fetched within the search
+   * timeout are left out of the results, which is logged and counted by the searchTimeoutEntities metric.
+   */
   @WithSpan
   private Map<String, SearchResult> getSearchResultsForEachEntity(@Nonnull List<String> entities, @Nonnull String input,
       @Nullable Filter postFilters, @Nullable SortCriterion sortCriterion, int queryFrom, int querySize,
       @Nullable SearchFlags searchFlags) {
-    Map<String, SearchResult> searchResults;
-    // Query the entity search service for all entities asynchronously
+    final Map<String, CacheableSearcher<?>> searchers = new LinkedHashMap<>();
+    entities.forEach(entity -> searchers.put(entity,
+        _entitySearchServiceCache.getSearcher(entity, input, postFilters, sortCriterion, searchFlags)));
+
     try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "searchEntities").time()) {
-      searchResults = ConcurrencyUtils.transformAndCollectAsync(entities, entity -> new Pair<>(entity,
-          _entitySearchServiceCache.getSearcher(entity, input, postFilters, sortCriterion, searchFlags)
-              .getSearchResults(queryFrom, querySize)))
+      // Group the entities by the batches they are missing, usually only the first one
+      final Map<CacheableSearcher.QueryPagination, List<String>> entitiesByMissingBatch = new LinkedHashMap<>();
+      searchers.forEach((entity, searcher) -> searcher.getMissingBatches(queryFrom, querySize)
+          .forEach(batch -> entitiesByMissingBatch.computeIfAbsent(batch, key -> new ArrayList<>()).add(entity)));
+
+      final List<CompletableFuture<Void>> futures = entitiesByMissingBatch.entrySet()
+          .stream()
+          .map(entry -> CompletableFuture.runAsync(() -> _entitySearchService.multiSearch(entry.getValue(), input,
+              postFilters, sortCriterion, entry.getKey().getFrom(), entry.getKey().getSize())
+              .forEach((entity, result) -> searchers.get(entity).putBatch(entry.getKey(), result)), _searchExecutor))
+          .collect(Collectors.toList());
+      awaitSearches(futures);
+
+      // Decide once which entities are complete, as searches still running may complete more of them meanwhile
+      final Map<Boolean, List<String>> entitiesByCompleteness = searchers.entrySet()
+          .stream()
+          .collect(Collectors.partitioningBy(
+              entry -> entry.getValue().getMissingBatches(queryFrom, querySize).isEmpty(),
+              Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+      final List<String> timedOutEntities = entitiesByCompleteness.get(false);
+      if (!timedOutEntities.isEmpty()) {
+        MetricUtils.counter(this.getClass(), "searchTimeoutEntities").inc(timedOutEntities.size());
+        log.warn("Search across entities did not complete within {} ms, returning partial results without {}",
+            _searchTimeoutMillis, timedOutEntities);
+      }
+
+      return entitiesByCompleteness.get(true)
           .stream()
+          .map(entity -> new Pair<>(entity, searchers.get(entity).getSearchResults(queryFrom, querySize)))
           .filter(pair -> pair.getValue().getNumEntities() > 0)
           .collect(Collectors.toMap(Pair::getKey, Pair::getValue));
     }
-    return searchResults;
+  }
+
+  private void awaitSearches(@Nonnull List<CompletableFuture<Void>> futures) {
+    final CompletableFuture<Void> allSearches = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    try {
+      allSearches.get(_searchTimeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      // The searches still running are not cancelled: that would not abort their multi search requests, and when
+      // caching is enabled their results still serve the next search
+      MetricUtils.counter(this.getClass(), "searchTimeout").inc();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new RuntimeException("Search across entities failed", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while searching across entities", e);
+    }
   }
 }
@@ -8,7 +8,6 @@ import java.util.List;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
-import org.javatuples.Quintet;
 import org.springframework.cache.CacheManager;
 
 
@@ -23,9 +22,11 @@ public class AllEntitiesSearchAggregatorCache {
 
   public CacheableSearcher<?> getSearcher(List<String> entities, @Nonnull String input, @Nullable Filter postFilters,
       @Nullable SortCriterion sortCriterion, @Nullable SearchFlags searchFlags) {
+    final long generation = SearchResultCacheManager.getGeneration(cacheManager, entities);
     return new CacheableSearcher<>(cacheManager.getCache(ALL_ENTITIES_SEARCH_AGGREGATOR_CACHE_NAME), batchSize,
         querySize -> aggregator.search(entities, input, postFilters, sortCriterion, querySize.getFrom(),
             querySize.getSize(), searchFlags),
-        querySize -> Quintet.with(entities, input, postFilters, sortCriterion, querySize), searchFlags, enableCache);
+        querySize -> SearchCacheKey.of(entities, generation, input, postFilters, sortCriterion, querySize), searchFlags,
+        enableCache);
   }
 }
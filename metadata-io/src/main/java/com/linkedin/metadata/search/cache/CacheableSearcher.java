@@ -5,7 +5,10 @@ import com.linkedin.metadata.search.SearchEntity;
 import com.linkedin.metadata.search.SearchEntityArray;
 import com.linkedin.metadata.search.SearchResult;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -29,6 +32,8 @@ public class CacheableSearcher<K> {
   @Nullable
   private final SearchFlags searchFlags;
   private final boolean enableCache;
+  // Batches fetched ahead of time, e.g. in a single request together with the batches of other entities
+  private final Map<QueryPagination, SearchResult> prefetchedBatches = new ConcurrentHashMap<>();
 
   @Value
   public static class QueryPagination {
@@ -36,21 +41,83 @@ public class CacheableSearcher<K> {
     int size;
   }
 
+  /**
+   * Number of results preceding each batch, for the batches fetched so far. Lets deep pages start from the batch
+   * containing "from" rather than walking all batches from the beginning.
+   */
+  @Value
+  static class BatchOffsets {
+    static final BatchOffsets EMPTY = new BatchOffsets(new int[]{0}, false);
+
+    // offsets[i] is the number of results in batches 0..i-1, so offsets.length - 1 batches are known
+    int[] offsets;
+    // Whether the last known batch is the final one, i.e. later batches return no results
+    boolean complete;
+
+    int getNumBatches() {
+      return offsets.length - 1;
+    }
+
+    int getOffset(int batchId) {
+      return offsets[batchId];
+    }
+
+    /**
+     * Get the first batch that may contain the result at position "from"
+     */
+    int getStartBatch(int from) {
+      int low = 0;
+      int high = getNumBatches();
+      // Find the last batch starting at or before "from"
+      while (low < high) {
+        int mid = (low + high + 1) >>> 1;
+        if (offsets[mid] <= from) {
+          low = mid;
+        } else {
+          high = mid - 1;
+        }
+      }
+      // Past the end of the results, fetch the final batch anyway to return its metadata
+      return complete ? Math.min(low, getNumBatches() - 1) : low;
+    }
+
+    BatchOffsets append(int batchResults, boolean last) {
+      int[] newOffsets = Arrays.copyOf(offsets, offsets.length + 1);
+      newOffsets[offsets.length] = offsets[offsets.length - 1] + batchResults;
+      return new BatchOffsets(newOffsets, last);
+    }
+  }
+
+  @Value
+  static class BatchOffsetsKey {
+    // Cache key of the first batch, identifying the query
+    Object queryKey;
+  }
+
   /**
    * Get search results corresponding to the input "from" and "size"
-   * It goes through batches, starting from the beginning, until we get enough results to return
-   * This let's us have batches that return a variable number of results (we have no idea which batch the "from" "size" page corresponds to)
+   * It goes through batches until we get enough results to return. Batches may return a variable number of results (we
+   * have no idea which batch the "from" "size" page corresponds to), so the number of results of the batches seen so
+   * far is cached per query. Later pages start from the batch containing "from" instead of the first batch.
    */
   public SearchResult getSearchResults(int from, int size) {
-    int resultsSoFar = 0;
-    int batchId = 0;
+    BatchOffsets batchOffsets = getBatchOffsets();
+    int batchId = batchOffsets.getStartBatch(from);
+    int resultsSoFar = batchOffsets.getOffset(batchId);
     boolean foundStart = false;
+    boolean offsetsChanged = false;
     List<SearchEntity> resultEntities = new ArrayList<>();
     SearchResult batchedResult;
     // Use do-while to make sure we run at least one batch to fetch metadata
     do {
       batchedResult = getBatch(batchId);
       int currentBatchSize = batchedResult.getEntities().size();
+      // If current batch is smaller than the requested batch size, the next batch will return empty.
+      boolean lastBatch = currentBatchSize < batchSize;
+      if (batchId == batchOffsets.getNumBatches() && !batchOffsets.isComplete()) {
+        batchOffsets = batchOffsets.append(currentBatchSize, lastBatch);
+        offsetsChanged = true;
+      }
       // If the number of results in this batch is 0, no need to continue
       if (currentBatchSize == 0) {
         break;
@@ -61,13 +128,15 @@ public class CacheableSearcher<K> {
         resultEntities.addAll(batchedResult.getEntities().subList(startInBatch, endInBatch));
         foundStart = true;
       }
-      // If current batch is smaller than the requested batch size, the next batch will return empty.
-      if (currentBatchSize < batchSize) {
+      if (lastBatch) {
         break;
       }
       resultsSoFar += currentBatchSize;
       batchId++;
     } while (resultsSoFar < from + size);
+    if (offsetsChanged && enableCache()) {
+      cache.put(getBatchOffsetsKey(), batchOffsets);
+    }
     return new SearchResult().setEntities(new SearchEntityArray(resultEntities))
         .setMetadata(batchedResult.getMetadata())
         .setFrom(from)
@@ -75,13 +144,57 @@ public class CacheableSearcher<K> {
         .setNumEntities(batchedResult.getNumEntities());
   }
 
+  /**
+   * Get the batches {@link #getSearchResults(int, int)} would have to fetch for the input "from" and "size", i.e. the
+   * batches from the start batch up to the requested page that are neither cached nor prefetched
+   */
+  public List<QueryPagination> getMissingBatches(int from, int size) {
+    BatchOffsets batchOffsets = getBatchOffsets();
+    int startBatchId = batchOffsets.getStartBatch(from);
+    int lastBatchId = startBatchId + Math.max(0, (from + size - 1 - batchOffsets.getOffset(startBatchId)) / batchSize);
+    List<QueryPagination> missingBatches = new ArrayList<>();
+    for (int batchId = startBatchId; batchId <= lastBatchId; batchId++) {
+      QueryPagination batch = getBatchQuerySize(batchId);
+      if (!prefetchedBatches.containsKey(batch) && (!enableCache()
+          || cache.get(cacheKeyGenerator.apply(batch), SearchResult.class) == null)) {
+        missingBatches.add(batch);
+      }
+    }
+    return missingBatches;
+  }
+
+  /**
+   * Provide the result of a batch fetched outside of this searcher
+   */
+  public void putBatch(@Nonnull QueryPagination batch, @Nonnull SearchResult result) {
+    prefetchedBatches.put(batch, result);
+    if (enableCache()) {
+      cache.put(cacheKeyGenerator.apply(batch), result);
+    }
+  }
+
+  private BatchOffsetsKey getBatchOffsetsKey() {
+    return new BatchOffsetsKey(cacheKeyGenerator.apply(getBatchQuerySize(0)));
+  }
+
+  private BatchOffsets getBatchOffsets() {
+    if (!enableCache()) {
+      return BatchOffsets.EMPTY;
+    }
+    BatchOffsets batchOffsets = cache.get(getBatchOffsetsKey(), BatchOffsets.class);
+    return batchOffsets == null ? BatchOffsets.EMPTY : batchOffsets;
+  }
+
   private QueryPagination getBatchQuerySize(int batchId) {
     return new QueryPagination(batchId * batchSize, batchSize);
   }
 
   private SearchResult getBatch(int batchId) {
     QueryPagination batch = getBatchQuerySize(batchId);
-    SearchResult result;
+    SearchResult result = prefetchedBatches.get(batch);
+    if (result != null) {
+      return result;
+    }
     if (enableCache()) {
       K cacheKey = cacheKeyGenerator.apply(batch);
       result = cache.get(cacheKey, SearchResult.class);
@@ -0,0 +1,131 @@
+package com.linkedin.metadata.search.cache;
+
+import com.google.common.cache.CacheBuilder;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.graph.EntityLineageResult;
+import com.linkedin.metadata.graph.LineageDirection;
+import com.linkedin.metadata.graph.LineageRelationship;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.commons.lang3.tuple.Pair;
+import org.springframework.cache.Cache;
+
+
+/**
+ * Caches the multi-hop lineage of an entity, i.e. the result of GraphService.getLineage, so that paging through the
+ * lineage of an entity does not re-run the graph traversal for every page.
+ *
+ * Entries expire after write in the underlying cache, whose TTL should match the one given here. In addition, every urn
+ * in a cached lineage is indexed for that long, so that the entries affected by a change to the edges of an urn can be
+ * invalidated through {@link #invalidate(Collection)}. The index is bounded too; if an urn falls out of it, its
+ * entries are only refreshed once they expire.
+ *
+ * A lineage traversed before an invalidation of one of its urns may be put after it, once the invalidation found
+ * nothing to evict. To drop such lineages, callers take a {@link #stamp()} before traversing and pass it to
+ * {@link #put}, which drops the lineage if any of its urns was invalidated since. Recent invalidations are kept for the
+ * TTL, within the same bound as the index; once one is dropped early, puts stamped before it are dropped as well.
+ */
+public class EntityLineageResultCache {
+  private final Cache cache;
+  // Urn -> keys of the cached lineages containing the urn
+  private final com.google.common.cache.Cache<Urn, Set<Pair<Urn, LineageDirection>>> urnToCacheKeys;
+  // Urn -> invalidation count when it was last invalidated
+  private final com.google.common.cache.Cache<Urn, Long> invalidatedUrns;
+  private final AtomicLong invalidations = new AtomicLong();
+  // Puts stamped before this are dropped, as invalidations up to it may have been dropped from invalidatedUrns
+  private final AtomicLong minStamp = new AtomicLong();
+
+  public EntityLineageResultCache(@Nonnull Cache cache, long ttlSeconds, long maxIndexedUrns) {
+    this.cache = cache;
+    this.urnToCacheKeys = CacheBuilder.newBuilder()
+        .maximumSize(maxIndexedUrns)
+        .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+        .build();
+    this.invalidatedUrns = CacheBuilder.newBuilder()
+        .maximumSize(maxIndexedUrns)
+        .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+        .<Urn, Long>removalListener(notification -> {
+          if (notification.wasEvicted()) {
+            minStamp.accumulateAndGet(notification.getValue(), Math::max);
+          }
+        })
+        .build();
+  }
+
+  /**
+   * Returns the stamp to pass to {@link #put} for a lineage traversed from now on.
+   */
+  public long stamp() {
+    return invalidations.get();
+  }
+
+  @Nullable
+  public EntityLineageResult get(@Nonnull Urn sourceUrn, @Nonnull LineageDirection direction) {
+    Pair<Urn, LineageDirection> key = Pair.of(sourceUrn, direction);
+    EntityLineageResult cachedResult = cache.get(key, EntityLineageResult.class);
+    MetricUtils.counter(this.getClass(), cachedResult == null ? "miss" : "hit").inc();
+    return cachedResult;
+  }
+
+  /**
+   * Caches a lineage, unless one of its urns was invalidated after the given {@link #stamp()} was taken.
+   */
+  public void put(@Nonnull Urn sourceUrn, @Nonnull LineageDirection direction,
+      @Nonnull EntityLineageResult lineageResult, long stamp) {
+    Pair<Urn, LineageDirection> key = Pair.of(sourceUrn, direction);
+    // Index and cache before checking for invalidations: an invalidation either evicts the new entry through the index,
+    // or is seen by the check below
+    index(sourceUrn, key);
+    lineageResult.getRelationships().stream().map(LineageRelationship::getEntity).forEach(urn -> index(urn, key));
+    cache.put(key, lineageResult);
+    if (isInvalidatedSince(sourceUrn, stamp) || lineageResult.getRelationships()
+        .stream()
+        .anyMatch(relationship -> isInvalidatedSince(relationship.getEntity(), stamp))) {
+      cache.evict(key);
+      MetricUtils.counter(this.getClass(), "stalePut").inc();
+    }
+  }
+
+  /**
+   * Invalidates every cached lineage that starts from or passes through one of the provided urns. Call this whenever
+   * edges from or to these urns are added or removed.
+   */
+  public void invalidate(@Nonnull Collection<Urn> urns) {
+    final long invalidation = invalidations.incrementAndGet();
+    for (Urn urn : urns) {
+      invalidatedUrns.put(urn, invalidation);
+      Set<Pair<Urn, LineageDirection>> keys = urnToCacheKeys.getIfPresent(urn);
+      if (keys == null) {
+        continue;
+      }
+      urnToCacheKeys.invalidate(urn);
+      keys.forEach(key -> {
+        cache.evict(key);
+        MetricUtils.counter(this.getClass(), "invalidation").inc();
+      });
+    }
+  }
+
+  private boolean isInvalidatedSince(@Nonnull Urn urn, long stamp) {
+    if (stamp < minStamp.get()) {
+      return true;
+    }
+    Long invalidation = invalidatedUrns.getIfPresent(urn);
+    return invalidation != null && invalidation > stamp;
+  }
+
+  private void index(@Nonnull Urn urn, @Nonnull Pair<Urn, LineageDirection> key) {
+    try {
+      urnToCacheKeys.get(urn, ConcurrentHashMap::newKeySet).add(key);
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
@@ -4,10 +4,10 @@ import com.linkedin.metadata.query.SearchFlags;
 import com.linkedin.metadata.query.filter.Filter;
 import com.linkedin.metadata.query.filter.SortCriterion;
 import com.linkedin.metadata.search.EntitySearchService;
+import java.util.Collections;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
-import org.javatuples.Quintet;
 import org.springframework.cache.CacheManager;
 
 
@@ -22,9 +22,12 @@ public class EntitySearchServiceCache {
 
   public CacheableSearcher<?> getSearcher(@Nonnull String entityName, @Nonnull String input,
       @Nullable Filter postFilters, @Nullable SortCriterion sortCriterion, @Nullable SearchFlags searchFlags) {
+    final long generation =
+        SearchResultCacheManager.getGeneration(cacheManager, Collections.singletonList(entityName));
     return new CacheableSearcher<>(cacheManager.getCache(ENTITY_SEARCH_SERVICE_CACHE_NAME), batchSize,
         querySize -> entitySearchService.search(entityName, input, postFilters, sortCriterion, querySize.getFrom(),
-            querySize.getSize()), querySize -> Quintet.with(entityName, input, postFilters, sortCriterion, querySize),
-        searchFlags, enableCache);
+            querySize.getSize()),
+        querySize -> SearchCacheKey.of(Collections.singletonList(entityName), generation, input, postFilters,
+            sortCriterion, querySize), searchFlags, enableCache);
   }
 }
@@ -0,0 +1,76 @@
+package com.linkedin.metadata.search.cache;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.linkedin.data.codec.JacksonDataCodec;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.query.filter.Filter;
+import com.linkedin.metadata.query.filter.SortCriterion;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+
+
+/**
+ * Compact cache key of a batch of search results.
+ *
+ * The searched entities and their generation are kept so that cached results can be invalidated by entity type, see
+ * {@link SearchResultCacheManager}. The rest of the query is reduced to a 128 bit hash of its normalized form, so keys
+ * neither hold on to the filter records nor compare them on every lookup.
+ */
+@Value
+public class SearchCacheKey {
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+  private static final JacksonDataCodec CANONICAL_CODEC = new JacksonDataCodec();
+
+  static {
+    // Equal records map to the same bytes regardless of the order their fields were set in
+    CANONICAL_CODEC.setSortKeys(true);
+  }
+
+  // Sorted names of the searched entities, empty if all entities are searched
+  List<String> entityNames;
+  // Generation of the searched entities when the results were cached
+  long generation;
+  HashCode queryHash;
+  int from;
+  int size;
+
+  @Nonnull
+  public static SearchCacheKey of(@Nonnull Collection<String> entityNames, @Nonnull String input,
+      @Nullable Filter filter, @Nullable SortCriterion sortCriterion, @Nonnull CacheableSearcher.QueryPagination batch) {
+    return of(entityNames, 0, input, filter, sortCriterion, batch);
+  }
+
+  @Nonnull
+  public static SearchCacheKey of(@Nonnull Collection<String> entityNames, long generation, @Nonnull String input,
+      @Nullable Filter filter, @Nullable SortCriterion sortCriterion, @Nonnull CacheableSearcher.QueryPagination batch) {
+    final Hasher hasher = HASH_FUNCTION.newHasher();
+    // Empty input is searched as a wildcard
+    hasher.putString(input.isEmpty() ? "*" : input, StandardCharsets.UTF_8);
+    putRecord(hasher, filter);
+    putRecord(hasher, sortCriterion);
+    return new SearchCacheKey(ImmutableList.sortedCopyOf(entityNames), generation, hasher.hash(), batch.getFrom(),
+        batch.getSize());
+  }
+
+  private static void putRecord(@Nonnull Hasher hasher, @Nullable RecordTemplate record) {
+    if (record == null) {
+      hasher.putInt(0);
+      return;
+    }
+    try {
+      final byte[] bytes = CANONICAL_CODEC.mapToBytes(record.data());
+      hasher.putInt(bytes.length).putBytes(bytes);
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to serialize " + record, e);
+    }
+  }
+}
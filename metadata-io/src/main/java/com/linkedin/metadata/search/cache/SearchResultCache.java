@@ -0,0 +1,172 @@
+package com.linkedin.metadata.search.cache;
+
+import com.datahub.util.RecordUtils;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.linkedin.data.codec.JacksonDataCodec;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+
+/**
+ * {@link Cache} for search results that is bounded by the approximate number of bytes it holds rather than by its
+ * number of entries, since a cached batch may hold anything from no hits to thousands of them.
+ *
+ * Records are weighed by their serialized size. If serialized storage is enabled, they are also kept in their
+ * serialized form, which takes a fraction of the heap of the record objects at the cost of deserializing on every hit.
+ * Other values, e.g. the batch offsets of {@link CacheableSearcher}, are kept as they are.
+ */
+public class SearchResultCache implements Cache {
+  private static final JacksonDataCodec CODEC = new JacksonDataCodec();
+  // Estimated size of values that are not records
+  private static final int OBJECT_WEIGHT = 64;
+
+  private final String name;
+  private final boolean serialized;
+  private final com.google.common.cache.Cache<Object, CachedValue> cache;
+  private final AtomicLong bytesUsed = new AtomicLong();
+
+  @Value
+  private static class CachedValue {
+    // Either the serialized record or the value itself
+    @Nullable
+    byte[] bytes;
+    @Nullable
+    Object value;
+    @Nullable
+    Class<? extends RecordTemplate> recordClass;
+    int weight;
+  }
+
+  public SearchResultCache(@Nonnull String name, long maxBytes, long ttlSeconds, boolean serialized) {
+    this.name = name;
+    this.serialized = serialized;
+    this.cache = CacheBuilder.newBuilder()
+        .maximumWeight(maxBytes)
+        .weigher((Object key, CachedValue value) -> value.getWeight())
+        .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+        .removalListener(this::onRemoval)
+        .recordStats()
+        .build();
+    MetricUtils.gauge(this.getClass(), name + "_hitRate", () -> cache.stats().hitRate());
+    MetricUtils.gauge(this.getClass(), name + "_bytesUsed", bytesUsed::get);
+    MetricUtils.gauge(this.getClass(), name + "_entries", cache::size);
+  }
+
+  @Override
+  @Nonnull
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  @Nonnull
+  public Object getNativeCache() {
+    return cache;
+  }
+
+  @Override
+  @Nullable
+  public ValueWrapper get(@Nonnull Object key) {
+    CachedValue cachedValue = cache.getIfPresent(key);
+    return cachedValue == null ? null : new SimpleValueWrapper(toValue(cachedValue));
+  }
+
+  @Override
+  @Nullable
+  public <T> T get(@Nonnull Object key, @Nullable Class<T> type) {
+    CachedValue cachedValue = cache.getIfPresent(key);
+    if (cachedValue == null) {
+      return null;
+    }
+    Object value = toValue(cachedValue);
+    if (type != null && !type.isInstance(value)) {
+      throw new IllegalStateException(
+          String.format("Cached value for key %s is not of required type %s: %s", key, type.getName(), value));
+    }
+    return (T) value;
+  }
+
+  @Override
+  @Nullable
+  public <T> T get(@Nonnull Object key, @Nonnull Callable<T> valueLoader) {
+    try {
+      return (T) toValue(cache.get(key, () -> {
+        CachedValue cachedValue = toCachedValue(valueLoader.call());
+        bytesUsed.addAndGet(cachedValue.getWeight());
+        return cachedValue;
+      }));
+    } catch (ExecutionException e) {
+      throw new ValueRetrievalException(key, valueLoader, e.getCause());
+    }
+  }
+
+  @Override
+  public void put(@Nonnull Object key, @Nullable Object value) {
+    if (value == null) {
+      evict(key);
+      return;
+    }
+    CachedValue cachedValue = toCachedValue(value);
+    cache.put(key, cachedValue);
+    bytesUsed.addAndGet(cachedValue.getWeight());
+  }
+
+  @Override
+  public void evict(@Nonnull Object key) {
+    cache.invalidate(key);
+  }
+
+  @Override
+  public void clear() {
+    cache.invalidateAll();
+  }
+
+  public long getBytesUsed() {
+    return bytesUsed.get();
+  }
+
+  private void onRemoval(@Nonnull RemovalNotification<Object, CachedValue> notification) {
+    if (notification.getValue() != null) {
+      bytesUsed.addAndGet(-notification.getValue().getWeight());
+    }
+  }
+
+  @Nonnull
+  private CachedValue toCachedValue(@Nonnull Object value) {
+    if (!(value instanceof RecordTemplate)) {
+      return new CachedValue(null, value, null, OBJECT_WEIGHT);
+    }
+    RecordTemplate record = (RecordTemplate) value;
+    byte[] bytes;
+    try {
+      bytes = CODEC.mapToBytes(record.data());
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to serialize " + record.getClass().getSimpleName(), e);
+    }
+    return serialized ? new CachedValue(bytes, null, record.getClass(), bytes.length)
+        : new CachedValue(null, value, null, bytes.length);
+  }
+
+  @Nonnull
+  private Object toValue(@Nonnull CachedValue cachedValue) {
+    if (cachedValue.getBytes() == null) {
+      return cachedValue.getValue();
+    }
+    try {
+      return RecordUtils.toRecordTemplate(cachedValue.getRecordClass(), CODEC.bytesToMap(cachedValue.getBytes()));
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to deserialize " + cachedValue.getRecordClass().getSimpleName(), e);
+    }
+  }
+}
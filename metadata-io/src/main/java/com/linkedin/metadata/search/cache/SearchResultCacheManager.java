@@ -0,0 +1,92 @@
+package com.linkedin.metadata.search.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+
+
+/**
+ * {@link CacheManager} of the search result caches of SearchService. Every cache it creates is a
+ * {@link SearchResultCache} bounded to the configured number of bytes.
+ *
+ * Cached results are invalidated by entity type through generations: every {@link SearchCacheKey} holds the generation
+ * of the entities it searches, which {@link #invalidate(Collection)} advances. Results cached under an older generation
+ * are never looked up again and age out of the cache. Searches across several entities, such as the search across all
+ * searchable entities, are affected by almost every write, so they share a single generation which advances at most
+ * once per configured interval after a change, which bounds how stale they can get.
+ *
+ * SearchService only depends on the {@link CacheManager} interface, so a distributed cache manager can be plugged in
+ * instead; invalidation by entity type is then left to that cache's own expiry.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SearchResultCacheManager implements CacheManager {
+  private final long maxBytesPerCache;
+  private final long ttlSeconds;
+  private final boolean serialized;
+  private final long allEntitiesInvalidationIntervalMs;
+  private final ConcurrentMap<String, SearchResultCache> caches = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+  private final AtomicLong allEntitiesGeneration = new AtomicLong();
+  private final AtomicBoolean allEntitiesChanged = new AtomicBoolean();
+  private volatile long allEntitiesInvalidatedAt = 0;
+
+  /**
+   * The generation of the cached results of searches across the given entities, 0 if the cache manager does not
+   * invalidate by generation
+   */
+  static long getGeneration(@Nonnull CacheManager cacheManager, @Nonnull Collection<String> entityNames) {
+    return cacheManager instanceof SearchResultCacheManager
+        ? ((SearchResultCacheManager) cacheManager).getGeneration(entityNames) : 0;
+  }
+
+  @Override
+  @Nonnull
+  public SearchResultCache getCache(@Nonnull String name) {
+    return caches.computeIfAbsent(name, cacheName -> new SearchResultCache(cacheName, maxBytesPerCache, ttlSeconds,
+        serialized));
+  }
+
+  @Override
+  @Nonnull
+  public Collection<String> getCacheNames() {
+    return Collections.unmodifiableSet(caches.keySet());
+  }
+
+  /**
+   * The generation of the cached results of searches across the given entities, or across all entities if empty
+   */
+  public long getGeneration(@Nonnull Collection<String> entityNames) {
+    if (entityNames.size() != 1) {
+      return getAllEntitiesGeneration();
+    }
+    AtomicLong generation = generations.get(entityNames.iterator().next());
+    return generation == null ? 0 : generation.get();
+  }
+
+  /**
+   * Invalidates the cached results of every search across one of the given entities, e.g. after their documents
+   * changed
+   */
+  public void invalidate(@Nonnull Collection<String> entityNames) {
+    log.debug("Invalidating cached search results of entities {}", entityNames);
+    entityNames.forEach(entityName -> generations.computeIfAbsent(entityName, k -> new AtomicLong()).incrementAndGet());
+    allEntitiesChanged.set(true);
+  }
+
+  private long getAllEntitiesGeneration() {
+    final long now = System.currentTimeMillis();
+    if (now - allEntitiesInvalidatedAt >= allEntitiesInvalidationIntervalMs && allEntitiesChanged.getAndSet(false)) {
+      allEntitiesInvalidatedAt = now;
+      return allEntitiesGeneration.incrementAndGet();
+    }
+    return allEntitiesGeneration.get();
+  }
+}
@@ -6,6 +6,7 @@ import com.linkedin.metadata.query.AutoCompleteResult;
 import com.linkedin.metadata.query.filter.Filter;
 import com.linkedin.metadata.query.filter.SortCriterion;
 import com.linkedin.metadata.search.EntitySearchService;
+import com.linkedin.metadata.search.ScrollResult;
 import com.linkedin.metadata.search.SearchResult;
 import com.linkedin.metadata.search.elasticsearch.indexbuilder.EntityIndexBuilders;
 import com.linkedin.metadata.search.elasticsearch.query.ESBrowseDAO;
@@ -51,6 +52,14 @@ public class ElasticSearchService implements EntitySearchService {
     esWriteDAO.upsertDocument(entityName, document, docId);
   }
 
+  @Override
+  public void updateDocumentFields(@Nonnull String entityName, @Nonnull String changedFields,
+      @Nonnull String document, @Nonnull String docId) {
+    log.debug(String.format("Updating Search document fields entityName: %s, changedFields: %s, docId: %s", entityName,
+        changedFields, docId));
+    esWriteDAO.updateDocumentFields(entityName, changedFields, document, docId);
+  }
+
   @Override
   public void deleteDocument(@Nonnull String entityName, @Nonnull String docId) {
     log.debug(String.format("Deleting Search document entityName: %s, docId: %s", entityName, docId));
@@ -67,6 +76,26 @@ public class ElasticSearchService implements EntitySearchService {
     return esSearchDAO.search(entityName, input, postFilters, sortCriterion, from, size);
   }
 
+  @Nonnull
+  @Override
+  public Map<String, SearchResult> multiSearch(@Nonnull List<String> entityNames, @Nonnull String input,
+      @Nullable Filter postFilters, @Nullable SortCriterion sortCriterion, int from, int size) {
+    log.debug(String.format(
+        "Searching Search documents entityNames: %s, input: %s, postFilters: %s, sortCriterion: %s, from: %s, size: %s",
+        entityNames, input, postFilters, sortCriterion, from, size));
+    return esSearchDAO.multiSearch(entityNames, input, postFilters, sortCriterion, from, size);
+  }
+
+  @Nonnull
+  @Override
+  public ScrollResult scroll(@Nonnull String entityName, @Nonnull String input, @Nullable Filter postFilters,
+      @Nullable SortCriterion sortCriterion, @Nullable String scrollId, int size) {
+    log.debug(String.format(
+        "Scrolling Search documents entityName: %s, input: %s, postFilters: %s, sortCriterion: %s, scrollId: %s, size: %s",
+        entityName, input, postFilters, sortCriterion, scrollId, size));
+    return esSearchDAO.scroll(entityName, input, postFilters, sortCriterion, scrollId, size);
+  }
+
   @Nonnull
   @Override
   public SearchResult filter(@Nonnull String entityName, @Nullable Filter filters,
@@ -7,19 +7,30 @@ import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.metadata.query.AutoCompleteResult;
 import com.linkedin.metadata.query.filter.Filter;
 import com.linkedin.metadata.query.filter.SortCriterion;
+import com.linkedin.metadata.search.ScrollResult;
+import com.linkedin.metadata.search.SearchEntityArray;
 import com.linkedin.metadata.search.SearchResult;
+import com.linkedin.metadata.search.SearchResultMetadata;
 import com.linkedin.metadata.search.elasticsearch.query.request.AutocompleteRequestHandler;
 import com.linkedin.metadata.search.elasticsearch.query.request.SearchRequestHandler;
+import com.linkedin.metadata.search.utils.ESUtils;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import com.linkedin.metadata.utils.metrics.MetricUtils;
 import io.opentelemetry.extension.annotations.WithSpan;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.ExceptionsHelper;
+import org.elasticsearch.action.search.MultiSearchRequest;
+import org.elasticsearch.action.search.MultiSearchResponse;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.client.RequestOptions;
@@ -100,6 +111,105 @@ public class ESSearchDAO {
     return executeAndExtract(entitySpec, searchRequest, from, size);
   }
 
+  /**
+   * Runs the search request of every entity within a single multi search request. Failures are handled as in
+   * {@link #search}: entities whose query is malformed are returned with an empty result, any other failure fails the
+   * whole request.
+   *
+   * @param entityNames names of the entities to search
+   * @param input the search input text
+   * @param postFilters the request map with fields and values as filters to be applied to search hits
+   * @param sortCriterion {@link SortCriterion} to be applied to search results
+   * @param from index to start the search from
+   * @param size the number of search hits to return per entity
+   * @return the search result of every entity, keyed by entity name
+   */
+  @Nonnull
+  @WithSpan
+  public Map<String, SearchResult> multiSearch(@Nonnull List<String> entityNames, @Nonnull String input,
+      @Nullable Filter postFilters, @Nullable SortCriterion sortCriterion, int from, int size) {
+    if (entityNames.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    final String finalInput = input.isEmpty() ? "*" : input;
+    Timer.Context searchRequestTimer = MetricUtils.timer(this.getClass(), "multiSearchRequest").time();
+    final List<EntitySpec> entitySpecs = new ArrayList<>(entityNames.size());
+    final MultiSearchRequest multiSearchRequest = new MultiSearchRequest();
+    for (String entityName : entityNames) {
+      EntitySpec entitySpec = entityRegistry.getEntitySpec(entityName);
+      final SearchRequest searchRequest = SearchRequestHandler.getBuilder(entitySpec)
+          .getSearchRequest(finalInput, postFilters, sortCriterion, from, size);
+      searchRequest.indices(indexConvention.getIndexName(entitySpec));
+      multiSearchRequest.add(searchRequest);
+      entitySpecs.add(entitySpec);
+    }
+    searchRequestTimer.stop();
+
+    final MultiSearchResponse multiSearchResponse;
+    try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "esMultiSearch").time()) {
+      multiSearchResponse = client.msearch(multiSearchRequest, RequestOptions.DEFAULT);
+    } catch (Exception e) {
+      log.error("Multi search query failed", e);
+      throw new ESQueryException("Multi search query failed:", e);
+    }
+
+    final Map<String, SearchResult> results = new HashMap<>();
+    final MultiSearchResponse.Item[] items = multiSearchResponse.getResponses();
+    for (int i = 0; i < items.length; i++) {
+      final String entityName = entityNames.get(i);
+      if (items[i].isFailure()) {
+        MetricUtils.counter(this.getClass(), "multiSearchItemFailure").inc();
+        if (ExceptionsHelper.status(items[i].getFailure()).getStatus() == 400) {
+          // Malformed query -- Could indicate bad search syntax. Return empty response.
+          log.warn("Received 400 from Elasticsearch for entity {}. Returning empty search response", entityName,
+              items[i].getFailure());
+          results.put(entityName, new SearchResult().setEntities(new SearchEntityArray())
+              .setMetadata(new SearchResultMetadata())
+              .setFrom(from)
+              .setPageSize(size)
+              .setNumEntities(0));
+          continue;
+        }
+        log.error("Search query for entity {} failed", entityName, items[i].getFailure());
+        throw new ESQueryException("Search query failed:", items[i].getFailure());
+      }
+      results.put(entityName,
+          SearchRequestHandler.getBuilder(entitySpecs.get(i)).extractResult(items[i].getResponse(), from, size));
+    }
+    return results;
+  }
+
+  /**
+   * Gets a page of documents that match given search request, starting after the last hit of the previous page. Pages
+   * are fetched with search_after on the sort order of {@link #search}, which always ends with the urn, so no hit is
+   * skipped or repeated unless the index changes while paging.
+   *
+   * @param input the search input text
+   * @param postFilters the request map with fields and values as filters to be applied to search hits
+   * @param sortCriterion {@link SortCriterion} to be applied to search results
+   * @param scrollId scroll id of the previous page, null for the first page
+   * @param size the number of search hits to return
+   * @return a {@link ScrollResult} that contains the page of matched documents and the scroll id of the next page
+   */
+  @Nonnull
+  @WithSpan
+  public ScrollResult scroll(@Nonnull String entityName, @Nonnull String input, @Nullable Filter postFilters,
+      @Nullable SortCriterion sortCriterion, @Nullable String scrollId, int size) {
+    final String finalInput = input.isEmpty() ? "*" : input;
+    final Object[] searchAfter = scrollId == null ? null : ESUtils.decodeScrollId(scrollId);
+    EntitySpec entitySpec = entityRegistry.getEntitySpec(entityName);
+    final SearchRequest searchRequest = SearchRequestHandler.getBuilder(entitySpec)
+        .getScrollRequest(finalInput, postFilters, sortCriterion, searchAfter, size);
+    searchRequest.indices(indexConvention.getIndexName(entitySpec));
+    try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "esScroll").time()) {
+      final SearchResponse searchResponse = client.search(searchRequest, RequestOptions.DEFAULT);
+      return SearchRequestHandler.getBuilder(entitySpec).extractScrollResult(searchResponse, size);
+    } catch (Exception e) {
+      log.error("Scroll query failed", e);
+      throw new ESQueryException("Scroll query failed:", e);
+    }
+  }
+
   /**
    * Gets a list of documents after applying the input filters.
    *
@@ -14,6 +14,7 @@ import com.linkedin.metadata.search.AggregationMetadataArray;
 import com.linkedin.metadata.search.FilterValueArray;
 import com.linkedin.metadata.search.MatchedField;
 import com.linkedin.metadata.search.MatchedFieldArray;
+import com.linkedin.metadata.search.ScrollResult;
 import com.linkedin.metadata.search.SearchEntity;
 import com.linkedin.metadata.search.SearchEntityArray;
 import com.linkedin.metadata.search.SearchResult;
@@ -149,6 +150,42 @@ public class SearchRequestHandler {
     return searchRequest;
   }
 
+  /**
+   * Constructs the search query for a page of a cursor based search. Unlike {@link #getSearchRequest}, the page starts
+   * after the given sort values instead of at an offset, so deep pages are as cheap as the first one. Aggregations are
+   * skipped since they do not change from page to page.
+   *
+   * @param input the search input text
+   * @param filter the search filter
+   * @param sortCriterion {@link SortCriterion} to be applied to the search results
+   * @param searchAfter sort values of the last hit of the previous page, null for the first page
+   * @param size the number of search hits to return
+   * @return a valid search request
+   */
+  @Nonnull
+  @WithSpan
+  public SearchRequest getScrollRequest(@Nonnull String input, @Nullable Filter filter,
+      @Nullable SortCriterion sortCriterion, @Nullable Object[] searchAfter, int size) {
+    SearchRequest searchRequest = new SearchRequest();
+    SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+
+    searchSourceBuilder.size(size);
+    searchSourceBuilder.fetchSource("urn", null);
+    if (searchAfter != null) {
+      searchSourceBuilder.searchAfter(searchAfter);
+    }
+
+    BoolQueryBuilder filterQuery = getFilterQuery(filter);
+    searchSourceBuilder.query(QueryBuilders.boolQuery().must(getQuery(input)).must(filterQuery));
+    searchSourceBuilder.highlighter(getHighlights());
+    // The sort order always ends with the urn, so the sort values of a hit are unique and can be searched after
+    ESUtils.buildSortOrder(searchSourceBuilder, sortCriterion);
+    searchRequest.source(searchSourceBuilder);
+    log.debug("Scroll request is: " + searchRequest.toString());
+
+    return searchRequest;
+  }
+
   /**
    * Returns a {@link SearchRequest} given filters to be applied to search query and sort criterion to be applied to
    * search results.
@@ -234,6 +271,25 @@ public class SearchRequestHandler {
         .setNumEntities(totalCount);
   }
 
+  @WithSpan
+  public ScrollResult extractScrollResult(@Nonnull SearchResponse searchResponse, int size) {
+    int totalCount = (int) searchResponse.getHits().getTotalHits().value;
+    SearchHit[] hits = searchResponse.getHits().getHits();
+    List<SearchEntity> resultList = getResults(searchResponse);
+    SearchResultMetadata searchResultMetadata =
+        new SearchResultMetadata().setAggregations(new AggregationMetadataArray());
+
+    ScrollResult scrollResult = new ScrollResult().setEntities(new SearchEntityArray(resultList))
+        .setMetadata(searchResultMetadata)
+        .setPageSize(size)
+        .setNumEntities(totalCount);
+    // A full page may be followed by more results
+    if (size > 0 && hits.length == size) {
+      scrollResult.setScrollId(ESUtils.encodeScrollId(hits[hits.length - 1].getSortValues()));
+    }
+    return scrollResult;
+  }
+
   @Nonnull
   private List<MatchedField> extractMatchedFields(@Nonnull Map<String, HighlightField> highlightedFields) {
     // Keep track of unique field values that matched for a given field name
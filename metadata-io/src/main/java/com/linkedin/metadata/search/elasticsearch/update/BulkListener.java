@@ -1,37 +1,138 @@
 package com.linkedin.metadata.search.elasticsearch.update;
 
+import com.codahale.metrics.MetricRegistry;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkProcessor;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.rest.RestStatus;
 
 
+/**
+ * Listener shared by the bulk processors. Besides reporting metrics, it keeps track of the bulk requests in flight and
+ * of the actions which failed for good, so that callers can wait for their writes to complete, see
+ * {@link #awaitSentRequests(long)}.
+ */
 @Slf4j
 public class BulkListener implements BulkProcessor.Listener {
   private static final BulkListener INSTANCE = new BulkListener();
 
+  private final AtomicLong failedActions = new AtomicLong();
+  // Every bulk request in flight, guarded by this. Keyed by identity, as execution ids are only unique per processor
+  private final Map<BulkRequest, InFlightRequest> inFlightRequests = new IdentityHashMap<>();
+  private final TreeSet<Long> inFlightSequenceNumbers = new TreeSet<>();
+  private long nextSequenceNumber = 0;
+
   public static BulkListener getInstance() {
     return INSTANCE;
   }
 
+  /**
+   * Waits until the bulk requests sent so far by any bulk processor completed, and returns whether they did within the
+   * timeout. Requests sent while waiting are not waited for.
+   */
+  public synchronized boolean awaitSentRequests(long timeoutMillis) throws InterruptedException {
+    final long sentBefore = nextSequenceNumber;
+    final long deadline = System.currentTimeMillis() + timeoutMillis;
+    while (!inFlightSequenceNumbers.isEmpty() && inFlightSequenceNumbers.first() < sentBefore) {
+      final long remainingMillis = deadline - System.currentTimeMillis();
+      if (remainingMillis <= 0) {
+        return false;
+      }
+      wait(remainingMillis);
+    }
+    return true;
+  }
+
+  /**
+   * Number of actions which failed for good, i.e. were neither written nor retried any further, since startup
+   */
+  public long getFailedActions() {
+    return failedActions.get();
+  }
+
   @Override
   public void beforeBulk(long executionId, BulkRequest request) {
-
+    synchronized (this) {
+      inFlightRequests.put(request, new InFlightRequest(nextSequenceNumber, System.nanoTime()));
+      inFlightSequenceNumbers.add(nextSequenceNumber++);
+    }
+    MetricUtils.get()
+        .histogram(MetricRegistry.name(this.getClass(), "bulkBytes"))
+        .update(request.estimatedSizeInBytes());
+    MetricUtils.get()
+        .histogram(MetricRegistry.name(this.getClass(), "bulkActions"))
+        .update(request.numberOfActions());
   }
 
   @Override
   public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+    updateLatency(request);
     if (response.hasFailures()) {
+      // Rejections are left after the retries with backoff ran out
+      final long rejected = Arrays.stream(response.getItems())
+          .filter(item -> item.isFailed() && item.status() == RestStatus.TOO_MANY_REQUESTS)
+          .count();
+      final long failed = Arrays.stream(response.getItems()).filter(BulkItemResponse::isFailed).count();
+      MetricUtils.counter(this.getClass(), "bulkRejections").inc(rejected);
+      MetricUtils.counter(this.getClass(), "bulkFailures").inc(failed - rejected);
+      failedActions.addAndGet(failed);
       log.error("Failed to feed bulk request. Number of events: " + response.getItems().length + " Took time ms: "
               + response.getIngestTookInMillis() + " Message: " + response.buildFailureMessage());
     } else {
       log.info("Successfully fed bulk request. Number of events: " + response.getItems().length + " Took time ms: "
               + response.getIngestTookInMillis());
     }
+    complete(request);
   }
 
   @Override
   public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+    updateLatency(request);
+    MetricUtils.counter(this.getClass(), "bulkFailures").inc(request.numberOfActions());
+    failedActions.addAndGet(request.numberOfActions());
     log.error("Error feeding bulk request. No retries left", failure);
+    complete(request);
+  }
+
+  /**
+   * Records the round trip latency of the request, including its retries, rather than the time Elasticsearch reports
+   * it took, which leaves out the time spent queueing and on the network
+   */
+  private void updateLatency(BulkRequest request) {
+    final InFlightRequest inFlightRequest;
+    synchronized (this) {
+      inFlightRequest = inFlightRequests.get(request);
+    }
+    if (inFlightRequest != null) {
+      MetricUtils.timer(this.getClass(), "bulkLatency")
+          .update(System.nanoTime() - inFlightRequest.startNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private synchronized void complete(BulkRequest request) {
+    final InFlightRequest inFlightRequest = inFlightRequests.remove(request);
+    if (inFlightRequest != null) {
+      inFlightSequenceNumbers.remove(inFlightRequest.sequenceNumber);
+      notifyAll();
+    }
+  }
+
+  private static class InFlightRequest {
+    private final long sequenceNumber;
+    private final long startNanos;
+
+    private InFlightRequest(long sequenceNumber, long startNanos) {
+      this.sequenceNumber = sequenceNumber;
+      this.startNanos = startNanos;
+    }
   }
 }
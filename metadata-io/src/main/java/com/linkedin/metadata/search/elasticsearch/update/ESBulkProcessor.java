@@ -0,0 +1,189 @@
+package com.linkedin.metadata.search.elasticsearch.update;
+
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BackoffPolicy;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
+
+
+/**
+ * Writes documents to Elasticsearch through one {@link BulkProcessor} per index, so that a slow or hot index does not
+ * hold back the writes to the others.
+ *
+ * A bulk request is sent once it reaches the configured number of actions or bytes, or when the flush interval passes.
+ * Requests rejected with 429 are retried with jittered exponential backoff. The number of requests that were added but
+ * not yet acknowledged by Elasticsearch is tracked, and callers can check {@link #isBackpressured()} to slow down
+ * rather than pile up writes while Elasticsearch falls behind.
+ */
+@Slf4j
+public class ESBulkProcessor implements Closeable {
+  private final RestHighLevelClient searchClient;
+  private final int bulkActions;
+  private final long bulkSizeBytes;
+  private final long flushIntervalMillis;
+  private final int concurrentRequests;
+  private final BackoffPolicy backoffPolicy;
+  private final long maxPendingRequests;
+
+  private final ConcurrentMap<String, BulkProcessor> processors = new ConcurrentHashMap<>();
+  private final AtomicLong pendingRequests = new AtomicLong();
+
+  public ESBulkProcessor(@Nonnull RestHighLevelClient searchClient, int bulkActions, long bulkSizeBytes,
+      long flushIntervalMillis, int concurrentRequests, int numRetries, long retryIntervalMillis,
+      long maxPendingRequests) {
+    this.searchClient = searchClient;
+    this.bulkActions = bulkActions;
+    this.bulkSizeBytes = bulkSizeBytes;
+    this.flushIntervalMillis = flushIntervalMillis;
+    this.concurrentRequests = concurrentRequests;
+    this.backoffPolicy = jitteredBackoff(TimeValue.timeValueMillis(retryIntervalMillis), numRetries);
+    this.maxPendingRequests = maxPendingRequests;
+    MetricUtils.gauge(this.getClass(), "pendingRequests", pendingRequests::get);
+  }
+
+  /**
+   * Adds the request to the bulk queue of its index
+   */
+  public void add(@Nonnull DocWriteRequest<?> request) {
+    pendingRequests.incrementAndGet();
+    try {
+      processors.computeIfAbsent(request.index(), this::buildProcessor).add(request);
+    } catch (RuntimeException e) {
+      pendingRequests.decrementAndGet();
+      throw e;
+    }
+  }
+
+  /**
+   * Whether more requests are pending than the configured limit, i.e. Elasticsearch does not keep up with the writes
+   */
+  public boolean isBackpressured() {
+    return pendingRequests.get() >= maxPendingRequests;
+  }
+
+  /**
+   * Whether the pending requests dropped to half the limit, so that writers paused on {@link #isBackpressured()} can
+   * resume without flapping
+   */
+  public boolean hasRecovered() {
+    return pendingRequests.get() <= maxPendingRequests / 2;
+  }
+
+  public long getPendingRequests() {
+    return pendingRequests.get();
+  }
+
+  /**
+   * Sends the queued requests of all indices
+   */
+  public void flush() {
+    processors.values().forEach(BulkProcessor::flush);
+  }
+
+  @Override
+  public void close() {
+    processors.values().forEach(processor -> {
+      try {
+        processor.awaitClose(flushIntervalMillis + TimeUnit.SECONDS.toMillis(30), TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        log.warn("Interrupted while closing bulk processor");
+      }
+    });
+  }
+
+  /**
+   * Exponential backoff with full jitter, so that writers throttled at the same time do not retry all at once
+   *
+   * @param initialDelay upper bound of the first delay, doubled on every retry
+   * @param maxRetries number of retries
+   */
+  @Nonnull
+  public static BackoffPolicy jitteredBackoff(@Nonnull TimeValue initialDelay, int maxRetries) {
+    return new JitteredBackoff(initialDelay.millis(), maxRetries);
+  }
+
+  private BulkProcessor buildProcessor(@Nonnull String index) {
+    log.info("Creating bulk processor for index {}", index);
+    return BulkProcessor.builder((request, bulkListener) -> {
+      searchClient.bulkAsync(request, RequestOptions.DEFAULT, bulkListener);
+    }, new PendingRequestsListener())
+        .setBulkActions(bulkActions)
+        .setBulkSize(new ByteSizeValue(bulkSizeBytes, ByteSizeUnit.BYTES))
+        .setFlushInterval(TimeValue.timeValueMillis(flushIntervalMillis))
+        .setConcurrentRequests(concurrentRequests)
+        .setBackoffPolicy(backoffPolicy)
+        .build();
+  }
+
+  /**
+   * Reports to the shared {@link BulkListener} and releases the completed requests from the pending count
+   */
+  private class PendingRequestsListener implements BulkProcessor.Listener {
+    @Override
+    public void beforeBulk(long executionId, BulkRequest request) {
+      BulkListener.getInstance().beforeBulk(executionId, request);
+    }
+
+    @Override
+    public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+      pendingRequests.addAndGet(-request.numberOfActions());
+      BulkListener.getInstance().afterBulk(executionId, request, response);
+    }
+
+    @Override
+    public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+      pendingRequests.addAndGet(-request.numberOfActions());
+      BulkListener.getInstance().afterBulk(executionId, request, failure);
+    }
+  }
+
+  private static class JitteredBackoff extends BackoffPolicy {
+    private final long initialDelayMillis;
+    private final int maxRetries;
+
+    private JitteredBackoff(long initialDelayMillis, int maxRetries) {
+      this.initialDelayMillis = initialDelayMillis;
+      this.maxRetries = maxRetries;
+    }
+
+    @Override
+    public Iterator<TimeValue> iterator() {
+      return new Iterator<TimeValue>() {
+        private int retry = 0;
+
+        @Override
+        public boolean hasNext() {
+          return retry < maxRetries;
+        }
+
+        @Override
+        public TimeValue next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException("Only up to " + maxRetries + " retries are allowed");
+          }
+          // Cap the exponent so that the delay cannot overflow
+          long maxDelayMillis = initialDelayMillis << Math.min(retry++, 16);
+          return TimeValue.timeValueMillis(ThreadLocalRandom.current().nextLong(maxDelayMillis + 1));
+        }
+      };
+    }
+  }
+}
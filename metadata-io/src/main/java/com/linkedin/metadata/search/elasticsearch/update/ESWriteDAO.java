@@ -6,7 +6,6 @@ import java.io.IOException;
 import javax.annotation.Nonnull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.elasticsearch.action.bulk.BulkProcessor;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.update.UpdateRequest;
@@ -26,10 +25,10 @@ public class ESWriteDAO {
   private final EntityRegistry entityRegistry;
   private final RestHighLevelClient searchClient;
   private final IndexConvention indexConvention;
-  private final BulkProcessor bulkProcessor;
+  private final ESBulkProcessor bulkProcessor;
 
   /**
-   * Updates or inserts the given search document.
+   * Updates or inserts the given search document. ES skips the write if the document is unchanged.
    *
    * @param entityName name of the entity
    * @param document the document to update / insert
@@ -39,7 +38,25 @@ public class ESWriteDAO {
     final String indexName = indexConvention.getIndexName(entityRegistry.getEntitySpec(entityName));
     final IndexRequest indexRequest = new IndexRequest(indexName).id(docId).source(document, XContentType.JSON);
     final UpdateRequest updateRequest =
-        new UpdateRequest(indexName, docId).doc(document, XContentType.JSON).detectNoop(false).upsert(indexRequest);
+        new UpdateRequest(indexName, docId).doc(document, XContentType.JSON).detectNoop(true).upsert(indexRequest);
+    bulkProcessor.add(updateRequest);
+  }
+
+  /**
+   * Merges the given fields into the search document. The full document is only sent along to create the document if
+   * it does not exist yet, and ES skips the write if the fields are unchanged.
+   *
+   * @param entityName name of the entity
+   * @param changedFields the fields to update
+   * @param document the full document to insert if the document does not exist
+   * @param docId the ID of the document
+   */
+  public void updateDocumentFields(@Nonnull String entityName, @Nonnull String changedFields,
+      @Nonnull String document, @Nonnull String docId) {
+    final String indexName = indexConvention.getIndexName(entityRegistry.getEntitySpec(entityName));
+    final IndexRequest indexRequest = new IndexRequest(indexName).id(docId).source(document, XContentType.JSON);
+    final UpdateRequest updateRequest =
+        new UpdateRequest(indexName, docId).doc(changedFields, XContentType.JSON).detectNoop(true).upsert(indexRequest);
     bulkProcessor.add(updateRequest);
   }
 
@@ -0,0 +1,16 @@
+package com.linkedin.metadata.search.transformer;
+
+import java.util.Optional;
+import lombok.Value;
+
+
+/**
+ * The search document of an aspect, along with the fields of it which differ from the search document of the previous
+ * value of the aspect
+ */
+@Value
+public class SearchDocumentDelta {
+  String document;
+  // Empty if the search document is unchanged
+  Optional<String> changedFields;
+}
@@ -0,0 +1,390 @@
+package com.linkedin.metadata.search.transformer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.common.collect.ImmutableSet;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.schema.ArrayDataSchema;
+import com.linkedin.data.schema.DataSchema;
+import com.linkedin.data.schema.PathSpec;
+import com.linkedin.data.schema.RecordDataSchema;
+import com.linkedin.data.schema.UnionDataSchema;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.models.SearchScoreFieldSpec;
+import com.linkedin.metadata.models.SearchableFieldSpec;
+import com.linkedin.metadata.models.annotation.SearchableAnnotation;
+import com.linkedin.metadata.models.annotation.SearchableAnnotation.FieldType;
+import com.linkedin.metadata.models.extractor.FieldExtractor;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Plan to extract the search document of an aspect, compiled once per {@link AspectSpec}.
+ *
+ * The paths of the searchable and search score fields are resolved against the aspect schema up front, so that a
+ * transform walks the raw {@link DataMap} of the aspect without reflection and streams the values straight into a
+ * {@link JsonGenerator}, instead of collecting them into lists and building a JSON tree. The resulting document is the
+ * same as the one built by {@link SearchDocumentTransformer#transformAspectToNode}.
+ */
+@Slf4j
+class SearchDocumentPlan {
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+  private static final String ARRAY_WILDCARD = "*";
+  private static final Set<DataSchema.Type> SUPPORTED_VALUE_TYPES =
+      ImmutableSet.of(DataSchema.Type.BOOLEAN, DataSchema.Type.INT, DataSchema.Type.LONG, DataSchema.Type.FLOAT,
+          DataSchema.Type.DOUBLE, DataSchema.Type.STRING, DataSchema.Type.ENUM, DataSchema.Type.MAP);
+
+  private final List<PlannedField> _searchableFields;
+  private final List<PlannedField> _searchScoreFields;
+  private final int _maxArrayLength;
+
+  private SearchDocumentPlan(List<PlannedField> searchableFields, List<PlannedField> searchScoreFields,
+      int maxArrayLength) {
+    _searchableFields = searchableFields;
+    _searchScoreFields = searchScoreFields;
+    _maxArrayLength = maxArrayLength;
+  }
+
+  /**
+   * Compiles the plan of the aspect. Returns empty if a field path cannot be resolved against the aspect schema, or if
+   * two fields write to the same document field, in which case the aspect has to go through the tree based transform.
+   */
+  @Nonnull
+  static Optional<SearchDocumentPlan> compile(@Nonnull AspectSpec aspectSpec, int maxArrayLength) {
+    final List<PlannedField> searchableFields = new ArrayList<>();
+    final List<PlannedField> searchScoreFields = new ArrayList<>();
+    final Set<String> documentFields = new HashSet<>();
+    documentFields.add("urn");
+
+    for (SearchableFieldSpec fieldSpec : aspectSpec.getSearchableFieldSpecs()) {
+      final SearchableAnnotation annotation = fieldSpec.getSearchableAnnotation();
+      final Optional<PlannedField> field = compileField(aspectSpec, fieldSpec.getPath(), annotation.getFieldName(),
+          annotation.getHasValuesFieldName().orElse(null), annotation.getNumValuesFieldName().orElse(null),
+          annotation.getFieldType(), fieldSpec.getPegasusSchema().getType(), fieldSpec.isArray());
+      if (!field.isPresent() || !addDocumentFields(documentFields, field.get())) {
+        return Optional.empty();
+      }
+      searchableFields.add(field.get());
+    }
+
+    for (SearchScoreFieldSpec fieldSpec : aspectSpec.getSearchScoreFieldSpecs()) {
+      final Optional<PlannedField> field =
+          compileField(aspectSpec, fieldSpec.getPath(), fieldSpec.getSearchScoreAnnotation().getFieldName(), null,
+              null, null, fieldSpec.getPegasusSchema().getType(), false);
+      if (!field.isPresent() || !addDocumentFields(documentFields, field.get())) {
+        return Optional.empty();
+      }
+      searchScoreFields.add(field.get());
+    }
+
+    return Optional.of(new SearchDocumentPlan(searchableFields, searchScoreFields, maxArrayLength));
+  }
+
+  /**
+   * Whether the aspect has no searchable or search score fields, i.e. does not contribute to the search document
+   */
+  boolean isEmpty() {
+    return _searchableFields.isEmpty() && _searchScoreFields.isEmpty();
+  }
+
+  @Nonnull
+  String transform(@Nonnull Urn urn, @Nonnull RecordTemplate aspect, boolean forDelete) {
+    final StringWriter writer = new StringWriter();
+    try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+      generator.writeStartObject();
+      generator.writeStringField("urn", urn.toString());
+      for (PlannedField field : _searchableFields) {
+        writeSearchableField(generator, field, aspect.data(), forDelete);
+      }
+      for (PlannedField field : _searchScoreFields) {
+        writeSearchScoreField(generator, field, aspect.data(), forDelete);
+      }
+      generator.writeEndObject();
+    } catch (IOException e) {
+      throw new RuntimeException(String.format("Failed to write search document of %s", urn), e);
+    }
+    return writer.toString();
+  }
+
+  private void writeSearchableField(JsonGenerator generator, PlannedField field, DataMap aspectData,
+      boolean forDelete) throws IOException {
+    if (forDelete) {
+      if (field.getHasValuesFieldName() != null) {
+        generator.writeBooleanField(field.getHasValuesFieldName(), false);
+      }
+      if (field.getNumValuesFieldName() != null) {
+        generator.writeNumberField(field.getNumValuesFieldName(), 0);
+      }
+      generator.writeNullField(field.getFieldName());
+      return;
+    }
+
+    final FieldValues values;
+    if (field.isArray()) {
+      // Values past the max array length are only counted
+      generator.writeArrayFieldStart(field.getFieldName());
+      values = new FieldValues(field, generator);
+      collect(aspectData, 0, values);
+      generator.writeEndArray();
+    } else {
+      values = new FieldValues(field, null);
+      collect(aspectData, 0, values);
+      if (values.count > 0 && !isEmptyText(field, values.first)) {
+        generator.writeFieldName(field.getFieldName());
+        writeValue(generator, field, values.first);
+      }
+    }
+
+    if (field.getHasValuesFieldName() != null) {
+      generator.writeBooleanField(field.getHasValuesFieldName(),
+          field.getValueType() == DataSchema.Type.BOOLEAN ? values.count > 0 && (Boolean) values.first
+              : values.count > 0);
+    }
+    if (field.getNumValuesFieldName() != null) {
+      switch (field.getValueType()) {
+        case INT:
+          generator.writeNumberField(field.getNumValuesFieldName(), values.count > 0 ? (Integer) values.first : 0);
+          break;
+        case LONG:
+          generator.writeNumberField(field.getNumValuesFieldName(), values.count > 0 ? (Long) values.first : 0L);
+          break;
+        default:
+          generator.writeNumberField(field.getNumValuesFieldName(), values.count);
+          break;
+      }
+    }
+  }
+
+  private void writeSearchScoreField(JsonGenerator generator, PlannedField field, DataMap aspectData,
+      boolean forDelete) throws IOException {
+    if (forDelete) {
+      generator.writeNullField(field.getFieldName());
+      return;
+    }
+
+    final FieldValues values = new FieldValues(field, null);
+    collect(aspectData, 0, values);
+    if (values.count == 0) {
+      return;
+    }
+    switch (field.getValueType()) {
+      case INT:
+        generator.writeNumberField(field.getFieldName(), (Integer) values.first);
+        return;
+      case LONG:
+        generator.writeNumberField(field.getFieldName(), (Long) values.first);
+        return;
+      case FLOAT:
+        generator.writeNumberField(field.getFieldName(), (Float) values.first);
+        return;
+      case DOUBLE:
+        generator.writeNumberField(field.getFieldName(), (Double) values.first);
+        return;
+      default:
+        // Only the above types are supported
+        throw new IllegalArgumentException(
+            String.format("SearchScore fields must be a numeric type: field %s, value %s", field.getFieldName(),
+                values.first));
+    }
+  }
+
+  /**
+   * Walks the path of the field from the given step on, and adds every value found at its end. Absent fields fall back
+   * to their schema default, like the generated getters do.
+   */
+  private void collect(Object data, int fromStep, FieldValues values) throws IOException {
+    final PlannedField field = values.field;
+    Object current = data;
+    for (int i = fromStep; i < field.getSteps().length; i++) {
+      final Step step = field.getSteps()[i];
+      if (step.isWildcard()) {
+        if (current instanceof DataList) {
+          for (Object element : (DataList) current) {
+            collect(element, i + 1, values);
+          }
+        }
+        return;
+      }
+      if (!(current instanceof DataMap)) {
+        return;
+      }
+      Object next = ((DataMap) current).get(step.getName());
+      if (next == null) {
+        next = step.getDefaultValue();
+      }
+      if (next == null) {
+        return;
+      }
+      current = next;
+    }
+
+    if (field.getValueType() == DataSchema.Type.MAP) {
+      // Maps are indexed as a list of key=value, skipping long values
+      for (Map.Entry<String, Object> entry : ((DataMap) current).entrySet()) {
+        final String value = entry.getValue().toString();
+        if (value.length() < FieldExtractor.MAX_VALUE_LENGTH) {
+          values.add(entry.getKey() + "=" + value);
+        }
+      }
+    } else {
+      values.add(coerce(field.getValueType(), current));
+    }
+  }
+
+  /**
+   * Numbers in a raw data map are not necessarily stored with the type of their schema
+   */
+  private static Object coerce(DataSchema.Type valueType, Object value) {
+    switch (valueType) {
+      case INT:
+        return ((Number) value).intValue();
+      case LONG:
+        return ((Number) value).longValue();
+      case FLOAT:
+        return ((Number) value).floatValue();
+      case DOUBLE:
+        return ((Number) value).doubleValue();
+      default:
+        return value;
+    }
+  }
+
+  private static boolean isEmptyText(PlannedField field, Object value) {
+    switch (field.getValueType()) {
+      case BOOLEAN:
+      case INT:
+      case LONG:
+        return false;
+      default:
+        // Browse paths are prefixed with a slash, so they are never considered empty
+        return field.getFieldType() != FieldType.BROWSE_PATH && value.toString().isEmpty();
+    }
+  }
+
+  private static void writeValue(JsonGenerator generator, PlannedField field, Object value) throws IOException {
+    switch (field.getValueType()) {
+      case BOOLEAN:
+        generator.writeBoolean((Boolean) value);
+        break;
+      case INT:
+        generator.writeNumber((Integer) value);
+        break;
+      case LONG:
+        generator.writeNumber((Long) value);
+        break;
+      default:
+        generator.writeString(value.toString());
+        break;
+    }
+  }
+
+  private static Optional<PlannedField> compileField(AspectSpec aspectSpec, PathSpec path, String fieldName,
+      @Nullable String hasValuesFieldName, @Nullable String numValuesFieldName, @Nullable FieldType fieldType,
+      DataSchema.Type valueType, boolean isArray) {
+    if (!SUPPORTED_VALUE_TYPES.contains(valueType) || (isArray && valueType == DataSchema.Type.MAP)) {
+      log.info("Transforming aspect {} without a plan, field {} has unsupported type {}", aspectSpec.getName(), path,
+          valueType);
+      return Optional.empty();
+    }
+
+    final List<Step> steps = new ArrayList<>();
+    DataSchema schema = aspectSpec.getPegasusSchema();
+    for (String component : path.getPathComponents()) {
+      schema = schema.getDereferencedDataSchema();
+      if (ARRAY_WILDCARD.equals(component) && schema.getType() == DataSchema.Type.ARRAY) {
+        steps.add(Step.WILDCARD);
+        schema = ((ArrayDataSchema) schema).getItems();
+      } else if (schema.getType() == DataSchema.Type.RECORD
+          && ((RecordDataSchema) schema).getField(component) != null) {
+        final RecordDataSchema.Field recordField = ((RecordDataSchema) schema).getField(component);
+        steps.add(new Step(component, recordField.getDefault(), false));
+        schema = recordField.getType();
+      } else if (schema.getType() == DataSchema.Type.UNION
+          && ((UnionDataSchema) schema).getTypeByMemberKey(component) != null) {
+        steps.add(new Step(component, null, false));
+        schema = ((UnionDataSchema) schema).getTypeByMemberKey(component);
+      } else {
+        log.info("Transforming aspect {} without a plan, cannot resolve path {}", aspectSpec.getName(), path);
+        return Optional.empty();
+      }
+    }
+
+    return Optional.of(new PlannedField(fieldName, hasValuesFieldName, numValuesFieldName, fieldType, valueType,
+        isArray || valueType == DataSchema.Type.MAP, steps.toArray(new Step[0])));
+  }
+
+  private static boolean addDocumentFields(Set<String> documentFields, PlannedField field) {
+    boolean unique = documentFields.add(field.getFieldName());
+    if (field.getHasValuesFieldName() != null) {
+      unique &= documentFields.add(field.getHasValuesFieldName());
+    }
+    if (field.getNumValuesFieldName() != null) {
+      unique &= documentFields.add(field.getNumValuesFieldName());
+    }
+    return unique;
+  }
+
+  @Value
+  private static class Step {
+    static final Step WILDCARD = new Step(ARRAY_WILDCARD, null, true);
+
+    String name;
+    // Raw schema default of a record field, used if the field is absent
+    @Nullable Object defaultValue;
+    boolean wildcard;
+  }
+
+  @Value
+  private static class PlannedField {
+    String fieldName;
+    @Nullable String hasValuesFieldName;
+    @Nullable String numValuesFieldName;
+    // Only set for searchable fields
+    @Nullable FieldType fieldType;
+    DataSchema.Type valueType;
+    // Whether the values are indexed as an array
+    boolean array;
+    Step[] steps;
+  }
+
+  /**
+   * Counts the values of a field and keeps the first one. If a generator is given, also writes the values to the array
+   * that was started on it, up to the max array length.
+   */
+  private final class FieldValues {
+    private final PlannedField field;
+    @Nullable
+    private final JsonGenerator arrayGenerator;
+    private int count;
+    private Object first;
+
+    private FieldValues(PlannedField field, @Nullable JsonGenerator arrayGenerator) {
+      this.field = field;
+      this.arrayGenerator = arrayGenerator;
+    }
+
+    private void add(Object value) throws IOException {
+      if (count == 0) {
+        first = value;
+      }
+      if (arrayGenerator != null && count < _maxArrayLength && !isEmptyText(field, value)) {
+        writeValue(arrayGenerator, field, value);
+      }
+      count++;
+    }
+  }
+}
@@ -1,6 +1,8 @@
 package com.linkedin.metadata.search.transformer;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -16,6 +18,7 @@ import com.linkedin.metadata.models.extractor.FieldExtractor;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -27,10 +30,15 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class SearchDocumentTransformer {
 
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
   // Number of elements to index for a given array.
   // The cap improves search speed when having fields with a large number of elements
   private final int maxArrayLength;
 
+  // Extraction plans compiled once per aspect. Empty if the aspect is transformed through the JSON tree instead
+  private final Map<AspectSpec, Optional<SearchDocumentPlan>> plans = new ConcurrentHashMap<>();
+
   public Optional<String> transformSnapshot(final RecordTemplate snapshot, final EntitySpec entitySpec,
       final Boolean forDelete) {
     final Map<SearchableFieldSpec, List<Object>> extractedSearchableFields =
@@ -49,6 +57,67 @@ public class SearchDocumentTransformer {
 
   public Optional<String> transformAspect(final Urn urn, final RecordTemplate aspect, final AspectSpec aspectSpec,
       final Boolean forDelete) {
+    final Optional<SearchDocumentPlan> plan = getPlan(aspectSpec);
+    if (plan.isPresent()) {
+      return plan.get().isEmpty() ? Optional.empty() : Optional.of(plan.get().transform(urn, aspect, forDelete));
+    }
+    return transformAspectToNode(urn, aspect, aspectSpec, forDelete).map(ObjectNode::toString);
+  }
+
+  /**
+   * Transforms the aspect and its previous value once each, and returns the search document of the aspect along with
+   * the fields of it which differ between the two. Merging these fields into the indexed document has the same effect
+   * as upserting the full search document of the aspect. Returns empty if the aspect has no search document.
+   */
+  public Optional<SearchDocumentDelta> transformAspectDelta(final Urn urn, final RecordTemplate aspect,
+      final RecordTemplate previousAspect, final AspectSpec aspectSpec) {
+    final String document;
+    final ObjectNode searchDocument;
+    final ObjectNode previousSearchDocument;
+    final Optional<SearchDocumentPlan> plan = getPlan(aspectSpec);
+    if (plan.isPresent()) {
+      if (plan.get().isEmpty()) {
+        return Optional.empty();
+      }
+      // The documents are compared field by field, so the written ones are read back
+      document = plan.get().transform(urn, aspect, false);
+      searchDocument = readDocument(document);
+      previousSearchDocument = readDocument(plan.get().transform(urn, previousAspect, false));
+    } else {
+      final Optional<ObjectNode> node = transformAspectToNode(urn, aspect, aspectSpec, false);
+      if (!node.isPresent()) {
+        return Optional.empty();
+      }
+      searchDocument = node.get();
+      document = searchDocument.toString();
+      previousSearchDocument =
+          transformAspectToNode(urn, previousAspect, aspectSpec, false).orElseGet(JsonNodeFactory.instance::objectNode);
+    }
+
+    final ObjectNode delta = JsonNodeFactory.instance.objectNode();
+    searchDocument.fields().forEachRemaining(field -> {
+      if (!field.getValue().equals(previousSearchDocument.get(field.getKey()))) {
+        delta.set(field.getKey(), field.getValue());
+      }
+    });
+    return Optional.of(
+        new SearchDocumentDelta(document, delta.size() == 0 ? Optional.empty() : Optional.of(delta.toString())));
+  }
+
+  private Optional<SearchDocumentPlan> getPlan(final AspectSpec aspectSpec) {
+    return plans.computeIfAbsent(aspectSpec, spec -> SearchDocumentPlan.compile(spec, maxArrayLength));
+  }
+
+  private static ObjectNode readDocument(final String document) {
+    try {
+      return (ObjectNode) OBJECT_MAPPER.readTree(document);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to read search document " + document, e);
+    }
+  }
+
+  Optional<ObjectNode> transformAspectToNode(final Urn urn, final RecordTemplate aspect,
+      final AspectSpec aspectSpec, final Boolean forDelete) {
     final Map<SearchableFieldSpec, List<Object>> extractedSearchableFields =
         FieldExtractor.extractFields(aspect, aspectSpec.getSearchableFieldSpecs());
     final Map<SearchScoreFieldSpec, List<Object>> extractedSearchScoreFields =
@@ -60,7 +129,7 @@ public class SearchDocumentTransformer {
     searchDocument.put("urn", urn.toString());
     extractedSearchableFields.forEach((key, values) -> setSearchableValue(key, values, searchDocument, forDelete));
     extractedSearchScoreFields.forEach((key, values) -> setSearchScoreValue(key, values, searchDocument, forDelete));
-    return Optional.of(searchDocument.toString());
+    return Optional.of(searchDocument);
   }
 
   public void setSearchableValue(final SearchableFieldSpec fieldSpec, final List<Object> fieldValues,
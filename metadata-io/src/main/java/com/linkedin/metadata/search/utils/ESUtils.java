@@ -1,11 +1,16 @@
 package com.linkedin.metadata.search.utils;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.linkedin.metadata.query.filter.Condition;
 import com.linkedin.metadata.query.filter.ConjunctiveCriterion;
 import com.linkedin.metadata.query.filter.Criterion;
 import com.linkedin.metadata.query.filter.Filter;
 import com.linkedin.metadata.query.filter.SortCriterion;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Base64;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
@@ -34,6 +39,8 @@ public class ESUtils {
    */
   private static final String ELASTICSEARCH_REGEXP_RESERVED_CHARACTERS = "?+*|{}[]()#@&<>~";
 
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
   private ESUtils() {
 
   }
@@ -181,4 +188,36 @@ public class ESUtils {
     }
     return input;
   }
-}
\ No newline at end of file
+
+  /**
+   * Encodes the sort values of the last hit of a page into an opaque scroll id, to be passed back as search_after
+   * when fetching the next page.
+   *
+   * @param sortValues sort values of the last search hit
+   * @return URL safe scroll id
+   */
+  @Nonnull
+  public static String encodeScrollId(@Nonnull Object[] sortValues) {
+    try {
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(OBJECT_MAPPER.writeValueAsBytes(sortValues));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to encode sort values " + Arrays.toString(sortValues), e);
+    }
+  }
+
+  /**
+   * Decodes a scroll id created by {@link #encodeScrollId(Object[])} back into the search_after sort values.
+   *
+   * @param scrollId scroll id of the previous page
+   * @return sort values to search after
+   */
+  @Nonnull
+  public static Object[] decodeScrollId(@Nonnull String scrollId) {
+    try {
+      return OBJECT_MAPPER.readValue(Base64.getUrlDecoder().decode(scrollId.getBytes(StandardCharsets.UTF_8)),
+          Object[].class);
+    } catch (IOException | IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid scroll id " + scrollId, e);
+    }
+  }
+}
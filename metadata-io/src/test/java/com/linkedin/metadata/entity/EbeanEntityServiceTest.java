@@ -247,6 +247,57 @@ public class EbeanEntityServiceTest extends EntityServiceTestBase<EbeanAspectDao
     verifyNoMoreInteractions(_mockProducer);
   }
 
+  @Test
+  public void testIngestSameAspectRewritesLastObserved() throws Exception {
+    // A negative value is replaced as a whole
+    SystemMetadata negative = ingestSameAspectOverStoredSystemMetadata(
+        "{\"lastObserved\":-1,\"runId\":\"run-123\"}", 1635792689);
+    assertEquals(negative.getLastObserved().longValue(), 1635792689);
+    assertEquals(negative.getRunId(), "run-123");
+
+    // Without a stored value, the system metadata is serialized again
+    SystemMetadata missing = ingestSameAspectOverStoredSystemMetadata("{\"runId\":\"run-123\"}", 1635792689);
+    assertEquals(missing.getLastObserved().longValue(), 1635792689);
+    assertEquals(missing.getRunId(), "run-123");
+
+    // Property values that contain the field name are left as they are
+    SystemMetadata nested = ingestSameAspectOverStoredSystemMetadata(
+        "{\"properties\":{\"note\":\"{\\\"lastObserved\\\":5}\"},\"lastObserved\":1,\"runId\":\"run-123\"}",
+        1635792689);
+    assertEquals(nested.getLastObserved().longValue(), 1635792689);
+    assertEquals(nested.getRunId(), "run-123");
+    assertEquals(nested.getProperties().get("note"), "{\"lastObserved\":5}");
+  }
+
+  /**
+   * Ingests an aspect, replaces its stored system metadata with the given JSON, and ingests the same aspect again,
+   * which only writes its lastObserved. Returns the stored system metadata.
+   */
+  private SystemMetadata ingestSameAspectOverStoredSystemMetadata(String storedSystemMetadata, long lastObserved)
+      throws Exception {
+    Urn entityUrn = Urn.createFromString("urn:li:corpuser:test");
+    CorpUserInfo writeAspect = createCorpUserInfo("email@test.com");
+    String aspectName = PegasusUtils.getAspectNameFromSchema(writeAspect.schema());
+
+    SystemMetadata metadata1 = new SystemMetadata();
+    metadata1.setLastObserved(1625792689);
+    metadata1.setRunId("run-123");
+    _entityService.ingestAspect(entityUrn, aspectName, writeAspect, TEST_AUDIT_STAMP, metadata1);
+    _aspectDao.updateSystemMetadata(new EbeanAspectV2.PrimaryKey(entityUrn.toString(), aspectName, 0),
+        storedSystemMetadata);
+
+    SystemMetadata metadata2 = new SystemMetadata();
+    metadata2.setLastObserved(lastObserved);
+    metadata2.setRunId("run-456");
+    _entityService.ingestAspect(entityUrn, aspectName, createCorpUserInfo("email@test.com"), TEST_AUDIT_STAMP,
+        metadata2);
+
+    // The unchanged aspect is not written as a new version
+    assertEquals(_aspectDao.getMaxVersion(entityUrn.toString(), aspectName), 0);
+    EbeanAspectV2 stored = _aspectDao.getAspect(entityUrn.toString(), aspectName, 0);
+    return EntityUtils.parseSystemMetadata(stored.getSystemMetadata());
+  }
+
   @Test
   public void testIngestListLatestAspects() throws Exception {
     // TODO: this test should be in the base class but with current schema cassandra limitations make it difficult to achieve the same ordering as in ebean land
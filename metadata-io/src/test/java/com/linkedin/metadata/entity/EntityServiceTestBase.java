@@ -35,6 +35,7 @@ import com.linkedin.metadata.run.AspectRowSummary;
 import com.linkedin.metadata.snapshot.CorpUserSnapshot;
 import com.linkedin.metadata.snapshot.Snapshot;
 import com.linkedin.metadata.utils.EntityKeyUtils;
+import com.linkedin.metadata.utils.GenericRecordUtils;
 import com.linkedin.metadata.utils.PegasusUtils;
 import com.linkedin.mxe.GenericAspect;
 import com.linkedin.mxe.MetadataAuditOperation;
@@ -442,6 +443,40 @@ abstract public class EntityServiceTestBase<T_AD extends AspectDao, T_ES extends
         _entityService.ingestProposal(gmce, TEST_AUDIT_STAMP);
     }
 
+    @Test
+    public void testIngestProposalBatch() throws Exception {
+        Urn entityUrn1 = Urn.createFromString("urn:li:corpuser:test1");
+        Urn entityUrn2 = Urn.createFromString("urn:li:corpuser:test2");
+        String aspectName = getAspectName(new CorpUserInfo());
+
+        CorpUserInfo writeAspect1 = createCorpUserInfo("email1@test.com");
+        CorpUserInfo writeAspect2 = createCorpUserInfo("email2@test.com");
+        CorpUserInfo writeAspect1Overwrite = createCorpUserInfo("email1.overwrite@test.com");
+
+        List<MetadataChangeProposal> proposals = ImmutableList.of(
+            createProposal(entityUrn1, aspectName, writeAspect1),
+            createProposal(entityUrn2, aspectName, writeAspect2),
+            createProposal(entityUrn1, aspectName, writeAspect1Overwrite),
+            createProposal(entityUrn2, aspectName, writeAspect2));
+
+        List<EntityService.IngestProposalResult> results = _entityService.ingestProposalBatch(proposals, TEST_AUDIT_STAMP);
+
+        assertEquals(results.size(), 4);
+        assertTrue(results.get(0).isDidUpdate());
+        assertTrue(results.get(1).isDidUpdate());
+        assertTrue(results.get(2).isDidUpdate());
+        assertFalse(results.get(3).isDidUpdate());
+        assertEquals(results.get(2).getUrn(), entityUrn1);
+
+        assertTrue(DataTemplateUtil.areEqual(writeAspect1Overwrite, _entityService.getLatestAspect(entityUrn1, aspectName)));
+        assertTrue(DataTemplateUtil.areEqual(writeAspect1, _entityService.getAspect(entityUrn1, aspectName, 1)));
+        assertTrue(DataTemplateUtil.areEqual(writeAspect2, _entityService.getLatestAspect(entityUrn2, aspectName)));
+
+        verify(_mockProducer, times(2)).produceMetadataChangeLog(Mockito.eq(entityUrn1), Mockito.any(), Mockito.any());
+        verify(_mockProducer, times(1)).produceMetadataChangeLog(Mockito.eq(entityUrn2), Mockito.any(), Mockito.any());
+        verifyNoMoreInteractions(_mockProducer);
+    }
+
     @Test
     public void testUpdateGetAspect() throws Exception {
         // Test Writing a CorpUser Entity
@@ -763,6 +798,17 @@ abstract public class EntityServiceTestBase<T_AD extends AspectDao, T_ES extends
         return corpUserInfo;
     }
 
+    @Nonnull
+    protected MetadataChangeProposal createProposal(Urn entityUrn, String aspectName, RecordTemplate aspect) {
+        MetadataChangeProposal proposal = new MetadataChangeProposal();
+        proposal.setEntityUrn(entityUrn);
+        proposal.setChangeType(ChangeType.UPSERT);
+        proposal.setEntityType(entityUrn.getEntityType());
+        proposal.setAspectName(aspectName);
+        proposal.setAspect(GenericRecordUtils.serializeAspect(aspect));
+        return proposal;
+    }
+
     protected String getAspectName(RecordTemplate record) {
         return PegasusUtils.getAspectNameFromSchema(record.schema());
     }
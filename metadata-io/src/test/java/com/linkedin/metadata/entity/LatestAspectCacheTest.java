@@ -0,0 +1,74 @@
+package com.linkedin.metadata.entity;
+
+import com.google.common.collect.ImmutableList;
+import com.linkedin.metadata.entity.cassandra.CassandraAspect;
+import com.linkedin.util.Pair;
+import java.sql.Timestamp;
+import java.util.Map;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class LatestAspectCacheTest {
+  private static final String URN = "urn:li:corpuser:test";
+  private static final String ASPECT = "corpUserInfo";
+
+  @Test
+  public void testPutAndInvalidate() {
+    LatestAspectCache cache = new LatestAspectCache(1024 * 1024, 60);
+    cache.put(URN, ASPECT, aspect("{}"), cache.stamp(URN));
+
+    Map<Pair<String, String>, EntityAspect> result = cache.getAll(ImmutableList.of(Pair.of(URN, ASPECT)));
+    Assert.assertEquals(result.get(Pair.of(URN, ASPECT)).getMetadata(), "{}");
+
+    cache.invalidate(URN, ASPECT);
+    Assert.assertTrue(cache.getAll(ImmutableList.of(Pair.of(URN, ASPECT))).isEmpty());
+  }
+
+  @Test
+  public void testPutAfterConcurrentInvalidationIsDropped() {
+    LatestAspectCache cache = new LatestAspectCache(1024 * 1024, 60);
+    long stamp = cache.stamp(URN);
+    cache.invalidate(URN, ASPECT);
+    cache.put(URN, ASPECT, aspect("{}"), stamp);
+
+    Assert.assertTrue(cache.getAll(ImmutableList.of(Pair.of(URN, ASPECT))).isEmpty());
+  }
+
+  @Test
+  public void testPutAfterInvalidationOfOtherUrnIsKept() {
+    LatestAspectCache cache = new LatestAspectCache(1024 * 1024, 60);
+    long stamp = cache.stamp(URN);
+    cache.invalidate("urn:li:corpuser:other", ASPECT);
+    cache.put(URN, ASPECT, aspect("{}"), stamp);
+
+    Assert.assertEquals(cache.getAll(ImmutableList.of(Pair.of(URN, ASPECT))).size(), 1);
+  }
+
+  @Test
+  public void testPutAfterInvalidateAllIsDropped() {
+    LatestAspectCache cache = new LatestAspectCache(1024 * 1024, 60);
+    long stamp = cache.stamp(URN);
+    cache.invalidateAll();
+    cache.put(URN, ASPECT, aspect("{}"), stamp);
+
+    Assert.assertTrue(cache.getAll(ImmutableList.of(Pair.of(URN, ASPECT))).isEmpty());
+  }
+
+  @Test
+  public void testInvalidateUrn() {
+    LatestAspectCache cache = new LatestAspectCache(1024 * 1024, 60);
+    cache.put(URN, ASPECT, aspect("{}"), cache.stamp(URN));
+    cache.put(URN, "status", aspect("{}"), cache.stamp(URN));
+    cache.put("urn:li:corpuser:other", ASPECT, aspect("{}"), cache.stamp("urn:li:corpuser:other"));
+
+    cache.invalidateUrn(URN);
+    Map<Pair<String, String>, EntityAspect> result = cache.getAll(ImmutableList.of(Pair.of(URN, ASPECT),
+        Pair.of(URN, "status"), Pair.of("urn:li:corpuser:other", ASPECT)));
+    Assert.assertEquals(result.size(), 1);
+    Assert.assertTrue(result.containsKey(Pair.of("urn:li:corpuser:other", ASPECT)));
+  }
+
+  private static CassandraAspect aspect(String metadata) {
+    return new CassandraAspect(URN, ASPECT, 0, metadata, null, new Timestamp(0), "urn:li:corpuser:actor", null);
+  }
+}
@@ -27,6 +27,7 @@ import java.util.stream.IntStream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.testng.Assert;
+import org.testng.SkipException;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -361,6 +362,74 @@ abstract public class GraphServiceTestBase {
       assertEqualsAnyOrder(relatedIncoming, expectedIncoming);
   }
 
+  @Test(dataProvider = "AddEdgeTests")
+  public void testAddEdges(List<Edge> edges, List<RelatedEntity> expectedOutgoing, List<RelatedEntity> expectedIncoming) throws Exception {
+      GraphService service = getGraphService();
+
+      service.addEdges(edges);
+      syncAfterWrite();
+
+      RelatedEntitiesResult relatedOutgoing = service.findRelatedEntities(
+              anyType, EMPTY_FILTER,
+              anyType, EMPTY_FILTER,
+              Arrays.asList(downstreamOf, hasOwner, knowsUser),
+              outgoingRelationships,
+              0, 100
+      );
+      assertEqualsAnyOrder(relatedOutgoing, expectedOutgoing);
+
+      RelatedEntitiesResult relatedIncoming = service.findRelatedEntities(
+              anyType, EMPTY_FILTER,
+              anyType, EMPTY_FILTER,
+              Arrays.asList(downstreamOf, hasOwner, knowsUser),
+              incomingRelationships,
+              0, 100
+      );
+      assertEqualsAnyOrder(relatedIncoming, expectedIncoming);
+  }
+
+  @Test
+  public void testRemoveEdges() throws Exception {
+    GraphService service = getPopulatedGraphService();
+
+    // populated graph asserted in testPopulatedGraphService
+    service.removeEdges(Arrays.asList(
+            new Edge(datasetTwoUrn, datasetOneUrn, downstreamOf),
+            new Edge(datasetOneUrn, userOneUrn, hasOwner),
+            // does not exist
+            new Edge(userOneUrn, datasetOneUrn, downstreamOf)
+    ));
+    syncAfterWrite();
+
+    RelatedEntitiesResult relatedOutgoing = service.findRelatedEntities(
+            anyType, EMPTY_FILTER,
+            anyType, EMPTY_FILTER,
+            Arrays.asList(downstreamOf, hasOwner),
+            outgoingRelationships,
+            0, 100
+    );
+    assertEqualsAnyOrder(relatedOutgoing,
+            Arrays.asList(downstreamOfDatasetTwoRelatedEntity, hasOwnerUserOneRelatedEntity, hasOwnerUserTwoRelatedEntity));
+
+    RelatedEntitiesResult datasetOneOutgoing = service.findRelatedEntities(
+            anyType, newFilter("urn", datasetOneUrnString),
+            anyType, EMPTY_FILTER,
+            Arrays.asList(downstreamOf, hasOwner, knowsUser),
+            outgoingRelationships,
+            0, 100
+    );
+    assertEqualsAnyOrder(datasetOneOutgoing, Collections.emptyList());
+
+    RelatedEntitiesResult datasetOneIncoming = service.findRelatedEntities(
+            anyType, newFilter("urn", datasetOneUrnString),
+            anyType, EMPTY_FILTER,
+            Arrays.asList(downstreamOf, hasOwner, knowsUser),
+            incomingRelationships,
+            0, 100
+    );
+    assertEqualsAnyOrder(datasetOneIncoming, Collections.emptyList());
+  }
+
   @Test
   public void testPopulatedGraphService() throws Exception {
       GraphService service = getPopulatedGraphService();
@@ -450,6 +519,54 @@ abstract public class GraphServiceTestBase {
     assertEquals(relationships.get(dataJobTwoUrn).getType(), downstreamOf);
   }
 
+  @Test
+  public void testPopulatedGraphServiceGetLineageMultihop() throws Exception {
+    GraphService service = getLineagePopulatedGraphService();
+    if (!service.supportsMultiHop()) {
+      throw new SkipException(service.getClass().getSimpleName() + " does not support multi-hop lineage");
+    }
+
+    EntityLineageResult upstreamLineage = service.getLineage(datasetOneUrn, LineageDirection.UPSTREAM, 0, 1000, 2);
+    assertEquals(upstreamLineage.getTotal().intValue(), 0);
+    assertEquals(upstreamLineage.getRelationships().size(), 0);
+
+    EntityLineageResult downstreamLineage = service.getLineage(datasetOneUrn, LineageDirection.DOWNSTREAM, 0, 1000, 2);
+    assertEquals(downstreamLineage.getTotal().intValue(), 5);
+    assertEquals(downstreamLineage.getRelationships().size(), 5);
+    Map<Urn, LineageRelationship> relationships = downstreamLineage.getRelationships().stream().collect(Collectors.toMap(LineageRelationship::getEntity,
+        Function.identity()));
+    assertTrue(relationships.containsKey(datasetTwoUrn));
+    assertEquals(relationships.get(datasetTwoUrn).getDegree().intValue(), 1);
+    assertTrue(relationships.containsKey(datasetThreeUrn));
+    assertEquals(relationships.get(datasetThreeUrn).getDegree().intValue(), 2);
+    assertTrue(relationships.containsKey(datasetFourUrn));
+    assertEquals(relationships.get(datasetFourUrn).getDegree().intValue(), 2);
+    assertTrue(relationships.containsKey(dataJobOneUrn));
+    assertEquals(relationships.get(dataJobOneUrn).getDegree().intValue(), 1);
+    assertTrue(relationships.containsKey(dataJobTwoUrn));
+    assertEquals(relationships.get(dataJobTwoUrn).getDegree().intValue(), 1);
+
+    upstreamLineage = service.getLineage(datasetThreeUrn, LineageDirection.UPSTREAM, 0, 1000, 2);
+    assertEquals(upstreamLineage.getTotal().intValue(), 3);
+    assertEquals(upstreamLineage.getRelationships().size(), 3);
+    relationships = upstreamLineage.getRelationships().stream().collect(Collectors.toMap(LineageRelationship::getEntity,
+        Function.identity()));
+    assertTrue(relationships.containsKey(datasetOneUrn));
+    assertEquals(relationships.get(datasetOneUrn).getDegree().intValue(), 2);
+    assertTrue(relationships.containsKey(datasetTwoUrn));
+    assertEquals(relationships.get(datasetTwoUrn).getDegree().intValue(), 1);
+    assertTrue(relationships.containsKey(dataJobOneUrn));
+    assertEquals(relationships.get(dataJobOneUrn).getDegree().intValue(), 1);
+
+    downstreamLineage = service.getLineage(datasetThreeUrn, LineageDirection.DOWNSTREAM, 0, 1000, 2);
+    assertEquals(downstreamLineage.getTotal().intValue(), 0);
+    assertEquals(downstreamLineage.getRelationships().size(), 0);
+  
+    downstreamLineage = service.getLineage(datasetOneUrn, LineageDirection.DOWNSTREAM, 1, 2, 2);
+    assertEquals(downstreamLineage.getTotal().intValue(), 5);
+    assertEquals(downstreamLineage.getRelationships().size(), 2);
+  }
+
   @DataProvider(name = "FindRelatedEntitiesSourceEntityFilterTests")
   public Object[][] getFindRelatedEntitiesSourceEntityFilterTests() {
     return new Object[][] {
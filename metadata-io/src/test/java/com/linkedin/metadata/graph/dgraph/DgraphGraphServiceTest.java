@@ -1,7 +1,9 @@
 package com.linkedin.metadata.graph.dgraph;
 
+import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.metadata.graph.GraphService;
 import com.linkedin.metadata.graph.GraphServiceTestBase;
+import com.linkedin.metadata.graph.LineageRelationship;
 import com.linkedin.metadata.graph.RelatedEntity;
 import com.linkedin.metadata.models.registry.LineageRegistry;
 import com.linkedin.metadata.models.registry.SnapshotEntityRegistry;
@@ -783,4 +785,129 @@ public class DgraphGraphServiceTest extends GraphServiceTestBase {
                 RELATED_ENTITY_COMPARATOR
         );
     }
+
+    @Test
+    public void testGetQueryForLineage() {
+        assertEquals(
+                DgraphGraphService.getQueryForLineage(
+                        UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:type,dataset-1,PROD)"),
+                        Arrays.asList("DownstreamOf", "~Produces"),
+                        2
+                ),
+                "query {\n"
+                        + "  result (func: eq(<urn>, \"urn:li:dataset:(urn:li:dataPlatform:type,dataset-1,PROD)\")) "
+                        + "@recurse(depth: 3, loop: false) {\n"
+                        + "    <urn>\n"
+                        + "    <type>\n"
+                        + "    <DownstreamOf>\n"
+                        + "    <~Produces>\n"
+                        + "  }\n"
+                        + "}"
+        );
+    }
+
+    @Test
+    public void testGetQueryForLineageEscapesUrn() {
+        assertEquals(
+                DgraphGraphService.getQueryForLineage(
+                        UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:type,data\"set\\1,PROD)"),
+                        Collections.singletonList("DownstreamOf"),
+                        1
+                ),
+                "query {\n"
+                        + "  result (func: eq(<urn>, \"urn:li:dataset:(urn:li:dataPlatform:type,data\\\"set\\\\1,PROD)\")) "
+                        + "@recurse(depth: 2, loop: false) {\n"
+                        + "    <urn>\n"
+                        + "    <type>\n"
+                        + "    <DownstreamOf>\n"
+                        + "  }\n"
+                        + "}"
+        );
+    }
+
+    @Test
+    public void testEscape() {
+        assertEquals(DgraphGraphService.escape("plain"), "plain");
+        assertEquals(DgraphGraphService.escape("a\"b\\c\nd\re\tf"), "a\\\"b\\\\c\\nd\\re\\tf");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testPredicateRejectsClosingBracket() {
+        DgraphGraphService.predicate("urn> * * .\n<name");
+    }
+
+    @Test
+    public void testGetLineageRelationshipsFromResponseData() {
+        Set<String> lineageEdges = new HashSet<>(Arrays.asList("dataset:~DownstreamOf", "dataset:~Consumes", "datajob:Produces"));
+
+        assertEquals(
+                DgraphGraphService.getLineageRelationshipsFromResponseData(
+                        new HashMap<String, Object>() {{
+                            put("result", Collections.emptyList());
+                        }},
+                        lineageEdges, 2
+                ),
+                Collections.emptyList()
+        );
+
+        assertEquals(
+                DgraphGraphService.getLineageRelationshipsFromResponseData(
+                        new HashMap<String, Object>() {{
+                            put("result", Arrays.asList(
+                                    new HashMap<String, Object>() {{
+                                        put("urn", "urn:li:dataset:(urn:li:dataPlatform:type,dataset-1,PROD)");
+                                        put("type", "dataset");
+                                        put("~DownstreamOf", Arrays.asList(
+                                                new HashMap<String, Object>() {{
+                                                    put("urn", "urn:li:dataset:(urn:li:dataPlatform:type,dataset-2,PROD)");
+                                                    put("type", "dataset");
+                                                    // an edge that is no lineage edge of datasets in this direction
+                                                    put("Produces", Arrays.asList(
+                                                            new HashMap<String, Object>() {{
+                                                                put("urn", "urn:li:dataset:(urn:li:dataPlatform:type,dataset-5,PROD)");
+                                                                put("type", "dataset");
+                                                            }}
+                                                    ));
+                                                }}
+                                        ));
+                                        put("~Consumes", Arrays.asList(
+                                                new HashMap<String, Object>() {{
+                                                    put("urn", "urn:li:dataJob:(urn:li:dataFlow:(type,flow,PROD),job)");
+                                                    put("type", "dataJob");
+                                                    put("Produces", Arrays.asList(
+                                                            new HashMap<String, Object>() {{
+                                                                put("urn", "urn:li:dataset:(urn:li:dataPlatform:type,dataset-3,PROD)");
+                                                                put("type", "dataset");
+                                                                // beyond max hops
+                                                                put("~DownstreamOf", Arrays.asList(
+                                                                        new HashMap<String, Object>() {{
+                                                                            put("urn", "urn:li:dataset:(urn:li:dataPlatform:type,dataset-4,PROD)");
+                                                                            put("type", "dataset");
+                                                                        }}
+                                                                ));
+                                                            }}
+                                                    ));
+                                                }}
+                                        ));
+                                    }}
+                            ));
+                        }},
+                        lineageEdges, 2
+                ),
+                Arrays.asList(
+                        new LineageRelationship()
+                                .setEntity(UrnUtils.getUrn("urn:li:dataJob:(urn:li:dataFlow:(type,flow,PROD),job)"))
+                                .setType("Consumes")
+                                .setDegree(1),
+                        new LineageRelationship()
+                                .setEntity(UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:type,dataset-2,PROD)"))
+                                .setType("DownstreamOf")
+                                .setDegree(1),
+                        new LineageRelationship()
+                                .setEntity(UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:type,dataset-3,PROD)"))
+                                .setType("Produces")
+                                .setDegree(2)
+                )
+        );
+    }
 }
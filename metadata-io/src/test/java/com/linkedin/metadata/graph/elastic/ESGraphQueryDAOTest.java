@@ -0,0 +1,134 @@
+package com.linkedin.metadata.graph.elastic;
+
+import com.google.common.collect.ImmutableList;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.metadata.graph.LineageDirection;
+import com.linkedin.metadata.models.registry.LineageRegistry;
+import com.linkedin.metadata.models.registry.SnapshotEntityRegistry;
+import com.linkedin.metadata.utils.elasticsearch.IndexConventionImpl;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHits;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+
+public class ESGraphQueryDAOTest {
+  private static final Urn START_URN = dataset("start");
+  private static final int MAX_ELASTIC_RESULT = 10000;
+
+  private RestHighLevelClient _mockClient;
+  private ExecutorService _executor;
+  private ESGraphQueryDAO _queryDAO;
+
+  @BeforeMethod
+  public void setup() {
+    _mockClient = mock(RestHighLevelClient.class);
+    _executor = Executors.newFixedThreadPool(2);
+    _queryDAO = new ESGraphQueryDAO(_mockClient, new LineageRegistry(SnapshotEntityRegistry.getInstance()),
+        new IndexConventionImpl(null), _executor);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    _executor.shutdownNow();
+  }
+
+  @Test
+  public void testGetLineagePastMaxResultWindow() throws Exception {
+    // A hop with more edges than a single search returns
+    SearchHit[] firstPage = new SearchHit[MAX_ELASTIC_RESULT];
+    for (int i = 0; i < MAX_ELASTIC_RESULT - 1; i++) {
+      firstPage[i] = downstreamOfStart(i);
+    }
+    Object[] lastSortValues = new Object[]{dataset(MAX_ELASTIC_RESULT - 1).toString(), START_URN.toString(),
+        "DownstreamOf"};
+    SearchHit lastHit = mock(SearchHit.class);
+    when(lastHit.getSourceAsMap()).thenReturn(downstreamOfStart(MAX_ELASTIC_RESULT - 1).getSourceAsMap());
+    when(lastHit.getSortValues()).thenReturn(lastSortValues);
+    firstPage[MAX_ELASTIC_RESULT - 1] = lastHit;
+    SearchHit[] secondPage = new SearchHit[5];
+    for (int i = 0; i < secondPage.length; i++) {
+      secondPage[i] = downstreamOfStart(MAX_ELASTIC_RESULT + i);
+    }
+    SearchResponse firstResponse = getSearchResponse(firstPage);
+    SearchResponse secondResponse = getSearchResponse(secondPage);
+    when(_mockClient.search(any(), eq(RequestOptions.DEFAULT))).thenReturn(firstResponse, secondResponse);
+
+    ESGraphQueryDAO.LineageResponse response = _queryDAO.getLineage(START_URN, LineageDirection.DOWNSTREAM, 0, 10, 1);
+    assertEquals(response.getTotal(), MAX_ELASTIC_RESULT + 5);
+    assertEquals(response.getLineageRelationships().size(), 10);
+
+    // The second page continues after the last edge of the first one
+    ArgumentCaptor<SearchRequest> requests = ArgumentCaptor.forClass(SearchRequest.class);
+    verify(_mockClient, times(2)).search(requests.capture(), eq(RequestOptions.DEFAULT));
+    assertNull(requests.getAllValues().get(0).source().searchAfter());
+    assertEquals(requests.getAllValues().get(1).source().searchAfter(), lastSortValues);
+  }
+
+  @Test
+  public void testGetLineageRelationshipsNoTimeLeft() throws Exception {
+    List<?> relationships = _queryDAO.getLineageRelationshipsInBatches(ImmutableList.of(START_URN),
+        LineageDirection.DOWNSTREAM, ConcurrentHashMap.newKeySet(), 1, System.currentTimeMillis() - 1);
+    assertTrue(relationships.isEmpty());
+    verify(_mockClient, never()).search(any(), any());
+  }
+
+  @Test
+  public void testGetLineageRelationshipsTimeout() throws Exception {
+    when(_mockClient.search(any(), eq(RequestOptions.DEFAULT))).thenAnswer(invocation -> {
+      TimeUnit.SECONDS.sleep(5);
+      return getSearchResponse(new SearchHit[0]);
+    });
+
+    long start = System.currentTimeMillis();
+    List<?> relationships = _queryDAO.getLineageRelationshipsInBatches(ImmutableList.of(START_URN),
+        LineageDirection.DOWNSTREAM, ConcurrentHashMap.newKeySet(), 1, start + 200);
+    // Batches which did not complete within the budget are left out rather than waited for
+    assertTrue(relationships.isEmpty());
+    assertTrue(System.currentTimeMillis() - start < TimeUnit.SECONDS.toMillis(5));
+  }
+
+  private static Urn dataset(Object name) {
+    return UrnUtils.getUrn(String.format("urn:li:dataset:(urn:li:dataPlatform:hive,%s,PROD)", name));
+  }
+
+  private static SearchHit downstreamOfStart(int i) {
+    String document = String.format(
+        "{\"source\":{\"urn\":\"%s\",\"entityType\":\"dataset\"},"
+            + "\"destination\":{\"urn\":\"%s\",\"entityType\":\"dataset\"},\"relationshipType\":\"DownstreamOf\"}",
+        dataset(i), START_URN);
+    return new SearchHit(i).sourceRef(new BytesArray(document));
+  }
+
+  private static SearchResponse getSearchResponse(SearchHit[] hits) {
+    SearchHits searchHits = mock(SearchHits.class);
+    when(searchHits.getHits()).thenReturn(hits);
+    SearchResponse response = mock(SearchResponse.class);
+    when(response.getHits()).thenReturn(searchHits);
+    return response;
+  }
+}
@@ -0,0 +1,224 @@
+package com.linkedin.metadata.graph.memory;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.metadata.graph.Edge;
+import com.linkedin.metadata.graph.EntityLineageResult;
+import com.linkedin.metadata.graph.GraphService;
+import com.linkedin.metadata.graph.LineageDirection;
+import com.linkedin.metadata.graph.LineageRelationship;
+import com.linkedin.metadata.models.registry.LineageRegistry;
+import com.linkedin.metadata.models.registry.SnapshotEntityRegistry;
+import com.linkedin.metadata.query.filter.RelationshipDirection;
+import com.linkedin.metadata.query.filter.RelationshipFilter;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+public class InMemoryLineageGraphServiceTest {
+
+  private static final String DOWNSTREAM_OF = "DownstreamOf";
+  private static final String HAS_OWNER = "OwnedBy";
+
+  private GraphService _delegate;
+  private InMemoryLineageGraphService _graphService;
+  private final List<Edge> _storedEdges = new ArrayList<>();
+  private final AtomicLong _now = new AtomicLong();
+
+  @BeforeMethod
+  public void setup() {
+    _storedEdges.clear();
+    _now.set(0);
+    Clock clock = mock(Clock.class);
+    when(clock.millis()).thenAnswer(invocation -> _now.get());
+    _delegate = mock(GraphService.class);
+    when(_delegate.getLineageRegistry()).thenReturn(new LineageRegistry(SnapshotEntityRegistry.getInstance()));
+    doAnswer(invocation -> {
+      Consumer<Edge> consumer = invocation.getArgument(1);
+      _storedEdges.forEach(consumer);
+      return null;
+    }).when(_delegate).forEachEdge(anyList(), any());
+    _graphService = new InMemoryLineageGraphService(_delegate, 0, clock);
+  }
+
+  @Test
+  public void testGetLineageBeforeBuild() {
+    EntityLineageResult delegateResult = new EntityLineageResult();
+    when(_delegate.getLineage(any(), any(), anyInt(), anyInt(), anyInt())).thenReturn(delegateResult);
+
+    assertEquals(_graphService.getLineage(dataset(1), LineageDirection.DOWNSTREAM, 0, 10, 1), delegateResult);
+  }
+
+  @Test
+  public void testGetLineageNotSupported() {
+    doThrow(new UnsupportedOperationException()).when(_delegate).forEachEdge(anyList(), any());
+
+    assertFalse(_graphService.rebuild());
+    _graphService.getLineage(dataset(1), LineageDirection.DOWNSTREAM, 0, 10, 1);
+    verify(_delegate).getLineage(dataset(1), LineageDirection.DOWNSTREAM, 0, 10, 1);
+  }
+
+  @Test
+  public void testGetLineageMultiHop() {
+    _storedEdges.addAll(Arrays.asList(
+        new Edge(dataset(2), dataset(1), DOWNSTREAM_OF),
+        new Edge(dataset(3), dataset(2), DOWNSTREAM_OF),
+        new Edge(dataset(4), dataset(2), DOWNSTREAM_OF),
+        new Edge(dataset(4), dataset(1), DOWNSTREAM_OF)));
+    assertTrue(_graphService.rebuild());
+
+    EntityLineageResult downstream = _graphService.getLineage(dataset(1), LineageDirection.DOWNSTREAM, 0, 10, 1);
+    assertEquals(downstream.getTotal().intValue(), 2);
+    assertEquals(getUrns(downstream), Arrays.asList(dataset(2), dataset(4)));
+
+    downstream = _graphService.getLineage(dataset(1), LineageDirection.DOWNSTREAM, 0, 10, 2);
+    assertEquals(getUrns(downstream), Arrays.asList(dataset(2), dataset(4), dataset(3)));
+    assertEquals(getDegrees(downstream), Arrays.asList(1, 1, 2));
+
+    EntityLineageResult page = _graphService.getLineage(dataset(1), LineageDirection.DOWNSTREAM, 1, 1, 2);
+    assertEquals(page.getTotal().intValue(), 3);
+    assertEquals(getUrns(page), Collections.singletonList(dataset(4)));
+
+    EntityLineageResult upstream = _graphService.getLineage(dataset(3), LineageDirection.UPSTREAM, 0, 10, 3);
+    assertEquals(getUrns(upstream), Arrays.asList(dataset(2), dataset(1)));
+    verify(_delegate, never()).getLineage(any(), any(), anyInt(), anyInt(), anyInt());
+  }
+
+  @Test
+  public void testUpdates() {
+    _storedEdges.add(new Edge(dataset(2), dataset(1), DOWNSTREAM_OF));
+    assertTrue(_graphService.rebuild());
+
+    List<Edge> added = Arrays.asList(
+        new Edge(dataset(3), dataset(2), DOWNSTREAM_OF),
+        new Edge(dataset(1), UrnUtils.getUrn("urn:li:corpuser:user"), HAS_OWNER));
+    _graphService.addEdges(added);
+    verify(_delegate).addEdges(added);
+    assertEquals(getUrns(_graphService.getLineage(dataset(1), LineageDirection.DOWNSTREAM, 0, 10, 3)),
+        Arrays.asList(dataset(2), dataset(3)));
+
+    _graphService.removeEdges(Collections.singletonList(new Edge(dataset(3), dataset(2), DOWNSTREAM_OF)));
+    assertEquals(getUrns(_graphService.getLineage(dataset(1), LineageDirection.DOWNSTREAM, 0, 10, 3)),
+        Collections.singletonList(dataset(2)));
+
+    RelationshipFilter outgoing = new RelationshipFilter().setDirection(RelationshipDirection.OUTGOING);
+    _graphService.removeEdgesFromNode(dataset(2), Collections.singletonList(DOWNSTREAM_OF), outgoing);
+    verify(_delegate).removeEdgesFromNode(eq(dataset(2)), eq(Collections.singletonList(DOWNSTREAM_OF)), eq(outgoing));
+    assertEquals(_graphService.getLineage(dataset(1), LineageDirection.DOWNSTREAM, 0, 10, 3).getTotal().intValue(), 0);
+
+    _graphService.addEdge(new Edge(dataset(4), dataset(1), DOWNSTREAM_OF));
+    _graphService.removeNode(dataset(4));
+    assertEquals(_graphService.getLineage(dataset(1), LineageDirection.DOWNSTREAM, 0, 10, 3).getTotal().intValue(), 0);
+  }
+
+  @Test
+  public void testApplyChangesOfOtherProcesses() {
+    _storedEdges.addAll(Arrays.asList(
+        new Edge(dataset(2), dataset(1), DOWNSTREAM_OF),
+        new Edge(dataset(3), dataset(2), DOWNSTREAM_OF)));
+    assertTrue(_graphService.rebuild());
+
+    // dataset(2) now derives from dataset(4) instead of dataset(1)
+    _graphService.applyOutgoingEdges(dataset(2), new HashSet<>(Arrays.asList(DOWNSTREAM_OF, HAS_OWNER)),
+        Collections.singletonList(new Edge(dataset(2), dataset(4), DOWNSTREAM_OF)));
+    assertEquals(_graphService.getLineage(dataset(1), LineageDirection.DOWNSTREAM, 0, 10, 3).getTotal().intValue(), 0);
+    assertEquals(getUrns(_graphService.getLineage(dataset(4), LineageDirection.DOWNSTREAM, 0, 10, 3)),
+        Arrays.asList(dataset(2), dataset(3)));
+
+    // Applying it again, e.g. when it was also made through this service, changes nothing
+    _graphService.applyOutgoingEdges(dataset(2), Collections.singleton(DOWNSTREAM_OF),
+        Collections.singletonList(new Edge(dataset(2), dataset(4), DOWNSTREAM_OF)));
+    assertEquals(getUrns(_graphService.getLineage(dataset(4), LineageDirection.DOWNSTREAM, 0, 10, 3)),
+        Arrays.asList(dataset(2), dataset(3)));
+
+    _graphService.applyRemovedNode(dataset(3));
+    assertEquals(getUrns(_graphService.getLineage(dataset(4), LineageDirection.DOWNSTREAM, 0, 10, 3)),
+        Collections.singletonList(dataset(2)));
+
+    // The delegate already holds the changes
+    verify(_delegate, never()).addEdges(anyList());
+    verify(_delegate, never()).removeEdgesFromNode(any(), anyList(), any());
+    verify(_delegate, never()).removeNode(any());
+  }
+
+  @Test
+  public void testUpdatesReplayedOnRebuild() {
+    _graphService.addEdge(new Edge(dataset(2), dataset(1), DOWNSTREAM_OF));
+    // The delegate has not made the new edge visible yet
+    assertTrue(_graphService.rebuild());
+
+    assertEquals(getUrns(_graphService.getLineage(dataset(1), LineageDirection.DOWNSTREAM, 0, 10, 1)),
+        Collections.singletonList(dataset(2)));
+  }
+
+  @Test
+  public void testUpdatesDuringLongRebuildReplayed() {
+    assertTrue(_graphService.rebuild());
+    doAnswer(invocation -> {
+      // Changes the delegate has not made visible to the rebuild, the first long before the rebuild ends
+      _graphService.addEdge(new Edge(dataset(2), dataset(1), DOWNSTREAM_OF));
+      _now.addAndGet(TimeUnit.MINUTES.toMillis(10));
+      _graphService.addEdge(new Edge(dataset(3), dataset(2), DOWNSTREAM_OF));
+      return null;
+    }).when(_delegate).forEachEdge(anyList(), any());
+    assertTrue(_graphService.rebuild());
+
+    assertEquals(getUrns(_graphService.getLineage(dataset(1), LineageDirection.DOWNSTREAM, 0, 10, 2)),
+        Arrays.asList(dataset(2), dataset(3)));
+  }
+
+  @Test
+  public void testCompaction() {
+    assertTrue(_graphService.rebuild());
+    // Enough changes to fold the overlay into new arrays several times
+    final int length = 25000;
+    List<Edge> chain = new ArrayList<>();
+    for (int i = 1; i < length; i++) {
+      chain.add(new Edge(dataset(i + 1), dataset(i), DOWNSTREAM_OF));
+    }
+    _graphService.addEdges(chain);
+    assertEquals(_graphService.getLineage(dataset(1), LineageDirection.DOWNSTREAM, 0, 10, length).getTotal().intValue(),
+        length - 1);
+
+    _graphService.removeEdges(chain.subList(length / 2, chain.size()));
+    EntityLineageResult result = _graphService.getLineage(dataset(1), LineageDirection.DOWNSTREAM, 0, 10, length);
+    assertEquals(result.getTotal().intValue(), length / 2);
+    assertEquals(getUrns(result).get(0), dataset(2));
+  }
+
+  private static Urn dataset(int i) {
+    return UrnUtils.getUrn(String.format("urn:li:dataset:(urn:li:dataPlatform:type,SampleDataset%d,PROD)", i));
+  }
+
+  private static List<Urn> getUrns(EntityLineageResult result) {
+    return result.getRelationships().stream().map(LineageRelationship::getEntity).collect(Collectors.toList());
+  }
+
+  private static List<Integer> getDegrees(EntityLineageResult result) {
+    return result.getRelationships().stream().map(LineageRelationship::getDegree).collect(Collectors.toList());
+  }
+}
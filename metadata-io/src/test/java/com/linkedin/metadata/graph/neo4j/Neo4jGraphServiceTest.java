@@ -1,7 +1,13 @@
 package com.linkedin.metadata.graph.neo4j;
 
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.metadata.graph.Edge;
+import com.linkedin.metadata.graph.EntityLineageResult;
 import com.linkedin.metadata.graph.GraphService;
 import com.linkedin.metadata.graph.GraphServiceTestBase;
+import com.linkedin.metadata.graph.LineageDirection;
+import com.linkedin.metadata.graph.LineageRelationship;
 import com.linkedin.metadata.models.registry.LineageRegistry;
 import com.linkedin.metadata.graph.RelatedEntitiesResult;
 import com.linkedin.metadata.graph.RelatedEntity;
@@ -15,9 +21,12 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.testng.Assert.assertEquals;
 
@@ -153,4 +162,39 @@ public class Neo4jGraphServiceTest extends GraphServiceTestBase {
     throw new SkipException("Neo4jGraphService produces duplicates");
   }
 
+  @Test
+  public void testGetLineageDiamondsWithCycle() {
+    // A chain of diamonds, with twice as many paths through each, which leads back to its start
+    final int diamonds = 20;
+    final List<Edge> edges = new ArrayList<>();
+    for (int i = 0; i < diamonds; i++) {
+      edges.add(new Edge(dataset(3 * i + 1), dataset(3 * i), downstreamOf));
+      edges.add(new Edge(dataset(3 * i + 2), dataset(3 * i), downstreamOf));
+      edges.add(new Edge(dataset(3 * i + 3), dataset(3 * i + 1), downstreamOf));
+      edges.add(new Edge(dataset(3 * i + 3), dataset(3 * i + 2), downstreamOf));
+    }
+    edges.add(new Edge(dataset(0), dataset(3 * diamonds), downstreamOf));
+    _client.addEdges(edges);
+    syncAfterWrite();
+
+    EntityLineageResult downstream = _client.getLineage(dataset(0), LineageDirection.DOWNSTREAM, 0, 1000, 1000);
+    assertEquals(downstream.getTotal().intValue(), 3 * diamonds);
+    List<LineageRelationship> relationships = downstream.getRelationships();
+    for (int i = 0; i < diamonds; i++) {
+      assertEquals(relationships.get(3 * i).getDegree().intValue(), 2 * i + 1);
+      assertEquals(relationships.get(3 * i + 1).getDegree().intValue(), 2 * i + 1);
+      assertEquals(relationships.get(3 * i + 2).getEntity(), dataset(3 * i + 3));
+      assertEquals(relationships.get(3 * i + 2).getDegree().intValue(), 2 * i + 2);
+    }
+
+    EntityLineageResult upstream = _client.getLineage(dataset(0), LineageDirection.UPSTREAM, 1, 2, 1000);
+    assertEquals(upstream.getTotal().intValue(), 3 * diamonds);
+    assertEquals(upstream.getRelationships().stream().map(LineageRelationship::getDegree).collect(Collectors.toList()),
+        Arrays.asList(2, 2));
+  }
+
+  private static Urn dataset(int i) {
+    return UrnUtils.getUrn(String.format("urn:li:dataset:(urn:li:dataPlatform:type,SampleDataset%d,PROD)", i));
+  }
+
 }
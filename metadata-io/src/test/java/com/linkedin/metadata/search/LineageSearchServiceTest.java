@@ -4,6 +4,7 @@ import com.datahub.test.Snapshot;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.linkedin.common.urn.TestEntityUrn;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.data.schema.annotation.PathSpecBasedSchemaAnnotationVisitor;
@@ -16,6 +17,7 @@ import com.linkedin.metadata.graph.LineageRelationship;
 import com.linkedin.metadata.graph.LineageRelationshipArray;
 import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.metadata.models.registry.SnapshotEntityRegistry;
+import com.linkedin.metadata.search.cache.EntityLineageResultCache;
 import com.linkedin.metadata.search.elasticsearch.ElasticSearchService;
 import com.linkedin.metadata.search.elasticsearch.ElasticSearchServiceTest;
 import com.linkedin.metadata.search.elasticsearch.indexbuilder.EntityIndexBuilders;
@@ -37,8 +39,11 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static com.linkedin.metadata.DockerTestUtils.checkContainerEngine;
 import static com.linkedin.metadata.ElasticSearchTestUtils.syncAfterWrite;
@@ -88,8 +93,9 @@ public class LineageSearchServiceTest {
 
   private void resetService() {
     _lineageSearchService = new LineageSearchService(
-        new SearchService(_entityRegistry, _elasticSearchService, new SimpleRanker(), _cacheManager, 100, true),
-        _graphService, _cacheManager.getCache("test"));
+        new SearchService(_entityRegistry, _elasticSearchService, new SimpleRanker(), _cacheManager, 100, true,
+            MoreExecutors.directExecutor(), 30000),
+        _graphService, new EntityLineageResultCache(_cacheManager.getCache("test"), 600, 10000));
   }
 
   @BeforeMethod
@@ -107,7 +113,7 @@ public class LineageSearchServiceTest {
     ESSearchDAO searchDAO = new ESSearchDAO(_entityRegistry, _searchClient, _indexConvention);
     ESBrowseDAO browseDAO = new ESBrowseDAO(_entityRegistry, _searchClient, _indexConvention);
     ESWriteDAO writeDAO = new ESWriteDAO(_entityRegistry, _searchClient, _indexConvention,
-        ElasticSearchServiceTest.getBulkProcessor(_searchClient));
+        ElasticSearchServiceTest.getESBulkProcessor(_searchClient));
     return new ElasticSearchService(indexBuilders, searchDAO, browseDAO, writeDAO);
   }
 
@@ -235,4 +241,55 @@ public class LineageSearchServiceTest {
             null, null, 0, 10);
     assertEquals(searchResult.getNumEntities().intValue(), 0);
   }
+
+  @Test
+  public void testSearchAcrossBatches() throws Exception {
+    // Two urns per query, so that pages span the hydration batches
+    LineageSearchService lineageSearchService = new LineageSearchService(
+        new SearchService(_entityRegistry, _elasticSearchService, new SimpleRanker(), _cacheManager, 100, true,
+            MoreExecutors.directExecutor(), 30000),
+        _graphService, new EntityLineageResultCache(_cacheManager.getCache("test"), 600, 10000), 2);
+
+    List<LineageRelationship> relationships = new ArrayList<>();
+    List<Urn> matchingUrns = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      Urn urn = new TestEntityUrn("test", "testUrn" + i, "VALUE_" + i);
+      ObjectNode document = JsonNodeFactory.instance.objectNode();
+      document.set("urn", JsonNodeFactory.instance.textNode(urn.toString()));
+      // The second batch has a single match, so its count differs from its number of urns
+      document.set("keyPart1", JsonNodeFactory.instance.textNode(i == 2 ? "random" : "test"));
+      document.set("textFieldOverride", JsonNodeFactory.instance.textNode("textFieldOverride" + i));
+      document.set("browsePaths", JsonNodeFactory.instance.textNode("/a/b/c"));
+      _elasticSearchService.upsertDocument(ENTITY_NAME, document.toString(), urn.toString());
+      relationships.add(new LineageRelationship().setEntity(urn).setType("test").setDegree(1));
+      if (i != 2) {
+        matchingUrns.add(urn);
+      }
+    }
+    syncAfterWrite(_searchClient);
+
+    when(_graphService.getLineage(eq(TEST_URN), eq(LineageDirection.DOWNSTREAM), anyInt(), anyInt(),
+        anyInt())).thenReturn(mockResult(relationships));
+    LineageSearchResult searchResult =
+        lineageSearchService.searchAcrossLineage(TEST_URN, LineageDirection.DOWNSTREAM, ImmutableList.of(), "test",
+            null, null, 0, 10);
+    assertEquals(searchResult.getNumEntities().intValue(), 5);
+    List<Urn> allUrns = searchResult.getEntities()
+        .stream()
+        .map(LineageSearchEntity::getEntity)
+        .collect(Collectors.toList());
+    assertEquals(new HashSet<>(allUrns), new HashSet<>(matchingUrns));
+    assertEquals(allUrns.size(), 5);
+
+    for (int from = 0; from <= 5; from++) {
+      searchResult =
+          lineageSearchService.searchAcrossLineage(TEST_URN, LineageDirection.DOWNSTREAM, ImmutableList.of(), "test",
+              null, null, from, 2);
+      assertEquals(searchResult.getNumEntities().intValue(), 5);
+      assertEquals(searchResult.getFrom().intValue(), from);
+      assertEquals(searchResult.getPageSize().intValue(), 2);
+      assertEquals(searchResult.getEntities().stream().map(LineageSearchEntity::getEntity).collect(Collectors.toList()),
+          allUrns.subList(from, Math.min(from + 2, allUrns.size())));
+    }
+  }
 }
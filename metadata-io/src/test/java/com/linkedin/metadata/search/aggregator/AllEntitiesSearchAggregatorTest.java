@@ -0,0 +1,129 @@
+package com.linkedin.metadata.search.aggregator;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.metadata.models.registry.SnapshotEntityRegistry;
+import com.linkedin.metadata.search.AggregationMetadataArray;
+import com.linkedin.metadata.search.EntitySearchService;
+import com.linkedin.metadata.search.SearchEntity;
+import com.linkedin.metadata.search.SearchEntityArray;
+import com.linkedin.metadata.search.SearchResult;
+import com.linkedin.metadata.search.SearchResultMetadata;
+import com.linkedin.metadata.search.ranker.SimpleRanker;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+
+public class AllEntitiesSearchAggregatorTest {
+  private static final String DATASET = "dataset";
+  private static final String CHART = "chart";
+  private static final long SEARCH_TIMEOUT_MILLIS = 200;
+
+  private EntitySearchService _entitySearchService;
+  private ExecutorService _searchExecutor;
+  private AllEntitiesSearchAggregator _aggregator;
+
+  @BeforeMethod
+  public void setup() {
+    _entitySearchService = mock(EntitySearchService.class);
+    when(_entitySearchService.maxResultSize()).thenReturn(10000);
+    when(_entitySearchService.docCount(anyString())).thenReturn(0L);
+    when(_entitySearchService.docCount(DATASET)).thenReturn(3L);
+    when(_entitySearchService.docCount(CHART)).thenReturn(2L);
+    _searchExecutor = Executors.newFixedThreadPool(2);
+    _aggregator = new AllEntitiesSearchAggregator(SnapshotEntityRegistry.getInstance(), _entitySearchService,
+        new SimpleRanker(), new ConcurrentMapCacheManager(), 10, true, _searchExecutor, SEARCH_TIMEOUT_MILLIS);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    _searchExecutor.shutdownNow();
+  }
+
+  @Test
+  public void testSearchWithMultiSearch() {
+    when(_entitySearchService.multiSearch(anyList(), eq("test"), any(), any(), eq(0), eq(10))).thenReturn(
+        ImmutableMap.of(DATASET, getSearchResult(DATASET, 3), CHART, getSearchResult(CHART, 2)));
+
+    SearchResult result = _aggregator.search(ImmutableList.of(), "test", null, null, 0, 10, null);
+    assertEquals(result.getNumEntities().intValue(), 5);
+    assertEquals(result.getEntities().size(), 5);
+    assertEquals(result.getMetadata().getAggregations().get(0).getAggregations(),
+        ImmutableMap.of(DATASET, 3L, CHART, 2L));
+
+    // A single multi search request for the entities with documents, rather than a search per entity
+    ArgumentCaptor<List<String>> entities = ArgumentCaptor.forClass(List.class);
+    verify(_entitySearchService).multiSearch(entities.capture(), eq("test"), any(), any(), eq(0), eq(10));
+    assertEquals(new HashSet<>(entities.getValue()), ImmutableSet.of(DATASET, CHART));
+    verify(_entitySearchService, never()).search(anyString(), anyString(), any(), any(), anyInt(), anyInt());
+
+    // Served from the cache
+    _aggregator.search(ImmutableList.of(), "test", null, null, 0, 10, null);
+    verify(_entitySearchService, times(1)).multiSearch(anyList(), anyString(), any(), any(), anyInt(), anyInt());
+  }
+
+  @Test
+  public void testSearchPartialResultsOnTimeout() throws Exception {
+    when(_entitySearchService.multiSearch(eq(ImmutableList.of(DATASET)), eq("test"), any(), any(), eq(0), eq(10)))
+        .thenReturn(ImmutableMap.of(DATASET, getSearchResult(DATASET, 3)));
+    _aggregator.search(ImmutableList.of(DATASET), "test", null, null, 0, 10, null);
+
+    // Datasets are cached by now, but the search of charts does not complete in time
+    CountDownLatch release = new CountDownLatch(1);
+    when(_entitySearchService.multiSearch(eq(ImmutableList.of(CHART)), eq("test"), any(), any(), eq(0), eq(10)))
+        .thenAnswer(invocation -> {
+          release.await();
+          return ImmutableMap.of(CHART, getSearchResult(CHART, 2));
+        });
+    try {
+      SearchResult result = _aggregator.search(ImmutableList.of(DATASET, CHART), "test", null, null, 0, 10, null);
+      assertEquals(result.getNumEntities().intValue(), 3);
+      assertEquals(result.getEntities().stream().map(entity -> entity.getEntity().getEntityType())
+          .collect(Collectors.toSet()), ImmutableSet.of(DATASET));
+      assertEquals(result.getMetadata().getAggregations().get(0).getAggregations(), ImmutableMap.of(DATASET, 3L));
+    } finally {
+      release.countDown();
+    }
+  }
+
+  private static SearchResult getSearchResult(String entityName, int numEntities) {
+    List<SearchEntity> entities = IntStream.range(0, numEntities)
+        .mapToObj(i -> new SearchEntity().setEntity(UrnUtils.getUrn(getUrn(entityName, i))))
+        .collect(Collectors.toList());
+    return new SearchResult().setEntities(new SearchEntityArray(entities))
+        .setNumEntities(numEntities)
+        .setFrom(0)
+        .setPageSize(10)
+        .setMetadata(new SearchResultMetadata().setAggregations(new AggregationMetadataArray()));
+  }
+
+  private static String getUrn(String entityName, int i) {
+    return DATASET.equals(entityName)
+        ? String.format("urn:li:dataset:(urn:li:dataPlatform:hive,test%d,PROD)", i)
+        : String.format("urn:li:chart:(looker,test%d)", i);
+  }
+}
@@ -9,8 +9,10 @@ import com.linkedin.metadata.search.SearchEntityArray;
 import com.linkedin.metadata.search.SearchResult;
 import com.linkedin.metadata.search.SearchResultMetadata;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.testng.annotations.Test;
@@ -86,6 +88,29 @@ public class CacheableSearcherTest {
             getUrns(0, 40).stream(), getUrns(0, 5).stream()).collect(Collectors.toList()));
   }
 
+  @Test
+  public void testCacheableSearcherStartsFromBatchOfDeepPage() {
+    AtomicInteger numSearches = new AtomicInteger();
+    Cache cache = cacheManager.getCache("deepPageSearcher");
+    CacheableSearcher<Integer> deepPageSearcher = new CacheableSearcher<>(cache, 10, qs -> {
+      numSearches.incrementAndGet();
+      return getSearchResult(qs, 10);
+    }, CacheableSearcher.QueryPagination::getFrom, null, true);
+
+    SearchResult result = deepPageSearcher.getSearchResults(500, 10);
+    assertEquals(result.getEntities().stream().map(SearchEntity::getEntity).collect(Collectors.toList()),
+        getUrns(0, 10));
+    assertEquals(numSearches.get(), 51);
+
+    // Without the earlier batches, the page is still served from its own batch
+    IntStream.range(0, 50).forEach(batch -> cache.evict(batch * 10));
+    result = deepPageSearcher.getSearchResults(505, 10);
+    assertEquals(result.getEntities().stream().map(SearchEntity::getEntity).collect(Collectors.toList()),
+        Streams.concat(getUrns(5, 10).stream(), getUrns(0, 5).stream()).collect(Collectors.toList()));
+    assertEquals(numSearches.get(), 52);
+    assertEquals(deepPageSearcher.getMissingBatches(520, 10).size(), 1);
+  }
+
   private SearchResult getEmptySearchResult(CacheableSearcher.QueryPagination queryPagination) {
     return new SearchResult().setEntities(new SearchEntityArray())
         .setNumEntities(0)
@@ -0,0 +1,98 @@
+package com.linkedin.metadata.search.cache;
+
+import com.google.common.collect.ImmutableList;
+import com.linkedin.common.urn.TestEntityUrn;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.graph.EntityLineageResult;
+import com.linkedin.metadata.graph.LineageDirection;
+import com.linkedin.metadata.graph.LineageRelationship;
+import com.linkedin.metadata.graph.LineageRelationshipArray;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+
+public class EntityLineageResultCacheTest {
+  private final CacheManager cacheManager = new ConcurrentMapCacheManager();
+
+  private final Urn sourceUrn = new TestEntityUrn("test", "source", "VALUE");
+  private final Urn hopUrn = new TestEntityUrn("test", "hop", "VALUE");
+  private final Urn otherUrn = new TestEntityUrn("test", "other", "VALUE");
+
+  @Test
+  public void testGetAfterPut() {
+    EntityLineageResultCache cache = new EntityLineageResultCache(cacheManager.getCache("getAfterPut"), 600, 100);
+    assertNull(cache.get(sourceUrn, LineageDirection.DOWNSTREAM));
+
+    EntityLineageResult lineageResult = getLineageResult(hopUrn);
+    cache.put(sourceUrn, LineageDirection.DOWNSTREAM, lineageResult, cache.stamp());
+    assertEquals(cache.get(sourceUrn, LineageDirection.DOWNSTREAM), lineageResult);
+    assertNull(cache.get(sourceUrn, LineageDirection.UPSTREAM));
+  }
+
+  @Test
+  public void testInvalidate() {
+    EntityLineageResultCache cache = new EntityLineageResultCache(cacheManager.getCache("invalidate"), 600, 100);
+    cache.put(sourceUrn, LineageDirection.DOWNSTREAM, getLineageResult(hopUrn), cache.stamp());
+    cache.put(sourceUrn, LineageDirection.UPSTREAM, getLineageResult(), cache.stamp());
+
+    // Urns outside of the cached lineages do not affect them
+    cache.invalidate(ImmutableList.of(otherUrn));
+    assertNotNull(cache.get(sourceUrn, LineageDirection.DOWNSTREAM));
+    assertNotNull(cache.get(sourceUrn, LineageDirection.UPSTREAM));
+
+    // Urns within a cached lineage invalidate only the lineages containing them
+    cache.invalidate(ImmutableList.of(hopUrn));
+    assertNull(cache.get(sourceUrn, LineageDirection.DOWNSTREAM));
+    assertNotNull(cache.get(sourceUrn, LineageDirection.UPSTREAM));
+
+    // The source urn invalidates every lineage starting from it
+    cache.invalidate(ImmutableList.of(sourceUrn));
+    assertNull(cache.get(sourceUrn, LineageDirection.UPSTREAM));
+  }
+
+  @Test
+  public void testPutAfterInvalidationIsDropped() {
+    EntityLineageResultCache cache = new EntityLineageResultCache(cacheManager.getCache("stalePut"), 600, 100);
+    // Traversals start, and an edge of the hop urn changes before they end
+    long stamp = cache.stamp();
+    cache.invalidate(ImmutableList.of(hopUrn));
+
+    cache.put(sourceUrn, LineageDirection.DOWNSTREAM, getLineageResult(hopUrn), stamp);
+    assertNull(cache.get(sourceUrn, LineageDirection.DOWNSTREAM));
+
+    // Lineages without the invalidated urn are kept
+    cache.put(sourceUrn, LineageDirection.UPSTREAM, getLineageResult(otherUrn), stamp);
+    assertNotNull(cache.get(sourceUrn, LineageDirection.UPSTREAM));
+  }
+
+  @Test
+  public void testPutAfterDroppedInvalidationIsDropped() {
+    EntityLineageResultCache cache = new EntityLineageResultCache(cacheManager.getCache("droppedInvalidation"), 600, 1);
+    long stamp = cache.stamp();
+    cache.invalidate(ImmutableList.of(hopUrn));
+    // Pushes the invalidation of the hop urn out of the bounded record of invalidations
+    cache.invalidate(ImmutableList.of(otherUrn));
+
+    cache.put(sourceUrn, LineageDirection.DOWNSTREAM, getLineageResult(hopUrn), stamp);
+    assertNull(cache.get(sourceUrn, LineageDirection.DOWNSTREAM));
+
+    cache.put(sourceUrn, LineageDirection.DOWNSTREAM, getLineageResult(hopUrn), cache.stamp());
+    assertNotNull(cache.get(sourceUrn, LineageDirection.DOWNSTREAM));
+  }
+
+  private EntityLineageResult getLineageResult(Urn... urns) {
+    LineageRelationshipArray relationships = new LineageRelationshipArray();
+    for (Urn urn : urns) {
+      relationships.add(new LineageRelationship().setEntity(urn).setType("test").setDegree(1));
+    }
+    return new EntityLineageResult().setRelationships(relationships)
+        .setStart(0)
+        .setCount(urns.length)
+        .setTotal(urns.length);
+  }
+}
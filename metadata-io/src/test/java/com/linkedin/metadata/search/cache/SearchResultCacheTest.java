@@ -0,0 +1,136 @@
+package com.linkedin.metadata.search.cache;
+
+import com.google.common.collect.ImmutableList;
+import com.linkedin.common.urn.TestEntityUrn;
+import com.linkedin.metadata.query.filter.Condition;
+import com.linkedin.metadata.query.filter.ConjunctiveCriterion;
+import com.linkedin.metadata.query.filter.ConjunctiveCriterionArray;
+import com.linkedin.metadata.query.filter.Criterion;
+import com.linkedin.metadata.query.filter.CriterionArray;
+import com.linkedin.metadata.query.filter.Filter;
+import com.linkedin.metadata.search.AggregationMetadataArray;
+import com.linkedin.metadata.search.SearchEntity;
+import com.linkedin.metadata.search.SearchEntityArray;
+import com.linkedin.metadata.search.SearchResult;
+import com.linkedin.metadata.search.SearchResultMetadata;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+
+public class SearchResultCacheTest {
+  private static final CacheableSearcher.QueryPagination BATCH = new CacheableSearcher.QueryPagination(0, 10);
+
+  @Test
+  public void testCacheKey() {
+    Criterion first = new Criterion().setField("platform").setValue("hive").setCondition(Condition.EQUAL);
+    Criterion second = new Criterion().setCondition(Condition.EQUAL).setValue("hive").setField("platform");
+
+    // Equal queries share a key, independent of the order of their entities and fields
+    assertEquals(SearchCacheKey.of(ImmutableList.of("dataset", "chart"), "test", getFilter(first), null, BATCH),
+        SearchCacheKey.of(ImmutableList.of("chart", "dataset"), "test", getFilter(second), null, BATCH));
+    assertEquals(SearchCacheKey.of(ImmutableList.of("dataset"), "", null, null, BATCH),
+        SearchCacheKey.of(ImmutableList.of("dataset"), "*", null, null, BATCH));
+
+    assertNotEquals(SearchCacheKey.of(ImmutableList.of("dataset"), "test", getFilter(first), null, BATCH),
+        SearchCacheKey.of(ImmutableList.of("dataset"), "test", null, null, BATCH));
+    assertNotEquals(SearchCacheKey.of(ImmutableList.of("dataset"), "test", null, null, BATCH),
+        SearchCacheKey.of(ImmutableList.of("dataset"), "test", null, null,
+            new CacheableSearcher.QueryPagination(10, 10)));
+  }
+
+  @Test
+  public void testGetAfterPut() {
+    for (boolean serialized : new boolean[]{true, false}) {
+      SearchResultCache cache = new SearchResultCache("getAfterPut", 1_000_000, 600, serialized);
+      SearchCacheKey key = SearchCacheKey.of(ImmutableList.of("dataset"), "test", null, null, BATCH);
+      assertNull(cache.get(key, SearchResult.class));
+
+      SearchResult result = getSearchResult(5);
+      cache.put(key, result);
+      assertEquals(cache.get(key, SearchResult.class), result);
+      assertTrue(cache.getBytesUsed() > 0);
+
+      cache.evict(key);
+      assertNull(cache.get(key, SearchResult.class));
+      assertEquals(cache.getBytesUsed(), 0);
+    }
+  }
+
+  @Test
+  public void testEvictionBySize() {
+    SearchResultCache cache = new SearchResultCache("evictionBySize", 10_000, 600, true);
+    for (int i = 0; i < 100; i++) {
+      cache.put(SearchCacheKey.of(ImmutableList.of("dataset"), "test" + i, null, null, BATCH), getSearchResult(10));
+    }
+    assertTrue(cache.getBytesUsed() <= 10_000);
+    assertNotNull(cache.get(SearchCacheKey.of(ImmutableList.of("dataset"), "test99", null, null, BATCH)));
+  }
+
+  @Test
+  public void testInvalidate() {
+    SearchResultCacheManager cacheManager = new SearchResultCacheManager(1_000_000, 600, true, 0);
+    SearchResultCache cache = cacheManager.getCache("invalidate");
+    SearchCacheKey datasetKey = getKey(cacheManager, ImmutableList.of("dataset"));
+    SearchCacheKey chartKey = getKey(cacheManager, ImmutableList.of("chart"));
+    SearchCacheKey allEntitiesKey = getKey(cacheManager, ImmutableList.of());
+    cache.put(datasetKey, getSearchResult(1));
+    cache.put(chartKey, getSearchResult(1));
+    cache.put(allEntitiesKey, getSearchResult(1));
+
+    // Searches across the changed entity, including searches across all entities, move on to a new generation
+    cacheManager.invalidate(ImmutableList.of("dataset"));
+    assertNull(cache.get(getKey(cacheManager, ImmutableList.of("dataset"))));
+    assertNull(cache.get(getKey(cacheManager, ImmutableList.of("chart", "dataset"))));
+    assertEquals(getKey(cacheManager, ImmutableList.of("chart")), chartKey);
+    assertNotNull(cache.get(getKey(cacheManager, ImmutableList.of("chart"))));
+    assertNull(cache.get(getKey(cacheManager, ImmutableList.of())));
+  }
+
+  @Test
+  public void testInvalidateAllEntitiesDebounced() {
+    SearchResultCacheManager cacheManager = new SearchResultCacheManager(1_000_000, 600, true, 600_000);
+    // The first change invalidates searches across all entities right away
+    SearchCacheKey allEntitiesKey = getKey(cacheManager, ImmutableList.of());
+    cacheManager.invalidate(ImmutableList.of("dataset"));
+    SearchCacheKey invalidatedKey = getKey(cacheManager, ImmutableList.of());
+    assertNotEquals(invalidatedKey, allEntitiesKey);
+
+    // Later changes within the interval do not, unlike searches across the changed entity
+    SearchCacheKey datasetKey = getKey(cacheManager, ImmutableList.of("dataset"));
+    SearchCacheKey severalEntitiesKey = getKey(cacheManager, ImmutableList.of("chart", "dataset"));
+    cacheManager.invalidate(ImmutableList.of("dataset"));
+    assertEquals(getKey(cacheManager, ImmutableList.of()), invalidatedKey);
+    assertNotEquals(getKey(cacheManager, ImmutableList.of("dataset")), datasetKey);
+
+    // Searches across several entities, which cover most writes, are debounced the same way
+    assertEquals(getKey(cacheManager, ImmutableList.of("chart", "dataset")), severalEntitiesKey);
+  }
+
+  private SearchCacheKey getKey(SearchResultCacheManager cacheManager, List<String> entityNames) {
+    return SearchCacheKey.of(entityNames, cacheManager.getGeneration(entityNames), "test", null, null, BATCH);
+  }
+
+  private Filter getFilter(Criterion criterion) {
+    return new Filter().setOr(new ConjunctiveCriterionArray(
+        ImmutableList.of(new ConjunctiveCriterion().setAnd(new CriterionArray(ImmutableList.of(criterion))))));
+  }
+
+  private SearchResult getSearchResult(int numEntities) {
+    SearchEntityArray entities = new SearchEntityArray(IntStream.range(0, numEntities)
+        .mapToObj(i -> new SearchEntity().setEntity(new TestEntityUrn("test", "urn" + i, "VALUE")))
+        .collect(Collectors.toList()));
+    return new SearchResult().setEntities(entities)
+        .setNumEntities(numEntities)
+        .setFrom(0)
+        .setPageSize(10)
+        .setMetadata(new SearchResultMetadata().setAggregations(new AggregationMetadataArray()));
+  }
+}
@@ -9,6 +9,7 @@ import com.linkedin.metadata.ElasticTestUtils;
 import com.linkedin.metadata.browse.BrowseResult;
 import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.metadata.models.registry.SnapshotEntityRegistry;
+import com.linkedin.metadata.search.ScrollResult;
 import com.linkedin.metadata.search.SearchResult;
 import com.linkedin.metadata.search.elasticsearch.indexbuilder.ESIndexBuilder;
 import com.linkedin.metadata.search.elasticsearch.indexbuilder.EntityIndexBuilders;
@@ -16,6 +17,7 @@ import com.linkedin.metadata.search.elasticsearch.indexbuilder.SettingsBuilder;
 import com.linkedin.metadata.search.elasticsearch.query.ESBrowseDAO;
 import com.linkedin.metadata.search.elasticsearch.query.ESSearchDAO;
 import com.linkedin.metadata.search.elasticsearch.update.BulkListener;
+import com.linkedin.metadata.search.elasticsearch.update.ESBulkProcessor;
 import com.linkedin.metadata.search.elasticsearch.update.ESWriteDAO;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import com.linkedin.metadata.utils.elasticsearch.IndexConventionImpl;
@@ -32,11 +34,16 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import static com.linkedin.metadata.DockerTestUtils.checkContainerEngine;
 import static com.linkedin.metadata.ElasticSearchTestUtils.syncAfterWrite;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 
 public class ElasticSearchServiceTest {
@@ -79,6 +86,10 @@ public class ElasticSearchServiceTest {
         .build();
   }
 
+  public static ESBulkProcessor getESBulkProcessor(RestHighLevelClient searchClient) {
+    return new ESBulkProcessor(searchClient, 1, 5 * 1024 * 1024, 1000, 1, 1, 1000, 10000);
+  }
+
   public static ESIndexBuilder getIndexBuilder(RestHighLevelClient searchClient) {
     return new ESIndexBuilder(searchClient, 1, 1, 3);
   }
@@ -90,7 +101,7 @@ public class ElasticSearchServiceTest {
     ESSearchDAO searchDAO = new ESSearchDAO(_entityRegistry, _searchClient, _indexConvention);
     ESBrowseDAO browseDAO = new ESBrowseDAO(_entityRegistry, _searchClient, _indexConvention);
     ESWriteDAO writeDAO =
-        new ESWriteDAO(_entityRegistry, _searchClient, _indexConvention, getBulkProcessor(_searchClient));
+        new ESWriteDAO(_entityRegistry, _searchClient, _indexConvention, getESBulkProcessor(_searchClient));
     return new ElasticSearchService(indexBuilders, searchDAO, browseDAO, writeDAO);
   }
 
@@ -167,4 +178,32 @@ public class ElasticSearchServiceTest {
     assertEquals(_elasticSearchService.docCount(ENTITY_NAME), 0);
     assertEquals(_elasticSearchService.aggregateByValue(ENTITY_NAME, "textField", null, 10).size(), 0);
   }
+
+  @Test
+  public void testScroll() throws Exception {
+    List<Urn> urns = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      Urn urn = new TestEntityUrn("test", "scrollUrn" + i, "VALUE_" + i);
+      ObjectNode document = JsonNodeFactory.instance.objectNode();
+      document.set("urn", JsonNodeFactory.instance.textNode(urn.toString()));
+      document.set("keyPart1", JsonNodeFactory.instance.textNode("scroll"));
+      _elasticSearchService.upsertDocument(ENTITY_NAME, document.toString(), urn.toString());
+      urns.add(urn);
+    }
+    syncAfterWrite(_searchClient);
+
+    Set<Urn> scrolledUrns = new HashSet<>();
+    String scrollId = null;
+    int numPages = 0;
+    do {
+      ScrollResult scrollResult = _elasticSearchService.scroll(ENTITY_NAME, "scroll", null, null, scrollId, 2);
+      assertEquals(scrollResult.getNumEntities().intValue(), 5);
+      scrollResult.getEntities().forEach(entity -> assertTrue(scrolledUrns.add(entity.getEntity())));
+      scrollId = scrollResult.getScrollId();
+      numPages++;
+    } while (scrollId != null);
+
+    assertEquals(scrolledUrns, new HashSet<>(urns));
+    assertEquals(numPages, 3);
+  }
 }
@@ -0,0 +1,64 @@
+package com.linkedin.metadata.search.elasticsearch.query;
+
+import com.datahub.util.exception.ESQueryException;
+import com.google.common.collect.ImmutableList;
+import com.linkedin.metadata.models.registry.SnapshotEntityRegistry;
+import com.linkedin.metadata.search.SearchResult;
+import com.linkedin.metadata.utils.elasticsearch.IndexConventionImpl;
+import java.io.IOException;
+import java.util.Map;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.search.MultiSearchRequest;
+import org.elasticsearch.action.search.MultiSearchResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.rest.RestStatus;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static com.linkedin.metadata.search.utils.SearchUtils.EMPTY_SEARCH_RESULT;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+
+
+public class ESSearchDAOTest {
+  private RestHighLevelClient _mockClient;
+  private ESSearchDAO _searchDAO;
+
+  @BeforeMethod
+  public void setup() {
+    _mockClient = mock(RestHighLevelClient.class);
+    _searchDAO = new ESSearchDAO(SnapshotEntityRegistry.getInstance(), _mockClient, new IndexConventionImpl(null));
+  }
+
+  @Test
+  public void testMultiSearchMalformedQuery() throws IOException {
+    when(_mockClient.msearch(any(MultiSearchRequest.class), eq(RequestOptions.DEFAULT))).thenReturn(
+        new MultiSearchResponse(new MultiSearchResponse.Item[]{
+            new MultiSearchResponse.Item(null, new ElasticsearchStatusException("Bad query", RestStatus.BAD_REQUEST))
+        }, 0L));
+
+    Map<String, SearchResult> results = _searchDAO.multiSearch(ImmutableList.of("dataset"), "test", null, null, 0, 10);
+    SearchResult result = results.get("dataset");
+    assertEquals(result.getNumEntities().intValue(), 0);
+    assertEquals(result.getEntities().size(), 0);
+    // Callers cache the result, so it must not be the shared empty result
+    assertNotSame(result, EMPTY_SEARCH_RESULT);
+  }
+
+  @Test(expectedExceptions = ESQueryException.class)
+  public void testMultiSearchFailure() throws IOException {
+    when(_mockClient.msearch(any(MultiSearchRequest.class), eq(RequestOptions.DEFAULT))).thenReturn(
+        new MultiSearchResponse(new MultiSearchResponse.Item[]{
+            new MultiSearchResponse.Item(null, new ElasticsearchStatusException("Bad query", RestStatus.BAD_REQUEST)),
+            new MultiSearchResponse.Item(null,
+                new ElasticsearchStatusException("Rejected", RestStatus.TOO_MANY_REQUESTS))
+        }, 0L));
+
+    _searchDAO.multiSearch(ImmutableList.of("dataset", "chart"), "test", null, null, 0, 10);
+  }
+}
@@ -0,0 +1,89 @@
+package com.linkedin.metadata.search.elasticsearch.update;
+
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BackoffPolicy;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.shard.ShardId;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+public class ESBulkProcessorTest {
+
+  @Test
+  public void testJitteredBackoff() {
+    BackoffPolicy backoffPolicy = ESBulkProcessor.jitteredBackoff(TimeValue.timeValueMillis(100), 5);
+    for (int run = 0; run < 100; run++) {
+      List<TimeValue> delays = new ArrayList<>();
+      backoffPolicy.forEach(delays::add);
+      assertEquals(delays.size(), 5);
+      // Every delay is drawn from zero up to the doubled bound of the previous retry
+      for (int retry = 0; retry < delays.size(); retry++) {
+        long delayMillis = delays.get(retry).millis();
+        assertTrue(delayMillis >= 0 && delayMillis <= 100L << retry, "Unexpected delay " + delayMillis);
+      }
+    }
+  }
+
+  @Test
+  public void testPendingRequests() throws Exception {
+    // Bulk requests sent to Elasticsearch are left in flight until the test responds to them
+    List<ActionListener<BulkResponse>> inFlight = new ArrayList<>();
+    RestHighLevelClient searchClient = mock(RestHighLevelClient.class);
+    doAnswer(invocation -> {
+      inFlight.add(invocation.getArgument(2));
+      return null;
+    }).when(searchClient).bulkAsync(any(BulkRequest.class), any(), any());
+    ESBulkProcessor bulkProcessor =
+        new ESBulkProcessor(searchClient, 2, Long.MAX_VALUE, TimeUnit.HOURS.toMillis(1), 10, 0, 100, 4);
+
+    for (int i = 0; i < 3; i++) {
+      bulkProcessor.add(indexRequest(i));
+    }
+    assertEquals(inFlight.size(), 1);
+    assertEquals(bulkProcessor.getPendingRequests(), 3);
+    assertFalse(bulkProcessor.isBackpressured());
+
+    bulkProcessor.add(indexRequest(3));
+    assertEquals(inFlight.size(), 2);
+    assertEquals(bulkProcessor.getPendingRequests(), 4);
+    assertTrue(bulkProcessor.isBackpressured());
+    assertFalse(bulkProcessor.hasRecovered());
+
+    // Both acknowledged and failed requests are no longer pending
+    inFlight.get(0).onResponse(new BulkResponse(new BulkItemResponse[]{indexResponse(0), indexResponse(1)}, 1));
+    assertEquals(bulkProcessor.getPendingRequests(), 2);
+    assertFalse(bulkProcessor.isBackpressured());
+    assertTrue(bulkProcessor.hasRecovered());
+
+    inFlight.get(1).onFailure(new IOException("Connection reset"));
+    assertEquals(bulkProcessor.getPendingRequests(), 0);
+  }
+
+  private static IndexRequest indexRequest(int id) {
+    return new IndexRequest("index").id(String.valueOf(id)).source(ImmutableMap.of("field", id));
+  }
+
+  private static BulkItemResponse indexResponse(int id) {
+    return new BulkItemResponse(id, DocWriteRequest.OpType.INDEX,
+        new IndexResponse(new ShardId("index", "_na_", 0), "_doc", String.valueOf(id), 1, 1, 1, true));
+  }
+}
@@ -1,14 +1,20 @@
 package com.linkedin.metadata.search.transformer;
 
+import com.datahub.test.TestEntityInfo;
 import com.datahub.test.TestEntitySnapshot;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeType;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.metadata.TestEntitySpecBuilder;
 import com.linkedin.metadata.TestEntityUtil;
+import com.linkedin.metadata.models.AspectSpec;
 import com.linkedin.metadata.models.EntitySpec;
+import com.linkedin.metadata.models.extractor.AspectExtractor;
 import java.io.IOException;
+import java.util.Map;
 import java.util.Optional;
 import org.testng.annotations.Test;
 
@@ -72,4 +78,53 @@ public class SearchDocumentTransformerTest {
     parsedJson.get("feature1").getNodeType().equals(JsonNodeType.NULL);
     parsedJson.get("feature2").getNodeType().equals(JsonNodeType.NULL);
   }
+
+  @Test
+  public void testTransformAspectDelta() throws Exception {
+    SearchDocumentTransformer searchDocumentTransformer = new SearchDocumentTransformer(1000);
+    Urn urn = TestEntityUtil.getTestEntityUrn();
+    AspectSpec aspectSpec = TestEntitySpecBuilder.getSpec().getAspectSpec("testEntityInfo");
+    TestEntityInfo previousInfo = TestEntityUtil.getTestEntityInfo(urn);
+
+    // Unchanged aspects produce no changed fields
+    Optional<SearchDocumentDelta> unchanged = searchDocumentTransformer.transformAspectDelta(urn,
+        TestEntityUtil.getTestEntityInfo(urn), previousInfo, aspectSpec);
+    assertTrue(unchanged.isPresent());
+    assertFalse(unchanged.get().getChangedFields().isPresent());
+
+    TestEntityInfo info = TestEntityUtil.getTestEntityInfo(urn).setTextField("changed");
+    Optional<SearchDocumentDelta> result =
+        searchDocumentTransformer.transformAspectDelta(urn, info, previousInfo, aspectSpec);
+    assertTrue(result.isPresent());
+    ObjectNode parsedJson = (ObjectNode) OBJECT_MAPPER.readTree(result.get().getChangedFields().get());
+    assertEquals(parsedJson.size(), 1);
+    assertEquals(parsedJson.get("textFieldOverride").asText(), "changed");
+    // The full document is the one of the new value
+    assertEquals(OBJECT_MAPPER.readTree(result.get().getDocument()),
+        OBJECT_MAPPER.readTree(searchDocumentTransformer.transformAspect(urn, info, aspectSpec, false).get()));
+  }
+
+  @Test
+  public void testTransformAspectMatchesTree() throws IOException {
+    SearchDocumentTransformer searchDocumentTransformer = new SearchDocumentTransformer(1);
+    TestEntitySnapshot snapshot = TestEntityUtil.getSnapshot();
+    EntitySpec testEntitySpec = TestEntitySpecBuilder.getSpec();
+    Map<String, RecordTemplate> aspects = AspectExtractor.extractAspectRecords(snapshot);
+    assertFalse(aspects.isEmpty());
+
+    // The compiled plan writes the same document as the JSON tree, including capped arrays, maps and deletes
+    for (Map.Entry<String, RecordTemplate> aspect : aspects.entrySet()) {
+      AspectSpec aspectSpec = testEntitySpec.getAspectSpec(aspect.getKey());
+      for (boolean forDelete : new boolean[]{false, true}) {
+        Optional<String> result =
+            searchDocumentTransformer.transformAspect(snapshot.getUrn(), aspect.getValue(), aspectSpec, forDelete);
+        Optional<ObjectNode> expected = searchDocumentTransformer.transformAspectToNode(snapshot.getUrn(),
+            aspect.getValue(), aspectSpec, forDelete);
+        assertEquals(result.isPresent(), expected.isPresent());
+        if (result.isPresent()) {
+          assertEquals(OBJECT_MAPPER.readTree(result.get()), expected.get());
+        }
+      }
+    }
+  }
 }
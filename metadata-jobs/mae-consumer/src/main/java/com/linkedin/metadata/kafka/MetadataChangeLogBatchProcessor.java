@@ -0,0 +1,103 @@
+package com.linkedin.metadata.kafka;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableList;
+import com.linkedin.gms.factory.kafka.KafkaEventConsumerFactory;
+import com.linkedin.metadata.EventUtils;
+import com.linkedin.metadata.kafka.config.MetadataChangeLogBatchProcessorCondition;
+import com.linkedin.metadata.kafka.hook.MetadataChangeLogHook;
+import com.linkedin.metadata.kafka.hook.UpdateIndicesHook;
+import com.linkedin.metadata.kafka.hook.authorization.AuthorizationCacheHook;
+import com.linkedin.metadata.kafka.hook.event.EntityChangeEventGeneratorHook;
+import com.linkedin.metadata.kafka.hook.ingestion.IngestionSchedulerHook;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.mxe.MetadataChangeLog;
+import com.linkedin.mxe.Topics;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * Default MCL consumer, unless MCL_CONSUMER_BATCH_ENABLED is false. All records of a poll are converted first and then
+ * handed to each hook at once, so hooks can group and collapse the events of a batch rather than processing them one
+ * by one, and a slow hook only holds back the others once per poll rather than once per record. Offsets are committed
+ * once all hooks are done with the poll.
+ */
+@Slf4j
+@Component
+@Conditional(MetadataChangeLogBatchProcessorCondition.class)
+@Import({UpdateIndicesHook.class, IngestionSchedulerHook.class, EntityChangeEventGeneratorHook.class,
+    AuthorizationCacheHook.class, KafkaEventConsumerFactory.class})
+@EnableKafka
+public class MetadataChangeLogBatchProcessor implements DisposableBean {
+
+  private final List<MetadataChangeLogHook> hooks;
+  private final MetadataChangeLogHookExecutor hookExecutor;
+  private final Histogram kafkaLagStats = MetricUtils.get().histogram(MetricRegistry.name(this.getClass(), "kafkaLag"));
+  private final Histogram batchSizeStats = MetricUtils.get().histogram(MetricRegistry.name(this.getClass(), "batchSize"));
+
+  @Autowired
+  public MetadataChangeLogBatchProcessor(
+      @Nonnull final UpdateIndicesHook updateIndicesHook,
+      @Nonnull final IngestionSchedulerHook ingestionSchedulerHook,
+      @Nonnull final EntityChangeEventGeneratorHook entityChangeEventHook,
+      @Nonnull final AuthorizationCacheHook authorizationCacheHook,
+      @Value("${MCL_CONSUMER_HOOK_WORKERS:4}") final int hookWorkers) {
+    this.hooks =
+        ImmutableList.of(updateIndicesHook, ingestionSchedulerHook, entityChangeEventHook, authorizationCacheHook);
+    this.hooks.forEach(MetadataChangeLogHook::init);
+    this.hookExecutor = new MetadataChangeLogHookExecutor(this.getClass(), this.hooks, hookWorkers);
+  }
+
+  @KafkaListener(id = "${METADATA_CHANGE_LOG_KAFKA_CONSUMER_GROUP_ID:generic-mae-consumer-job-client}", topics = {
+      "${METADATA_CHANGE_LOG_VERSIONED_TOPIC_NAME:" + Topics.METADATA_CHANGE_LOG_VERSIONED + "}",
+      "${METADATA_CHANGE_LOG_TIMESERIES_TOPIC_NAME:" + Topics.METADATA_CHANGE_LOG_TIMESERIES
+          + "}"}, containerFactory = "kafkaEventBatchConsumer")
+  public void consume(final List<ConsumerRecord<String, GenericRecord>> consumerRecords) {
+    batchSizeStats.update(consumerRecords.size());
+    MetricUtils.counter(this.getClass(), "received_mcl_count").inc(consumerRecords.size());
+
+    final List<MetadataChangeLog> events = new ArrayList<>(consumerRecords.size());
+    for (ConsumerRecord<String, GenericRecord> consumerRecord : consumerRecords) {
+      kafkaLagStats.update(System.currentTimeMillis() - consumerRecord.timestamp());
+      final GenericRecord record = consumerRecord.value();
+      try {
+        events.add(EventUtils.avroToPegasusMCL(record));
+      } catch (Exception e) {
+        MetricUtils.counter(this.getClass(), "avro_to_pegasus_conversion_failure").inc();
+        log.error("Error deserializing message due to: ", e);
+        log.error("Message: {}", record.toString());
+      }
+    }
+    log.debug("Invoking MCL hooks for a batch of {} events", events.size());
+
+    // The events are split by urn and processed concurrently. Failed events are skipped, the remaining events of the
+    // batch are processed and the offsets of the batch are committed once all hooks are done.
+    try {
+      hookExecutor.invokeBatch(events);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while waiting for MCL hooks", e);
+    }
+    MetricUtils.counter(this.getClass(), "consumed_mcl_count").inc(events.size());
+    log.debug("Successfully completed MCL hooks for a batch of {} events", events.size());
+  }
+
+  @Override
+  public void destroy() {
+    hookExecutor.close();
+  }
+}
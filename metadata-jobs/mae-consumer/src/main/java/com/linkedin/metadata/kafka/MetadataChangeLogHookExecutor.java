@@ -0,0 +1,137 @@
+package com.linkedin.metadata.kafka;
+
+import com.codahale.metrics.Timer;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.linkedin.metadata.kafka.hook.MetadataChangeLogHook;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.mxe.MetadataChangeLog;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Runs {@link MetadataChangeLogHook}s concurrently while preserving the order of events per urn.
+ *
+ * Every hook gets its own set of single-threaded workers, and events are sharded onto the workers by urn. Thus the
+ * events of an urn reach each hook in the order they were received, while different urns are processed in parallel
+ * and hooks do not wait for each other within a call. Calls block until all hooks are done with the given events, so
+ * a slow hook holds back the others at the end of each call; batch calls amortize this over a whole poll.
+ *
+ * Hook failures are logged and counted, but do not fail the call.
+ */
+@Slf4j
+public class MetadataChangeLogHookExecutor implements AutoCloseable {
+
+  private final Class<?> _metricsClass;
+  private final List<MetadataChangeLogHook> _hooks;
+  // hook index -> shard -> worker
+  private final List<List<ThreadPoolExecutor>> _workers;
+
+  public MetadataChangeLogHookExecutor(@Nonnull final Class<?> metricsClass,
+      @Nonnull final List<MetadataChangeLogHook> hooks, final int workersPerHook) {
+    if (workersPerHook < 1) {
+      throw new IllegalArgumentException("At least one worker per hook is required, got " + workersPerHook);
+    }
+    _metricsClass = metricsClass;
+    _hooks = hooks;
+    _workers = new ArrayList<>(hooks.size());
+    for (MetadataChangeLogHook hook : hooks) {
+      final String hookName = hook.getClass().getSimpleName();
+      final List<ThreadPoolExecutor> hookWorkers = new ArrayList<>(workersPerHook);
+      for (int i = 0; i < workersPerHook; i++) {
+        hookWorkers.add(new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder().setNameFormat(hookName + "-" + i).setDaemon(true).build()));
+      }
+      MetricUtils.gauge(metricsClass, hookName + "_queue_depth",
+          () -> hookWorkers.stream().mapToInt(worker -> worker.getQueue().size() + worker.getActiveCount()).sum());
+      _workers.add(hookWorkers);
+    }
+  }
+
+  /**
+   * Invokes all hooks on the event and waits for them to complete.
+   */
+  public void invoke(@Nonnull final MetadataChangeLog event) throws InterruptedException {
+    final int shard = shardOf(event);
+    final List<Future<?>> futures = new ArrayList<>(_hooks.size());
+    for (int i = 0; i < _hooks.size(); i++) {
+      final MetadataChangeLogHook hook = _hooks.get(i);
+      futures.add(_workers.get(i).get(shard).submit(() -> runHook(hook, () -> hook.invoke(event))));
+    }
+    awaitAll(futures);
+  }
+
+  /**
+   * Splits the events by urn onto the workers and invokes {@link MetadataChangeLogHook#invokeBatch(List)} of all hooks
+   * on every part. Waits for all of them to complete.
+   */
+  public void invokeBatch(@Nonnull final List<MetadataChangeLog> events) throws InterruptedException {
+    final Map<Integer, List<MetadataChangeLog>> eventsByShard = new LinkedHashMap<>();
+    for (MetadataChangeLog event : events) {
+      eventsByShard.computeIfAbsent(shardOf(event), shard -> new ArrayList<>()).add(event);
+    }
+    final List<Future<?>> futures = new ArrayList<>(_hooks.size() * eventsByShard.size());
+    for (int i = 0; i < _hooks.size(); i++) {
+      final MetadataChangeLogHook hook = _hooks.get(i);
+      for (Map.Entry<Integer, List<MetadataChangeLog>> entry : eventsByShard.entrySet()) {
+        final List<MetadataChangeLog> shardEvents = entry.getValue();
+        futures.add(_workers.get(i).get(entry.getKey()).submit(() -> runHook(hook, () -> hook.invokeBatch(shardEvents))));
+      }
+    }
+    awaitAll(futures);
+  }
+
+  @Override
+  public void close() {
+    _workers.forEach(hookWorkers -> hookWorkers.forEach(ThreadPoolExecutor::shutdown));
+  }
+
+  private int shardOf(@Nonnull final MetadataChangeLog event) {
+    final int hash;
+    if (event.hasEntityUrn()) {
+      hash = event.getEntityUrn().hashCode();
+    } else if (event.hasEntityKeyAspect()) {
+      hash = Objects.hash(event.getEntityType(), event.getEntityKeyAspect().getValue());
+    } else {
+      hash = 0;
+    }
+    return Math.floorMod(hash, _workers.isEmpty() ? 1 : _workers.get(0).size());
+  }
+
+  private void runHook(@Nonnull final MetadataChangeLogHook hook, @Nonnull final HookCall call) {
+    final String hookName = hook.getClass().getSimpleName();
+    try (Timer.Context ignored = MetricUtils.timer(_metricsClass, hookName + "_latency").time()) {
+      call.run();
+    } catch (Exception e) {
+      // Failed events are skipped, so that a bad event does not block its partition.
+      MetricUtils.counter(_metricsClass, hookName + "_failure").inc();
+      log.error("Failed to execute MCL hook with name {}", hook.getClass().getCanonicalName(), e);
+    }
+  }
+
+  private static void awaitAll(@Nonnull final List<Future<?>> futures) throws InterruptedException {
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        // runHook handles all exceptions of the hooks
+        throw new RuntimeException(e.getCause());
+      }
+    }
+  }
+
+  @FunctionalInterface
+  private interface HookCall {
+    void run() throws Exception;
+  }
+}
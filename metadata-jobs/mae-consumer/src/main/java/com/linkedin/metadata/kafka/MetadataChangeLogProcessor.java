@@ -2,13 +2,13 @@ package com.linkedin.metadata.kafka;
 
 import com.codahale.metrics.Histogram;
 import com.codahale.metrics.MetricRegistry;
-import com.codahale.metrics.Timer;
 import com.google.common.collect.ImmutableList;
 import com.linkedin.gms.factory.kafka.KafkaEventConsumerFactory;
 import com.linkedin.metadata.EventUtils;
 import com.linkedin.metadata.kafka.config.MetadataChangeLogProcessorCondition;
 import com.linkedin.metadata.kafka.hook.MetadataChangeLogHook;
 import com.linkedin.metadata.kafka.hook.UpdateIndicesHook;
+import com.linkedin.metadata.kafka.hook.authorization.AuthorizationCacheHook;
 import com.linkedin.metadata.kafka.hook.event.EntityChangeEventGeneratorHook;
 import com.linkedin.metadata.kafka.hook.ingestion.IngestionSchedulerHook;
 import com.linkedin.metadata.utils.metrics.MetricUtils;
@@ -19,7 +19,9 @@ import javax.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Import;
 import org.springframework.kafka.annotation.EnableKafka;
@@ -27,23 +29,34 @@ import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
 
+/**
+ * Record by record MCL consumer, used instead of {@link MetadataChangeLogBatchProcessor} when
+ * MCL_CONSUMER_BATCH_ENABLED is false. Each record waits for all hooks, and offsets are auto-committed periodically,
+ * independently of whether the hooks are done, so records may be lost on a crash.
+ */
 @Slf4j
 @Component
 @Conditional(MetadataChangeLogProcessorCondition.class)
-@Import({UpdateIndicesHook.class, IngestionSchedulerHook.class, EntityChangeEventGeneratorHook.class, KafkaEventConsumerFactory.class})
+@Import({UpdateIndicesHook.class, IngestionSchedulerHook.class, EntityChangeEventGeneratorHook.class,
+    AuthorizationCacheHook.class, KafkaEventConsumerFactory.class})
 @EnableKafka
-public class MetadataChangeLogProcessor {
+public class MetadataChangeLogProcessor implements DisposableBean {
 
   private final List<MetadataChangeLogHook> hooks;
+  private final MetadataChangeLogHookExecutor hookExecutor;
   private final Histogram kafkaLagStats = MetricUtils.get().histogram(MetricRegistry.name(this.getClass(), "kafkaLag"));
 
   @Autowired
   public MetadataChangeLogProcessor(
       @Nonnull final UpdateIndicesHook updateIndicesHook,
       @Nonnull final IngestionSchedulerHook ingestionSchedulerHook,
-      @Nonnull final EntityChangeEventGeneratorHook entityChangeEventHook) {
-    this.hooks = ImmutableList.of(updateIndicesHook, ingestionSchedulerHook, entityChangeEventHook);
+      @Nonnull final EntityChangeEventGeneratorHook entityChangeEventHook,
+      @Nonnull final AuthorizationCacheHook authorizationCacheHook,
+      @Value("${MCL_CONSUMER_HOOK_WORKERS:4}") final int hookWorkers) {
+    this.hooks =
+        ImmutableList.of(updateIndicesHook, ingestionSchedulerHook, entityChangeEventHook, authorizationCacheHook);
     this.hooks.forEach(MetadataChangeLogHook::init);
+    this.hookExecutor = new MetadataChangeLogHookExecutor(this.getClass(), this.hooks, hookWorkers);
   }
 
   @KafkaListener(id = "${METADATA_CHANGE_LOG_KAFKA_CONSUMER_GROUP_ID:generic-mae-consumer-job-client}", topics = {
@@ -71,19 +84,20 @@ public class MetadataChangeLogProcessor {
     log.debug("Invoking MCL hooks for urn: {}, key: {}", event.getEntityUrn(), event.getEntityKeyAspect());
 
     // Here - plug in additional "custom processor hooks"
-    for (MetadataChangeLogHook hook : this.hooks) {
-      try (Timer.Context ignored = MetricUtils.timer(this.getClass(), hook.getClass().getSimpleName() + "_latency")
-          .time()) {
-        hook.invoke(event);
-      } catch (Exception e) {
-        // Just skip this hook and continue. - Note that this represents "at most once" processing.
-        MetricUtils.counter(this.getClass(), hook.getClass().getSimpleName() + "_failure").inc();
-        log.error("Failed to execute MCL hook with name {}", hook.getClass().getCanonicalName(), e);
-      }
+    // The hooks run concurrently; the next record is only consumed once all of them are done with this one
+    try {
+      hookExecutor.invoke(event);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while waiting for MCL hooks", e);
     }
-    // TODO: Manually commit kafka offsets after full processing.
     MetricUtils.counter(this.getClass(), "consumed_mcl_count").inc();
     log.debug("Successfully completed MCL hooks for urn: {}, key: {}", event.getEntityUrn(),
         event.getEntityKeyAspect());
   }
+
+  @Override
+  public void destroy() {
+    hookExecutor.close();
+  }
 }
@@ -10,7 +10,7 @@ public class MetadataChangeLogProcessorCondition implements Condition {
   @Override
   public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
     Environment env = context.getEnvironment();
-    return "true".equals(env.getProperty("MAE_CONSUMER_ENABLED")) || "true".equals(
-        env.getProperty("MCL_CONSUMER_ENABLED"));
+    return ("true".equals(env.getProperty("MAE_CONSUMER_ENABLED")) || "true".equals(
+        env.getProperty("MCL_CONSUMER_ENABLED"))) && "false".equals(env.getProperty("MCL_CONSUMER_BATCH_ENABLED"));
   }
 }
@@ -0,0 +1,76 @@
+package com.linkedin.metadata.kafka.elasticsearch;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.linkedin.metadata.search.elasticsearch.update.ESBulkProcessor;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * Pauses the consumption of the MCL topics while Elasticsearch does not keep up with the search document writes, and
+ * resumes it once the pending writes drained. This keeps the consumer from buffering writes without bound and from
+ * blocking in the bulk processor for longer than the Kafka poll interval.
+ */
+@Slf4j
+@Component
+public class BulkBackpressureMonitor implements DisposableBean {
+
+  // Absent if no Kafka listener is enabled in this process
+  private final Optional<KafkaListenerEndpointRegistry> _registry;
+  private final Optional<ESBulkProcessor> _bulkProcessor;
+  private final String _listenerId;
+  private final ScheduledExecutorService _scheduler;
+
+  @Autowired
+  public BulkBackpressureMonitor(Optional<KafkaListenerEndpointRegistry> registry,
+      @Qualifier("elasticSearchIndexedBulkProcessor") Optional<ESBulkProcessor> bulkProcessor,
+      @Value("${METADATA_CHANGE_LOG_KAFKA_CONSUMER_GROUP_ID:generic-mae-consumer-job-client}") String listenerId,
+      @Value("${MCL_CONSUMER_BACKPRESSURE_CHECK_INTERVAL_MS:500}") long checkIntervalMillis) {
+    _registry = registry;
+    _bulkProcessor = bulkProcessor;
+    _listenerId = listenerId;
+    _scheduler = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("bulk-backpressure-monitor").setDaemon(true).build());
+    if (_registry.isPresent() && _bulkProcessor.isPresent()) {
+      _scheduler.scheduleWithFixedDelay(this::check, checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  void check() {
+    try {
+      final MessageListenerContainer container = _registry.get().getListenerContainer(_listenerId);
+      if (container == null || !container.isRunning()) {
+        return;
+      }
+      final ESBulkProcessor bulkProcessor = _bulkProcessor.get();
+      if (!container.isPauseRequested() && bulkProcessor.isBackpressured()) {
+        log.warn("Pausing MCL consumption, {} search index writes are pending",
+            bulkProcessor.getPendingRequests());
+        MetricUtils.counter(this.getClass(), "pause").inc();
+        container.pause();
+      } else if (container.isPauseRequested() && bulkProcessor.hasRecovered()) {
+        log.info("Resuming MCL consumption");
+        container.resume();
+      }
+    } catch (RuntimeException e) {
+      // Keep the scheduled check alive
+      log.error("Failed to check search index write backpressure", e);
+    }
+  }
+
+  @Override
+  public void destroy() {
+    _scheduler.shutdownNow();
+  }
+}
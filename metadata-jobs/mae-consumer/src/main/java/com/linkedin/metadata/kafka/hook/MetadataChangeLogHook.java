@@ -1,15 +1,21 @@
 package com.linkedin.metadata.kafka.hook;
 
 import com.linkedin.mxe.MetadataChangeLog;
+import java.util.List;
 import javax.annotation.Nonnull;
 
 
 /**
  * Custom hook which is invoked on receiving a new {@link MetadataChangeLog} event.
  *
- * The semantics of this hook are currently "at most once". That is, the hook will not be called
- * with the same message. In the future, we intend to migrate to "at least once" semantics, meaning
- * that the hook will be responsible for implementing idempotency.
+ * With the default batch consumer, the semantics of this hook are "at least once". Kafka offsets are committed only
+ * after all hooks have processed a poll, so a message may be delivered again after a restart or rebalance, and hooks
+ * are responsible for implementing idempotency. The record by record consumer (MCL_CONSUMER_BATCH_ENABLED=false)
+ * auto-commits offsets periodically instead, so a message may also be lost on a crash. A message on which a hook
+ * fails is not retried.
+ *
+ * Hooks are invoked concurrently with each other and for different urns. The messages of a single urn reach a hook in
+ * the order they were produced.
  */
 public interface MetadataChangeLogHook {
 
@@ -22,4 +28,29 @@ public interface MetadataChangeLogHook {
    * Invoke the hook when a MetadataChangeLog is received
    */
   void invoke(@Nonnull MetadataChangeLog log) throws Exception;
+
+  /**
+   * Invoke the hook on a batch of MetadataChangeLogs, in the order they were received. Hooks which can handle a batch
+   * more efficiently than event by event should override this.
+   *
+   * By default, each event is processed on its own. A failing event does not prevent the remaining events from being
+   * processed; the first failure is rethrown once the batch is done.
+   */
+  default void invokeBatch(@Nonnull List<MetadataChangeLog> logs) throws Exception {
+    Exception failure = null;
+    for (MetadataChangeLog log : logs) {
+      try {
+        invoke(log);
+      } catch (Exception e) {
+        if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
 }
@@ -17,13 +17,14 @@ import com.linkedin.metadata.graph.Edge;
 import com.linkedin.metadata.graph.GraphService;
 import com.linkedin.metadata.models.AspectSpec;
 import com.linkedin.metadata.models.EntitySpec;
-import com.linkedin.metadata.models.RelationshipFieldSpec;
-import com.linkedin.metadata.models.extractor.FieldExtractor;
 import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.metadata.query.filter.ConjunctiveCriterionArray;
 import com.linkedin.metadata.query.filter.Filter;
 import com.linkedin.metadata.query.filter.RelationshipDirection;
 import com.linkedin.metadata.search.EntitySearchService;
+import com.linkedin.metadata.search.cache.EntityLineageResultCache;
+import com.linkedin.metadata.search.cache.SearchResultCacheManager;
+import com.linkedin.metadata.search.transformer.SearchDocumentDelta;
 import com.linkedin.metadata.search.transformer.SearchDocumentTransformer;
 import com.linkedin.metadata.search.utils.SearchUtils;
 import com.linkedin.metadata.systemmetadata.SystemMetadataService;
@@ -31,24 +32,32 @@ import com.linkedin.metadata.timeseries.TimeseriesAspectService;
 import com.linkedin.metadata.timeseries.transformer.TimeseriesAspectTransformer;
 import com.linkedin.metadata.utils.EntityKeyUtils;
 import com.linkedin.metadata.utils.GenericRecordUtils;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
 import com.linkedin.mxe.MetadataChangeLog;
 import com.linkedin.mxe.SystemMetadata;
 import com.linkedin.util.Pair;
 import java.io.UnsupportedEncodingException;
-import java.net.URISyntaxException;
 import java.net.URLEncoder;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
 import org.springframework.stereotype.Component;
 
+import static com.linkedin.metadata.graph.GraphIndexUtils.*;
 import static com.linkedin.metadata.search.utils.QueryUtils.*;
 
 @Slf4j
@@ -63,6 +72,10 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
   private final SystemMetadataService _systemMetadataService;
   private final EntityRegistry _entityRegistry;
   private final SearchDocumentTransformer _searchDocumentTransformer;
+  // Only present when lineage search is served from the same process
+  private final Optional<EntityLineageResultCache> _entityLineageResultCache;
+  // Only present when search is served from the same process
+  private final Optional<SearchResultCacheManager> _searchResultCacheManager;
 
   @Autowired
   public UpdateIndicesHook(
@@ -71,13 +84,17 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
       TimeseriesAspectService timeseriesAspectService,
       SystemMetadataService systemMetadataService,
       EntityRegistry entityRegistry,
-      SearchDocumentTransformer searchDocumentTransformer) {
+      SearchDocumentTransformer searchDocumentTransformer,
+      Optional<EntityLineageResultCache> entityLineageResultCache,
+      Optional<SearchResultCacheManager> searchResultCacheManager) {
     _graphService = graphService;
     _entitySearchService = entitySearchService;
     _timeseriesAspectService = timeseriesAspectService;
     _systemMetadataService = systemMetadataService;
     _entityRegistry = entityRegistry;
     _searchDocumentTransformer = searchDocumentTransformer;
+    _entityLineageResultCache = entityLineageResultCache;
+    _searchResultCacheManager = searchResultCacheManager;
     _graphService.configure();
     _entitySearchService.configure();
     _systemMetadataService.configure();
@@ -115,8 +132,9 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
         updateTimeseriesFields(event.getEntityType(), event.getAspectName(), urn, aspect, aspectSpec,
             event.getSystemMetadata());
       } else {
-        updateSearchService(entitySpec.getName(), urn, aspectSpec, aspect);
-        updateGraphService(urn, aspectSpec, aspect);
+        RecordTemplate previousAspect = getPreviousAspect(event, aspectSpec, aspect);
+        updateSearchService(entitySpec.getName(), urn, aspectSpec, aspect, previousAspect);
+        updateGraphService(urn, aspectSpec, aspect, previousAspect);
         updateSystemMetadata(event.getSystemMetadata(), urn, aspectSpec, aspect);
       }
     } else if (event.getChangeType() == ChangeType.DELETE) {
@@ -143,52 +161,179 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
     }
   }
 
-  private Pair<List<Edge>, Set<String>> getEdgesAndRelationshipTypesFromAspect(Urn urn, AspectSpec aspectSpec, RecordTemplate aspect) {
-    final Set<String> relationshipTypesBeingAdded = new HashSet<>();
-    final List<Edge> edgesToAdd = new ArrayList<>();
-
-    Map<RelationshipFieldSpec, List<Object>> extractedFields =
-        FieldExtractor.extractFields(aspect, aspectSpec.getRelationshipFieldSpecs());
-
-    for (Map.Entry<RelationshipFieldSpec, List<Object>> entry : extractedFields.entrySet()) {
-      relationshipTypesBeingAdded.add(entry.getKey().getRelationshipName());
-      for (Object fieldValue : entry.getValue()) {
-        try {
-          edgesToAdd.add(
-              new Edge(urn, Urn.createFromString(fieldValue.toString()), entry.getKey().getRelationshipName()));
-        } catch (URISyntaxException e) {
-          log.error("Invalid destination urn: {}", fieldValue.toString(), e);
-        }
+  @Override
+  public void invokeBatch(@Nonnull List<MetadataChangeLog> events) throws Exception {
+    MetadataChangeLogHook.super.invokeBatch(collapseSupersededEvents(events));
+  }
+
+  /**
+   * Versioned aspects are indexed from their latest value only, so an upsert followed by another upsert of the same
+   * urn and aspect within a batch does not need to be processed. The later event takes over the previous value of the
+   * collapsed one, so that it describes the change across both. Deletes and timeseries aspects are never collapsed.
+   */
+  private List<MetadataChangeLog> collapseSupersededEvents(@Nonnull List<MetadataChangeLog> events) {
+    final List<MetadataChangeLog> collapsed = new ArrayList<>(events.size());
+    // (urn, aspect) -> position in collapsed of the latest upsert
+    final Map<Pair<Urn, String>, Integer> latestUpserts = new HashMap<>();
+    for (MetadataChangeLog event : events) {
+      if (!event.hasEntityUrn() || !event.hasAspectName() || isTimeseries(event)) {
+        collapsed.add(event);
+        continue;
+      }
+      final Pair<Urn, String> key = Pair.of(event.getEntityUrn(), event.getAspectName());
+      if (event.getChangeType() != ChangeType.UPSERT) {
+        latestUpserts.remove(key);
+        collapsed.add(event);
+        continue;
       }
+      final Integer supersededPosition = latestUpserts.get(key);
+      if (supersededPosition != null) {
+        event = withPreviousValueOf(event, collapsed.get(supersededPosition));
+        collapsed.set(supersededPosition, null);
+        MetricUtils.counter(this.getClass(), "collapsed_mcl_count").inc();
+      }
+      latestUpserts.put(key, collapsed.size());
+      collapsed.add(event);
+    }
+    return collapsed.stream().filter(Objects::nonNull).collect(Collectors.toList());
+  }
+
+  private boolean isTimeseries(@Nonnull MetadataChangeLog event) {
+    try {
+      AspectSpec aspectSpec = _entityRegistry.getEntitySpec(event.getEntityType()).getAspectSpec(event.getAspectName());
+      return aspectSpec != null && aspectSpec.isTimeseries();
+    } catch (IllegalArgumentException e) {
+      // Unknown entity type, which invoke reports
+      return false;
     }
-    return Pair.of(edgesToAdd, relationshipTypesBeingAdded);
+  }
+
+  @SneakyThrows
+  private static MetadataChangeLog withPreviousValueOf(@Nonnull MetadataChangeLog event,
+      @Nonnull MetadataChangeLog superseded) {
+    // Other hooks receive the same event instances, so change a copy
+    final MetadataChangeLog result = event.copy();
+    if (superseded.hasPreviousAspectValue()) {
+      result.setPreviousAspectValue(superseded.getPreviousAspectValue());
+    } else {
+      result.removePreviousAspectValue();
+    }
+    if (superseded.hasPreviousSystemMetadata()) {
+      result.setPreviousSystemMetadata(superseded.getPreviousSystemMetadata());
+    } else {
+      result.removePreviousSystemMetadata();
+    }
+    return result;
   }
 
   /**
-   * Process snapshot and update graph index
+   * The previous value of the aspect, against which only the changes of the search document and edges are written.
+   * Null if unknown, or if it equals the new value: an aspect written again unchanged, e.g. to repair indices whose
+   * earlier write failed, is indexed in full.
    */
-  private void updateGraphService(Urn urn, AspectSpec aspectSpec, RecordTemplate aspect) {
+  @Nullable
+  private RecordTemplate getPreviousAspect(@Nonnull MetadataChangeLog event, @Nonnull AspectSpec aspectSpec,
+      @Nonnull RecordTemplate aspect) {
+    if (!event.hasPreviousAspectValue() || (aspectSpec.getRelationshipFieldSpecs().isEmpty()
+        && aspectSpec.getSearchableFieldSpecs().isEmpty() && aspectSpec.getSearchScoreFieldSpecs().isEmpty())) {
+      return null;
+    }
+    try {
+      final RecordTemplate previousAspect = GenericRecordUtils.deserializeAspect(
+          event.getPreviousAspectValue().getValue(), event.getPreviousAspectValue().getContentType(), aspectSpec);
+      if (previousAspect.equals(aspect)) {
+        MetricUtils.counter(this.getClass(), "unchanged_aspect_reindexed").inc();
+        return null;
+      }
+      return previousAspect;
+    } catch (Exception e) {
+      log.warn("Failed to deserialize previous value of aspect {} for urn {}, reindexing it in full",
+          aspectSpec.getName(), event.getEntityUrn(), e);
+      return null;
+    }
+  }
+
+  /**
+   * Process snapshot and update graph index. If the previous value of the aspect is known, only the edges that differ
+   * between the previous and the new value are removed and added. Otherwise, all outgoing edges of the relationship
+   * types of the aspect are replaced.
+   */
+  private void updateGraphService(Urn urn, AspectSpec aspectSpec, RecordTemplate aspect,
+      @Nullable RecordTemplate previousAspect) {
     Pair<List<Edge>, Set<String>> edgeAndRelationTypes =
         getEdgesAndRelationshipTypesFromAspect(urn, aspectSpec, aspect);
 
     final List<Edge> edgesToAdd = edgeAndRelationTypes.getFirst();
     final Set<String> relationshipTypesBeingAdded = edgeAndRelationTypes.getSecond();
 
+    if (previousAspect != null) {
+      final Set<Edge> previousEdges =
+          new HashSet<>(getEdgesAndRelationshipTypesFromAspect(urn, aspectSpec, previousAspect).getFirst());
+      final Set<Edge> newEdges = new LinkedHashSet<>(edgesToAdd);
+      final List<Edge> removedEdges =
+          previousEdges.stream().filter(edge -> !newEdges.contains(edge)).collect(Collectors.toList());
+      final List<Edge> addedEdges =
+          newEdges.stream().filter(edge -> !previousEdges.contains(edge)).collect(Collectors.toList());
+
+      log.debug("Edges removed: {}, edges added: {}", removedEdges.size(), addedEdges.size());
+      if (removedEdges.isEmpty() && addedEdges.isEmpty()) {
+        MetricUtils.counter(this.getClass(), "unchanged_edges_skipped").inc();
+        return;
+      }
+      if (!removedEdges.isEmpty()) {
+        _graphService.removeEdges(removedEdges);
+      }
+      if (!addedEdges.isEmpty()) {
+        _graphService.addEdges(addedEdges);
+      }
+      final List<Edge> changedEdges = new ArrayList<>(removedEdges);
+      changedEdges.addAll(addedEdges);
+      invalidateLineage(urn, changedEdges);
+      return;
+    }
+
     log.debug("Here's the relationship types found {}", relationshipTypesBeingAdded);
     if (relationshipTypesBeingAdded.size() > 0) {
       _graphService.removeEdgesFromNode(urn, new ArrayList<>(relationshipTypesBeingAdded),
           newRelationshipFilter(new Filter().setOr(new ConjunctiveCriterionArray()), RelationshipDirection.OUTGOING));
-      edgesToAdd.forEach(edge -> _graphService.addEdge(edge));
+      _graphService.addEdges(edgesToAdd);
+      invalidateLineage(urn, edgesToAdd);
     }
   }
 
   /**
-   * Process snapshot and update search index
+   * Invalidate cached lineages that may reach the urn or the destinations of its changed edges
+   */
+  private void invalidateLineage(Urn urn, List<Edge> changedEdges) {
+    _entityLineageResultCache.ifPresent(cache -> {
+      final Set<Urn> urns = new HashSet<>();
+      urns.add(urn);
+      changedEdges.forEach(edge -> urns.add(edge.getDestination()));
+      cache.invalidate(urns);
+    });
+  }
+
+  /**
+   * Process snapshot and update search index. If the previous value of the aspect is known, only the fields of the
+   * search document that changed are written, and nothing is written if none did.
    */
-  private void updateSearchService(String entityName, Urn urn, AspectSpec aspectSpec, RecordTemplate aspect) {
+  private void updateSearchService(String entityName, Urn urn, AspectSpec aspectSpec, RecordTemplate aspect,
+      @Nullable RecordTemplate previousAspect) {
     Optional<String> searchDocument;
+    Optional<String> changedFields = Optional.empty();
     try {
-      searchDocument = _searchDocumentTransformer.transformAspect(urn, aspect, aspectSpec, false);
+      if (previousAspect != null) {
+        final Optional<SearchDocumentDelta> delta =
+            _searchDocumentTransformer.transformAspectDelta(urn, aspect, previousAspect, aspectSpec);
+        if (delta.isPresent() && !delta.get().getChangedFields().isPresent()) {
+          MetricUtils.counter(this.getClass(), "unchanged_search_document_skipped").inc();
+          return;
+        }
+        searchDocument = delta.map(SearchDocumentDelta::getDocument);
+        changedFields = delta.flatMap(SearchDocumentDelta::getChangedFields);
+      } else {
+        searchDocument = _searchDocumentTransformer.transformAspect(urn, aspect, aspectSpec, false);
+      }
     } catch (Exception e) {
       log.error("Error in getting documents from aspect: {} for aspect {}", e, aspectSpec.getName());
       return;
@@ -204,7 +349,19 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
       return;
     }
 
-    _entitySearchService.upsertDocument(entityName, searchDocument.get(), docId.get());
+    if (changedFields.isPresent()) {
+      _entitySearchService.updateDocumentFields(entityName, changedFields.get(), searchDocument.get(), docId.get());
+    } else {
+      _entitySearchService.upsertDocument(entityName, searchDocument.get(), docId.get());
+    }
+    invalidateSearchResults(entityName);
+  }
+
+  /**
+   * Invalidate cached search results that may include documents of the entity
+   */
+  private void invalidateSearchResults(String entityName) {
+    _searchResultCacheManager.ifPresent(cacheManager -> cacheManager.invalidate(Collections.singleton(entityName)));
   }
 
   /**
@@ -248,6 +405,7 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
   private void deleteGraphData(Urn urn, AspectSpec aspectSpec, RecordTemplate aspect, Boolean isKeyAspect) {
     if (isKeyAspect) {
       _graphService.removeNode(urn);
+      invalidateLineage(urn, Collections.emptyList());
       return;
     }
 
@@ -258,6 +416,7 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
     if (relationshipTypesBeingAdded.size() > 0) {
       _graphService.removeEdgesFromNode(urn, new ArrayList<>(relationshipTypesBeingAdded),
           createRelationshipFilter(new Filter().setOr(new ConjunctiveCriterionArray()), RelationshipDirection.OUTGOING));
+      invalidateLineage(urn, Collections.emptyList());
     }
   }
 
@@ -272,6 +431,7 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
 
       if (isKeyAspect) {
         _entitySearchService.deleteDocument(entityName, docId);
+        invalidateSearchResults(entityName);
         return;
       }
 
@@ -288,5 +448,6 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
       }
 
     _entitySearchService.upsertDocument(entityName, searchDocument.get(), docId);
+    invalidateSearchResults(entityName);
   }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.linkedin.metadata.kafka.hook.authorization;
+
+import com.datahub.authorization.AuthorizationCache;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.gms.factory.auth.AuthorizationCacheFactory;
+import com.linkedin.gms.factory.entityregistry.EntityRegistryFactory;
+import com.linkedin.metadata.kafka.hook.MetadataChangeLogHook;
+import com.linkedin.metadata.models.EntitySpec;
+import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.utils.EntityKeyUtils;
+import com.linkedin.mxe.MetadataChangeLog;
+import javax.annotation.Nonnull;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * This hook invalidates the {@link AuthorizationCache} entries of the group memberships, owners and domains which
+ * changed, so that authorization decisions do not wait for them to expire.
+ *
+ * The cache is only shared with the authorizer when the consumer runs within GMS. Otherwise, this hook has nothing to
+ * invalidate, and entries simply expire.
+ */
+@Slf4j
+@Component
+@Singleton
+@Import({EntityRegistryFactory.class, AuthorizationCacheFactory.class})
+public class AuthorizationCacheHook implements MetadataChangeLogHook {
+
+  private final EntityRegistry _entityRegistry;
+  private final AuthorizationCache _authorizationCache;
+
+  @Autowired
+  public AuthorizationCacheHook(
+      @Nonnull final EntityRegistry entityRegistry,
+      @Nonnull final AuthorizationCache authorizationCache
+  ) {
+    _entityRegistry = entityRegistry;
+    _authorizationCache = authorizationCache;
+  }
+
+  @Override
+  public void invoke(@Nonnull MetadataChangeLog event) {
+    if (!AuthorizationCache.CACHED_ASPECTS.contains(event.getAspectName())) {
+      return;
+    }
+    final Urn urn = getUrnFromEvent(event);
+    log.debug("Invalidating authorization cache for aspect {} of urn {}", event.getAspectName(), urn);
+    _authorizationCache.invalidate(urn, event.getAspectName());
+  }
+
+  /**
+   * Extracts and returns an {@link Urn} from a {@link MetadataChangeLog}. Extracts from either an entityUrn
+   * or entityKey field, depending on which is present.
+   */
+  private Urn getUrnFromEvent(final MetadataChangeLog event) {
+    if (event.hasEntityUrn()) {
+      return event.getEntityUrn();
+    }
+    EntitySpec entitySpec;
+    try {
+      entitySpec = _entityRegistry.getEntitySpec(event.getEntityType());
+    } catch (IllegalArgumentException e) {
+      log.error("Error while processing entity type {}: {}", event.getEntityType(), e.toString());
+      throw new RuntimeException("Failed to get urn from MetadataChangeLog event. Skipping processing.", e);
+    }
+    return EntityKeyUtils.getUrnFromLog(event, entitySpec.getKeyAspectSpec());
+  }
+}
@@ -0,0 +1,87 @@
+package com.linkedin.metadata.kafka;
+
+import com.google.common.collect.ImmutableList;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.events.metadata.ChangeType;
+import com.linkedin.metadata.kafka.hook.MetadataChangeLogHook;
+import com.linkedin.mxe.MetadataChangeLog;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+
+public class MetadataChangeLogHookExecutorTest {
+
+  private static class RecordingHook implements MetadataChangeLogHook {
+    private final List<MetadataChangeLog> invoked = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public void invoke(@Nonnull MetadataChangeLog log) throws Exception {
+      invoked.add(log);
+    }
+  }
+
+  private static class FailingHook implements MetadataChangeLogHook {
+    @Override
+    public void invoke(@Nonnull MetadataChangeLog log) throws Exception {
+      throw new RuntimeException("failed");
+    }
+  }
+
+  @Test
+  public void testInvokeBatchPreservesOrderPerUrn() throws Exception {
+    RecordingHook hook = new RecordingHook();
+    List<MetadataChangeLog> events = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      events.add(event("urn:li:corpuser:user" + (i % 5), "aspect" + i));
+    }
+
+    try (MetadataChangeLogHookExecutor executor =
+        new MetadataChangeLogHookExecutor(this.getClass(), ImmutableList.of(new FailingHook(), hook), 3)) {
+      executor.invokeBatch(events);
+    }
+
+    // All events are processed despite the failing hook, and in order for every urn
+    assertEquals(hook.invoked.size(), events.size());
+    for (int user = 0; user < 5; user++) {
+      final String urn = "urn:li:corpuser:user" + user;
+      assertEquals(eventsOf(hook.invoked, urn), eventsOf(events, urn));
+    }
+  }
+
+  @Test
+  public void testInvoke() throws Exception {
+    RecordingHook firstHook = new RecordingHook();
+    RecordingHook secondHook = new RecordingHook();
+    MetadataChangeLog event = event("urn:li:corpuser:user", "aspect");
+
+    try (MetadataChangeLogHookExecutor executor =
+        new MetadataChangeLogHookExecutor(this.getClass(), ImmutableList.of(firstHook, secondHook), 2)) {
+      executor.invoke(event);
+    }
+
+    assertEquals(firstHook.invoked, ImmutableList.of(event));
+    assertEquals(secondHook.invoked, ImmutableList.of(event));
+  }
+
+  private static List<String> eventsOf(List<MetadataChangeLog> events, String urn) {
+    return events.stream()
+        .filter(event -> event.getEntityUrn().toString().equals(urn))
+        .map(MetadataChangeLog::getAspectName)
+        .collect(Collectors.toList());
+  }
+
+  private static MetadataChangeLog event(String urn, String aspectName) throws Exception {
+    MetadataChangeLog event = new MetadataChangeLog();
+    event.setEntityType("corpuser");
+    event.setEntityUrn(Urn.createFromString(urn));
+    event.setAspectName(aspectName);
+    event.setChangeType(ChangeType.UPSERT);
+    return event;
+  }
+}
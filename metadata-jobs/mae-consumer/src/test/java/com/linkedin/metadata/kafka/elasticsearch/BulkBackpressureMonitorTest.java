@@ -0,0 +1,83 @@
+package com.linkedin.metadata.kafka.elasticsearch;
+
+import com.linkedin.metadata.search.elasticsearch.update.ESBulkProcessor;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class BulkBackpressureMonitorTest {
+  private static final String LISTENER_ID = "mcl-consumer";
+
+  private MessageListenerContainer _container;
+  private ESBulkProcessor _bulkProcessor;
+  private BulkBackpressureMonitor _monitor;
+
+  @BeforeMethod
+  public void setup() {
+    AtomicBoolean pauseRequested = new AtomicBoolean();
+    _container = mock(MessageListenerContainer.class);
+    when(_container.isRunning()).thenReturn(true);
+    when(_container.isPauseRequested()).thenAnswer(invocation -> pauseRequested.get());
+    doAnswer(invocation -> {
+      pauseRequested.set(true);
+      return null;
+    }).when(_container).pause();
+    doAnswer(invocation -> {
+      pauseRequested.set(false);
+      return null;
+    }).when(_container).resume();
+    KafkaListenerEndpointRegistry registry = mock(KafkaListenerEndpointRegistry.class);
+    when(registry.getListenerContainer(LISTENER_ID)).thenReturn(_container);
+    _bulkProcessor = mock(ESBulkProcessor.class);
+    // Checked by the test rather than on schedule
+    _monitor = new BulkBackpressureMonitor(Optional.of(registry), Optional.of(_bulkProcessor), LISTENER_ID,
+        TimeUnit.HOURS.toMillis(1));
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    _monitor.destroy();
+  }
+
+  @Test
+  public void testPauseAndResume() {
+    _monitor.check();
+    verify(_container, never()).pause();
+
+    when(_bulkProcessor.isBackpressured()).thenReturn(true);
+    _monitor.check();
+    _monitor.check();
+    verify(_container, times(1)).pause();
+
+    // Not resumed until the pending writes drained to the lower threshold
+    when(_bulkProcessor.isBackpressured()).thenReturn(false);
+    _monitor.check();
+    verify(_container, never()).resume();
+
+    when(_bulkProcessor.hasRecovered()).thenReturn(true);
+    _monitor.check();
+    _monitor.check();
+    verify(_container, times(1)).resume();
+  }
+
+  @Test
+  public void testNotRunning() {
+    when(_container.isRunning()).thenReturn(false);
+    when(_bulkProcessor.isBackpressured()).thenReturn(true);
+    _monitor.check();
+    verify(_container, never()).pause();
+  }
+}
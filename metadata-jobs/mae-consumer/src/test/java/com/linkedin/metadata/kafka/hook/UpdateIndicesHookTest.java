@@ -0,0 +1,139 @@
+package com.linkedin.metadata.kafka.hook;
+
+import com.google.common.collect.ImmutableList;
+import com.linkedin.common.Status;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.events.metadata.ChangeType;
+import com.linkedin.metadata.graph.GraphService;
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.models.EntitySpec;
+import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.search.EntitySearchService;
+import com.linkedin.metadata.search.transformer.SearchDocumentTransformer;
+import com.linkedin.metadata.systemmetadata.SystemMetadataService;
+import com.linkedin.metadata.timeseries.TimeseriesAspectService;
+import com.linkedin.metadata.utils.GenericRecordUtils;
+import com.linkedin.mxe.MetadataChangeLog;
+import java.util.List;
+import java.util.Optional;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+public class UpdateIndicesHookTest {
+  private static final String DATASET = "dataset";
+  private static final String STATUS = "status";
+  private static final String DATASET_PROFILE = "datasetProfile";
+  private static final Urn DATASET_1 = UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:hive,SampleDataset1,PROD)");
+  private static final Urn DATASET_2 = UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:hive,SampleDataset2,PROD)");
+
+  private UpdateIndicesHook _updateIndicesHook;
+
+  @BeforeMethod
+  public void setup() {
+    AspectSpec statusSpec = mock(AspectSpec.class);
+    when(statusSpec.isTimeseries()).thenReturn(false);
+    AspectSpec datasetProfileSpec = mock(AspectSpec.class);
+    when(datasetProfileSpec.isTimeseries()).thenReturn(true);
+    EntitySpec datasetSpec = mock(EntitySpec.class);
+    when(datasetSpec.getAspectSpec(STATUS)).thenReturn(statusSpec);
+    when(datasetSpec.getAspectSpec(DATASET_PROFILE)).thenReturn(datasetProfileSpec);
+    EntityRegistry entityRegistry = mock(EntityRegistry.class);
+    when(entityRegistry.getEntitySpec(DATASET)).thenReturn(datasetSpec);
+
+    _updateIndicesHook = spy(new UpdateIndicesHook(mock(GraphService.class), mock(EntitySearchService.class),
+        mock(TimeseriesAspectService.class), mock(SystemMetadataService.class), entityRegistry,
+        mock(SearchDocumentTransformer.class), Optional.empty(), Optional.empty()));
+    // Only the events the batch is reduced to matter here, not how each is indexed
+    doNothing().when(_updateIndicesHook).invoke(any());
+  }
+
+  @Test
+  public void testSupersededUpsertCollapsed() throws Exception {
+    MetadataChangeLog first = upsert(DATASET_1, STATUS, null, false);
+    MetadataChangeLog other = upsert(DATASET_2, STATUS, null, true);
+    MetadataChangeLog second = upsert(DATASET_1, STATUS, false, true);
+
+    List<MetadataChangeLog> invoked = invokeBatch(first, other, second);
+    assertEquals(invoked.size(), 2);
+    assertEquals(invoked.get(0), other);
+    // The later upsert describes the change across both, from before the first one
+    assertEquals(invoked.get(1).getAspect(), second.getAspect());
+    assertFalse(invoked.get(1).hasPreviousAspectValue());
+    // Other hooks receive the original events
+    assertTrue(second.hasPreviousAspectValue());
+  }
+
+  @Test
+  public void testUpsertsAroundDeleteNotCollapsed() throws Exception {
+    MetadataChangeLog upsert = upsert(DATASET_1, STATUS, null, false);
+    MetadataChangeLog delete = delete(DATASET_1, STATUS, false);
+    MetadataChangeLog upsertAfterDelete = upsert(DATASET_1, STATUS, null, true);
+
+    assertEquals(invokeBatch(upsert, delete, upsertAfterDelete), ImmutableList.of(upsert, delete, upsertAfterDelete));
+  }
+
+  @Test
+  public void testTimeseriesNotCollapsed() throws Exception {
+    MetadataChangeLog first = upsert(DATASET_1, DATASET_PROFILE, null, false);
+    MetadataChangeLog second = upsert(DATASET_1, DATASET_PROFILE, null, true);
+
+    assertEquals(invokeBatch(first, second), ImmutableList.of(first, second));
+  }
+
+  @Test
+  public void testOrderPreserved() throws Exception {
+    MetadataChangeLog first = upsert(DATASET_1, STATUS, null, false);
+    MetadataChangeLog second = upsert(DATASET_2, STATUS, null, false);
+    MetadataChangeLog third = upsert(DATASET_1, DATASET_PROFILE, null, false);
+    MetadataChangeLog fourth = upsert(DATASET_2, STATUS, false, true);
+    MetadataChangeLog fifth = delete(DATASET_1, STATUS, false);
+
+    List<MetadataChangeLog> invoked = invokeBatch(first, second, third, fourth, fifth);
+    assertEquals(invoked.size(), 4);
+    assertEquals(invoked.get(0), first);
+    assertEquals(invoked.get(1), third);
+    assertEquals(invoked.get(2).getAspect(), fourth.getAspect());
+    assertEquals(invoked.get(3), fifth);
+  }
+
+  private List<MetadataChangeLog> invokeBatch(MetadataChangeLog... events) throws Exception {
+    _updateIndicesHook.invokeBatch(ImmutableList.copyOf(events));
+    ArgumentCaptor<MetadataChangeLog> invoked = ArgumentCaptor.forClass(MetadataChangeLog.class);
+    verify(_updateIndicesHook, atLeastOnce()).invoke(invoked.capture());
+    return invoked.getAllValues();
+  }
+
+  private static MetadataChangeLog upsert(Urn urn, String aspectName, Boolean previousRemoved, boolean removed) {
+    MetadataChangeLog event = new MetadataChangeLog().setEntityType(DATASET)
+        .setEntityUrn(urn)
+        .setAspectName(aspectName)
+        .setChangeType(ChangeType.UPSERT)
+        .setAspect(GenericRecordUtils.serializeAspect(new Status().setRemoved(removed)));
+    if (previousRemoved != null) {
+      event.setPreviousAspectValue(GenericRecordUtils.serializeAspect(new Status().setRemoved(previousRemoved)));
+    }
+    return event;
+  }
+
+  private static MetadataChangeLog delete(Urn urn, String aspectName, boolean previousRemoved) {
+    return new MetadataChangeLog().setEntityType(DATASET)
+        .setEntityUrn(urn)
+        .setAspectName(aspectName)
+        .setChangeType(ChangeType.DELETE)
+        .setPreviousAspectValue(GenericRecordUtils.serializeAspect(new Status().setRemoved(previousRemoved)));
+  }
+}
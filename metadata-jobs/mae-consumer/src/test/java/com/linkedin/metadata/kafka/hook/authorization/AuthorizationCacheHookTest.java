@@ -0,0 +1,56 @@
+package com.linkedin.metadata.kafka.hook.authorization;
+
+import com.datahub.authorization.AuthorizationCache;
+import com.google.common.collect.ImmutableSet;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.events.metadata.ChangeType;
+import com.linkedin.metadata.models.registry.ConfigEntityRegistry;
+import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.mxe.MetadataChangeLog;
+import java.util.Set;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static com.linkedin.metadata.Constants.*;
+import static org.testng.Assert.*;
+
+
+public class AuthorizationCacheHookTest {
+  private static final Urn TEST_USER_URN = UrnUtils.getUrn("urn:li:corpuser:test");
+  private static final Set<Urn> TEST_GROUPS = ImmutableSet.of(UrnUtils.getUrn("urn:li:corpGroup:test"));
+
+  private AuthorizationCache _authorizationCache;
+  private AuthorizationCacheHook _authorizationCacheHook;
+
+  @BeforeMethod
+  public void setupTest() {
+    EntityRegistry registry = new ConfigEntityRegistry(
+        AuthorizationCacheHookTest.class.getClassLoader().getResourceAsStream("test-entity-registry.yml"));
+    _authorizationCache = new AuthorizationCache(100, 3600);
+    _authorizationCacheHook = new AuthorizationCacheHook(registry, _authorizationCache);
+    _authorizationCache.get(TEST_USER_URN, GROUP_MEMBERSHIP_ASPECT_NAME, () -> TEST_GROUPS);
+  }
+
+  @Test
+  public void testInvoke() {
+    MetadataChangeLog event = new MetadataChangeLog();
+    event.setEntityType(CORP_USER_ENTITY_NAME);
+    event.setAspectName(GROUP_MEMBERSHIP_ASPECT_NAME);
+    event.setChangeType(ChangeType.UPSERT);
+    event.setEntityUrn(TEST_USER_URN);
+    _authorizationCacheHook.invoke(event);
+    assertTrue(_authorizationCache.get(TEST_USER_URN, GROUP_MEMBERSHIP_ASPECT_NAME, ImmutableSet::of).isEmpty());
+  }
+
+  @Test
+  public void testInvokeOtherAspect() {
+    MetadataChangeLog event = new MetadataChangeLog();
+    event.setEntityType(CORP_USER_ENTITY_NAME);
+    event.setAspectName(CORP_USER_INFO_ASPECT_NAME);
+    event.setChangeType(ChangeType.UPSERT);
+    event.setEntityUrn(TEST_USER_URN);
+    _authorizationCacheHook.invoke(event);
+    assertEquals(_authorizationCache.get(TEST_USER_URN, GROUP_MEMBERSHIP_ASPECT_NAME, ImmutableSet::of), TEST_GROUPS);
+  }
+}
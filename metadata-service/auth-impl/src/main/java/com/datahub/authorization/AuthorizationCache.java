@@ -0,0 +1,90 @@
+package com.datahub.authorization;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.linkedin.common.urn.Urn;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import lombok.Value;
+
+import static com.linkedin.metadata.Constants.DOMAINS_ASPECT_NAME;
+import static com.linkedin.metadata.Constants.GROUP_MEMBERSHIP_ASPECT_NAME;
+import static com.linkedin.metadata.Constants.OWNERSHIP_ASPECT_NAME;
+
+
+/**
+ * A bounded cache of the aspects authorization decisions depend on besides the policies themselves: the groups of an
+ * actor, and the owners and domains of a resource. Each is stored as the set of urns it references.
+ *
+ * Entries expire after a fixed time, and are invalidated as soon as a change to their aspect is seen, see
+ * {@link #invalidate(Urn, String)}.
+ */
+public class AuthorizationCache {
+
+  /**
+   * The aspects which are cached.
+   */
+  public static final Set<String> CACHED_ASPECTS =
+      ImmutableSet.of(GROUP_MEMBERSHIP_ASPECT_NAME, OWNERSHIP_ASPECT_NAME, DOMAINS_ASPECT_NAME);
+
+  private final Cache<AspectKey, Set<Urn>> _cache;
+
+  /**
+   * @param maxSize the maximum number of cached aspects, or 0 to disable caching
+   * @param ttlSeconds the time after which a cached aspect is fetched again
+   */
+  public AuthorizationCache(final long maxSize, final long ttlSeconds) {
+    _cache = CacheBuilder.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+        .build();
+  }
+
+  /**
+   * Returns a cache which does not keep anything.
+   */
+  public static AuthorizationCache disabled() {
+    return new AuthorizationCache(0, 0);
+  }
+
+  /**
+   * Returns the cached urns referenced by an aspect of an entity, loading them if they are not cached. Failures to
+   * load are not cached, and rethrown as runtime exceptions.
+   */
+  @Nonnull
+  public Set<Urn> get(@Nonnull final Urn urn, @Nonnull final String aspectName,
+      @Nonnull final Supplier<Set<Urn>> loader) {
+    try {
+      return _cache.get(new AspectKey(urn, aspectName), () -> ImmutableSet.copyOf(loader.get()));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new RuntimeException(String.format("Failed to load aspect %s for urn %s", aspectName, urn), e.getCause());
+    }
+  }
+
+  /**
+   * Invalidates an aspect of an entity, which should be invoked whenever the aspect changes.
+   */
+  public void invalidate(@Nonnull final Urn urn, @Nonnull final String aspectName) {
+    if (CACHED_ASPECTS.contains(aspectName)) {
+      _cache.invalidate(new AspectKey(urn, aspectName));
+    }
+  }
+
+  public void invalidateAll() {
+    _cache.invalidateAll();
+  }
+
+  @Value
+  private static class AspectKey {
+    Urn urn;
+    String aspectName;
+  }
+}
@@ -9,8 +9,10 @@ import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.entity.client.EntityClient;
 import com.linkedin.metadata.authorization.PoliciesConfig;
 import com.linkedin.policy.DataHubPolicyInfo;
+import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -19,7 +21,9 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
 import static com.linkedin.metadata.Constants.CORP_GROUP_ENTITY_NAME;
@@ -53,9 +57,14 @@ public class DataHubAuthorizer implements Authorizer {
   // Credentials used to make / authorize requests as the internal system actor.
   private final Authentication _systemAuthentication;
 
-  // Maps privilege name to the associated set of policies for fast access.
-  // Not concurrent data structure because writes are always against the entire thing.
-  private final Map<String, List<DataHubPolicyInfo>> _policyCache = new HashMap<>(); // Shared Policy Cache.
+  // Index of the policies by privilege, actor and resource type. Never mutated: changes swap in a new index, so that
+  // requests always see a consistent set of policies without locking.
+  private volatile PolicyIndex _policyIndex = PolicyIndex.EMPTY;
+
+  // Policy changes made through this authorizer, which are applied again on top of full refreshes until the search
+  // index they are fetched from can be expected to have caught up. Guarded by itself, which also serializes swaps.
+  private final Map<Urn, PolicyUpdate> _policyUpdates = new HashMap<>();
+  private long _lastRefreshStartTime = 0L;
 
   private final ScheduledExecutorService _refreshExecutorService = Executors.newScheduledThreadPool(1);
   private final PolicyRefreshRunnable _policyRefreshRunnable;
@@ -72,12 +81,23 @@ public class DataHubAuthorizer implements Authorizer {
       final int delayIntervalSeconds,
       final int refreshIntervalSeconds,
       final AuthorizationMode mode) {
+    this(systemAuthentication, entityClient, delayIntervalSeconds, refreshIntervalSeconds, mode,
+        AuthorizationCache.disabled());
+  }
+
+  public DataHubAuthorizer(
+      final Authentication systemAuthentication,
+      final EntityClient entityClient,
+      final int delayIntervalSeconds,
+      final int refreshIntervalSeconds,
+      final AuthorizationMode mode,
+      final AuthorizationCache authorizationCache) {
     _systemAuthentication = systemAuthentication;
-    _policyRefreshRunnable = new PolicyRefreshRunnable(systemAuthentication, new PolicyFetcher(entityClient), _policyCache);
+    _policyRefreshRunnable = new PolicyRefreshRunnable(systemAuthentication, new PolicyFetcher(entityClient));
     _refreshExecutorService.scheduleAtFixedRate(_policyRefreshRunnable, delayIntervalSeconds, refreshIntervalSeconds, TimeUnit.SECONDS);
     _mode = mode;
-    _resourceSpecResolver = new ResourceSpecResolver(systemAuthentication, entityClient);
-    _policyEngine = new PolicyEngine(systemAuthentication, entityClient);
+    _resourceSpecResolver = new ResourceSpecResolver(systemAuthentication, entityClient, authorizationCache);
+    _policyEngine = new PolicyEngine(systemAuthentication, entityClient, authorizationCache);
   }
 
   @Override
@@ -92,10 +112,30 @@ public class DataHubAuthorizer implements Authorizer {
       return new AuthorizationResult(request, AuthorizationResult.Type.ALLOW, null);
     }
 
-    Optional<ResolvedResourceSpec> resolvedResourceSpec = request.getResourceSpec().map(_resourceSpecResolver::resolve);
+    final PolicyIndex policyIndex = _policyIndex;
 
-    // 1. Fetch the policies relevant to the requested privilege.
-    final List<DataHubPolicyInfo> policiesToEvaluate = _policyCache.getOrDefault(request.getPrivilege(), new ArrayList<>());
+    // 1. Fetch the policies which may grant the requested privilege to the actor on the resource.
+    final List<DataHubPolicyInfo> policiesToEvaluate;
+    if (AuthorizationMode.ALLOW_ALL.equals(mode())) {
+      policiesToEvaluate = policyIndex.getPolicies(request.getPrivilege());
+    } else {
+      final Urn actor;
+      try {
+        // Currently Actor must be an urn. Consider whether this contract should be pushed up.
+        actor = Urn.createFromString(request.getActorUrn());
+      } catch (URISyntaxException e) {
+        log.error(String.format("Failed to bind actor %s to an URN. Actors must be URNs. Denying the authorization request",
+            request.getActorUrn()));
+        return new AuthorizationResult(request, AuthorizationResult.Type.DENY, null);
+      }
+      policiesToEvaluate = policyIndex.getCandidatePolicies(request.getPrivilege(), actor,
+          request.getResourceSpec().map(ResourceSpec::getType));
+    }
+    if (policiesToEvaluate.isEmpty()) {
+      return new AuthorizationResult(request, AuthorizationResult.Type.DENY,  null);
+    }
+
+    Optional<ResolvedResourceSpec> resolvedResourceSpec = request.getResourceSpec().map(_resourceSpecResolver::resolve);
 
     // 2. Evaluate each policy.
     for (DataHubPolicyInfo policy : policiesToEvaluate) {
@@ -111,7 +151,7 @@ public class DataHubAuthorizer implements Authorizer {
   public List<String> getGrantedPrivileges(final String actorUrn, final Optional<ResourceSpec> resourceSpec) {
 
     // 1. Fetch all policies
-    final List<DataHubPolicyInfo> policiesToEvaluate = _policyCache.getOrDefault(ALL, new ArrayList<>());
+    final List<DataHubPolicyInfo> policiesToEvaluate = _policyIndex.getAllPolicies();
 
     Optional<ResolvedResourceSpec> resolvedResourceSpec = resourceSpec.map(_resourceSpecResolver::resolve);
 
@@ -126,7 +166,7 @@ public class DataHubAuthorizer implements Authorizer {
       final String privilege,
       final Optional<ResourceSpec> resourceSpec) {
     // Step 1: Find policies granting the privilege.
-    final List<DataHubPolicyInfo> policiesToEvaluate = _policyCache.getOrDefault(privilege, new ArrayList<>());
+    final List<DataHubPolicyInfo> policiesToEvaluate = _policyIndex.getPolicies(privilege);
 
     Optional<ResolvedResourceSpec> resolvedResourceSpec = resourceSpec.map(_resourceSpecResolver::resolve);
 
@@ -167,6 +207,48 @@ public class DataHubAuthorizer implements Authorizer {
     _refreshExecutorService.execute(_policyRefreshRunnable);
   }
 
+  /**
+   * Applies a created or updated policy to the policy cache right away, without re-fetching all policies. Should be
+   * invoked when a policy is created or modified through this instance.
+   */
+  public void updatePolicy(@Nonnull final Urn policyUrn, @Nonnull final DataHubPolicyInfo policyInfo) {
+    applyPolicyUpdate(policyUrn, new PolicyUpdate(policyInfo, System.currentTimeMillis()));
+  }
+
+  /**
+   * Removes a deleted policy from the policy cache right away, without re-fetching all policies. Should be invoked
+   * when a policy is deleted through this instance.
+   */
+  public void removePolicy(@Nonnull final Urn policyUrn) {
+    applyPolicyUpdate(policyUrn, new PolicyUpdate(null, System.currentTimeMillis()));
+  }
+
+  private void applyPolicyUpdate(@Nonnull final Urn policyUrn, @Nonnull final PolicyUpdate update) {
+    synchronized (_policyUpdates) {
+      _policyUpdates.put(policyUrn, update);
+      _policyIndex = update.applyTo(_policyIndex, policyUrn);
+    }
+  }
+
+  /**
+   * Swaps in the policies fetched by a full refresh which started at the given time.
+   *
+   * Policies changed through this instance may not have been searchable yet when the refresh fetched them, so changes
+   * made since the previous refresh started are applied again on top of the fetched policies.
+   */
+  private void refreshPolicies(@Nonnull final Map<Urn, DataHubPolicyInfo> policies, final long refreshStartTime) {
+    synchronized (_policyUpdates) {
+      final long lastRefreshStartTime = _lastRefreshStartTime;
+      _policyUpdates.values().removeIf(update -> update.getTime() < lastRefreshStartTime);
+      PolicyIndex policyIndex = new PolicyIndex(policies);
+      for (Map.Entry<Urn, PolicyUpdate> entry : _policyUpdates.entrySet()) {
+        policyIndex = entry.getValue().applyTo(policyIndex, entry.getKey());
+      }
+      _policyIndex = policyIndex;
+      _lastRefreshStartTime = refreshStartTime;
+    }
+  }
+
   public AuthorizationMode mode() {
     return _mode;
   }
@@ -202,22 +284,22 @@ public class DataHubAuthorizer implements Authorizer {
   /**
    * A {@link Runnable} used to periodically fetch a new instance of the policies Cache.
    *
-   * Currently, the refresh logic is not very smart. When the cache is invalidated, we simply re-fetch the
-   * entire cache using Policies stored in the backend.
+   * All policies are fetched from the backend and indexed anew, then swapped in at once. This also reconciles the
+   * cache with policy changes made through other instances.
    */
   @VisibleForTesting
   @RequiredArgsConstructor
-  static class PolicyRefreshRunnable implements Runnable {
+  class PolicyRefreshRunnable implements Runnable {
 
     private final Authentication _systemAuthentication;
     private final PolicyFetcher _policyFetcher;
-    private final Map<String, List<DataHubPolicyInfo>> _policyCache;
 
     @Override
     public void run() {
       try {
+        final long refreshStartTime = System.currentTimeMillis();
         // Populate new cache and swap.
-        Map<String, List<DataHubPolicyInfo>> newCache = new HashMap<>();
+        final Map<Urn, DataHubPolicyInfo> newPolicies = new LinkedHashMap<>();
 
         int start = 0;
         int count = 30;
@@ -228,7 +310,7 @@ public class DataHubAuthorizer implements Authorizer {
             final PolicyFetcher.PolicyFetchResult
                 policyFetchResult = _policyFetcher.fetchPolicies(start, count, _systemAuthentication);
 
-            addPoliciesToCache(newCache, policyFetchResult.getPolicies());
+            policyFetchResult.getPolicies().forEach(policy -> newPolicies.put(policy.getUrn(), policy.getPolicyInfo()));
 
             total = policyFetchResult.getTotal();
             start = start + count;
@@ -237,32 +319,26 @@ public class DataHubAuthorizer implements Authorizer {
                 "Failed to retrieve policy urns! Skipping updating policy cache until next refresh. start: {}, count: {}", start, count, e);
             return;
           }
-          synchronized (_policyCache) {
-            _policyCache.clear();
-            _policyCache.putAll(newCache);
-          }
         }
+        refreshPolicies(newPolicies, refreshStartTime);
         log.debug(String.format("Successfully fetched %s policies.", total));
       } catch (Exception e) {
         log.error("Caught exception while loading Policy cache. Will retry on next scheduled attempt.", e);
       }
     }
+  }
 
-    private void addPoliciesToCache(final Map<String, List<DataHubPolicyInfo>> cache,
-        final List<PolicyFetcher.Policy> policies) {
-      policies.forEach(policy -> addPolicyToCache(cache, policy.getPolicyInfo()));
-    }
-
-    private void addPolicyToCache(final Map<String, List<DataHubPolicyInfo>> cache, final DataHubPolicyInfo policy) {
-      final List<String> privileges = policy.getPrivileges();
-      for (String privilege : privileges) {
-        List<DataHubPolicyInfo> existingPolicies = cache.getOrDefault(privilege, new ArrayList<>());
-        existingPolicies.add(policy);
-        cache.put(privilege, existingPolicies);
-      }
-      List<DataHubPolicyInfo> existingPolicies = cache.getOrDefault(ALL, new ArrayList<>());
-      existingPolicies.add(policy);
-      cache.put(ALL, existingPolicies);
+  /**
+   * A change to a single policy, where a null policy info means the policy was deleted.
+   */
+  @Value
+  private static class PolicyUpdate {
+    @Nullable
+    DataHubPolicyInfo policyInfo;
+    long time;
+
+    private PolicyIndex applyTo(@Nonnull final PolicyIndex policyIndex, @Nonnull final Urn policyUrn) {
+      return policyInfo != null ? policyIndex.withPolicy(policyUrn, policyInfo) : policyIndex.withoutPolicy(policyUrn);
     }
   }
 
@@ -42,6 +42,11 @@ public class PolicyEngine {
 
   private final Authentication _systemAuthentication;
   private final EntityClient _entityClient;
+  private final AuthorizationCache _authorizationCache;
+
+  public PolicyEngine(final Authentication systemAuthentication, final EntityClient entityClient) {
+    this(systemAuthentication, entityClient, AuthorizationCache.disabled());
+  }
 
   public PolicyEvaluationResult evaluatePolicy(
       final DataHubPolicyInfo policy,
@@ -327,14 +332,17 @@ public class PolicyEngine {
       return context.groups;
     }
 
-    Set<Urn> groups = new HashSet<>();
-    Optional<GroupMembership> maybeGroups = resolveGroupMembership(actor);
-    maybeGroups.ifPresent(groupMembership -> groups.addAll(groupMembership.getGroups()));
+    // Group memberships are shared across evaluations through the authorization cache
+    final Set<Urn> groups = _authorizationCache.get(actor, GROUP_MEMBERSHIP_ASPECT_NAME, () -> {
+      Set<Urn> memberships = new HashSet<>();
+      Optional<GroupMembership> maybeGroups = resolveGroupMembership(actor);
+      maybeGroups.ifPresent(groupMembership -> memberships.addAll(groupMembership.getGroups()));
+      return memberships;
+    });
     context.setGroups(groups); // Cache the groups.
     return groups;
   }
 
-  // TODO: Optimization - Cache the group membership. Refresh periodically.
   private Optional<GroupMembership> resolveGroupMembership(final Urn actor) {
     try {
       final EntityResponse corpUser = _entityClient.batchGetV2(CORP_USER_ENTITY_NAME, Collections.singleton(actor),
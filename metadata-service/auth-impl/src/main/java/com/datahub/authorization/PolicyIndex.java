@@ -0,0 +1,181 @@
+package com.datahub.authorization;
+
+import com.datahub.authorization.fieldresolverprovider.ResourceFieldType;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.authorization.PoliciesConfig;
+import com.linkedin.policy.DataHubActorFilter;
+import com.linkedin.policy.DataHubPolicyInfo;
+import com.linkedin.policy.DataHubResourceFilter;
+import com.linkedin.policy.PolicyMatchCondition;
+import com.linkedin.policy.PolicyMatchCriterion;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+
+
+/**
+ * An immutable snapshot of the DataHub policies, indexed by privilege, actor and resource type.
+ *
+ * The index narrows down the policies which can possibly grant a privilege to an actor on a resource, so that only a
+ * handful of them has to be evaluated by the {@link PolicyEngine}. Changes produce a new index instead of mutating
+ * this one, so that readers never need to lock.
+ */
+class PolicyIndex {
+
+  static final PolicyIndex EMPTY = new PolicyIndex(Collections.emptyMap());
+
+  // Resource type key for policies which may apply to resources of any type, or to no resource at all.
+  private static final String ANY_RESOURCE_TYPE = "*";
+
+  private final Map<Urn, DataHubPolicyInfo> _policies;
+  private final List<DataHubPolicyInfo> _allPolicies;
+  // Maps privilege name to all policies including it, active or not.
+  private final Map<String, List<DataHubPolicyInfo>> _policiesByPrivilege = new HashMap<>();
+  // Maps privilege name and resource type to the active policies including the privilege.
+  private final Map<String, Map<String, ActorPolicies>> _activePolicies = new HashMap<>();
+
+  PolicyIndex(@Nonnull final Map<Urn, DataHubPolicyInfo> policies) {
+    _policies = Collections.unmodifiableMap(new LinkedHashMap<>(policies));
+    _allPolicies = Collections.unmodifiableList(new ArrayList<>(_policies.values()));
+    _allPolicies.forEach(this::indexPolicy);
+  }
+
+  /**
+   * Returns a new index with a created or updated policy.
+   */
+  @Nonnull
+  PolicyIndex withPolicy(@Nonnull final Urn urn, @Nonnull final DataHubPolicyInfo policy) {
+    final Map<Urn, DataHubPolicyInfo> policies = new LinkedHashMap<>(_policies);
+    policies.put(urn, policy);
+    return new PolicyIndex(policies);
+  }
+
+  /**
+   * Returns a new index without a deleted policy.
+   */
+  @Nonnull
+  PolicyIndex withoutPolicy(@Nonnull final Urn urn) {
+    if (!_policies.containsKey(urn)) {
+      return this;
+    }
+    final Map<Urn, DataHubPolicyInfo> policies = new LinkedHashMap<>(_policies);
+    policies.remove(urn);
+    return new PolicyIndex(policies);
+  }
+
+  @Nonnull
+  Map<Urn, DataHubPolicyInfo> getPolicies() {
+    return _policies;
+  }
+
+  @Nonnull
+  List<DataHubPolicyInfo> getAllPolicies() {
+    return _allPolicies;
+  }
+
+  /**
+   * Returns all policies including a privilege, whether active or not.
+   */
+  @Nonnull
+  List<DataHubPolicyInfo> getPolicies(@Nonnull final String privilege) {
+    return _policiesByPrivilege.getOrDefault(privilege, Collections.emptyList());
+  }
+
+  /**
+   * Returns the active policies which may grant a privilege to an actor on a resource of the given type. Policies which
+   * grant the privilege to the actor directly come first, followed by those which depend on the groups of the actor or
+   * on the owners of the resource.
+   */
+  @Nonnull
+  List<DataHubPolicyInfo> getCandidatePolicies(@Nonnull final String privilege, @Nonnull final Urn actor,
+      @Nonnull final Optional<String> resourceType) {
+    final Map<String, ActorPolicies> policiesByResourceType = _activePolicies.get(privilege);
+    if (policiesByResourceType == null) {
+      return Collections.emptyList();
+    }
+    final List<ActorPolicies> actorPolicies = new ArrayList<>(2);
+    resourceType.map(policiesByResourceType::get).ifPresent(actorPolicies::add);
+    Optional.ofNullable(policiesByResourceType.get(ANY_RESOURCE_TYPE)).ifPresent(actorPolicies::add);
+
+    final List<DataHubPolicyInfo> candidates = new ArrayList<>();
+    actorPolicies.forEach(policies -> candidates.addAll(policies._allUsers));
+    actorPolicies.forEach(policies -> candidates.addAll(policies._byUser.getOrDefault(actor, Collections.emptyList())));
+    actorPolicies.forEach(policies -> candidates.addAll(policies._byGroupOrOwner));
+    return candidates;
+  }
+
+  private void indexPolicy(@Nonnull final DataHubPolicyInfo policy) {
+    for (String privilege : policy.getPrivileges()) {
+      _policiesByPrivilege.computeIfAbsent(privilege, k -> new ArrayList<>()).add(policy);
+    }
+    // Inactive policies never grant anything
+    if (PoliciesConfig.INACTIVE_POLICY_STATE.equals(policy.getState())) {
+      return;
+    }
+    final Set<String> resourceTypes = getResourceTypes(policy);
+    for (String privilege : policy.getPrivileges()) {
+      final Map<String, ActorPolicies> policiesByResourceType =
+          _activePolicies.computeIfAbsent(privilege, k -> new HashMap<>());
+      for (String resourceType : resourceTypes) {
+        policiesByResourceType.computeIfAbsent(resourceType, k -> new ActorPolicies()).add(policy);
+      }
+    }
+  }
+
+  /**
+   * Returns the resource types a policy can match, mirroring how {@link PolicyEngine} matches resources. Policies
+   * without a resource type criterion may match any resource.
+   */
+  @Nonnull
+  private static Set<String> getResourceTypes(@Nonnull final DataHubPolicyInfo policy) {
+    final DataHubResourceFilter resourceFilter = policy.getResources();
+    if (PoliciesConfig.PLATFORM_POLICY_TYPE.equals(policy.getType()) || resourceFilter == null) {
+      return Collections.singleton(ANY_RESOURCE_TYPE);
+    }
+    if (!resourceFilter.hasFilter()) {
+      return resourceFilter.hasType() ? Collections.singleton(resourceFilter.getType())
+          : Collections.singleton(ANY_RESOURCE_TYPE);
+    }
+    // Criteria are conjunctive, so any resource type criterion bounds the resource types
+    return resourceFilter.getFilter()
+        .getCriteria()
+        .stream()
+        .filter(criterion -> ResourceFieldType.RESOURCE_TYPE.name().equalsIgnoreCase(criterion.getField()))
+        .filter(criterion -> criterion.getCondition() == PolicyMatchCondition.EQUALS)
+        .findFirst()
+        .map(PolicyMatchCriterion::getValues)
+        .<Set<String>>map(values -> values.stream().collect(Collectors.toSet()))
+        .orElse(Collections.singleton(ANY_RESOURCE_TYPE));
+  }
+
+  /**
+   * The policies for one privilege and resource type, by the actors they apply to.
+   */
+  private static class ActorPolicies {
+    private final List<DataHubPolicyInfo> _allUsers = new ArrayList<>();
+    private final Map<Urn, List<DataHubPolicyInfo>> _byUser = new HashMap<>();
+    private final List<DataHubPolicyInfo> _byGroupOrOwner = new ArrayList<>();
+
+    private void add(@Nonnull final DataHubPolicyInfo policy) {
+      final DataHubActorFilter actorFilter = policy.getActors();
+      if (actorFilter.isAllUsers()) {
+        // Applies to every actor, no need to look any further
+        _allUsers.add(policy);
+        return;
+      }
+      if (actorFilter.hasUsers()) {
+        actorFilter.getUsers().forEach(user -> _byUser.computeIfAbsent(user, k -> new ArrayList<>()).add(policy));
+      }
+      if (actorFilter.isAllGroups() || actorFilter.hasGroups() || actorFilter.isResourceOwners()) {
+        _byGroupOrOwner.add(policy);
+      }
+    }
+  }
+}
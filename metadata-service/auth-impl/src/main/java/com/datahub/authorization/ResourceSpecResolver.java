@@ -18,10 +18,15 @@ public class ResourceSpecResolver {
   private final List<ResourceFieldResolverProvider> _resourceFieldResolverProviders;
 
   public ResourceSpecResolver(Authentication systemAuthentication, EntityClient entityClient) {
+    this(systemAuthentication, entityClient, AuthorizationCache.disabled());
+  }
+
+  public ResourceSpecResolver(Authentication systemAuthentication, EntityClient entityClient,
+      AuthorizationCache authorizationCache) {
     _resourceFieldResolverProviders =
         ImmutableList.of(new EntityTypeFieldResolverProvider(), new EntityUrnFieldResolverProvider(),
-            new DomainFieldResolverProvider(entityClient, systemAuthentication),
-            new OwnerFieldResolverProvider(entityClient, systemAuthentication));
+            new DomainFieldResolverProvider(entityClient, systemAuthentication, authorizationCache),
+            new OwnerFieldResolverProvider(entityClient, systemAuthentication, authorizationCache));
   }
 
   public ResolvedResourceSpec resolve(ResourceSpec resourceSpec) {
@@ -1,6 +1,7 @@
 package com.datahub.authorization.fieldresolverprovider;
 
 import com.datahub.authentication.Authentication;
+import com.datahub.authorization.AuthorizationCache;
 import com.datahub.authorization.FieldResolver;
 import com.datahub.authorization.ResourceSpec;
 import com.linkedin.common.urn.Urn;
@@ -10,7 +11,11 @@ import com.linkedin.entity.EntityResponse;
 import com.linkedin.entity.EnvelopedAspect;
 import com.linkedin.entity.client.EntityClient;
 import com.linkedin.metadata.Constants;
+import com.linkedin.r2.RemoteInvocationException;
+import java.net.URISyntaxException;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +30,7 @@ public class DomainFieldResolverProvider implements ResourceFieldResolverProvide
 
   private final EntityClient _entityClient;
   private final Authentication _systemAuthentication;
+  private final AuthorizationCache _authorizationCache;
 
   @Override
   public ResourceFieldType getFieldType() {
@@ -38,21 +44,31 @@ public class DomainFieldResolverProvider implements ResourceFieldResolverProvide
 
   private FieldResolver.FieldValue getDomains(ResourceSpec resourceSpec) {
     Urn entityUrn = UrnUtils.getUrn(resourceSpec.getResource());
+    Set<Urn> domains;
+    try {
+      domains = _authorizationCache.get(entityUrn, Constants.DOMAINS_ASPECT_NAME, () -> fetchDomains(entityUrn));
+    } catch (Exception e) {
+      log.error("Error while retrieving domains aspect for urn {}", entityUrn, e);
+      return FieldResolver.emptyFieldValue();
+    }
+    return FieldResolver.FieldValue.builder()
+        .values(domains.stream().map(Object::toString).collect(Collectors.toSet()))
+        .build();
+  }
+
+  private Set<Urn> fetchDomains(Urn entityUrn) {
     EnvelopedAspect domainsAspect;
     try {
       EntityResponse response = _entityClient.getV2(entityUrn.getEntityType(), entityUrn,
           Collections.singleton(Constants.DOMAINS_ASPECT_NAME), _systemAuthentication);
       if (response == null || !response.getAspects().containsKey(Constants.DOMAINS_ASPECT_NAME)) {
-        return FieldResolver.emptyFieldValue();
+        return Collections.emptySet();
       }
       domainsAspect = response.getAspects().get(Constants.DOMAINS_ASPECT_NAME);
-    } catch (Exception e) {
-      log.error("Error while retrieving domains aspect for urn {}", entityUrn, e);
-      return FieldResolver.emptyFieldValue();
+    } catch (RemoteInvocationException | URISyntaxException e) {
+      throw new RuntimeException(String.format("Failed to fetch domains for urn %s", entityUrn), e);
     }
     Domains domains = new Domains(domainsAspect.getValue().data());
-    return FieldResolver.FieldValue.builder()
-        .values(domains.getDomains().stream().map(Object::toString).collect(Collectors.toSet()))
-        .build();
+    return new HashSet<>(domains.getDomains());
   }
 }
@@ -1,8 +1,10 @@
 package com.datahub.authorization.fieldresolverprovider;
 
 import com.datahub.authentication.Authentication;
+import com.datahub.authorization.AuthorizationCache;
 import com.datahub.authorization.FieldResolver;
 import com.datahub.authorization.ResourceSpec;
+import com.linkedin.common.Owner;
 import com.linkedin.common.Ownership;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
@@ -10,7 +12,10 @@ import com.linkedin.entity.EntityResponse;
 import com.linkedin.entity.EnvelopedAspect;
 import com.linkedin.entity.client.EntityClient;
 import com.linkedin.metadata.Constants;
+import com.linkedin.r2.RemoteInvocationException;
+import java.net.URISyntaxException;
 import java.util.Collections;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +30,7 @@ public class OwnerFieldResolverProvider implements ResourceFieldResolverProvider
 
   private final EntityClient _entityClient;
   private final Authentication _systemAuthentication;
+  private final AuthorizationCache _authorizationCache;
 
   @Override
   public ResourceFieldType getFieldType() {
@@ -38,21 +44,31 @@ public class OwnerFieldResolverProvider implements ResourceFieldResolverProvider
 
   private FieldResolver.FieldValue getOwners(ResourceSpec resourceSpec) {
     Urn entityUrn = UrnUtils.getUrn(resourceSpec.getResource());
+    Set<Urn> owners;
+    try {
+      owners = _authorizationCache.get(entityUrn, Constants.OWNERSHIP_ASPECT_NAME, () -> fetchOwners(entityUrn));
+    } catch (Exception e) {
+      log.error("Error while retrieving ownership aspect for urn {}", entityUrn, e);
+      return FieldResolver.emptyFieldValue();
+    }
+    return FieldResolver.FieldValue.builder()
+        .values(owners.stream().map(Urn::toString).collect(Collectors.toSet()))
+        .build();
+  }
+
+  private Set<Urn> fetchOwners(Urn entityUrn) {
     EnvelopedAspect ownershipAspect;
     try {
       EntityResponse response = _entityClient.getV2(entityUrn.getEntityType(), entityUrn,
           Collections.singleton(Constants.OWNERSHIP_ASPECT_NAME), _systemAuthentication);
       if (response == null || !response.getAspects().containsKey(Constants.OWNERSHIP_ASPECT_NAME)) {
-        return FieldResolver.emptyFieldValue();
+        return Collections.emptySet();
       }
       ownershipAspect = response.getAspects().get(Constants.OWNERSHIP_ASPECT_NAME);
-    } catch (Exception e) {
-      log.error("Error while retrieving domains aspect for urn {}", entityUrn, e);
-      return FieldResolver.emptyFieldValue();
+    } catch (RemoteInvocationException | URISyntaxException e) {
+      throw new RuntimeException(String.format("Failed to fetch ownership for urn %s", entityUrn), e);
     }
     Ownership ownership = new Ownership(ownershipAspect.getValue().data());
-    return FieldResolver.FieldValue.builder()
-        .values(ownership.getOwners().stream().map(owner -> owner.getOwner().toString()).collect(Collectors.toSet()))
-        .build();
+    return ownership.getOwners().stream().map(Owner::getOwner).collect(Collectors.toSet());
   }
 }
@@ -204,6 +204,48 @@ public class DataHubAuthorizerTest {
     assertEquals(_dataHubAuthorizer.authorize(request).getType(), AuthorizationResult.Type.DENY);
   }
 
+  @Test
+  public void testAuthorizeOtherResourceType() throws Exception {
+
+    // The active policy only applies to datasets.
+    ResourceSpec resourceSpec = new ResourceSpec("chart", "urn:li:chart:(looker,test)");
+
+    AuthorizationRequest request = new AuthorizationRequest(
+        "urn:li:corpuser:test",
+        "EDIT_ENTITY_TAGS",
+        Optional.of(resourceSpec)
+    );
+
+    assertEquals(_dataHubAuthorizer.authorize(request).getType(), AuthorizationResult.Type.DENY);
+  }
+
+  @Test
+  public void testUpdateAndRemovePolicy() throws Exception {
+
+    ResourceSpec resourceSpec = new ResourceSpec("dataset", "urn:li:dataset:test");
+
+    AuthorizationRequest request = new AuthorizationRequest(
+        "urn:li:corpuser:test",
+        "EDIT_ENTITY_OWNERS",
+        Optional.of(resourceSpec)
+    );
+
+    assertEquals(_dataHubAuthorizer.authorize(request).getType(), AuthorizationResult.Type.DENY);
+
+    // Activate the policy granting the privilege, without refreshing the cache.
+    final Urn policyUrn = Urn.createFromString("urn:li:dataHubPolicy:1");
+    _dataHubAuthorizer.updatePolicy(policyUrn, createDataHubPolicyInfo(true, ImmutableList.of("EDIT_ENTITY_OWNERS")));
+    assertEquals(_dataHubAuthorizer.authorize(request).getType(), AuthorizationResult.Type.ALLOW);
+
+    // The update outlives a refresh which fetches the stale policy.
+    _dataHubAuthorizer.invalidateCache();
+    Thread.sleep(500); // Sleep so the runnable can execute. (not ideal)
+    assertEquals(_dataHubAuthorizer.authorize(request).getType(), AuthorizationResult.Type.ALLOW);
+
+    _dataHubAuthorizer.removePolicy(policyUrn);
+    assertEquals(_dataHubAuthorizer.authorize(request).getType(), AuthorizationResult.Type.DENY);
+  }
+
   @Test
   public void testAuthorizedActorsActivePolicy() throws Exception {
     final AuthorizedActors actors =
@@ -302,6 +302,44 @@ public class PolicyEngineTest {
         eq(null), any());
   }
 
+  @Test
+  public void testEvaluatePolicyActorFilterGroupMatchCached() throws Exception {
+    final PolicyEngine policyEngine = new PolicyEngine(Mockito.mock(Authentication.class), _entityClient,
+        new AuthorizationCache(100, 3600));
+
+    final DataHubPolicyInfo dataHubPolicyInfo = new DataHubPolicyInfo();
+    dataHubPolicyInfo.setType(METADATA_POLICY_TYPE);
+    dataHubPolicyInfo.setState(ACTIVE_POLICY_STATE);
+    dataHubPolicyInfo.setPrivileges(new StringArray("EDIT_ENTITY_TAGS"));
+    dataHubPolicyInfo.setDisplayName("My Test Display");
+    dataHubPolicyInfo.setDescription("My test display!");
+    dataHubPolicyInfo.setEditable(true);
+
+    final DataHubActorFilter actorFilter = new DataHubActorFilter();
+    final UrnArray groupsUrnArray = new UrnArray();
+    groupsUrnArray.add(Urn.createFromString("urn:li:corpGroup:authorizedGroup"));
+    actorFilter.setGroups(groupsUrnArray);
+    actorFilter.setResourceOwners(false);
+    actorFilter.setAllUsers(false);
+    actorFilter.setAllGroups(false);
+    dataHubPolicyInfo.setActors(actorFilter);
+
+    final DataHubResourceFilter resourceFilter = new DataHubResourceFilter();
+    resourceFilter.setAllResources(true);
+    resourceFilter.setType("dataset");
+    dataHubPolicyInfo.setResources(resourceFilter);
+
+    ResolvedResourceSpec resourceSpec = buildResourceResolvers("dataset", RESOURCE_URN);
+    for (int i = 0; i < 3; i++) {
+      assertTrue(policyEngine.evaluatePolicy(dataHubPolicyInfo, AUTHORIZED_PRINCIPAL, "EDIT_ENTITY_TAGS",
+          Optional.of(resourceSpec)).isGranted());
+    }
+
+    // Verify the group membership is fetched once across evaluations.
+    verify(_entityClient, times(1)).batchGetV2(eq(CORP_USER_ENTITY_NAME), eq(Collections.singleton(authorizedUserUrn)),
+        eq(null), any());
+  }
+
   @Test
   public void testEvaluatePolicyActorFilterGroupNoMatch() throws Exception {
 
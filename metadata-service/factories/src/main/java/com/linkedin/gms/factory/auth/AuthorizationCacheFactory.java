@@ -0,0 +1,29 @@
+package com.linkedin.gms.factory.auth;
+
+import com.datahub.authorization.AuthorizationCache;
+import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
+import javax.annotation.Nonnull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.context.annotation.Scope;
+
+
+@Configuration
+@PropertySource(value = "classpath:/application.yml", factory = YamlPropertySourceFactory.class)
+public class AuthorizationCacheFactory {
+
+  @Value("${authorization.defaultAuthorizer.cache.maxSize}")
+  private Long maxSize;
+
+  @Value("${authorization.defaultAuthorizer.cache.ttlSeconds}")
+  private Long ttlSeconds;
+
+  @Bean(name = "authorizationCache")
+  @Scope("singleton")
+  @Nonnull
+  protected AuthorizationCache getInstance() {
+    return new AuthorizationCache(maxSize, ttlSeconds);
+  }
+}
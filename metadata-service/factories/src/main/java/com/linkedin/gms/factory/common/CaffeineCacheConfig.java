@@ -1,27 +1,42 @@
 package com.linkedin.gms.factory.common;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
+import com.linkedin.metadata.graph.EntityLineageResult;
 import java.util.concurrent.TimeUnit;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.PropertySource;
 
 
 @Configuration
+@PropertySource(value = "classpath:/application.yml", factory = YamlPropertySourceFactory.class)
 public class CaffeineCacheConfig {
 
+  public static final String LINEAGE_SEARCH_CACHE_NAME = "relationshipSearchService";
+
   @Value("${CACHE_TTL_SECONDS:600}")
   private int cacheTtlSeconds;
 
   @Value("${CACHE_MAX_SIZE:10000}")
   private int cacheMaxSize;
 
+  @Value("${lineageSearchService.cache.ttlSeconds}")
+  private int lineageCacheTtlSeconds;
+
+  @Value("${lineageSearchService.cache.maxRelationships}")
+  private long lineageCacheMaxRelationships;
+
   @Bean
+  @Primary
   public CacheManager cacheManager() {
     CaffeineCacheManager cacheManager = new CaffeineCacheManager();
     cacheManager.setCaffeine(caffeineCacheBuilder());
+    cacheManager.registerCustomCache(LINEAGE_SEARCH_CACHE_NAME, lineageCacheBuilder().build());
     return cacheManager;
   }
 
@@ -32,4 +47,14 @@ public class CaffeineCacheConfig {
         .expireAfterAccess(cacheTtlSeconds, TimeUnit.SECONDS)
         .recordStats();
   }
+
+  // Lineage results vary from a handful to millions of relationships, so bound them by relationship count
+  private Caffeine<Object, Object> lineageCacheBuilder() {
+    return Caffeine.newBuilder()
+        .maximumWeight(lineageCacheMaxRelationships)
+        .weigher((key, value) -> value instanceof EntityLineageResult
+            ? ((EntityLineageResult) value).getRelationships().size() + 1 : 1)
+        .expireAfterWrite(lineageCacheTtlSeconds, TimeUnit.SECONDS)
+        .recordStats();
+  }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.linkedin.gms.factory.common;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.linkedin.gms.factory.entityregistry.EntityRegistryFactory;
 import com.linkedin.gms.factory.search.BaseElasticSearchComponentsFactory;
 import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
@@ -8,9 +9,14 @@ import com.linkedin.metadata.graph.elastic.ESGraphQueryDAO;
 import com.linkedin.metadata.graph.elastic.ESGraphWriteDAO;
 import com.linkedin.metadata.graph.elastic.ElasticSearchGraphService;
 import com.linkedin.metadata.models.registry.EntityRegistry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -29,6 +35,24 @@ public class ElasticSearchGraphServiceFactory {
   @Qualifier("entityRegistry")
   private EntityRegistry entityRegistry;
 
+  @Value("${graphService.elasticsearch.lineageExecutor.threads}")
+  private Integer lineageExecutorThreads;
+
+  @Value("${graphService.elasticsearch.lineageExecutor.queueSize}")
+  private Integer lineageExecutorQueueSize;
+
+  /**
+   * Bounded pool for the batches of lineage hops. When it is saturated, the traversing thread queries the batch itself.
+   */
+  @Bean(name = "elasticSearchGraphLineageExecutor", destroyMethod = "shutdown")
+  @Nonnull
+  protected ExecutorService getLineageExecutor() {
+    return new ThreadPoolExecutor(lineageExecutorThreads, lineageExecutorThreads, 60L, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(lineageExecutorQueueSize),
+        new ThreadFactoryBuilder().setNameFormat("es-graph-lineage-%d").setDaemon(true).build(),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
   @Bean(name = "elasticSearchGraphService")
   @Nonnull
   protected ElasticSearchGraphService getInstance() {
@@ -36,7 +60,8 @@ public class ElasticSearchGraphServiceFactory {
     return new ElasticSearchGraphService(lineageRegistry, components.getSearchClient(), components.getIndexConvention(),
         new ESGraphWriteDAO(components.getSearchClient(), components.getIndexConvention(),
             components.getBulkProcessor()),
-        new ESGraphQueryDAO(components.getSearchClient(), lineageRegistry, components.getIndexConvention()),
+        new ESGraphQueryDAO(components.getSearchClient(), lineageRegistry, components.getIndexConvention(),
+            getLineageExecutor()),
         components.getIndexBuilder());
   }
 }
@@ -2,6 +2,7 @@ package com.linkedin.gms.factory.common;
 
 import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
 import com.linkedin.metadata.graph.GraphService;
+import com.linkedin.metadata.graph.memory.InMemoryLineageGraphService;
 import com.linkedin.metadata.graph.neo4j.Neo4jGraphService;
 import com.linkedin.metadata.graph.elastic.ElasticSearchGraphService;
 import javax.annotation.Nonnull;
@@ -31,11 +32,28 @@ public class GraphServiceFactory {
   @Value("${graphService.type}")
   private String graphServiceImpl;
 
+  @Value("${graphService.inMemoryLineage.enabled:false}")
+  private boolean inMemoryLineageEnabled;
+
+  @Value("${graphService.inMemoryLineage.rebuildIntervalSeconds:3600}")
+  private long inMemoryLineageRebuildIntervalSeconds;
+
   @Nonnull
   @DependsOn({"neo4jGraphService", "elasticSearchGraphService"})
   @Bean(name = "graphService")
   @Primary
   protected GraphService createInstance() {
+    final GraphService graphService = getGraphService();
+    if (!inMemoryLineageEnabled) {
+      return graphService;
+    }
+    final InMemoryLineageGraphService inMemoryLineageGraphService =
+        new InMemoryLineageGraphService(graphService, inMemoryLineageRebuildIntervalSeconds);
+    inMemoryLineageGraphService.start();
+    return inMemoryLineageGraphService;
+  }
+
+  private GraphService getGraphService() {
     if (graphServiceImpl.equalsIgnoreCase("neo4j")) {
       return _neo4jGraphService;
     } else if (graphServiceImpl.equalsIgnoreCase("elasticsearch")) {
@@ -0,0 +1,122 @@
+package com.linkedin.gms.factory.common;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.events.metadata.ChangeType;
+import com.linkedin.gms.factory.entityregistry.EntityRegistryFactory;
+import com.linkedin.gms.factory.kafka.KafkaEventConsumerFactory;
+import com.linkedin.gms.factory.kafka.MetadataChangeLogBroadcastConsumer;
+import com.linkedin.metadata.EventUtils;
+import com.linkedin.metadata.graph.Edge;
+import com.linkedin.metadata.graph.GraphService;
+import com.linkedin.metadata.graph.memory.InMemoryLineageGraphService;
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.models.EntitySpec;
+import com.linkedin.metadata.models.RelationshipFieldSpec;
+import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.utils.EntityKeyUtils;
+import com.linkedin.metadata.utils.GenericRecordUtils;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.mxe.MetadataChangeLog;
+import com.linkedin.mxe.Topics;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.generic.GenericRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import static com.linkedin.metadata.graph.GraphIndexUtils.*;
+
+
+/**
+ * Applies the lineage edges of every versioned MetadataChangeLog to the local {@link InMemoryLineageGraphService}.
+ *
+ * The graph index is written by whichever MAE consumer processes the event, which is in another process for all but
+ * at most one GMS instance. Without this, the in-memory lineage graph of the other instances would only see the change
+ * on its next rebuild. The outgoing edges of the relationship types of the aspect are replaced with the ones of its new
+ * value, so applying an event the local MAE consumer already applied is harmless.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "graphService.inMemoryLineage.enabled", havingValue = "true")
+@Import({GraphServiceFactory.class, EntityRegistryFactory.class, KafkaEventConsumerFactory.class})
+public class InMemoryLineageGraphUpdater extends MetadataChangeLogBroadcastConsumer {
+
+  private final InMemoryLineageGraphService graphService;
+  private final EntityRegistry entityRegistry;
+
+  @Autowired
+  public InMemoryLineageGraphUpdater(@Qualifier("graphService") @Nonnull final GraphService graphService,
+      @Qualifier("entityRegistry") @Nonnull final EntityRegistry entityRegistry,
+      @Qualifier("kafkaEventConsumerFactory") @Nonnull final ConsumerFactory<String, GenericRecord> consumerFactory,
+      @Value("${METADATA_CHANGE_LOG_VERSIONED_TOPIC_NAME:" + Topics.METADATA_CHANGE_LOG_VERSIONED + "}")
+      @Nonnull final String topic) {
+    super(consumerFactory, topic, "in-memory-lineage-graph-updater");
+    this.graphService = (InMemoryLineageGraphService) graphService;
+    this.entityRegistry = entityRegistry;
+    start();
+  }
+
+  @Override
+  protected void consume(@Nonnull final GenericRecord record) {
+    try {
+      apply(EventUtils.avroToPegasusMCL(record));
+    } catch (Exception e) {
+      // The change is picked up by the next rebuild
+      MetricUtils.counter(this.getClass(), "failed_mcl_count").inc();
+      log.error("Failed to apply MCL to the in-memory lineage graph", e);
+    }
+  }
+
+  private void apply(@Nonnull final MetadataChangeLog event) {
+    if (!event.hasAspectName()) {
+      return;
+    }
+    final EntitySpec entitySpec;
+    try {
+      entitySpec = entityRegistry.getEntitySpec(event.getEntityType());
+    } catch (IllegalArgumentException e) {
+      return;
+    }
+    final AspectSpec aspectSpec = entitySpec.getAspectSpec(event.getAspectName());
+    if (aspectSpec == null || aspectSpec.isTimeseries()) {
+      return;
+    }
+    final boolean isKeyAspect = event.getAspectName().equals(entitySpec.getKeyAspectName());
+    if (aspectSpec.getRelationshipFieldSpecs().isEmpty() && !isKeyAspect) {
+      return;
+    }
+    final Urn urn = EntityKeyUtils.getUrnFromLog(event, entitySpec.getKeyAspectSpec());
+    // All relationship types of the aspect, so that the edges of fields the new value no longer holds are removed
+    final Set<String> relationshipTypes = aspectSpec.getRelationshipFieldSpecs()
+        .stream()
+        .map(RelationshipFieldSpec::getRelationshipName)
+        .collect(Collectors.toSet());
+
+    if (event.getChangeType() == ChangeType.UPSERT && event.hasAspect()) {
+      final RecordTemplate aspect =
+          GenericRecordUtils.deserializeAspect(event.getAspect().getValue(), event.getAspect().getContentType(),
+              aspectSpec);
+      final List<Edge> edges = getEdgesAndRelationshipTypesFromAspect(urn, aspectSpec, aspect).getFirst();
+      graphService.applyOutgoingEdges(urn, relationshipTypes, edges);
+    } else if (event.getChangeType() == ChangeType.DELETE) {
+      if (isKeyAspect) {
+        graphService.applyRemovedNode(urn);
+      } else {
+        graphService.applyOutgoingEdges(urn, relationshipTypes, Collections.emptyList());
+      }
+    } else {
+      return;
+    }
+    MetricUtils.counter(this.getClass(), "applied_mcl_count").inc();
+  }
+}
@@ -1,7 +1,9 @@
 package com.linkedin.gms.factory.entity;
 
 import com.datastax.oss.driver.api.core.CqlSession;
+import com.linkedin.metadata.entity.LatestAspectCache;
 import com.linkedin.metadata.entity.cassandra.CassandraAspectDao;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -18,7 +20,9 @@ public class CassandraAspectDaoFactory {
   @ConditionalOnProperty(name = "entityService.impl", havingValue = "cassandra")
   @DependsOn({"cassandraSession"})
   @Nonnull
-  protected CassandraAspectDao createInstance(CqlSession session) {
-    return new CassandraAspectDao(session);
+  protected CassandraAspectDao createInstance(CqlSession session, ObjectProvider<LatestAspectCache> latestAspectCache) {
+    final CassandraAspectDao aspectDao = new CassandraAspectDao(session);
+    aspectDao.setLatestAspectCache(latestAspectCache.getIfAvailable());
+    return aspectDao;
   }
 }
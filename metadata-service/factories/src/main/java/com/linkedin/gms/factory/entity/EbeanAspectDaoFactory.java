@@ -1,7 +1,9 @@
 package com.linkedin.gms.factory.entity;
 
+import com.linkedin.metadata.entity.LatestAspectCache;
 import com.linkedin.metadata.entity.ebean.EbeanAspectDao;
 import io.ebean.EbeanServer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,7 +19,9 @@ public class EbeanAspectDaoFactory {
   @DependsOn({"gmsEbeanServiceConfig"})
   @ConditionalOnProperty(name = "entityService.impl", havingValue = "ebean", matchIfMissing = true)
   @Nonnull
-  protected EbeanAspectDao createInstance(EbeanServer server) {
-    return new EbeanAspectDao(server);
+  protected EbeanAspectDao createInstance(EbeanServer server, ObjectProvider<LatestAspectCache> latestAspectCache) {
+    final EbeanAspectDao aspectDao = new EbeanAspectDao(server);
+    aspectDao.setLatestAspectCache(latestAspectCache.getIfAvailable());
+    return aspectDao;
   }
 }
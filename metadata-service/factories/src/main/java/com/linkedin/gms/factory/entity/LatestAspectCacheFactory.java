@@ -0,0 +1,27 @@
+package com.linkedin.gms.factory.entity;
+
+import com.linkedin.metadata.entity.LatestAspectCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.Nonnull;
+
+
+@Configuration
+public class LatestAspectCacheFactory {
+
+  @Value("${entityService.latestAspectCache.maxWeightBytes}")
+  private Long maxWeightBytes;
+
+  @Value("${entityService.latestAspectCache.ttlSeconds}")
+  private Long ttlSeconds;
+
+  @Bean(name = "latestAspectCache")
+  @ConditionalOnProperty(name = "entityService.latestAspectCache.enabled", havingValue = "true")
+  @Nonnull
+  protected LatestAspectCache createInstance() {
+    return new LatestAspectCache(maxWeightBytes, ttlSeconds);
+  }
+}
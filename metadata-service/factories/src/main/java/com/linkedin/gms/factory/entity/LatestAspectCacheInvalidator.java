@@ -0,0 +1,55 @@
+package com.linkedin.gms.factory.entity;
+
+import com.linkedin.gms.factory.kafka.KafkaEventConsumerFactory;
+import com.linkedin.gms.factory.kafka.MetadataChangeLogBroadcastConsumer;
+import com.linkedin.metadata.entity.LatestAspectCache;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.mxe.Topics;
+import javax.annotation.Nonnull;
+import org.apache.avro.generic.GenericRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * Invalidates the local {@link LatestAspectCache} for every versioned MetadataChangeLog, so that writes made by other
+ * GMS instances become visible before the cached entries expire.
+ */
+@Component
+@ConditionalOnProperty(name = "entityService.latestAspectCache.enabled", havingValue = "true")
+@Import({KafkaEventConsumerFactory.class})
+public class LatestAspectCacheInvalidator extends MetadataChangeLogBroadcastConsumer {
+
+  private final LatestAspectCache latestAspectCache;
+
+  @Autowired
+  public LatestAspectCacheInvalidator(@Nonnull final LatestAspectCache latestAspectCache,
+      @Qualifier("kafkaEventConsumerFactory") @Nonnull final ConsumerFactory<String, GenericRecord> consumerFactory,
+      @Value("${METADATA_CHANGE_LOG_VERSIONED_TOPIC_NAME:" + Topics.METADATA_CHANGE_LOG_VERSIONED + "}")
+      @Nonnull final String topic) {
+    super(consumerFactory, topic, "latest-aspect-cache-invalidator");
+    this.latestAspectCache = latestAspectCache;
+    start();
+  }
+
+  @Override
+  protected void consume(@Nonnull final GenericRecord record) {
+    final Object entityUrn = record.get("entityUrn");
+    final Object aspectName = record.get("aspectName");
+    if (entityUrn == null) {
+      // Key-only events carry no urn string; rely on expiry for those.
+      return;
+    }
+    if (aspectName == null) {
+      latestAspectCache.invalidateUrn(entityUrn.toString());
+    } else {
+      latestAspectCache.invalidate(entityUrn.toString(), aspectName.toString());
+    }
+    MetricUtils.counter(this.getClass(), "invalidated_mcl_count").inc();
+  }
+}
@@ -4,7 +4,9 @@ import com.datahub.authentication.token.TokenService;
 import com.linkedin.datahub.graphql.GmsGraphQLEngine;
 import com.linkedin.datahub.graphql.GraphQLEngine;
 import com.linkedin.datahub.graphql.analytics.service.AnalyticsService;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.generated.VisualConfiguration;
+import com.linkedin.datahub.graphql.instrumentation.QueryCostInstrumentation;
 import com.linkedin.entity.client.JavaEntityClient;
 import com.linkedin.gms.factory.auth.DataHubTokenServiceFactory;
 import com.linkedin.gms.factory.common.GitVersionFactory;
@@ -25,6 +27,10 @@ import com.linkedin.metadata.timeseries.TimeseriesAspectService;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import com.linkedin.metadata.version.GitVersion;
 import com.linkedin.usage.UsageClient;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,6 +38,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.Import;
 
 
@@ -105,7 +112,40 @@ public class GraphQLEngineFactory {
   @Value("${platformAnalytics.enabled}") // TODO: Migrate to DATAHUB_ANALYTICS_ENABLED
   private Boolean isAnalyticsEnabled;
 
+  @Value("${graphQL.concurrency.threads}")
+  private int concurrencyThreads;
+
+  @Value("${graphQL.documentCacheSize}")
+  private long documentCacheSize;
+
+  @Value("${graphQL.responseCache.operations}")
+  private String responseCacheOperations;
+
+  @Value("${graphQL.responseCache.ttlSeconds}")
+  private long responseCacheTtlSeconds;
+
+  @Value("${graphQL.responseCache.maxSize}")
+  private long responseCacheMaxSize;
+
+  @Value("${graphQL.query.maxCost}")
+  private long queryMaxCost;
+
+  @Value("${graphQL.query.maxDepth}")
+  private int queryMaxDepth;
+
+  @Value("${graphQL.query.enforce}")
+  private boolean queryCostEnforce;
+
+  @Bean(name = "graphQLExecutorService", destroyMethod = "shutdown")
+  @Nonnull
+  protected ExecutorService graphQLExecutorService() {
+    final ExecutorService executorService = GraphQLConcurrencyUtils.newExecutorService(concurrencyThreads);
+    GraphQLConcurrencyUtils.setExecutorService(executorService);
+    return executorService;
+  }
+
   @Bean(name = "graphQLEngine")
+  @DependsOn("graphQLExecutorService")
   @Nonnull
   protected GraphQLEngine getInstance() {
     if (isAnalyticsEnabled) {
@@ -128,7 +168,11 @@ public class GraphQLEngineFactory {
           _graphService.supportsMultiHop(),
           _visualConfiguration,
           _configProvider.getTelemetry()
-          ).builder().build();
+          ).builder()
+          .setDocumentCacheSize(documentCacheSize)
+          .setResponseCache(getResponseCacheOperations(), responseCacheTtlSeconds, responseCacheMaxSize)
+          .addInstrumentation(new QueryCostInstrumentation(queryMaxCost, queryMaxDepth, queryCostEnforce))
+          .build();
     }
     return new GmsGraphQLEngine(
         _entityClient,
@@ -149,6 +193,17 @@ public class GraphQLEngineFactory {
         _graphService.supportsMultiHop(),
         _visualConfiguration,
         _configProvider.getTelemetry()
-    ).builder().build();
+    ).builder()
+        .setDocumentCacheSize(documentCacheSize)
+        .setResponseCache(getResponseCacheOperations(), responseCacheTtlSeconds, responseCacheMaxSize)
+        .addInstrumentation(new QueryCostInstrumentation(queryMaxCost, queryMaxDepth, queryCostEnforce))
+        .build();
+  }
+
+  private Set<String> getResponseCacheOperations() {
+    return Arrays.stream(responseCacheOperations.split(","))
+        .map(String::trim)
+        .filter(operation -> !operation.isEmpty())
+        .collect(Collectors.toSet());
   }
 }
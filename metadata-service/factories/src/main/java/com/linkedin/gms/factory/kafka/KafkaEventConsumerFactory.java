@@ -9,6 +9,7 @@ import java.util.Arrays;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -22,7 +23,9 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.KafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
 
 
 @Slf4j
@@ -53,18 +56,62 @@ public class KafkaEventConsumerFactory {
 
   @Bean(name = "kafkaEventConsumer")
   protected KafkaListenerContainerFactory<?> createInstance(KafkaProperties properties) {
+    ConcurrentKafkaListenerContainerFactory<String, GenericRecord> factory =
+        new ConcurrentKafkaListenerContainerFactory<>();
+    factory.setConsumerFactory(createConsumerFactory(properties, true));
+    factory.setConcurrency(this.kafkaListenerConcurrency);
+
+    log.info("Event-based KafkaListenerContainerFactory built successfully");
+
+    return factory;
+  }
+
+  /**
+   * Same as kafkaEventConsumer, but hands listeners all records of a poll at once. Offsets are not auto-committed;
+   * the listener container commits them once the listener has returned, i.e. processed all records of the poll.
+   */
+  @Bean(name = "kafkaEventBatchConsumer")
+  protected KafkaListenerContainerFactory<?> createBatchInstance(KafkaProperties properties) {
+    ConcurrentKafkaListenerContainerFactory<String, GenericRecord> factory =
+        new ConcurrentKafkaListenerContainerFactory<>();
+    factory.setConsumerFactory(createConsumerFactory(properties, false));
+    factory.setConcurrency(this.kafkaListenerConcurrency);
+    factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+    factory.setBatchListener(true);
+
+    log.info("Event-based batch KafkaListenerContainerFactory built successfully");
+
+    return factory;
+  }
+
+  /**
+   * Consumer factory of the event-based listeners, for consumers which are not run by a listener container. Offsets are
+   * not auto-committed.
+   */
+  @Bean(name = "kafkaEventConsumerFactory")
+  protected ConsumerFactory<String, GenericRecord> createConsumerFactoryInstance(KafkaProperties properties) {
+    return createConsumerFactory(properties, false);
+  }
+
+  private DefaultKafkaConsumerFactory<String, GenericRecord> createConsumerFactory(KafkaProperties properties,
+      boolean autoCommit) {
 
-    KafkaProperties.Consumer consumerProps = properties.getConsumer();
+    // Built on a copy, so that the shared KafkaProperties are left as configured
+    Map<String, Object> props = properties.buildConsumerProperties();
 
     // Specify (de)serializers for record keys and for record values.
-    consumerProps.setKeyDeserializer(StringDeserializer.class);
-    // Records will be flushed every 10 seconds.
-    consumerProps.setEnableAutoCommit(true);
-    consumerProps.setAutoCommitInterval(Duration.ofSeconds(10));
+    props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+    if (autoCommit) {
+      // Records will be flushed every 10 seconds.
+      props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
+      props.put(ConsumerConfig.AUTO_COMMIT_INTERVAL_MS_CONFIG, (int) Duration.ofSeconds(10).toMillis());
+    } else {
+      props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+    }
 
     // KAFKA_BOOTSTRAP_SERVER has precedence over SPRING_KAFKA_BOOTSTRAP_SERVERS
     if (kafkaBootstrapServers != null && kafkaBootstrapServers.length() > 0) {
-      consumerProps.setBootstrapServers(Arrays.asList(kafkaBootstrapServers.split(",")));
+      props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, Arrays.asList(kafkaBootstrapServers.split(",")));
     } // else we rely on KafkaProperties which defaults to localhost:9092
 
     SchemaRegistryConfig schemaRegistryConfig;
@@ -74,8 +121,7 @@ public class KafkaEventConsumerFactory {
       schemaRegistryConfig = awsGlueSchemaRegistryConfig;
     }
 
-    consumerProps.setValueDeserializer(schemaRegistryConfig.getDeserializer());
-    Map<String, Object> props = properties.buildConsumerProperties();
+    props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, schemaRegistryConfig.getDeserializer());
 
     // Override KafkaProperties with SchemaRegistryConfig only for non-empty values
     schemaRegistryConfig.getProperties().entrySet()
@@ -83,13 +129,6 @@ public class KafkaEventConsumerFactory {
       .filter(entry -> entry.getValue() != null && !entry.getValue().toString().isEmpty())
       .forEach(entry -> props.put(entry.getKey(), entry.getValue())); 
 
-    ConcurrentKafkaListenerContainerFactory<String, GenericRecord> factory =
-        new ConcurrentKafkaListenerContainerFactory<>();
-    factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
-    factory.setConcurrency(this.kafkaListenerConcurrency);
-
-    log.info("Event-based KafkaListenerContainerFactory built successfully");
-
-    return factory;
+    return new DefaultKafkaConsumerFactory<>(props);
   }
 }
@@ -0,0 +1,120 @@
+package com.linkedin.gms.factory.kafka;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.kafka.core.ConsumerFactory;
+
+
+/**
+ * Consumes every MetadataChangeLog of a topic in every GMS instance, to keep state local to the instance current.
+ *
+ * Every instance must see every event, so rather than joining a consumer group, each instance assigns itself all
+ * partitions of the topic and starts reading at their end. No offsets are committed and no group is left behind when
+ * an instance goes away. Partitions added to the topic are picked up periodically. The consumer is run by GMS itself,
+ * so that it runs whether or not the MCL consumers run in the same process.
+ */
+@Slf4j
+public abstract class MetadataChangeLogBroadcastConsumer implements DisposableBean {
+
+  private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+  private static final long PARTITIONS_REFRESH_INTERVAL_MS = TimeUnit.MINUTES.toMillis(5);
+
+  private final Consumer<String, GenericRecord> consumer;
+  private final String topic;
+  private final String name;
+  private final ExecutorService executor;
+  private volatile boolean running = true;
+
+  protected MetadataChangeLogBroadcastConsumer(
+      @Nonnull final ConsumerFactory<String, GenericRecord> consumerFactory, @Nonnull final String topic,
+      @Nonnull final String name) {
+    this.consumer = consumerFactory.createConsumer(null, name);
+    this.topic = topic;
+    this.name = name;
+    this.executor = Executors.newSingleThreadExecutor(
+        new ThreadFactoryBuilder().setNameFormat(name).setDaemon(true).build());
+  }
+
+  /**
+   * Starts consuming in the background. Called by subclasses once they are initialized.
+   */
+  protected void start() {
+    this.executor.submit(this::run);
+  }
+
+  /**
+   * Handles one MetadataChangeLog. Exceptions stop the consumer.
+   */
+  protected abstract void consume(@Nonnull GenericRecord record);
+
+  private void run() {
+    try {
+      long assignedAt = 0;
+      while (running) {
+        if (consumer.assignment().isEmpty()
+            || System.currentTimeMillis() - assignedAt >= PARTITIONS_REFRESH_INTERVAL_MS) {
+          assignPartitions();
+          assignedAt = System.currentTimeMillis();
+        }
+        if (consumer.assignment().isEmpty()) {
+          // The topic does not exist yet
+          Thread.sleep(POLL_TIMEOUT.toMillis());
+          continue;
+        }
+        for (ConsumerRecord<String, GenericRecord> consumerRecord : consumer.poll(POLL_TIMEOUT)) {
+          consume(consumerRecord.value());
+        }
+      }
+    } catch (WakeupException | InterruptedException e) {
+      // Stopped by destroy
+    } catch (Exception e) {
+      log.error("Consumer {} stopped, changes made by other instances are no longer seen", name, e);
+    } finally {
+      consumer.close();
+    }
+  }
+
+  /**
+   * Assigns all partitions of the topic, starting at the end of the partitions that were not assigned yet
+   */
+  private void assignPartitions() {
+    final List<PartitionInfo> partitionInfos = consumer.partitionsFor(topic);
+    if (partitionInfos == null) {
+      return;
+    }
+    final List<TopicPartition> partitions = partitionInfos.stream()
+        .map(info -> new TopicPartition(info.topic(), info.partition()))
+        .collect(Collectors.toList());
+    final List<TopicPartition> newPartitions = partitions.stream()
+        .filter(partition -> !consumer.assignment().contains(partition))
+        .collect(Collectors.toList());
+    if (newPartitions.isEmpty()) {
+      return;
+    }
+    consumer.assign(partitions);
+    consumer.seekToEnd(newPartitions);
+    log.info("Consumer {} reading from partitions {}", name, partitions);
+  }
+
+  @Override
+  public void destroy() throws InterruptedException {
+    running = false;
+    consumer.wakeup();
+    executor.shutdownNow();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+  }
+}
@@ -3,11 +3,14 @@ package com.linkedin.gms.factory.search;
 import com.linkedin.gms.factory.common.RestHighLevelClientFactory;
 import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
 import com.linkedin.metadata.search.elasticsearch.update.BulkListener;
+import com.linkedin.metadata.search.elasticsearch.update.ESBulkProcessor;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
-import org.elasticsearch.action.bulk.BackoffPolicy;
 import org.elasticsearch.action.bulk.BulkProcessor;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.unit.TimeValue;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -38,6 +41,15 @@ public class ElasticSearchBulkProcessorFactory {
   @Value("${elasticsearch.bulkProcessor.retryInterval}")
   private Long retryInterval;
 
+  @Value("${elasticsearch.bulkProcessor.sizeLimitBytes}")
+  private Long bulkSizeLimitBytes;
+
+  @Value("${elasticsearch.bulkProcessor.concurrentRequests}")
+  private Integer concurrentRequests;
+
+  @Value("${elasticsearch.bulkProcessor.maxPendingRequests}")
+  private Long maxPendingRequests;
+
   @Bean(name = "elasticSearchBulkProcessor")
   @Nonnull
   protected BulkProcessor getInstance() {
@@ -45,8 +57,20 @@ public class ElasticSearchBulkProcessorFactory {
       searchClient.bulkAsync(request, RequestOptions.DEFAULT, bulkListener);
     }, BulkListener.getInstance())
         .setBulkActions(bulkRequestsLimit)
+        .setBulkSize(new ByteSizeValue(bulkSizeLimitBytes, ByteSizeUnit.BYTES))
         .setFlushInterval(TimeValue.timeValueSeconds(bulkFlushPeriod))
-        .setBackoffPolicy(BackoffPolicy.constantBackoff(TimeValue.timeValueSeconds(retryInterval), numRetries))
+        .setBackoffPolicy(ESBulkProcessor.jitteredBackoff(TimeValue.timeValueSeconds(retryInterval), numRetries))
         .build();
   }
+
+  /**
+   * Bulk processor of the search documents, with a bulk queue per index and backpressure
+   */
+  @Bean(name = "elasticSearchIndexedBulkProcessor", destroyMethod = "close")
+  @Nonnull
+  protected ESBulkProcessor getIndexedBulkProcessor() {
+    return new ESBulkProcessor(searchClient, bulkRequestsLimit, bulkSizeLimitBytes,
+        TimeUnit.SECONDS.toMillis(bulkFlushPeriod), concurrentRequests, numRetries,
+        TimeUnit.SECONDS.toMillis(retryInterval), maxPendingRequests);
+  }
 }
@@ -8,6 +8,7 @@ import com.linkedin.metadata.search.elasticsearch.indexbuilder.EntityIndexBuilde
 import com.linkedin.metadata.search.elasticsearch.indexbuilder.SettingsBuilder;
 import com.linkedin.metadata.search.elasticsearch.query.ESBrowseDAO;
 import com.linkedin.metadata.search.elasticsearch.query.ESSearchDAO;
+import com.linkedin.metadata.search.elasticsearch.update.ESBulkProcessor;
 import com.linkedin.metadata.search.elasticsearch.update.ESWriteDAO;
 import javax.annotation.Nonnull;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,7 +21,7 @@ import org.springframework.context.annotation.PropertySource;
 
 @Configuration
 @PropertySource(value = "classpath:/application.yml", factory = YamlPropertySourceFactory.class)
-@Import({EntityRegistryFactory.class, SettingsBuilderFactory.class})
+@Import({EntityRegistryFactory.class, SettingsBuilderFactory.class, ElasticSearchBulkProcessorFactory.class})
 public class ElasticSearchServiceFactory {
   @Autowired
   @Qualifier("baseElasticSearchComponents")
@@ -34,6 +35,10 @@ public class ElasticSearchServiceFactory {
   @Qualifier("settingsBuilder")
   private SettingsBuilder settingsBuilder;
 
+  @Autowired
+  @Qualifier("elasticSearchIndexedBulkProcessor")
+  private ESBulkProcessor bulkProcessor;
+
   @Bean(name = "elasticSearchService")
   @Nonnull
   protected ElasticSearchService getInstance() {
@@ -43,7 +48,6 @@ public class ElasticSearchServiceFactory {
         new EntityIndexBuilders(components.getIndexBuilder(), entityRegistry, components.getIndexConvention(),
             settingsBuilder), esSearchDAO,
         new ESBrowseDAO(entityRegistry, components.getSearchClient(), components.getIndexConvention()),
-        new ESWriteDAO(entityRegistry, components.getSearchClient(), components.getIndexConvention(),
-            components.getBulkProcessor()));
+        new ESWriteDAO(entityRegistry, components.getSearchClient(), components.getIndexConvention(), bulkProcessor));
   }
 }
@@ -1,13 +1,16 @@
 package com.linkedin.gms.factory.search;
 
+import com.linkedin.gms.factory.common.CaffeineCacheConfig;
 import com.linkedin.gms.factory.common.GraphServiceFactory;
 import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
 import com.linkedin.metadata.graph.GraphService;
 import com.linkedin.metadata.search.LineageSearchService;
 import com.linkedin.metadata.search.SearchService;
+import com.linkedin.metadata.search.cache.EntityLineageResultCache;
 import javax.annotation.Nonnull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -32,11 +35,24 @@ public class LineageSearchServiceFactory {
   @Autowired
   private CacheManager cacheManager;
 
+  @Value("${lineageSearchService.cache.ttlSeconds}")
+  private Long cacheTtlSeconds;
+
+  @Value("${lineageSearchService.cache.maxIndexedUrns}")
+  private Long cacheMaxIndexedUrns;
+
+  @Bean(name = "entityLineageResultCache")
+  @Nonnull
+  protected EntityLineageResultCache getEntityLineageResultCache() {
+    return new EntityLineageResultCache(cacheManager.getCache(CaffeineCacheConfig.LINEAGE_SEARCH_CACHE_NAME),
+        cacheTtlSeconds, cacheMaxIndexedUrns);
+  }
+
   @Bean(name = "relationshipSearchService")
   @Primary
   @Nonnull
-  protected LineageSearchService getInstance() {
-    return new LineageSearchService(searchService, graphService,
-        cacheManager.getCache("relationshipSearchService"));
+  protected LineageSearchService getInstance(
+      @Qualifier("entityLineageResultCache") EntityLineageResultCache entityLineageResultCache) {
+    return new LineageSearchService(searchService, graphService, entityLineageResultCache);
   }
 }
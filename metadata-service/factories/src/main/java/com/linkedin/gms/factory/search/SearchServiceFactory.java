@@ -1,15 +1,20 @@
 package com.linkedin.gms.factory.search;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
 import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.metadata.search.EntitySearchService;
 import com.linkedin.metadata.search.SearchService;
+import com.linkedin.metadata.search.cache.SearchResultCacheManager;
 import com.linkedin.metadata.search.ranker.SearchRanker;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -32,19 +37,58 @@ public class SearchServiceFactory {
   @Qualifier("searchRanker")
   private SearchRanker searchRanker;
 
-  @Autowired
-  private CacheManager cacheManager;
-
   @Value("${searchService.resultBatchSize}")
   private Integer batchSize;
 
   @Value("${searchService.enableCache}")
   private Boolean enableCache;
 
+  @Value("${searchService.timeoutMillis}")
+  private Long timeoutMillis;
+
+  @Value("${searchService.executor.threads}")
+  private Integer executorThreads;
+
+  @Value("${searchService.executor.queueSize}")
+  private Integer executorQueueSize;
+
+  @Value("${searchService.cache.maxBytes}")
+  private Long cacheMaxBytes;
+
+  @Value("${searchService.cache.ttlSeconds}")
+  private Long cacheTtlSeconds;
+
+  @Value("${searchService.cache.serialized}")
+  private Boolean cacheSerialized;
+
+  @Value("${searchService.cache.allEntitiesInvalidationIntervalMs}")
+  private Long cacheAllEntitiesInvalidationIntervalMs;
+
+  @Bean(name = "searchResultCacheManager")
+  @Nonnull
+  protected SearchResultCacheManager getSearchResultCacheManager() {
+    return new SearchResultCacheManager(cacheMaxBytes, cacheTtlSeconds, cacheSerialized,
+        cacheAllEntitiesInvalidationIntervalMs);
+  }
+
+  /**
+   * Bounded pool for the cross-entity searches. When it is saturated, the calling request thread runs the search
+   * itself, which throttles callers instead of queueing without limit.
+   */
+  @Bean(name = "searchServiceExecutor", destroyMethod = "shutdown")
+  @Nonnull
+  protected ExecutorService getExecutor() {
+    return new ThreadPoolExecutor(executorThreads, executorThreads, 60L, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(executorQueueSize),
+        new ThreadFactoryBuilder().setNameFormat("search-service-%d").setDaemon(true).build(),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
   @Bean(name = "searchService")
   @Primary
   @Nonnull
   protected SearchService getInstance() {
-    return new SearchService(entityRegistry, entitySearchService, searchRanker, cacheManager, batchSize, enableCache);
+    return new SearchService(entityRegistry, entitySearchService, searchRanker, getSearchResultCacheManager(),
+        batchSize, enableCache, getExecutor(), timeoutMillis);
   }
 }
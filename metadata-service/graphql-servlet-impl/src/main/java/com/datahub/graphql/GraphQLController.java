@@ -56,12 +56,28 @@ public class GraphQLController {
     }
 
     /*
-     * Extract "query" field
+     * Extract "extensions" map, which may carry the hash of a persisted query
+     */
+    JsonNode extensionsJson = bodyJson.get("extensions");
+    final Map<String, Object> extensions = (extensionsJson != null && !extensionsJson.isNull())
+      ? new ObjectMapper().convertValue(extensionsJson, new TypeReference<Map<String, Object>>() { })
+      : Collections.emptyMap();
+
+    /*
+     * Extract "query" field, which may be left out for persisted queries
      */
     JsonNode queryJson = bodyJson.get("query");
-    if (queryJson == null) {
+    if ((queryJson == null || queryJson.isNull()) && !extensions.containsKey("persistedQuery")) {
       return CompletableFuture.completedFuture(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
     }
+    final String query = queryJson != null && !queryJson.isNull() ? queryJson.asText() : "";
+
+    /*
+     * Extract "operationName" field, which selects the operation to run if the query defines several
+     */
+    JsonNode operationNameJson = bodyJson.get("operationName");
+    final String operationName =
+        operationNameJson != null && !operationNameJson.isNull() ? operationNameJson.asText() : null;
 
     /*
      * Extract "variables" map
@@ -71,7 +87,8 @@ public class GraphQLController {
       ? new ObjectMapper().convertValue(variablesJson, new TypeReference<Map<String, Object>>() { })
       : Collections.emptyMap();
 
-    log.debug(String.format("Executing graphQL query: %s, variables: %s", queryJson, variables));
+    log.debug(String.format("Executing graphQL query: %s, variables: %s, extensions: %s", queryJson, variables,
+        extensions));
 
     /*
      * Init QueryContext
@@ -86,7 +103,7 @@ public class GraphQLController {
       /*
        * Execute GraphQL Query
        */
-      ExecutionResult executionResult = _engine.execute(queryJson.asText(), variables, context);
+      ExecutionResult executionResult = _engine.execute(query, operationName, variables, extensions, context);
 
       if (executionResult.getErrors().size() != 0) {
         // There were GraphQL errors. Report in error logs.
@@ -18,6 +18,7 @@ import com.linkedin.metadata.query.ListUrnsResult;
 import com.linkedin.metadata.query.filter.Filter;
 import com.linkedin.metadata.query.filter.SortCriterion;
 import com.linkedin.metadata.search.LineageSearchResult;
+import com.linkedin.metadata.search.ScrollResult;
 import com.linkedin.metadata.search.SearchResult;
 import com.linkedin.mxe.MetadataChangeProposal;
 import com.linkedin.mxe.PlatformEvent;
@@ -164,6 +165,25 @@ public interface EntityClient {
   public SearchResult search(@Nonnull String entity, @Nonnull String input, @Nullable Filter filter,
       SortCriterion sortCriterion, int start, int count, @Nonnull Authentication authentication) throws RemoteInvocationException;
 
+  /**
+   * Gets a page of entities matching to a given query and filters, continuing from the page identified by the scroll
+   * id. Unlike {@link #search}, deep pages cost the same as the first one, so it is meant for paging through whole
+   * result sets, e.g. exports.
+   *
+   * @param entity entity to search
+   * @param input search query
+   * @param filter search filters
+   * @param sortCriterion sort criterion
+   * @param scrollId scroll id returned with the previous page, null for the first page
+   * @param count max number of search results requested
+   * @return a page of search results and the scroll id of the next page
+   * @throws RemoteInvocationException
+   */
+  @Nonnull
+  public ScrollResult scroll(@Nonnull String entity, @Nonnull String input, @Nullable Filter filter,
+      @Nullable SortCriterion sortCriterion, @Nullable String scrollId, int count,
+      @Nonnull Authentication authentication) throws RemoteInvocationException;
+
   /**
    * Searches for entities matching to a given query and filters across multiple entity types
    *
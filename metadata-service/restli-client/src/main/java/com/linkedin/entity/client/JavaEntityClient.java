@@ -31,6 +31,7 @@ import com.linkedin.metadata.resources.entity.EntityResource;
 import com.linkedin.metadata.search.EntitySearchService;
 import com.linkedin.metadata.search.LineageSearchResult;
 import com.linkedin.metadata.search.LineageSearchService;
+import com.linkedin.metadata.search.ScrollResult;
 import com.linkedin.metadata.search.SearchResult;
 import com.linkedin.metadata.search.SearchService;
 import com.linkedin.metadata.timeseries.TimeseriesAspectService;
@@ -41,6 +42,7 @@ import com.linkedin.r2.RemoteInvocationException;
 import io.opentelemetry.extension.annotations.WithSpan;
 import java.net.URISyntaxException;
 import java.time.Clock;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -302,6 +304,14 @@ public class JavaEntityClient implements EntityClient {
         return _searchService.searchAcrossEntities(entities, input, filter, null, start, count, null);
     }
 
+    @Nonnull
+    @Override
+    public ScrollResult scroll(@Nonnull String entity, @Nonnull String input, @Nullable Filter filter,
+        @Nullable SortCriterion sortCriterion, @Nullable String scrollId, int count,
+        @Nonnull final Authentication authentication) throws RemoteInvocationException {
+        return _searchService.scroll(entity, input, filter, sortCriterion, scrollId, count);
+    }
+
     @Nonnull
     @Override
     public LineageSearchResult searchAcrossLineage(@Nonnull Urn sourceUrn, @Nonnull LineageDirection direction,
@@ -411,8 +421,11 @@ public class JavaEntityClient implements EntityClient {
         final List<MetadataChangeProposal> additionalChanges =
             AspectUtils.getAdditionalChanges(metadataChangeProposal, _entityService);
 
-        Urn urn = _entityService.ingestProposal(metadataChangeProposal, auditStamp).getUrn();
-        additionalChanges.forEach(proposal -> _entityService.ingestProposal(proposal, auditStamp));
+        final List<MetadataChangeProposal> proposals = new ArrayList<>();
+        proposals.add(metadataChangeProposal);
+        proposals.addAll(additionalChanges);
+        // The proposal and its additional changes are written to the local DB together
+        Urn urn = _entityService.ingestProposalBatch(proposals, auditStamp).get(0).getUrn();
         return urn.toString();
     }
 
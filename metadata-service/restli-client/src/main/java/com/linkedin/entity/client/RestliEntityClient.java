@@ -24,6 +24,7 @@ import com.linkedin.entity.EntitiesDoGetBrowsePathsRequestBuilder;
 import com.linkedin.entity.EntitiesDoIngestRequestBuilder;
 import com.linkedin.entity.EntitiesDoListRequestBuilder;
 import com.linkedin.entity.EntitiesDoListUrnsRequestBuilder;
+import com.linkedin.entity.EntitiesDoScrollRequestBuilder;
 import com.linkedin.entity.EntitiesDoSearchAcrossEntitiesRequestBuilder;
 import com.linkedin.entity.EntitiesDoSearchAcrossLineageRequestBuilder;
 import com.linkedin.entity.EntitiesDoSearchRequestBuilder;
@@ -47,6 +48,7 @@ import com.linkedin.metadata.query.ListUrnsResult;
 import com.linkedin.metadata.query.filter.Filter;
 import com.linkedin.metadata.query.filter.SortCriterion;
 import com.linkedin.metadata.search.LineageSearchResult;
+import com.linkedin.metadata.search.ScrollResult;
 import com.linkedin.metadata.search.SearchResult;
 import com.linkedin.mxe.MetadataChangeProposal;
 import com.linkedin.mxe.PlatformEvent;
@@ -413,6 +415,28 @@ public class RestliEntityClient extends BaseClient implements EntityClient {
     return sendClientRequest(requestBuilder, authentication).getEntity();
   }
 
+  @Nonnull
+  @Override
+  public ScrollResult scroll(@Nonnull String entity, @Nonnull String input, @Nullable Filter filter,
+      @Nullable SortCriterion sortCriterion, @Nullable String scrollId, int count,
+      @Nonnull final Authentication authentication) throws RemoteInvocationException {
+
+    final EntitiesDoScrollRequestBuilder requestBuilder =
+        ENTITIES_REQUEST_BUILDERS.actionScroll().entityParam(entity).inputParam(input).countParam(count);
+
+    if (filter != null) {
+      requestBuilder.filterParam(filter);
+    }
+    if (sortCriterion != null) {
+      requestBuilder.sortParam(sortCriterion);
+    }
+    if (scrollId != null) {
+      requestBuilder.scrollIdParam(scrollId);
+    }
+
+    return sendClientRequest(requestBuilder, authentication).getEntity();
+  }
+
   @Nonnull
   @Override
   public LineageSearchResult searchAcrossLineage(@Nonnull Urn sourceUrn, @Nonnull LineageDirection direction,
@@ -30,6 +30,7 @@ import com.linkedin.metadata.run.RollbackResponse;
 import com.linkedin.metadata.search.EntitySearchService;
 import com.linkedin.metadata.search.LineageSearchResult;
 import com.linkedin.metadata.search.LineageSearchService;
+import com.linkedin.metadata.search.ScrollResult;
 import com.linkedin.metadata.search.SearchEntity;
 import com.linkedin.metadata.search.SearchResult;
 import com.linkedin.metadata.search.SearchService;
@@ -77,6 +78,7 @@ import static com.linkedin.metadata.utils.PegasusUtils.*;
 public class EntityResource extends CollectionResourceTaskTemplate<String, Entity> {
 
   private static final String ACTION_SEARCH = "search";
+  private static final String ACTION_SCROLL = "scroll";
   private static final String ACTION_LIST = "list";
   private static final String ACTION_SEARCH_ACROSS_ENTITIES = "searchAcrossEntities";
   private static final String ACTION_SEARCH_ACROSS_LINEAGE = "searchAcrossLineage";
@@ -86,6 +88,7 @@ public class EntityResource extends CollectionResourceTaskTemplate<String, Entit
   private static final String PARAM_ENTITY = "entity";
   private static final String PARAM_ENTITIES = "entities";
   private static final String PARAM_COUNT = "count";
+  private static final String PARAM_SCROLL_ID = "scrollId";
   private static final String PARAM_VALUE = "value";
   private static final String SYSTEM_METADATA = "systemMetadata";
 
@@ -253,6 +256,19 @@ public class EntityResource extends CollectionResourceTaskTemplate<String, Entit
         MetricRegistry.name(this.getClass(), "search"));
   }
 
+  @Action(name = ACTION_SCROLL)
+  @Nonnull
+  @WithSpan
+  public Task<ScrollResult> scroll(@ActionParam(PARAM_ENTITY) @Nonnull String entityName,
+      @ActionParam(PARAM_INPUT) @Nonnull String input, @ActionParam(PARAM_FILTER) @Optional @Nullable Filter filter,
+      @ActionParam(PARAM_SORT) @Optional @Nullable SortCriterion sortCriterion,
+      @ActionParam(PARAM_SCROLL_ID) @Optional @Nullable String scrollId, @ActionParam(PARAM_COUNT) int count) {
+
+    log.info("GET SCROLL RESULTS for {} with query {}", entityName, input);
+    return RestliUtil.toTask(() -> _searchService.scroll(entityName, input, filter, sortCriterion, scrollId, count),
+        MetricRegistry.name(this.getClass(), "scroll"));
+  }
+
   @Action(name = ACTION_SEARCH_ACROSS_ENTITIES)
   @Nonnull
   @WithSpan
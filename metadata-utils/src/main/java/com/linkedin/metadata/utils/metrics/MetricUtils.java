@@ -1,10 +1,12 @@
 package com.linkedin.metadata.utils.metrics;
 
 import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.SharedMetricRegistries;
 import com.codahale.metrics.Timer;
 import com.codahale.metrics.jmx.JmxReporter;
+import java.util.function.Supplier;
 
 
 public class MetricUtils {
@@ -38,4 +40,13 @@ public class MetricUtils {
   public static Timer timer(String metricName) {
     return REGISTRY.timer(MetricRegistry.name(metricName));
   }
+
+  /**
+   * Registers a gauge reading its value from the provided supplier. If a gauge with the same name is already
+   * registered, the existing gauge is kept.
+   */
+  public static <T> Gauge<T> gauge(Class<?> klass, String metricName, Supplier<T> valueSupplier) {
+    final Gauge<T> gauge = valueSupplier::get;
+    return REGISTRY.gauge(MetricRegistry.name(klass, metricName), () -> gauge);
+  }
 }